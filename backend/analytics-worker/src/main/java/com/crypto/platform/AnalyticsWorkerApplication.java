@@ -0,0 +1,14 @@
+package com.crypto.platform;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class AnalyticsWorkerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(AnalyticsWorkerApplication.class, args);
+    }
+}
@@ -0,0 +1,204 @@
+package com.crypto.platform.compaction;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileContext;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Options;
+import org.apache.hadoop.fs.Path;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Index of the compacted files of one symbol, stored as {@code <symbol dir>/_manifest}.
+ * Readers take the listed files plus the hourly files of days after {@link #getThrough()}
+ * instead of listing the whole hourly tree. Source files replaced by a compacted file are kept
+ * as "retired" for a grace period so readers holding the previous manifest can finish.
+ * Plain tab-separated lines, replaced atomically with a rename.
+ */
+public class CompactionManifest {
+
+    public static final String FILE_NAME = "_manifest";
+    private static final String HEADER = "# tick compaction manifest v1";
+
+    private LocalDate through;
+    private final Map<String, DataFile> files = new TreeMap<>();
+    private final Map<String, Retired> retired = new LinkedHashMap<>();
+
+    public static CompactionManifest read(FileSystem fs, Path symbolDir) throws IOException {
+        CompactionManifest manifest = new CompactionManifest();
+        Path path = new Path(symbolDir, FILE_NAME);
+        if (!fs.exists(path)) {
+            return manifest;
+        }
+        try (FSDataInputStream in = fs.open(path);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                switch (fields[0]) {
+                    case "through":
+                        manifest.through = LocalDate.parse(fields[1]);
+                        break;
+                    case "file":
+                        manifest.files.put(fields[1], new DataFile(fields[1], Long.parseLong(fields[2]),
+                                Long.parseLong(fields[3]), Long.parseLong(fields[4])));
+                        break;
+                    case "retired":
+                        manifest.retired.put(fields[1], new Retired(fields[1], Long.parseLong(fields[2]),
+                                Long.parseLong(fields[3])));
+                        break;
+                    default:
+                        // Comments and unknown entries
+                }
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Write to a temporary file and rename it over the current manifest
+     */
+    public void write(FileSystem fs, Path symbolDir) throws IOException {
+        Path target = new Path(symbolDir, FILE_NAME);
+        Path tmp = new Path(symbolDir, "." + FILE_NAME + ".tmp");
+        try (FSDataOutputStream out = fs.create(tmp, true);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.write(HEADER);
+            writer.newLine();
+            if (through != null) {
+                writer.write("through\t" + through);
+                writer.newLine();
+            }
+            for (DataFile file : files.values()) {
+                writer.write("file\t" + file.path + "\t" + file.firstMicros + "\t" + file.lastMicros + "\t" + file.rows);
+                writer.newLine();
+            }
+            for (Retired entry : retired.values()) {
+                writer.write("retired\t" + entry.path + "\t" + entry.modificationTime + "\t" + entry.retiredAt);
+                writer.newLine();
+            }
+        }
+        FileContext.getFileContext(fs.getUri(), fs.getConf()).rename(tmp, target, Options.Rename.OVERWRITE);
+    }
+
+    /**
+     * Last day whose hours are all in the compacted files; null before the first compaction
+     */
+    public LocalDate getThrough() {
+        return through;
+    }
+
+    public void setThrough(LocalDate through) {
+        this.through = through;
+    }
+
+    public Collection<DataFile> getFiles() {
+        return files.values();
+    }
+
+    public DataFile getFile(String path) {
+        return files.get(path);
+    }
+
+    public void putFile(DataFile file) {
+        files.put(file.path, file);
+    }
+
+    public void removeFile(String path) {
+        files.remove(path);
+    }
+
+    public Collection<Retired> getRetired() {
+        return new ArrayList<>(retired.values());
+    }
+
+    public boolean isRetired(String path, long modificationTime) {
+        Retired entry = retired.get(path);
+        return entry != null && entry.modificationTime == modificationTime;
+    }
+
+    public void retire(String path, long modificationTime, long retiredAt) {
+        retired.put(path, new Retired(path, modificationTime, retiredAt));
+    }
+
+    public void forget(String path) {
+        retired.remove(path);
+    }
+
+    public List<String> getFilePaths() {
+        return new ArrayList<>(files.keySet());
+    }
+
+    /**
+     * A compacted file, path relative to the symbol directory
+     */
+    public static final class DataFile {
+        private final String path;
+        private final long firstMicros;
+        private final long lastMicros;
+        private final long rows;
+
+        public DataFile(String path, long firstMicros, long lastMicros, long rows) {
+            this.path = path;
+            this.firstMicros = firstMicros;
+            this.lastMicros = lastMicros;
+            this.rows = rows;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getFirstMicros() {
+            return firstMicros;
+        }
+
+        public long getLastMicros() {
+            return lastMicros;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+    }
+
+    /**
+     * A replaced file waiting for deletion; deleted only if still unmodified
+     */
+    public static final class Retired {
+        private final String path;
+        private final long modificationTime;
+        private final long retiredAt;
+
+        public Retired(String path, long modificationTime, long retiredAt) {
+            this.path = path;
+            this.modificationTime = modificationTime;
+            this.retiredAt = retiredAt;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getModificationTime() {
+            return modificationTime;
+        }
+
+        public long getRetiredAt() {
+            return retiredAt;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.crypto.platform.compaction;
+
+import com.crypto.platform.archive.TickArchiveFormat;
+import com.crypto.platform.model.CryptoPrice;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Tick rows in the CSV layout of the HDFS export, also accepting Sqoop's headerless
+ * {@code part-m-*} files. Rows are kept as text keyed by timestamp (micros), which sorts them
+ * and drops the copies the export and Sqoop both write for the same tick.
+ */
+public final class CsvTicks {
+
+    public static final String HEADER = "id,symbol,price,volume24h,marketCap,high24h,low24h,priceChangePercent24h,timestamp";
+    private static final int TIMESTAMP_FIELD = 8;
+
+    // Postgres text timestamps as written by Sqoop, e.g. 2024-03-01 12:00:00.123
+    private static final DateTimeFormatter SQOOP_TIMESTAMP = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .optionalStart()
+            .appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, true)
+            .optionalEnd()
+            .toFormatter();
+
+    private CsvTicks() {
+    }
+
+    /**
+     * Add the rows of one file; the first occurrence of a timestamp wins
+     *
+     * @return rows read
+     */
+    public static long read(BufferedReader reader, NavigableMap<Long, String> rows) throws IOException {
+        long count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("id,")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length <= TIMESTAMP_FIELD) {
+                continue;
+            }
+            Instant timestamp = parseTimestamp(fields[TIMESTAMP_FIELD]);
+            if (timestamp == null) {
+                continue;
+            }
+            if (!fields[TIMESTAMP_FIELD].endsWith("Z")) {
+                fields[TIMESTAMP_FIELD] = timestamp.toString();
+                line = String.join(",", fields);
+            }
+            rows.putIfAbsent(TickArchiveFormat.toMicros(timestamp), line);
+            count++;
+        }
+        return count;
+    }
+
+    public static void write(BufferedWriter writer, Map<Long, String> rows) throws IOException {
+        writer.write(HEADER);
+        writer.newLine();
+        for (String row : rows.values()) {
+            writer.write(row);
+            writer.newLine();
+        }
+    }
+
+    /**
+     * The tick of a row as normalized by {@link #read}; the id is null when the row has none
+     */
+    public static CryptoPrice toPrice(String row) {
+        String[] fields = row.split(",", -1);
+        return CryptoPrice.builder()
+                .id(fields[0].isEmpty() || fields[0].equals("null") ? null : Long.valueOf(fields[0]))
+                .symbol(fields[1])
+                .price(new BigDecimal(fields[2]))
+                .volume24h(new BigDecimal(fields[3]))
+                .marketCap(new BigDecimal(fields[4]))
+                .high24h(new BigDecimal(fields[5]))
+                .low24h(new BigDecimal(fields[6]))
+                .priceChangePercent24h(new BigDecimal(fields[7]))
+                .timestamp(Instant.parse(fields[TIMESTAMP_FIELD]))
+                .build();
+    }
+
+    private static Instant parseTimestamp(String value) {
+        try {
+            return value.indexOf('T') > 0
+                    ? Instant.parse(value)
+                    : LocalDateTime.parse(value, SQOOP_TIMESTAMP).atZone(ZoneId.systemDefault()).toInstant();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
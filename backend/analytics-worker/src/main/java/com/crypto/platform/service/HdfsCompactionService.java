@@ -0,0 +1,294 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.compaction.CompactionManifest;
+import com.crypto.platform.compaction.CsvTicks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.fs.FileContext;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Options;
+import org.apache.hadoop.fs.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.crypto.platform.archive.TickArchiveFormat.fromMicros;
+
+/**
+ * Compacts the hourly export tree {@code <base>/<symbol>/YYYY/MM/DD/HH} into sorted, gzipped
+ * daily files, rolled up into monthly files once a month is closed, under
+ * {@code <base>/<symbol>/compacted}. Each new file is written aside and renamed into place,
+ * then the symbol's {@link CompactionManifest} is swapped; the replaced hourly and daily files
+ * are deleted on a later run after a grace period, and only if nobody rewrote them since.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HdfsCompactionService {
+
+    private static final String COMPACTED_DIR = "compacted";
+
+    private final HdfsService hdfsService;
+
+    @Value("${hadoop.hdfs.basePath}")
+    private String hdfsBasePath;
+
+    @Value("${compaction.closed-after}")
+    private Duration closedAfter;
+
+    @Value("${compaction.delete-grace}")
+    private Duration deleteGrace;
+
+    @Value("${compaction.max-source-files-per-run}")
+    private int maxSourceFiles;
+
+    public void compactAll() throws IOException {
+        try (FileSystem fs = hdfsService.openFileSystem()) {
+            Path base = new Path(hdfsBasePath);
+            if (!fs.exists(base)) {
+                return;
+            }
+            for (FileStatus symbolDir : fs.listStatus(base)) {
+                if (symbolDir.isDirectory()) {
+                    compactSymbol(fs, symbolDir.getPath());
+                }
+            }
+        }
+    }
+
+    /**
+     * Files a reader of one symbol should load: the compacted files of the manifest plus the
+     * hourly CSVs of days not compacted yet. Without a manifest it falls back to the hourly tree.
+     */
+    public List<String> dataFiles(String symbol) throws IOException {
+        List<String> paths = new ArrayList<>();
+        try (FileSystem fs = hdfsService.openFileSystem()) {
+            Path symbolDir = new Path(hdfsBasePath, symbol);
+            CompactionManifest manifest = CompactionManifest.read(fs, symbolDir);
+            for (String file : manifest.getFilePaths()) {
+                paths.add(new Path(symbolDir, file).toString());
+            }
+            LocalDate today = LocalDate.now();
+            if (manifest.getThrough() == null) {
+                addGlob(fs, paths, new Path(symbolDir, "[0-9]*/*/*/*/prices.csv"));
+            } else {
+                for (LocalDate day = manifest.getThrough().plusDays(1); !day.isAfter(today); day = day.plusDays(1)) {
+                    addGlob(fs, paths, new Path(symbolDir, dayDir(day) + "/*/prices.csv"));
+                }
+            }
+        }
+        return paths;
+    }
+
+    private void compactSymbol(FileSystem fs, Path symbolDir) throws IOException {
+        long now = System.currentTimeMillis();
+        CompactionManifest manifest = CompactionManifest.read(fs, symbolDir);
+        deleteRetired(fs, symbolDir, manifest, now);
+
+        // Days are closed once their last hour is older than closedAfter
+        LocalDate lastClosedDay = Instant.ofEpochMilli(now).minus(closedAfter)
+                .atZone(ZoneId.systemDefault()).toLocalDate().minusDays(1);
+
+        List<FileStatus> sources = new ArrayList<>();
+        FileStatus[] hourFiles = fs.globStatus(new Path(symbolDir, "[0-9]*/*/*/*/*"));
+        for (FileStatus file : hourFiles == null ? new FileStatus[0] : hourFiles) {
+            String name = file.getPath().getName();
+            boolean data = name.equals("prices.csv") || name.startsWith("part-m-");
+            if (!file.isFile() || !data || sources.size() >= maxSourceFiles
+                    || manifest.isRetired(relative(symbolDir, file.getPath()), file.getModificationTime())) {
+                continue;
+            }
+            LocalDate day = hourDirDay(file.getPath());
+            if (day != null && !day.isAfter(lastClosedDay)) {
+                sources.add(file);
+            }
+        }
+
+        int rewritten = 0;
+        if (!sources.isEmpty()) {
+            rewritten += compactSources(fs, symbolDir, manifest, sources, lastClosedDay, now);
+        }
+        rewritten += rollUpMonths(fs, symbolDir, manifest, lastClosedDay, now);
+        if (rewritten > 0 || !sources.isEmpty() || manifest.getThrough() == null
+                || manifest.getThrough().isBefore(lastClosedDay)) {
+            if (sources.size() < maxSourceFiles) {
+                manifest.setThrough(lastClosedDay);
+            }
+            manifest.write(fs, symbolDir);
+            log.info("Compacted {}: {} source files into {} files, manifest lists {} files",
+                    symbolDir.getName(), sources.size(), rewritten, manifest.getFiles().size());
+        }
+    }
+
+    /**
+     * Merge the hourly sources into the daily files (or monthly file, for months rolled up
+     * already) of the days their rows belong to
+     */
+    private int compactSources(FileSystem fs, Path symbolDir, CompactionManifest manifest, List<FileStatus> sources,
+                               LocalDate lastClosedDay, long now) throws IOException {
+        NavigableMap<Long, String> rows = new TreeMap<>();
+        for (FileStatus source : sources) {
+            readRows(fs, source.getPath(), rows);
+        }
+        // Group by target file; Sqoop dumps hold rows of many days, rows of open days are left to their own hour
+        Map<String, NavigableMap<Long, String>> byTarget = new TreeMap<>();
+        for (Map.Entry<Long, String> row : rows.entrySet()) {
+            LocalDate day = fromMicros(row.getKey()).atZone(ZoneId.systemDefault()).toLocalDate();
+            if (day.isAfter(lastClosedDay)) {
+                continue;
+            }
+            String monthly = monthlyFile(YearMonth.from(day));
+            String target = manifest.getFile(monthly) != null ? monthly : dailyFile(day);
+            byTarget.computeIfAbsent(target, t -> new TreeMap<>()).put(row.getKey(), row.getValue());
+        }
+        for (Map.Entry<String, NavigableMap<Long, String>> target : byTarget.entrySet()) {
+            if (manifest.getFile(target.getKey()) != null) {
+                // Rows already compacted win over re-exported copies
+                NavigableMap<Long, String> merged = new TreeMap<>();
+                readRows(fs, new Path(symbolDir, target.getKey()), merged);
+                target.getValue().forEach(merged::putIfAbsent);
+                target.setValue(merged);
+            }
+            writeCompacted(fs, symbolDir, manifest, target.getKey(), target.getValue());
+        }
+        for (FileStatus source : sources) {
+            manifest.retire(relative(symbolDir, source.getPath()), source.getModificationTime(), now);
+        }
+        return byTarget.size();
+    }
+
+    /**
+     * Replace the daily files of closed months by one monthly file
+     */
+    private int rollUpMonths(FileSystem fs, Path symbolDir, CompactionManifest manifest, LocalDate lastClosedDay,
+                             long now) throws IOException {
+        Map<YearMonth, List<String>> dailyByMonth = new TreeMap<>();
+        for (String path : manifest.getFilePaths()) {
+            if (path.startsWith(COMPACTED_DIR + "/daily/")) {
+                LocalDate day = LocalDate.parse(path.substring(path.lastIndexOf('/') + 1, path.indexOf(".csv")));
+                YearMonth month = YearMonth.from(day);
+                if (month.atEndOfMonth().isAfter(lastClosedDay)) {
+                    continue;
+                }
+                dailyByMonth.computeIfAbsent(month, m -> new ArrayList<>()).add(path);
+            }
+        }
+        for (Map.Entry<YearMonth, List<String>> month : dailyByMonth.entrySet()) {
+            String target = monthlyFile(month.getKey());
+            NavigableMap<Long, String> rows = new TreeMap<>();
+            if (manifest.getFile(target) != null) {
+                readRows(fs, new Path(symbolDir, target), rows);
+            }
+            for (String daily : month.getValue()) {
+                readRows(fs, new Path(symbolDir, daily), rows);
+            }
+            writeCompacted(fs, symbolDir, manifest, target, rows);
+            for (String daily : month.getValue()) {
+                FileStatus status = fs.getFileStatus(new Path(symbolDir, daily));
+                manifest.removeFile(daily);
+                manifest.retire(daily, status.getModificationTime(), now);
+            }
+        }
+        return dailyByMonth.size();
+    }
+
+    private void writeCompacted(FileSystem fs, Path symbolDir, CompactionManifest manifest, String relativePath,
+                                NavigableMap<Long, String> rows) throws IOException {
+        Path target = new Path(symbolDir, relativePath);
+        Path tmp = new Path(target.getParent(), "." + target.getName() + ".tmp");
+        fs.mkdirs(target.getParent());
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(fs.create(tmp, true), 1 << 16), StandardCharsets.UTF_8))) {
+            CsvTicks.write(writer, rows);
+        }
+        FileContext.getFileContext(fs.getUri(), fs.getConf()).rename(tmp, target, Options.Rename.OVERWRITE);
+        manifest.putFile(new CompactionManifest.DataFile(relativePath, rows.firstKey(), rows.lastKey(), rows.size()));
+    }
+
+    private void deleteRetired(FileSystem fs, Path symbolDir, CompactionManifest manifest, long now) throws IOException {
+        for (CompactionManifest.Retired entry : manifest.getRetired()) {
+            if (now - entry.getRetiredAt() < deleteGrace.toMillis()) {
+                continue;
+            }
+            Path path = new Path(symbolDir, entry.getPath());
+            if (fs.exists(path) && fs.getFileStatus(path).getModificationTime() == entry.getModificationTime()
+                    && manifest.getFile(entry.getPath()) == null) {
+                fs.delete(path, false);
+                // Hour directories go once their last data file is gone (archive segments stay)
+                FileStatus[] left = fs.listStatus(path.getParent());
+                if (left.length == 0) {
+                    fs.delete(path.getParent(), false);
+                }
+            }
+            manifest.forget(entry.getPath());
+        }
+    }
+
+    private static void readRows(FileSystem fs, Path path, NavigableMap<Long, String> rows) throws IOException {
+        InputStream in = fs.open(path);
+        if (path.getName().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            CsvTicks.read(reader, rows);
+        }
+    }
+
+    private static void addGlob(FileSystem fs, List<String> paths, Path pattern) throws IOException {
+        FileStatus[] matches = fs.globStatus(pattern);
+        if (matches != null) {
+            for (FileStatus match : matches) {
+                paths.add(match.getPath().toString());
+            }
+        }
+    }
+
+    /**
+     * Day of a file in the hourly tree: .../YYYY/MM/DD/HH/file
+     */
+    private static LocalDate hourDirDay(Path file) {
+        Path dayDir = file.getParent().getParent();
+        try {
+            return LocalDate.of(Integer.parseInt(dayDir.getParent().getParent().getName()),
+                    Integer.parseInt(dayDir.getParent().getName()), Integer.parseInt(dayDir.getName()));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String relative(Path symbolDir, Path file) {
+        return symbolDir.toUri().relativize(file.toUri()).getPath();
+    }
+
+    private static String dayDir(LocalDate day) {
+        return String.format("%d/%02d/%02d", day.getYear(), day.getMonthValue(), day.getDayOfMonth());
+    }
+
+    private static String dailyFile(LocalDate day) {
+        return COMPACTED_DIR + "/daily/" + day + ".csv.gz";
+    }
+
+    private static String monthlyFile(YearMonth month) {
+        return COMPACTED_DIR + "/monthly/" + month + ".csv.gz";
+    }
+}
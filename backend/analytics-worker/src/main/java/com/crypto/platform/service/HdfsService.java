@@ -0,0 +1,284 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.archive.TickArchiveFormat;
+import com.crypto.platform.compaction.CsvTicks;
+import com.crypto.platform.diagnostics.HdfsWriteEvent;
+import com.crypto.platform.journal.TickJournalTailer;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.model.JournalOffset;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.repository.JournalOffsetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Exports ticks to HDFS by tailing the tick journal instead of re-reading Postgres. The export
+ * stays behind the journal DB writer's committed offset, so every exported tick is stored and
+ * carries the database id that /recent and the page cursors use.
+ * Ticks are grouped by the hour they belong to and merged into that hour's files, so late
+ * ticks (e.g. the historical backfill) land in the right place. The merge starts from the
+ * hour's files already on HDFS and keys ticks on symbol and timestamp, which makes a retried
+ * export idempotent and lets a re-export replace rows that carried journal sequences as id.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HdfsService {
+
+    public static final String TAILER_NAME = "hdfs-export";
+    
+    // Offset the api's journal DB writer commits with its rows
+    private static final String DB_WRITER_OFFSET = "db-writer";
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final JournalOffsetRepository journalOffsetRepository;
+    private final TickJournalService tickJournalService;
+    private final TickArchiveService tickArchiveService;
+    
+    @Value("${hadoop.namenode.url}")
+    private String hdfsUrl;
+    
+    @Value("${hadoop.hdfs.basePath}")
+    private String hdfsBasePath;
+    
+    @Value("${hdfs.export.batch-size}")
+    private int batchSize;
+    
+    private Configuration hadoopConfig;
+    
+    @PostConstruct
+    public void init() throws IOException {
+        // Initialize Hadoop configuration
+        hadoopConfig = new Configuration();
+        hadoopConfig.set("fs.defaultFS", hdfsUrl);
+        
+        // Readers look segments up by hour, so older segments named after another hour move first
+        tickArchiveService.migrateSegmentNames();
+    }
+    
+    /**
+     * Export every journaled tick the database has stored and that was not exported yet to HDFS
+     */
+    public void exportDataToHdfs() throws IOException {
+        log.info("Starting HDFS export job at {}", Instant.now());
+        
+        // Records up to here are stored, so their database ids can be looked up
+        long storedUpTo = journalOffsetRepository.findById(DB_WRITER_OFFSET)
+                .map(JournalOffset::getPosition)
+                .orElse(0L);
+        long exported = 0;
+        try (TickJournalTailer tailer = tickJournalService.tailer(TAILER_NAME);
+             FileSystem fs = FileSystem.get(hadoopConfig)) {
+            Map<String, Map<LocalDateTime, List<CryptoPrice>>> byHour = new TreeMap<>();
+            int read;
+            do {
+                byHour.clear();
+                read = tailer.poll((sequence, tick) -> {
+                    LocalDateTime hour = LocalDateTime.ofInstant(tick.getTimestamp(), ZoneId.systemDefault())
+                            .truncatedTo(ChronoUnit.HOURS);
+                    byHour.computeIfAbsent(tick.getSymbol(), s -> new TreeMap<>())
+                            .computeIfAbsent(hour, h -> new ArrayList<>())
+                            .add(tick);
+                }, batchSize, storedUpTo);
+                
+                for (Map.Entry<String, Map<LocalDateTime, List<CryptoPrice>>> symbol : byHour.entrySet()) {
+                    for (Map.Entry<LocalDateTime, List<CryptoPrice>> hour : symbol.getValue().entrySet()) {
+                        exportHour(fs, symbol.getKey(), hour.getKey(), withDatabaseIds(symbol.getKey(), hour.getValue()));
+                    }
+                }
+                // Only move on once the files are written; a failed run starts over from here
+                tailer.commit();
+                exported += read;
+            } while (read == batchSize);
+        }
+        
+        log.info("Completed HDFS export job: {} ticks", exported);
+    }
+    
+    /**
+     * The ticks with the id the database stored them under, matched on timestamp. A tick whose
+     * row is gone (evicted by retention since) keeps no id and only fills a gap in the merge.
+     */
+    private List<CryptoPrice> withDatabaseIds(String symbol, List<CryptoPrice> ticks) {
+        Instant first = ticks.get(0).getTimestamp();
+        Instant last = first;
+        for (CryptoPrice tick : ticks) {
+            first = tick.getTimestamp().isBefore(first) ? tick.getTimestamp() : first;
+            last = tick.getTimestamp().isAfter(last) ? tick.getTimestamp() : last;
+        }
+        Map<Instant, Long> ids = new HashMap<>();
+        for (Object[] row : cryptoPriceRepository.findIdsBySymbolAndTimeRange(symbol, first, last)) {
+            ids.merge((Instant) row[0], ((Number) row[1]).longValue(), Math::max);
+        }
+        for (CryptoPrice tick : ticks) {
+            tick.setId(ids.get(tick.getTimestamp()));
+        }
+        return ticks;
+    }
+    
+    /**
+     * Merge ticks into the files of one symbol and hour on HDFS
+     */
+    private void exportHour(FileSystem fs, String symbol, LocalDateTime hour, List<CryptoPrice> ticks) throws IOException {
+        String hdfsDir = hourDir(symbol, hour);
+        String hdfsFilePath = String.format("%s/prices.csv", hdfsDir);
+        String hdfsArchivePath = archivePath(symbol, hour);
+        
+        // The local segment may be missing (e.g. a new worker), so the hour's CSV on HDFS is the base
+        List<CryptoPrice> prices = merge(merge(readExported(fs, hdfsFilePath),
+                tickArchiveService.readSegment(symbol, hour)), ticks);
+        if (prices.isEmpty()) {
+            return;
+        }
+        
+        // Create directories if they don't exist
+        Path dirPath = new Path(hdfsDir);
+        if (!fs.exists(dirPath)) {
+            fs.mkdirs(dirPath);
+        }
+        
+        // Create file and write data
+        Path filePath = new Path(hdfsFilePath);
+        HdfsWriteEvent csvEvent = HdfsWriteEvent.start(symbol, hdfsFilePath, prices.size());
+        try (FSDataOutputStream outputStream = fs.create(filePath, true);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            
+            // Write header
+            writer.write("id,symbol,price,volume24h,marketCap,high24h,low24h,priceChangePercent24h,timestamp");
+            writer.newLine();
+            
+            // Write data rows
+            for (CryptoPrice price : prices) {
+                writer.write(String.format("%d,%s,%s,%s,%s,%s,%s,%s,%s",
+                        price.getId(),
+                        price.getSymbol(),
+                        price.getPrice(),
+                        price.getVolume24h(),
+                        price.getMarketCap(),
+                        price.getHigh24h(),
+                        price.getLow24h(),
+                        price.getPriceChangePercent24h(),
+                        price.getTimestamp()));
+                writer.newLine();
+            }
+        } finally {
+            csvEvent.finish();
+        }
+        
+        log.info("Successfully exported {} records for symbol {} to HDFS path: {}", 
+                prices.size(), symbol, hdfsFilePath);
+        
+        // Write the compressed tick archive segment locally and keep a copy next to the CSV
+        java.nio.file.Path segment = tickArchiveService.writeSegment(symbol, hour, prices);
+        HdfsWriteEvent archiveEvent = HdfsWriteEvent.start(symbol, hdfsArchivePath, prices.size());
+        try {
+            fs.copyFromLocalFile(false, true, new Path(segment.toUri()), new Path(hdfsArchivePath));
+        } finally {
+            archiveEvent.finish();
+        }
+        log.info("Archived {} records for symbol {} to HDFS path: {}", prices.size(), symbol, hdfsArchivePath);
+    }
+    
+    /**
+     * Whether the archive segment of one symbol and hour has been copied to HDFS
+     */
+    public boolean isArchivedOnHdfs(FileSystem fs, String symbol, LocalDateTime hour) throws IOException {
+        return fs.exists(new Path(archivePath(symbol, hour)));
+    }
+    
+    /**
+     * A private HDFS client for a batch of checks; the caller closes it
+     */
+    public FileSystem openFileSystem() throws IOException {
+        return FileSystem.newInstance(hadoopConfig);
+    }
+    
+    /**
+     * HDFS directory of one symbol and hour: /crypto/data/[symbol]/YYYY/MM/DD/HH
+     */
+    private String hourDir(String symbol, LocalDateTime hour) {
+        return String.format("%s/%s/%d/%02d/%02d/%02d", hdfsBasePath, symbol,
+                hour.getYear(), hour.getMonthValue(), hour.getDayOfMonth(), hour.getHour());
+    }
+    
+    private String archivePath(String symbol, LocalDateTime hour) {
+        return String.format("%s/prices%s", hourDir(symbol, hour), TickArchiveFormat.FILE_EXTENSION);
+    }
+    
+    /**
+     * Ticks of an hour's CSV already on HDFS; empty if it was never exported
+     */
+    private static List<CryptoPrice> readExported(FileSystem fs, String hdfsFilePath) throws IOException {
+        Path filePath = new Path(hdfsFilePath);
+        if (!fs.exists(filePath)) {
+            return List.of();
+        }
+        NavigableMap<Long, String> rows = new TreeMap<>();
+        try (FSDataInputStream in = fs.open(filePath);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            CsvTicks.read(reader, rows);
+        }
+        List<CryptoPrice> prices = new ArrayList<>(rows.size());
+        for (String row : rows.values()) {
+            prices.add(CsvTicks.toPrice(row));
+        }
+        return prices;
+    }
+    
+    /**
+     * Existing ticks of the hour plus the new ones in timestamp order. A new tick replaces an
+     * existing one of the same symbol and timestamp, so ticks exported before are not repeated;
+     * a tick without a database id never replaces one that has it and is dropped otherwise.
+     */
+    private static List<CryptoPrice> merge(List<CryptoPrice> existing, List<CryptoPrice> ticks) {
+        Map<String, CryptoPrice> merged = new LinkedHashMap<>();
+        for (CryptoPrice price : existing) {
+            if (price.getId() != null) {
+                merged.put(price.getSymbol() + "@" + price.getTimestamp(), price);
+            }
+        }
+        int unmatched = 0;
+        for (CryptoPrice tick : ticks) {
+            String key = tick.getSymbol() + "@" + tick.getTimestamp();
+            if (tick.getId() != null) {
+                merged.put(key, tick);
+            } else if (!merged.containsKey(key)) {
+                unmatched++;
+            }
+        }
+        if (unmatched > 0) {
+            log.warn("Dropped {} exported ticks without a stored row", unmatched);
+        }
+        List<CryptoPrice> prices = new ArrayList<>(merged.values());
+        prices.sort(Comparator.comparing(CryptoPrice::getTimestamp)
+                .thenComparing(CryptoPrice::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return prices;
+    }
+}
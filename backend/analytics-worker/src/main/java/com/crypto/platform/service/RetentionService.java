@@ -0,0 +1,98 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.model.TierWatermark;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.repository.TierWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.fs.FileSystem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps Postgres as the hot tier: raw ticks older than {@code retention.hot-window} are
+ * deleted hour by hour, oldest first, once the hour is verified in the cold tier (its archive
+ * segment holds at least as many ticks and is on HDFS). The first hour that fails the check
+ * stops eviction for the symbol, so the tier watermark always has every older tick archived.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RetentionService {
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final TierWatermarkRepository tierWatermarkRepository;
+    private final TickArchiveService tickArchiveService;
+    private final HdfsService hdfsService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${retention.hot-window}")
+    private Duration hotWindow;
+
+    @Value("${retention.max-hours-per-run}")
+    private int maxHoursPerRun;
+
+    public void evictColdData() throws IOException {
+        Instant cutoff = Instant.now().minus(hotWindow).truncatedTo(ChronoUnit.HOURS);
+        List<String> symbols = cryptoPriceRepository.findAllCryptoSymbols();
+        int evictedHours = 0;
+        try (FileSystem fs = hdfsService.openFileSystem()) {
+            for (String symbol : symbols) {
+                evictedHours += evictSymbol(fs, symbol, cutoff, maxHoursPerRun - evictedHours);
+                if (evictedHours >= maxHoursPerRun) {
+                    log.info("Retention stopped after {} hours, continuing on the next run", evictedHours);
+                    break;
+                }
+            }
+        }
+        log.info("Retention evicted {} symbol-hours older than {}", evictedHours, cutoff);
+    }
+
+    private int evictSymbol(FileSystem fs, String symbol, Instant cutoff, int budget) throws IOException {
+        int evicted = 0;
+        long rows = 0;
+        while (evicted < budget) {
+            Optional<CryptoPrice> oldest = cryptoPriceRepository.findTopBySymbolOrderByTimestampAsc(symbol);
+            if (!oldest.isPresent()) {
+                break;
+            }
+            LocalDateTime hour = LocalDateTime.ofInstant(oldest.get().getTimestamp(), ZoneId.systemDefault())
+                    .truncatedTo(ChronoUnit.HOURS);
+            Instant start = hour.atZone(ZoneId.systemDefault()).toInstant();
+            Instant end = hour.plusHours(1).atZone(ZoneId.systemDefault()).toInstant();
+            if (end.isAfter(cutoff)) {
+                break;
+            }
+
+            long hot = cryptoPriceRepository.countBySymbolAndTimeRange(symbol, start, end.minusNanos(1000));
+            long cold = tickArchiveService.countRange(symbol, start, end.minusNanos(1000));
+            if (cold < hot || !hdfsService.isArchivedOnHdfs(fs, symbol, hour)) {
+                log.warn("Retention for {} stopped at {}: {} rows in Postgres, {} in the archive{}", symbol, hour,
+                        hot, cold, cold < hot ? "" : ", segment missing on HDFS");
+                break;
+            }
+            Integer deleted = transactionTemplate.execute(status -> {
+                int count = cryptoPriceRepository.deleteBySymbolAndTimeRange(symbol, start, end);
+                tierWatermarkRepository.save(new TierWatermark(symbol, end, Instant.now()));
+                return count;
+            });
+            rows += deleted == null ? 0 : deleted;
+            evicted++;
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} rows ({} hours) of {} from Postgres", rows, evicted, symbol);
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,275 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.coherence.ChangePublisher;
+import com.crypto.platform.diagnostics.SparkPhaseEvent;
+import com.crypto.platform.event.PredictionsUpdatedEvent;
+import com.crypto.platform.ml.TrendModel;
+import com.crypto.platform.model.ModelVersion;
+import com.crypto.platform.model.PricePrediction;
+import com.crypto.platform.repository.PricePredictionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SparkMLService {
+
+    private final PricePredictionRepository pricePredictionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HdfsCompactionService hdfsCompactionService;
+    private final ChangePublisher changePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ModelRegistry modelRegistry;
+    
+    @Value("${spark.master.url}")
+    private String sparkMasterUrl;
+    
+    @Value("${spark.app.name}")
+    private String sparkAppName;
+    
+    @Value("${spark.executor.memory}")
+    private String sparkExecutorMemory;
+    
+    @Value("${spark.driver.memory}")
+    private String sparkDriverMemory;
+    
+    @Value("${spark.session.idle-timeout-ms}")
+    private long sessionIdleTimeoutMs;
+    
+    @Value("${models.training-window}")
+    private Duration trainingWindow;
+    
+    @Value("${models.min-samples}")
+    private int minSamples;
+    
+    // Created on first use and stopped again when idle, so the worker holds no
+    // cluster resources between jobs
+    private SparkSession spark;
+    private int activeUsers;
+    private long lastUsedMs;
+    
+    private static final int[] PREDICTION_DAYS = {1, 7, 30};
+    
+    // List of crypto symbols to analyze
+    private final List<String> symbols = Arrays.asList("BTCUSDT", "ETHUSDT", "BNBUSDT", "ADAUSDT", "DOGEUSDT");
+    
+    private synchronized SparkSession acquireSession() {
+        if (spark == null) {
+            spark = SparkSession.builder()
+                    .appName(sparkAppName)
+                    .master(sparkMasterUrl)
+                    .config("spark.executor.memory", sparkExecutorMemory)
+                    .config("spark.driver.memory", sparkDriverMemory)
+                    .getOrCreate();
+            log.info("Spark session initialized with master URL: {}", sparkMasterUrl);
+        }
+        activeUsers++;
+        return spark;
+    }
+    
+    private synchronized void releaseSession() {
+        activeUsers--;
+        lastUsedMs = System.currentTimeMillis();
+    }
+    
+    /**
+     * Stop the Spark session once no job has used it for the idle timeout
+     */
+    @Scheduled(fixedDelayString = "${spark.session.idle-check-interval-ms}")
+    public synchronized void stopIdleSession() {
+        if (spark != null && activeUsers == 0
+                && System.currentTimeMillis() - lastUsedMs >= sessionIdleTimeoutMs) {
+            cleanup();
+        }
+    }
+    
+    @PreDestroy
+    public synchronized void cleanup() {
+        if (spark != null) {
+            spark.close();
+            spark = null;
+            log.info("Spark session closed");
+        }
+    }
+    
+    /**
+     * Run ML prediction for all analyzed crypto symbols
+     */
+    public void runPricePredictions() {
+        log.info("Starting Spark ML predictions job at {}", Instant.now());
+        
+        for (String symbol : symbols) {
+            try {
+                predictPriceForSymbol(symbol);
+            } catch (Exception e) {
+                log.error("Error running prediction for symbol {}: {}", symbol, e.getMessage());
+            }
+        }
+        
+        log.info("Completed Spark ML predictions job");
+    }
+    
+    /**
+     * Train the symbol's trend model on its recent hourly closes, publish it to the model
+     * registry and store the day, week and month predictions it makes from the last close.
+     *
+     * Spark reduces the ticks to hourly closes and those to the least squares sums of
+     * ln(close) over the hour offset x (0 at the last hour), so the driver receives one row:
+     * <pre>
+     *   slope = (n*Sxy - Sx*Sy) / (n*Sxx - Sx^2)     intercept = (Sy - slope*Sx) / n
+     * </pre>
+     */
+    public void predictPriceForSymbol(String symbol) {
+        log.info("Running prediction for symbol: {}", symbol);
+        
+        SparkPhaseEvent sessionEvent = SparkPhaseEvent.start(symbol, SparkPhaseEvent.SESSION);
+        SparkSession spark = acquireSession();
+        sessionEvent.finish();
+        try {
+            // Compacted files from the manifest plus the hourly files of recent days
+            List<String> dataFiles = hdfsCompactionService.dataFiles(symbol);
+            if (dataFiles.isEmpty()) {
+                log.warn("No HDFS data for symbol: {}", symbol);
+                return;
+            }
+            
+            // Load historical data from HDFS; schema inference already reads the files
+            SparkPhaseEvent loadEvent = SparkPhaseEvent.start(symbol, SparkPhaseEvent.LOAD);
+            Dataset<Row> dataFrame = spark.read()
+                    .option("header", "true")
+                    .option("inferSchema", "true")
+                    .csv(dataFiles.toArray(new String[0]));
+            
+            // Register as a temporary view for SQL queries
+            dataFrame.createOrReplaceTempView("crypto_prices");
+            loadEvent.finish();
+            
+            long trainedAtMs = System.currentTimeMillis();
+            long fromSeconds = (trainedAtMs - trainingWindow.toMillis()) / 1000;
+            SparkPhaseEvent fitEvent = SparkPhaseEvent.start(symbol, SparkPhaseEvent.FIT);
+            Row fit = spark.sql(
+                    "WITH ticks AS (" +
+                    "   SELECT CAST(price AS DOUBLE) AS price, " +
+                    "          CAST(CAST(timestamp AS TIMESTAMP) AS DOUBLE) AS ts " +
+                    "   FROM crypto_prices " +
+                    "   WHERE symbol = '" + symbol + "'" +
+                    "), hourly AS (" +
+                    "   SELECT CAST(FLOOR(ts / 3600) AS BIGINT) AS hour, LN(MAX_BY(price, ts)) AS y " +
+                    "   FROM ticks " +
+                    "   WHERE ts >= " + fromSeconds + " AND price > 0 " +
+                    "   GROUP BY CAST(FLOOR(ts / 3600) AS BIGINT)" +
+                    "), features AS (" +
+                    "   SELECT hour, y, " +
+                    "          CAST(hour - MAX(hour) OVER () AS DOUBLE) AS x, " +
+                    "          y - LAG(y) OVER (ORDER BY hour) AS r " +
+                    "   FROM hourly" +
+                    ") " +
+                    "SELECT COUNT(*) AS n, MIN(hour) AS first_hour, MAX(hour) AS last_hour, " +
+                    "   SUM(x) AS sx, SUM(y) AS sy, SUM(x * x) AS sxx, SUM(x * y) AS sxy, SUM(y * y) AS syy, " +
+                    "   MAX_BY(y, hour) AS last_y, STDDEV_SAMP(r) AS volatility " +
+                    "FROM features"
+            ).first();
+            fitEvent.finish();
+            
+            long n = fit.getLong(fit.fieldIndex("n"));
+            if (n < minSamples) {
+                log.warn("Only {} hourly closes for symbol {}, need {} to train", n, symbol, minSamples);
+                return;
+            }
+            TrendModel model = fitTrend(symbol, fit, trainedAtMs);
+            double lastClose = Math.exp(fit.getDouble(fit.fieldIndex("last_y")));
+            
+            // Register the model and store its predictions for next day, week and month; the
+            // API replicas learn about both from the change notices committed with them
+            SparkPhaseEvent publishEvent = SparkPhaseEvent.start(symbol, SparkPhaseEvent.PUBLISH);
+            transactionTemplate.executeWithoutResult(status -> {
+                ModelVersion version = modelRegistry.publish(model);
+                String modelName = "LogTrend v" + version.getVersion();
+                double accuracy = Math.max(0, Math.min(1, model.getR2()));
+                long runId = 0;
+                for (int daysAhead : PREDICTION_DAYS) {
+                    double hours = daysAhead * 24.0;
+                    double predictedPrice = model.predictPrice(lastClose, hours);
+                    runId = createPrediction(symbol, predictedPrice,
+                            model.confidenceInterval(predictedPrice, hours), daysAhead, modelName, accuracy);
+                }
+                changePublisher.predictionsStored(symbol, runId);
+            });
+            publishEvent.finish();
+            eventPublisher.publishEvent(new PredictionsUpdatedEvent(this, symbol));
+            
+            log.info("Predictions created for symbol: {}", symbol);
+            
+        } catch (Exception e) {
+            log.error("Error in Spark prediction for symbol {}: {}", symbol, e.getMessage());
+            throw new RuntimeException("Prediction failed", e);
+        } finally {
+            releaseSession();
+        }
+    }
+    
+    private static TrendModel fitTrend(String symbol, Row fit, long trainedAtMs) {
+        double n = fit.getLong(fit.fieldIndex("n"));
+        double sx = fit.getDouble(fit.fieldIndex("sx"));
+        double sy = fit.getDouble(fit.fieldIndex("sy"));
+        double sxx = fit.getDouble(fit.fieldIndex("sxx"));
+        double sxy = fit.getDouble(fit.fieldIndex("sxy"));
+        double syy = fit.getDouble(fit.fieldIndex("syy"));
+        
+        double denominator = n * sxx - sx * sx;
+        double slope = denominator > 0 ? (n * sxy - sx * sy) / denominator : 0;
+        double intercept = (sy - slope * sx) / n;
+        double sse = Math.max(0, syy - intercept * sy - slope * sxy);
+        double sst = syy - sy * sy / n;
+        int volatilityIndex = fit.fieldIndex("volatility");
+        
+        return TrendModel.builder()
+                .symbol(symbol)
+                .trainedAtMs(trainedAtMs)
+                .trainedFromMs(fit.getLong(fit.fieldIndex("first_hour")) * 3_600_000L)
+                .trainedToMs((fit.getLong(fit.fieldIndex("last_hour")) + 1) * 3_600_000L)
+                .sampleCount((int) n)
+                .slopePerHour(slope)
+                .intercept(intercept)
+                .residualStdDev(n > 2 ? Math.sqrt(sse / (n - 2)) : 0)
+                .volatility(fit.isNullAt(volatilityIndex) ? 0 : fit.getDouble(volatilityIndex))
+                .r2(sst > 0 ? Math.max(0, 1 - sse / sst) : 0)
+                .build();
+    }
+    
+    /**
+     * Helper method to create and save a price prediction, returning its id
+     */
+    private long createPrediction(String symbol, double predictedPrice, double stdDev, int daysAhead,
+                                  String model, double accuracy) {
+        // Create prediction object
+        PricePrediction prediction = PricePrediction.builder()
+                .symbol(symbol)
+                .predictedPrice(BigDecimal.valueOf(predictedPrice))
+                .confidenceInterval(BigDecimal.valueOf(stdDev))
+                .targetDate(Instant.now().plus(daysAhead, ChronoUnit.DAYS))
+                .model(model)
+                .accuracy(BigDecimal.valueOf(accuracy))
+                .build();
+        
+        // Save to database
+        return pricePredictionRepository.save(prediction).getId();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.crypto.platform.worker;
+
+import com.crypto.platform.model.AnalyticsJob;
+import com.crypto.platform.model.AnalyticsJob.JobType;
+import com.crypto.platform.service.AnalyticsJobService;
+import com.crypto.platform.service.HdfsCompactionService;
+import com.crypto.platform.service.HdfsService;
+import com.crypto.platform.service.RetentionService;
+import com.crypto.platform.service.SparkMLService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Polls the analytics_jobs table and runs claimed jobs one at a time.
+ * The cron triggers only enqueue, so with several workers each run happens once.
+ * The methods are run by the jobs of {@link WorkerJobConfig}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsJobWorker {
+
+    private final AnalyticsJobService analyticsJobService;
+    private final HdfsService hdfsService;
+    private final SparkMLService sparkMLService;
+    private final RetentionService retentionService;
+    private final HdfsCompactionService hdfsCompactionService;
+
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${worker.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${worker.stale-after}")
+    private Duration staleAfter;
+
+    // Job the poll thread is running, for the heartbeat
+    private volatile AnalyticsJob current;
+
+    /**
+     * Scheduled trigger for the hourly HDFS export
+     */
+    public void scheduleHdfsExport() {
+        analyticsJobService.enqueue(JobType.HDFS_EXPORT, null);
+    }
+
+    /**
+     * Scheduled trigger for the daily predictions
+     */
+    public void schedulePredictions() {
+        analyticsJobService.enqueue(JobType.PREDICTION, null);
+    }
+
+    /**
+     * Scheduled trigger for evicting archived ticks from Postgres
+     */
+    public void scheduleRetention() {
+        analyticsJobService.enqueue(JobType.RETENTION, null);
+    }
+
+    /**
+     * Scheduled trigger for compacting the hourly HDFS files of closed days
+     */
+    public void scheduleCompaction() {
+        analyticsJobService.enqueue(JobType.COMPACTION, null);
+    }
+
+    /**
+     * Drain the queue; the next poll starts a fixed delay after this one returns
+     */
+    public void poll() {
+        Optional<AnalyticsJob> next;
+        while ((next = analyticsJobService.claim(workerId)).isPresent()) {
+            run(next.get());
+        }
+    }
+
+    /**
+     * Renew the heartbeat of the running job, so it is not requeued while this worker is alive
+     */
+    public void heartbeat() {
+        AnalyticsJob job = current;
+        if (job != null && !analyticsJobService.heartbeat(job.getId(), workerId)) {
+            log.warn("Analytics job {} is no longer held by worker {}", job.getId(), workerId);
+        }
+    }
+
+    /**
+     * Put jobs of stopped workers back in the queue
+     */
+    public void requeueStaleJobs() {
+        int requeued = analyticsJobService.requeueStale(Instant.now().minus(staleAfter));
+        if (requeued > 0) {
+            log.warn("Requeued {} analytics jobs left running by a stopped worker", requeued);
+        }
+    }
+
+    private void run(AnalyticsJob job) {
+        log.info("Worker {} running {} job {} for {}", workerId, job.getType(), job.getId(),
+                job.getSymbol() == null ? "all symbols" : job.getSymbol());
+        current = job;
+        try {
+            switch (job.getType()) {
+                case HDFS_EXPORT:
+                    // The export drains the tick journal, which covers every symbol
+                    hdfsService.exportDataToHdfs();
+                    break;
+                case PREDICTION:
+                    if (job.getSymbol() == null) {
+                        sparkMLService.runPricePredictions();
+                    } else {
+                        sparkMLService.predictPriceForSymbol(job.getSymbol());
+                    }
+                    break;
+                case RETENTION:
+                    retentionService.evictColdData();
+                    break;
+                case COMPACTION:
+                    hdfsCompactionService.compactAll();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown job type: " + job.getType());
+            }
+            analyticsJobService.complete(job);
+        } catch (Exception e) {
+            log.error("Analytics job {} failed: {}", job.getId(), e.getMessage());
+            analyticsJobService.fail(job, e.getMessage(), maxAttempts);
+        } finally {
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.crypto.platform.worker;
+
+import com.crypto.platform.jobs.JobDefinition;
+import com.crypto.platform.jobs.MisfirePolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Jobs of the analytics worker. The cron triggers are clustered and catch up a firing missed
+ * while every worker was down (the queue dedupes them anyway); the queue poll runs on every
+ * worker on its own thread, so a long Spark run never holds up the triggers.
+ */
+@Configuration
+public class WorkerJobConfig {
+
+    @Value("${jobs.trigger.lock-at-least-for}")
+    private Duration triggerLockAtLeastFor;
+
+    @Bean
+    public JobDefinition hdfsExportTriggerJob(AnalyticsJobWorker worker,
+                                              @Value("${scheduler.hdfs.import.cron}") String cron) {
+        return trigger("hdfs-export-trigger", cron, worker::scheduleHdfsExport);
+    }
+
+    @Bean
+    public JobDefinition predictionTriggerJob(AnalyticsJobWorker worker,
+                                              @Value("${scheduler.analytics.cron}") String cron) {
+        return trigger("prediction-trigger", cron, worker::schedulePredictions);
+    }
+
+    @Bean
+    public JobDefinition retentionTriggerJob(AnalyticsJobWorker worker,
+                                             @Value("${scheduler.retention.cron}") String cron) {
+        return trigger("retention-trigger", cron, worker::scheduleRetention);
+    }
+
+    @Bean
+    public JobDefinition compactionTriggerJob(AnalyticsJobWorker worker,
+                                              @Value("${scheduler.compaction.cron}") String cron) {
+        return trigger("compaction-trigger", cron, worker::scheduleCompaction);
+    }
+
+    @Bean
+    public JobDefinition analyticsQueuePollJob(AnalyticsJobWorker worker,
+                                               @Value("${worker.poll-interval-ms}") long pollIntervalMs) {
+        return JobDefinition.builder()
+                .name("analytics-queue-poll")
+                .fixedDelay(Duration.ofMillis(pollIntervalMs))
+                .task(worker::poll)
+                .build();
+    }
+
+    @Bean
+    public JobDefinition jobHeartbeatJob(AnalyticsJobWorker worker,
+                                         @Value("${worker.heartbeat-interval-ms}") long intervalMs) {
+        return JobDefinition.builder()
+                .name("job-heartbeat")
+                .fixedDelay(Duration.ofMillis(intervalMs))
+                .task(worker::heartbeat)
+                .build();
+    }
+
+    @Bean
+    public JobDefinition staleJobCheckJob(AnalyticsJobWorker worker,
+                                          @Value("${worker.stale-check-interval-ms}") long intervalMs) {
+        return JobDefinition.builder()
+                .name("stale-job-check")
+                .fixedDelay(Duration.ofMillis(intervalMs))
+                .clustered(true)
+                .lockAtMostFor(Duration.ofMillis(intervalMs))
+                .lockAtLeastFor(Duration.ofMillis(intervalMs / 2))
+                .task(worker::requeueStaleJobs)
+                .build();
+    }
+
+    private JobDefinition trigger(String name, String cron, Runnable task) {
+        return JobDefinition.builder()
+                .name(name)
+                .cron(cron)
+                .misfirePolicy(MisfirePolicy.COALESCE)
+                .catchUp(true)
+                .clustered(true)
+                .lockAtMostFor(Duration.ofMinutes(5))
+                .lockAtLeastFor(triggerLockAtLeastFor)
+                .task(task)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.crypto.platform.admission;
+
+import com.crypto.platform.payload.response.AdmissionStatusResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission of public reads: a token bucket per client (user name when authenticated, client
+ * address otherwise) weighted by {@link CostModel}, then an in-flight limit per {@link Lane}.
+ * Buckets live in a concurrent map and are dropped by {@link #sweep()} once full again; past
+ * {@code admission.max-clients} new clients share one overflow bucket, so a flood of
+ * addresses cannot grow the map.
+ */
+@Service
+@Slf4j
+public class AdmissionControl {
+
+    private static final String OVERFLOW_CLIENT = "*";
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Lane, ConcurrencyLane> lanes = new EnumMap<>(Lane.class);
+    private final LongAdder overflowed = new LongAdder();
+    private final int maxClients;
+    private final long anonymousIntervalNanos;
+    private final long anonymousCapacityNanos;
+    private final long userIntervalNanos;
+    private final long userCapacityNanos;
+
+    public AdmissionControl(@Value("${admission.anonymous.tokens-per-second}") double anonymousRate,
+                            @Value("${admission.anonymous.burst}") int anonymousBurst,
+                            @Value("${admission.user.tokens-per-second}") double userRate,
+                            @Value("${admission.user.burst}") int userBurst,
+                            @Value("${admission.lane.latest.max-concurrent}") int latestMaxConcurrent,
+                            @Value("${admission.lane.history.max-concurrent}") int historyMaxConcurrent,
+                            @Value("${admission.max-clients}") int maxClients) {
+        this.anonymousIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / anonymousRate);
+        this.anonymousCapacityNanos = anonymousBurst * anonymousIntervalNanos;
+        this.userIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / userRate);
+        this.userCapacityNanos = userBurst * userIntervalNanos;
+        this.maxClients = maxClients;
+        lanes.put(Lane.LATEST, new ConcurrencyLane(latestMaxConcurrent));
+        lanes.put(Lane.HISTORY, new ConcurrencyLane(historyMaxConcurrent));
+        log.info("Admission control: {} latest and {} history requests in flight, {} anonymous and {} user tokens/s",
+                latestMaxConcurrent, historyMaxConcurrent, anonymousRate, userRate);
+    }
+
+    /**
+     * Admit a request or say how long the client should wait. An admitted request holds a
+     * place in its lane until {@link #release(Lane)}.
+     */
+    public Admission tryAdmit(String client, boolean authenticated, RequestCost cost) {
+        ConcurrencyLane lane = lanes.get(cost.getLane());
+        if (!lane.tryEnter()) {
+            return Admission.rejected("Error: Too many " + cost.getLane().name().toLowerCase()
+                    + " requests in progress, retry shortly", 1);
+        }
+        long now = System.nanoTime();
+        long interval = authenticated ? userIntervalNanos : anonymousIntervalNanos;
+        long capacity = authenticated ? userCapacityNanos : anonymousCapacityNanos;
+        // A cost above the burst could never be admitted; it empties a full bucket instead
+        int tokens = (int) Math.min(cost.getTokens(), capacity / interval);
+        long waitNanos = bucket(client, now).tryTake(tokens, now, interval, capacity);
+        if (waitNanos > 0) {
+            lane.rateLimited();
+            return Admission.rejected("Error: Rate limit exceeded, retry later",
+                    Math.max(1, (int) Math.ceil(waitNanos / 1e9)));
+        }
+        lane.admitted();
+        return Admission.ADMITTED;
+    }
+
+    public void release(Lane lane) {
+        lanes.get(lane).leave();
+    }
+
+    /**
+     * Drop the buckets that have refilled completely; a returning client starts with the same
+     * full bucket
+     */
+    public void sweep() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+        log.debug("Admission sweep dropped {} of {} client buckets", before - buckets.size(), before);
+    }
+
+    public AdmissionStatusResponse getStatus() {
+        List<AdmissionStatusResponse.LaneStatus> laneStatuses = new ArrayList<>();
+        lanes.forEach((name, lane) -> laneStatuses.add(new AdmissionStatusResponse.LaneStatus(name.name(),
+                lane.getMaxConcurrent(), lane.getInFlight(), lane.getAdmitted(), lane.getShed(),
+                lane.getRateLimited())));
+        return new AdmissionStatusResponse(buckets.size(), overflowed.sum(), laneStatuses);
+    }
+
+    private TokenBucket bucket(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            overflowed.increment();
+            client = OVERFLOW_CLIENT;
+        }
+        return buckets.computeIfAbsent(client, key -> new TokenBucket(now));
+    }
+
+    /**
+     * Outcome of {@link #tryAdmit}
+     */
+    public static final class Admission {
+
+        static final Admission ADMITTED = new Admission(null, 0);
+
+        private final String message;
+        private final int retryAfterSeconds;
+
+        private Admission(String message, int retryAfterSeconds) {
+            this.message = message;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        static Admission rejected(String message, int retryAfterSeconds) {
+            return new Admission(message, retryAfterSeconds);
+        }
+
+        public boolean isAdmitted() {
+            return message == null;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.crypto.platform.admission;
+
+import com.crypto.platform.payload.response.MessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sheds public reads with 429 and Retry-After when the client is over its rate or the lane is
+ * full. Runs after the JWT filter so signed-in users get their own, larger bucket. The lane
+ * place is held until an async response completes, not just until the controller returns its
+ * future.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+    private final CostModel costModel;
+    private final ObjectMapper objectMapper;
+    private final String forwardedForHeader;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestCost cost = costModel.of(request);
+        if (cost == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        String client = authenticated ? "user:" + authentication.getName() : "address:" + clientAddress(request);
+
+        AdmissionControl.Admission admission = admissionControl.tryAdmit(client, authenticated, cost);
+        if (!admission.isAdmitted()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new MessageResponse(admission.getMessage()));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(cost.getLane()));
+            } else {
+                admissionControl.release(cost.getLane());
+            }
+        }
+    }
+
+    /**
+     * The peer address, unless the peer is a trusted proxy: then the forwarding header is read
+     * from the right, skipping trusted proxies, and the first other address is the client.
+     * Entries left of it were written by the client and are never used.
+     */
+    private String clientAddress(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!isTrustedProxy(address)) {
+            return address;
+        }
+        String forwardedFor = request.getHeader(forwardedForHeader);
+        if (!StringUtils.hasText(forwardedFor)) {
+            return address;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            address = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not an IP address
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Errors and timeouts are followed by onComplete, so the place is released exactly once
+     */
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final Lane lane;
+
+        private ReleaseOnComplete(Lane lane) {
+            this.lane = lane;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admissionControl.release(lane);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
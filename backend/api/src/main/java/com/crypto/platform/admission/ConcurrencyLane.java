@@ -0,0 +1,70 @@
+package com.crypto.platform.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-flight limit of one {@link Lane}. A request that finds the lane full is shed right away
+ * rather than queued, so latency stays flat and the client retries later.
+ */
+final class ConcurrencyLane {
+
+    private final int maxConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    ConcurrencyLane(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    boolean tryEnter() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrent) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void admitted() {
+        admitted.increment();
+    }
+
+    /**
+     * Leave after the client's bucket turned the request down
+     */
+    void rateLimited() {
+        rateLimited.increment();
+        inFlight.decrementAndGet();
+    }
+
+    void leave() {
+        inFlight.decrementAndGet();
+    }
+
+    int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getAdmitted() {
+        return admitted.sum();
+    }
+
+    long getShed() {
+        return shed.sum();
+    }
+
+    long getRateLimited() {
+        return rateLimited.sum();
+    }
+}
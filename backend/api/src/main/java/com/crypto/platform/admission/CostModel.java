@@ -0,0 +1,117 @@
+package com.crypto.platform.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Lane and token cost of a public read. Latest-value reads cost one token. Pages cost by the
+ * rows they return and downsampled history by the hours it scans, both capped at
+ * {@code admission.cost.max}, since that is what holds a connection and a query thread.
+ * Requests outside the public read APIs are not governed and get null.
+ */
+@Component
+public class CostModel {
+
+    private static final int DEFAULT_RECENT_LIMIT = 100;
+    private static final long DEFAULT_HISTORY_HOURS = 24;
+
+    @Value("${admission.cost.rows-per-token}")
+    private int rowsPerToken;
+
+    @Value("${admission.cost.hours-per-token}")
+    private int hoursPerToken;
+
+    @Value("${admission.cost.analytics}")
+    private int analyticsCost;
+
+    @Value("${admission.cost.max}")
+    private int maxCost;
+
+    @Value("${history.page.default-size}")
+    private int defaultHistoryPageSize;
+
+    @Value("${history.page.max-size}")
+    private int maxPageSize;
+
+    public RequestCost of(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return null;
+        }
+        String[] path = request.getRequestURI().substring(request.getContextPath().length()).split("/");
+        if (path.length < 2) {
+            return null;
+        }
+        String resource = path[1];
+        String action = path.length > 3 ? path[3] : "";
+        switch (resource) {
+            case "prices":
+                if (path.length == 3 && "symbols".equals(path[2])) {
+                    return latest();
+                }
+                if ("recent".equals(action)) {
+                    return history(1 + rows(request.getParameter("limit"), DEFAULT_RECENT_LIMIT) / rowsPerToken);
+                }
+                if ("history".equals(action)) {
+                    return request.getParameter("maxPoints") != null
+                            ? history(1 + hours(request.getParameter("startTime"),
+                                    request.getParameter("endTime")) / hoursPerToken)
+                            : history(1 + rows(request.getParameter("limit"), defaultHistoryPageSize) / rowsPerToken);
+                }
+                return path.length > 2 ? latest() : null;
+            case "predictions":
+                if ("latest".equals(action) || "live".equals(action)) {
+                    return latest();
+                }
+                // A few rows per symbol and run, but still a database query
+                return path.length > 2 ? history(1) : null;
+            case "market":
+                return latest();
+            case "analytics":
+                return history(analyticsCost);
+            default:
+                return null;
+        }
+    }
+
+    private RequestCost latest() {
+        return new RequestCost(Lane.LATEST, 1);
+    }
+
+    private RequestCost history(long tokens) {
+        return new RequestCost(Lane.HISTORY, (int) Math.max(1, Math.min(tokens, maxCost)));
+    }
+
+    /**
+     * Rows a page returns: the requested limit as the controllers cap it
+     */
+    private int rows(String limit, int defaultLimit) {
+        try {
+            return limit == null ? defaultLimit : Math.max(1, Math.min(Integer.parseInt(limit), maxPageSize));
+        } catch (NumberFormatException e) {
+            return defaultLimit;
+        }
+    }
+
+    /**
+     * Hours of a history range as the controller defaults it: an open end is now and an open
+     * start is a day before now. Unparseable ranges are rejected by the controller later and
+     * cost the default day here.
+     */
+    private static long hours(String startTime, String endTime) {
+        try {
+            if (startTime == null) {
+                return DEFAULT_HISTORY_HOURS;
+            }
+            Instant end = endTime == null ? Instant.now() : Instant.parse(endTime);
+            return Math.max(0, Duration.between(Instant.parse(startTime), end).toHours());
+        } catch (DateTimeParseException e) {
+            return DEFAULT_HISTORY_HOURS;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.crypto.platform.admission;
+
+/**
+ * Concurrency lanes of the public read APIs. Each lane has its own in-flight limit, so cheap
+ * latest-value reads never wait behind history scans holding database connections.
+ */
+public enum Lane {
+
+    /** Latest prices, predictions, stats and the market overview; mostly served from memory */
+    LATEST,
+
+    /** Ranges, pages and analytics that scan the database or the tick archive */
+    HISTORY
+}
@@ -0,0 +1,15 @@
+package com.crypto.platform.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Lane of a request and the tokens it takes from its client's bucket
+ */
+@Getter
+@AllArgsConstructor
+public class RequestCost {
+
+    private final Lane lane;
+    private final int tokens;
+}
@@ -0,0 +1,43 @@
+package com.crypto.platform.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (the generic cell rate algorithm):
+ * taking n tokens moves it n emission intervals into the future, and the bucket is empty when
+ * it runs more than the burst ahead of now. One CAS per request, no lock and no refill thread.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take {@code tokens} if the bucket holds them; returns 0 when taken, otherwise the nanos
+     * until it will
+     */
+    long tryTake(int tokens, long nowNanos, long emissionIntervalNanos, long capacityNanos) {
+        long increment = tokens * emissionIntervalNanos;
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long ahead = next - nowNanos;
+            if (ahead > capacityNanos) {
+                return ahead - capacityNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket is the same as a new one, so it can be dropped from the client map
+     */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
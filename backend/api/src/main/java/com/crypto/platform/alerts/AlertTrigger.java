@@ -0,0 +1,21 @@
+package com.crypto.platform.alerts;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An alert that fired on a tick, waiting for batched delivery
+ */
+@Getter
+@AllArgsConstructor
+public class AlertTrigger {
+
+    private final long alertId;
+    private final String username;
+    private final String symbol;
+    private final BigDecimal price;
+    private final Instant time;
+}
@@ -0,0 +1,47 @@
+package com.crypto.platform.alerts;
+
+/**
+ * Compact in-memory form of an active alert: fixed-point trigger levels
+ * ({@link SymbolAlertIndex#SCALE} decimals) instead of the full entity.
+ */
+public final class IndexedAlert {
+
+    public static final long NO_UPPER = Long.MAX_VALUE;
+    public static final long NO_LOWER = Long.MIN_VALUE;
+
+    private final long id;
+    private final String username;
+    private final long upper;  // fires when price >= upper
+    private final long lower;  // fires when price <= lower
+
+    public IndexedAlert(long id, String username, long upper, long lower) {
+        this.id = id;
+        this.username = username;
+        this.upper = upper;
+        this.lower = lower;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public long getUpper() {
+        return upper;
+    }
+
+    public long getLower() {
+        return lower;
+    }
+
+    boolean hasUpper() {
+        return upper != NO_UPPER;
+    }
+
+    boolean hasLower() {
+        return lower != NO_LOWER;
+    }
+}
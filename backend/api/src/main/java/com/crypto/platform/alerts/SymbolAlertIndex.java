@@ -0,0 +1,101 @@
+package com.crypto.platform.alerts;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Active alerts of one symbol keyed by trigger level. Upper levels fire once the price reaches
+ * them from below, lower levels once it falls to them, so a tick only walks the crossed head of
+ * each tree: O(log n + k) for k triggered alerts, independent of how many stay armed.
+ * An alert with both levels (percent move) sits in both trees and is disarmed by whichever fires.
+ */
+public class SymbolAlertIndex {
+
+    public static final int SCALE = 8;
+
+    private final NavigableMap<Long, List<IndexedAlert>> upper = new TreeMap<>();
+    private final NavigableMap<Long, List<IndexedAlert>> lower = new TreeMap<>();
+    private final Map<Long, IndexedAlert> byId = new HashMap<>();
+
+    public static long toFixedPoint(BigDecimal price) {
+        return price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Arm an alert; adding an id that is already armed is a no-op
+     */
+    public synchronized boolean add(IndexedAlert alert) {
+        if (byId.putIfAbsent(alert.getId(), alert) != null) {
+            return false;
+        }
+        if (alert.hasUpper()) {
+            upper.computeIfAbsent(alert.getUpper(), level -> new ArrayList<>(1)).add(alert);
+        }
+        if (alert.hasLower()) {
+            lower.computeIfAbsent(alert.getLower(), level -> new ArrayList<>(1)).add(alert);
+        }
+        return true;
+    }
+
+    public synchronized boolean remove(long id) {
+        IndexedAlert alert = byId.remove(id);
+        if (alert == null) {
+            return false;
+        }
+        if (alert.hasUpper()) {
+            unlink(upper, alert.getUpper(), alert);
+        }
+        if (alert.hasLower()) {
+            unlink(lower, alert.getLower(), alert);
+        }
+        return true;
+    }
+
+    /**
+     * Disarm and hand over every alert crossed by {@code price}
+     */
+    public synchronized int evaluate(long price, Consumer<IndexedAlert> triggered) {
+        int fired = fire(upper.headMap(price, true), lower, false, triggered);
+        fired += fire(lower.tailMap(price, true), upper, true, triggered);
+        return fired;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private int fire(NavigableMap<Long, List<IndexedAlert>> crossed, NavigableMap<Long, List<IndexedAlert>> other,
+                     boolean otherIsUpper, Consumer<IndexedAlert> triggered) {
+        if (crossed.isEmpty()) {
+            return 0;
+        }
+        int fired = 0;
+        for (Iterator<List<IndexedAlert>> levels = crossed.values().iterator(); levels.hasNext(); ) {
+            for (IndexedAlert alert : levels.next()) {
+                byId.remove(alert.getId());
+                if (otherIsUpper ? alert.hasUpper() : alert.hasLower()) {
+                    unlink(other, otherIsUpper ? alert.getUpper() : alert.getLower(), alert);
+                }
+                triggered.accept(alert);
+                fired++;
+            }
+            levels.remove();
+        }
+        return fired;
+    }
+
+    private static void unlink(NavigableMap<Long, List<IndexedAlert>> tree, long level, IndexedAlert alert) {
+        List<IndexedAlert> bucket = tree.get(level);
+        if (bucket != null && bucket.remove(alert) && bucket.isEmpty()) {
+            tree.remove(level);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.crypto.platform.analytics;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Covariance and correlation of hourly log returns of a fixed symbol list over the last
+ * {@code length} closed hours. Returns are kept column-wise in a ring (one primitive row per
+ * symbol) together with their sums and cross products; when new hours close only their rows
+ * are added and the oldest ones subtracted, O(n^2) per hour instead of a full O(n^2 T) pass.
+ * The full pass runs on first use, after long gaps and periodically to shed rounding drift.
+ * Hours without a tick carry the previous close forward (zero return). Not thread-safe.
+ */
+public class CorrelationWindow {
+
+    private final String[] symbols;
+    private final int length;
+    private final double[][] returns;
+    private final double[] sums;
+    private final double[] lastClose;
+    private double[][] cross;
+    private long endHour = Long.MIN_VALUE;
+    private int next;
+    private int sinceRebuild;
+
+    public CorrelationWindow(String[] symbols, int length) {
+        this.symbols = symbols;
+        this.length = length;
+        this.returns = new double[symbols.length][length];
+        this.sums = new double[symbols.length];
+        this.lastClose = new double[symbols.length];
+    }
+
+    public String[] getSymbols() {
+        return symbols;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public long getEndHour() {
+        return endHour;
+    }
+
+    /**
+     * Bring the window up to {@code hour} (inclusive), incrementally when possible
+     */
+    public void advanceTo(long hour, HourlyCloses[] closes, ForkJoinPool pool) {
+        if (hour <= endHour) {
+            return;
+        }
+        if (endHour == Long.MIN_VALUE || hour - endHour >= length || sinceRebuild + (hour - endHour) > length) {
+            rebuild(hour, closes, pool);
+            return;
+        }
+        int n = symbols.length;
+        double[] row = new double[n];
+        double[] old = new double[n];
+        for (long h = endHour + 1; h <= hour; h++) {
+            for (int i = 0; i < n; i++) {
+                row[i] = nextReturn(i, closes[i].get(h));
+                old[i] = returns[i][next];
+                returns[i][next] = row[i];
+                sums[i] += row[i] - old[i];
+            }
+            for (int i = 0; i < n; i++) {
+                double[] crossRow = cross[i];
+                double ri = row[i];
+                double oi = old[i];
+                for (int j = i; j < n; j++) {
+                    crossRow[j] += ri * row[j] - oi * old[j];
+                }
+            }
+            next = (next + 1) % length;
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                cross[i][j] = cross[j][i];
+            }
+        }
+        sinceRebuild += (int) (hour - endHour);
+        endHour = hour;
+    }
+
+    /**
+     * Sample covariance matrix of the returns in the window
+     */
+    public double[][] covariance() {
+        int n = symbols.length;
+        double[][] covariance = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                double value = (cross[i][j] - sums[i] * sums[j] / length) / (length - 1);
+                covariance[i][j] = value;
+                covariance[j][i] = value;
+            }
+        }
+        return covariance;
+    }
+
+    /**
+     * Pearson correlation from a covariance matrix; 0 where a series is flat
+     */
+    public static double[][] correlation(double[][] covariance) {
+        int n = covariance.length;
+        double[] scale = new double[n];
+        for (int i = 0; i < n; i++) {
+            scale[i] = covariance[i][i] > 0 ? 1 / Math.sqrt(covariance[i][i]) : 0;
+        }
+        double[][] correlation = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                correlation[i][j] = Math.max(-1, Math.min(1, covariance[i][j] * scale[i] * scale[j]));
+            }
+        }
+        return correlation;
+    }
+
+    private void rebuild(long hour, HourlyCloses[] closes, ForkJoinPool pool) {
+        int n = symbols.length;
+        long first = hour - length + 1;
+        for (int i = 0; i < n; i++) {
+            lastClose[i] = closes[i].getAtOrBefore(first - 1);
+            double[] row = returns[i];
+            closes[i].read(first, row);
+            double sum = 0;
+            for (int t = 0; t < length; t++) {
+                double value = nextReturn(i, row[t]);
+                row[t] = value;
+                sum += value;
+            }
+            sums[i] = sum;
+        }
+        cross = CrossProductKernel.compute(returns, pool);
+        next = 0;
+        sinceRebuild = 0;
+        endHour = hour;
+    }
+
+    private double nextReturn(int i, double close) {
+        if (Double.isNaN(close) || close <= 0) {
+            return 0;
+        }
+        double previous = lastClose[i];
+        lastClose[i] = close;
+        return Double.isNaN(previous) || previous <= 0 ? 0 : Math.log(close / previous);
+    }
+}
@@ -0,0 +1,136 @@
+package com.crypto.platform.analytics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Raw cross products {@code sum_t x[i][t] * x[j][t]} of all series pairs. The upper triangle is
+ * cut into square tiles of series that are processed in chunks of observations, so each inner
+ * loop streams two short primitive rows that stay in L1; tiles are split recursively over a
+ * {@link ForkJoinPool}. Only the order of summation differs from the naive triple loop.
+ */
+public final class CrossProductKernel {
+
+    static final int TILE = 32;  // series per tile side
+    static final int CHUNK = 512;  // observations per pass over a tile
+
+    private CrossProductKernel() {
+    }
+
+    /**
+     * @param series n rows of equal length
+     * @return n x n symmetric matrix of cross products
+     */
+    public static double[][] compute(double[][] series, ForkJoinPool pool) {
+        int n = series.length;
+        double[][] result = new double[n][n];
+        int tiles = (n + TILE - 1) / TILE;
+        int pairs = tiles * (tiles + 1) / 2;
+        if (pairs > 0) {
+            pool.invoke(new TileRange(series, result, tiles, 0, pairs));
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                result[i][j] = result[j][i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tile (i0..i1) x (j0..j1) in 2x2 register blocks: four pairs share each loaded element.
+     * Diagonal tiles are computed in full; the lower half is overwritten by the mirror.
+     */
+    private static void tile(double[][] x, double[][] out, int i0, int i1, int j0, int j1) {
+        int length = x[0].length;
+        for (int t0 = 0; t0 < length; t0 += CHUNK) {
+            int t1 = Math.min(length, t0 + CHUNK);
+            int i = i0;
+            for (; i + 1 < i1; i += 2) {
+                double[] xa = x[i];
+                double[] xb = x[i + 1];
+                int j = j0;
+                for (; j + 1 < j1; j += 2) {
+                    double[] xc = x[j];
+                    double[] xd = x[j + 1];
+                    double ac = 0;
+                    double ad = 0;
+                    double bc = 0;
+                    double bd = 0;
+                    for (int t = t0; t < t1; t++) {
+                        double a = xa[t];
+                        double b = xb[t];
+                        double c = xc[t];
+                        double d = xd[t];
+                        ac += a * c;
+                        ad += a * d;
+                        bc += b * c;
+                        bd += b * d;
+                    }
+                    out[i][j] += ac;
+                    out[i][j + 1] += ad;
+                    out[i + 1][j] += bc;
+                    out[i + 1][j + 1] += bd;
+                }
+                if (j < j1) {
+                    out[i][j] += dot(xa, x[j], t0, t1);
+                    out[i + 1][j] += dot(xb, x[j], t0, t1);
+                }
+            }
+            if (i < i1) {
+                for (int j = j0; j < j1; j++) {
+                    out[i][j] += dot(x[i], x[j], t0, t1);
+                }
+            }
+        }
+    }
+
+    private static double dot(double[] a, double[] b, int from, int to) {
+        double sum = 0;
+        for (int t = from; t < to; t++) {
+            sum += a[t] * b[t];
+        }
+        return sum;
+    }
+
+    /**
+     * A range of upper-triangle tile pairs, numbered row by row
+     */
+    private static final class TileRange extends RecursiveAction {
+
+        private final double[][] series;
+        private final double[][] out;
+        private final int tiles;
+        private final int from;
+        private final int to;
+
+        private TileRange(double[][] series, double[][] out, int tiles, int from, int to) {
+            this.series = series;
+            this.out = out;
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TileRange(series, out, tiles, from, mid),
+                          new TileRange(series, out, tiles, mid, to));
+                return;
+            }
+            // Map the pair index back to (tile row, tile column) with column >= row
+            int index = from;
+            int row = 0;
+            while (index >= tiles - row) {
+                index -= tiles - row;
+                row++;
+            }
+            int column = row + index;
+            int n = series.length;
+            tile(series, out, row * TILE, Math.min(n, (row + 1) * TILE),
+                    column * TILE, Math.min(n, (column + 1) * TILE));
+        }
+    }
+}
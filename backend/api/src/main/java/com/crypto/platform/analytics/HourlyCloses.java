@@ -0,0 +1,67 @@
+package com.crypto.platform.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Hourly closing prices of one symbol for the last {@code capacity} hours, in a ring indexed
+ * by epoch hour. Hours without a tick read as NaN.
+ */
+public class HourlyCloses {
+
+    private final double[] closes;
+    private final long[] hours;
+    private final long[] closeTimes;
+
+    public HourlyCloses(int capacity) {
+        this.closes = new double[capacity];
+        this.hours = new long[capacity];
+        this.closeTimes = new long[capacity];
+        Arrays.fill(hours, Long.MIN_VALUE);
+    }
+
+    /**
+     * Record a price; the latest tick of an hour becomes its close
+     */
+    public synchronized void update(long timeMs, double price) {
+        long hour = Math.floorDiv(timeMs, 3_600_000L);
+        int slot = slot(hour);
+        if (hours[slot] > hour || (hours[slot] == hour && closeTimes[slot] > timeMs)) {
+            return;
+        }
+        hours[slot] = hour;
+        closes[slot] = price;
+        closeTimes[slot] = timeMs;
+    }
+
+    public synchronized double get(long hour) {
+        int slot = slot(hour);
+        return hours[slot] == hour ? closes[slot] : Double.NaN;
+    }
+
+    /**
+     * Closes of {@code out.length} consecutive hours starting at {@code firstHour}, under one lock
+     */
+    public synchronized void read(long firstHour, double[] out) {
+        for (int t = 0; t < out.length; t++) {
+            int slot = slot(firstHour + t);
+            out[t] = hours[slot] == firstHour + t ? closes[slot] : Double.NaN;
+        }
+    }
+
+    /**
+     * Close of the last hour at or before {@code hour} that has one, NaN when none is retained
+     */
+    public synchronized double getAtOrBefore(long hour) {
+        for (int back = 0; back < closes.length; back++) {
+            int slot = slot(hour - back);
+            if (hours[slot] == hour - back) {
+                return closes[slot];
+            }
+        }
+        return Double.NaN;
+    }
+
+    private int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) closes.length);
+    }
+}
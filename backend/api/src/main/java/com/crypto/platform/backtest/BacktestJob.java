@@ -0,0 +1,49 @@
+package com.crypto.platform.backtest;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State of a submitted backtest, updated by the sweep and read by pollers
+ */
+@Getter
+public class BacktestJob {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private final String id;
+    private final String username;
+    private final String symbol;
+    private final String strategy;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicInteger completedRuns = new AtomicInteger();
+    @Setter
+    private volatile Status status = Status.PENDING;
+    @Setter
+    private volatile int runs;
+    @Setter
+    private volatile int bars;
+    @Setter
+    private volatile Instant finishedAt;
+    @Setter
+    private volatile String error;
+    @Setter
+    private volatile List<BacktestRun> results = Collections.emptyList();
+
+    public BacktestJob(String id, String username, String symbol, String strategy) {
+        this.id = id;
+        this.username = username;
+        this.symbol = symbol;
+        this.strategy = strategy;
+    }
+}
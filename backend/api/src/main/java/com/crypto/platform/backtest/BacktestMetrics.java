@@ -0,0 +1,19 @@
+package com.crypto.platform.backtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of one run, as fractions of the starting equity
+ */
+@Getter
+@AllArgsConstructor
+public class BacktestMetrics {
+
+    private final double totalReturn;
+    private final double sharpe;  // annualized from per-bar returns
+    private final double maxDrawdown;
+    private final int trades;
+    private final double exposure;  // share of bars with an open position
+    private final int bars;
+}
@@ -0,0 +1,17 @@
+package com.crypto.platform.backtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * One parameter combination of a sweep with its metrics
+ */
+@Getter
+@AllArgsConstructor
+public class BacktestRun {
+
+    private final Map<String, Double> parameters;
+    private final BacktestMetrics metrics;
+}
@@ -0,0 +1,66 @@
+package com.crypto.platform.backtest;
+
+/**
+ * Event-driven simulator: replays the bars through a strategy and marks a fractional
+ * position to market on closes. Trades happen at the close of the signal bar and pay
+ * {@code feeBps} on the traded fraction. Metrics are computed in the same pass, without
+ * allocating per bar.
+ */
+public final class Backtester {
+
+    private static final double MS_PER_YEAR = 365.25 * 24 * 3600 * 1000;
+
+    private Backtester() {
+    }
+
+    public static BacktestMetrics run(BarSeries bars, Strategy strategy, double feeBps) {
+        int size = bars.size();
+        double fee = feeBps / 10_000.0;
+        strategy.init(bars);
+
+        double equity = 1;
+        double peak = 1;
+        double maxDrawdown = 0;
+        double position = 0;
+        double sum = 0;
+        double sumSquares = 0;
+        int trades = 0;
+        int exposedBars = 0;
+        double previousClose = size > 0 ? bars.close(0) : 0;
+
+        for (int i = 0; i < size; i++) {
+            double close = bars.close(i);
+            double barReturn = position * (close / previousClose - 1);
+            if (position != 0) {
+                exposedBars++;
+            }
+            double target = Math.max(-1, Math.min(1, strategy.onBar(bars, i)));
+            double traded = Math.abs(target - position);
+            if (traded > 0) {
+                barReturn -= traded * fee;
+                trades++;
+                position = target;
+            }
+            equity *= 1 + barReturn;
+            sum += barReturn;
+            sumSquares += barReturn * barReturn;
+            if (equity > peak) {
+                peak = equity;
+            } else {
+                maxDrawdown = Math.max(maxDrawdown, 1 - equity / peak);
+            }
+            previousClose = close;
+        }
+
+        double sharpe = 0;
+        if (size > 1) {
+            double mean = sum / size;
+            double variance = (sumSquares - sum * mean) / (size - 1);
+            if (variance > 0) {
+                sharpe = mean / Math.sqrt(variance) * Math.sqrt(MS_PER_YEAR / bars.getIntervalMs());
+            }
+        }
+        return new BacktestMetrics(equity - 1, sharpe, maxDrawdown, trades,
+                size == 0 ? 0 : (double) exposedBars / size, size);
+    }
+}
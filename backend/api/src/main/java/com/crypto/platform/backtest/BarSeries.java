@@ -0,0 +1,124 @@
+package com.crypto.platform.backtest;
+
+import java.util.Arrays;
+
+/**
+ * OHLC bars in primitive columns, read-only once built and shared by every run of a sweep
+ */
+public final class BarSeries {
+
+    private final long[] times;  // bar open time, epoch millis
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final int[] ticks;
+    private final int size;
+    private final long intervalMs;
+
+    private BarSeries(Builder builder) {
+        this.size = builder.size;
+        this.times = Arrays.copyOf(builder.times, size);
+        this.open = Arrays.copyOf(builder.open, size);
+        this.high = Arrays.copyOf(builder.high, size);
+        this.low = Arrays.copyOf(builder.low, size);
+        this.close = Arrays.copyOf(builder.close, size);
+        this.ticks = Arrays.copyOf(builder.ticks, size);
+        this.intervalMs = builder.intervalMs;
+    }
+
+    public static Builder builder(long intervalMs) {
+        return new Builder(intervalMs);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public long time(int i) {
+        return times[i];
+    }
+
+    public double open(int i) {
+        return open[i];
+    }
+
+    public double high(int i) {
+        return high[i];
+    }
+
+    public double low(int i) {
+        return low[i];
+    }
+
+    public double close(int i) {
+        return close[i];
+    }
+
+    public int ticks(int i) {
+        return ticks[i];
+    }
+
+    /**
+     * Aggregates ticks into bars of a fixed interval; ticks must arrive in time order
+     */
+    public static final class Builder {
+
+        private final long intervalMs;
+        private long[] times = new long[1024];
+        private double[] open = new double[1024];
+        private double[] high = new double[1024];
+        private double[] low = new double[1024];
+        private double[] close = new double[1024];
+        private int[] ticks = new int[1024];
+        private int size;
+
+        private Builder(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+
+        public Builder add(long timeMs, double price) {
+            long barTime = Math.floorDiv(timeMs, intervalMs) * intervalMs;
+            int last = size - 1;
+            if (size > 0 && times[last] == barTime) {
+                high[last] = Math.max(high[last], price);
+                low[last] = Math.min(low[last], price);
+                close[last] = price;
+                ticks[last]++;
+                return this;
+            }
+            if (size > 0 && barTime < times[last]) {
+                return this;  // out of order: ignored
+            }
+            if (size == times.length) {
+                grow();
+            }
+            times[size] = barTime;
+            open[size] = price;
+            high[size] = price;
+            low[size] = price;
+            close[size] = price;
+            ticks[size] = 1;
+            size++;
+            return this;
+        }
+
+        public BarSeries build() {
+            return new BarSeries(this);
+        }
+
+        private void grow() {
+            int capacity = times.length * 2;
+            times = Arrays.copyOf(times, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            ticks = Arrays.copyOf(ticks, capacity);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.crypto.platform.backtest;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Donchian channel breakout: go long when the close breaks the highest high of the previous
+ * {@code entry} bars, exit when it breaks the lowest low of the previous {@code exit} bars
+ */
+@Component
+public class BreakoutStrategy implements StrategyFactory {
+
+    @Override
+    public String getName() {
+        return "breakout";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Long above the highest high of the last entry bars, flat below the lowest low of the last exit bars";
+    }
+
+    @Override
+    public Map<String, Double> getDefaults() {
+        Map<String, Double> defaults = new LinkedHashMap<>();
+        defaults.put("entry", 20.0);
+        defaults.put("exit", 10.0);
+        return defaults;
+    }
+
+    @Override
+    public boolean isValid(Map<String, Double> parameters) {
+        return parameters.get("entry") >= 1 && parameters.get("exit") >= 1;
+    }
+
+    @Override
+    public Strategy create(Map<String, Double> parameters) {
+        return new Breakout(parameters.get("entry").intValue(), parameters.get("exit").intValue());
+    }
+
+    private static final class Breakout implements Strategy {
+
+        private final RollingExtreme highs;
+        private final RollingExtreme lows;
+        private double position;
+
+        private Breakout(int entry, int exit) {
+            this.highs = new RollingExtreme(entry, true);
+            this.lows = new RollingExtreme(exit, false);
+        }
+
+        @Override
+        public double onBar(BarSeries bars, int i) {
+            // Channels of the previous bars, then the current bar joins them
+            double close = bars.close(i);
+            double upper = highs.get();
+            double lower = lows.get();
+            if (close > upper) {
+                position = 1;
+            } else if (close < lower) {
+                position = 0;
+            }
+            highs.add(i, bars.high(i));
+            lows.add(i, bars.low(i));
+            return position;
+        }
+    }
+}
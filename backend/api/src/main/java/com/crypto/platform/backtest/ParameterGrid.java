@@ -0,0 +1,43 @@
+package com.crypto.platform.backtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cartesian product of swept parameter values on top of a strategy's defaults
+ */
+public final class ParameterGrid {
+
+    private ParameterGrid() {
+    }
+
+    public static List<Map<String, Double>> expand(Map<String, Double> defaults, Map<String, List<Double>> sweep,
+                                                   int maxCombinations) {
+        List<Map<String, Double>> combinations = Collections.singletonList(new LinkedHashMap<>(defaults));
+        for (Map.Entry<String, List<Double>> parameter : sweep.entrySet()) {
+            if (!defaults.containsKey(parameter.getKey())) {
+                throw new IllegalArgumentException("Error: Unknown parameter " + parameter.getKey());
+            }
+            List<Double> values = parameter.getValue();
+            if (values == null || values.isEmpty()) {
+                continue;
+            }
+            if ((long) combinations.size() * values.size() > maxCombinations) {
+                throw new IllegalArgumentException("Error: At most " + maxCombinations + " runs per backtest");
+            }
+            List<Map<String, Double>> expanded = new ArrayList<>(combinations.size() * values.size());
+            for (Map<String, Double> combination : combinations) {
+                for (Double value : values) {
+                    Map<String, Double> next = new LinkedHashMap<>(combination);
+                    next.put(parameter.getKey(), value);
+                    expanded.add(next);
+                }
+            }
+            combinations = expanded;
+        }
+        return combinations;
+    }
+}
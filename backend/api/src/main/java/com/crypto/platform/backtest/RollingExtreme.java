@@ -0,0 +1,47 @@
+package com.crypto.platform.backtest;
+
+/**
+ * Maximum (or minimum) of the last {@code window} values in O(1) amortized per value,
+ * using a monotonic deque of indices in a primitive ring
+ */
+final class RollingExtreme {
+
+    private final int window;
+    private final boolean max;
+    private final int[] indices;
+    private final double[] values;
+    private int head;
+    private int count;
+
+    RollingExtreme(int window, boolean max) {
+        this.window = window;
+        this.max = max;
+        this.indices = new int[window + 1];
+        this.values = new double[window + 1];
+    }
+
+    void add(int index, double value) {
+        while (count > 0) {
+            int tail = (head + count - 1) % indices.length;
+            if (max ? values[tail] > value : values[tail] < value) {
+                break;
+            }
+            count--;
+        }
+        int slot = (head + count) % indices.length;
+        indices[slot] = index;
+        values[slot] = value;
+        count++;
+        while (indices[head] <= index - window) {
+            head = (head + 1) % indices.length;
+            count--;
+        }
+    }
+
+    /**
+     * Extreme of the values added for indices {@code (index - window, index]}
+     */
+    double get() {
+        return count == 0 ? Double.NaN : values[head];
+    }
+}
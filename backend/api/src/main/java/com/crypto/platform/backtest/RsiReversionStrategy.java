@@ -0,0 +1,86 @@
+package com.crypto.platform.backtest;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mean reversion on Wilder's RSI: long when oversold, flat again once overbought
+ */
+@Component
+public class RsiReversionStrategy implements StrategyFactory {
+
+    @Override
+    public String getName() {
+        return "rsi-reversion";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Long when RSI(period) < lower, flat when RSI(period) > upper";
+    }
+
+    @Override
+    public Map<String, Double> getDefaults() {
+        Map<String, Double> defaults = new LinkedHashMap<>();
+        defaults.put("period", 14.0);
+        defaults.put("lower", 30.0);
+        defaults.put("upper", 70.0);
+        return defaults;
+    }
+
+    @Override
+    public boolean isValid(Map<String, Double> parameters) {
+        return parameters.get("period") >= 2 && parameters.get("lower") < parameters.get("upper");
+    }
+
+    @Override
+    public Strategy create(Map<String, Double> parameters) {
+        return new Reversion(parameters.get("period").intValue(), parameters.get("lower"), parameters.get("upper"));
+    }
+
+    private static final class Reversion implements Strategy {
+
+        private final int period;
+        private final double lower;
+        private final double upper;
+        private double averageGain;
+        private double averageLoss;
+        private double position;
+
+        private Reversion(int period, double lower, double upper) {
+            this.period = period;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        @Override
+        public double onBar(BarSeries bars, int i) {
+            if (i == 0) {
+                return 0;
+            }
+            double change = bars.close(i) - bars.close(i - 1);
+            double gain = Math.max(change, 0);
+            double loss = Math.max(-change, 0);
+            if (i <= period) {
+                // Simple average over the first period, Wilder smoothing afterwards
+                averageGain += gain / period;
+                averageLoss += loss / period;
+                if (i < period) {
+                    return 0;
+                }
+            } else {
+                averageGain = (averageGain * (period - 1) + gain) / period;
+                averageLoss = (averageLoss * (period - 1) + loss) / period;
+            }
+            double rsi = averageLoss == 0 ? 100 : 100 - 100 / (1 + averageGain / averageLoss);
+            if (rsi < lower) {
+                position = 1;
+            } else if (rsi > upper) {
+                position = 0;
+            }
+            return position;
+        }
+    }
+}
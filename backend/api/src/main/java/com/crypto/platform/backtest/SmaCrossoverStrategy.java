@@ -0,0 +1,75 @@
+package com.crypto.platform.backtest;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Long while the fast simple moving average is above the slow one, short (or flat) otherwise
+ */
+@Component
+public class SmaCrossoverStrategy implements StrategyFactory {
+
+    @Override
+    public String getName() {
+        return "sma-crossover";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Long when SMA(fast) > SMA(slow); short instead of flat when allowShort = 1";
+    }
+
+    @Override
+    public Map<String, Double> getDefaults() {
+        Map<String, Double> defaults = new LinkedHashMap<>();
+        defaults.put("fast", 10.0);
+        defaults.put("slow", 50.0);
+        defaults.put("allowShort", 0.0);
+        return defaults;
+    }
+
+    @Override
+    public boolean isValid(Map<String, Double> parameters) {
+        return parameters.get("fast") >= 1 && parameters.get("fast") < parameters.get("slow");
+    }
+
+    @Override
+    public Strategy create(Map<String, Double> parameters) {
+        return new Crossover(parameters.get("fast").intValue(), parameters.get("slow").intValue(),
+                parameters.get("allowShort") > 0);
+    }
+
+    private static final class Crossover implements Strategy {
+
+        private final int fast;
+        private final int slow;
+        private final double below;
+        private double fastSum;
+        private double slowSum;
+
+        private Crossover(int fast, int slow, boolean allowShort) {
+            this.fast = fast;
+            this.slow = slow;
+            this.below = allowShort ? -1 : 0;
+        }
+
+        @Override
+        public double onBar(BarSeries bars, int i) {
+            double close = bars.close(i);
+            fastSum += close;
+            slowSum += close;
+            if (i >= fast) {
+                fastSum -= bars.close(i - fast);
+            }
+            if (i >= slow) {
+                slowSum -= bars.close(i - slow);
+            }
+            if (i + 1 < slow) {
+                return 0;
+            }
+            return fastSum * slow > slowSum * fast ? 1 : below;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.crypto.platform.backtest;
+
+/**
+ * A trading rule driven bar by bar. One instance serves one run, so it may keep state
+ * (running sums, previous values) but must not share it between runs.
+ */
+public interface Strategy {
+
+    /**
+     * Called once before the first bar
+     */
+    default void init(BarSeries bars) {
+    }
+
+    /**
+     * Target position once bar {@code i} has closed: 1 fully long, 0 flat, -1 fully short.
+     * The simulator trades to it at the close of bar {@code i}.
+     */
+    double onBar(BarSeries bars, int i);
+}
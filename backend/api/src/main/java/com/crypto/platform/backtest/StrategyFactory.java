@@ -0,0 +1,31 @@
+package com.crypto.platform.backtest;
+
+import java.util.Map;
+
+/**
+ * Strategy SPI: every Spring bean implementing this interface becomes available to
+ * backtests under its {@link #getName() name}.
+ */
+public interface StrategyFactory {
+
+    String getName();
+
+    String getDescription();
+
+    /**
+     * Parameter names with their defaults, used for parameters a request does not sweep
+     */
+    Map<String, Double> getDefaults();
+
+    /**
+     * A fresh strategy for one run; {@code parameters} contains every default key
+     */
+    Strategy create(Map<String, Double> parameters);
+
+    /**
+     * Parameter combinations to reject before running, e.g. a fast average not faster than the slow one
+     */
+    default boolean isValid(Map<String, Double> parameters) {
+        return true;
+    }
+}
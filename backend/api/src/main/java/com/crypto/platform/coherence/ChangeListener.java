@@ -0,0 +1,225 @@
+package com.crypto.platform.coherence;
+
+import com.crypto.platform.datasource.ReadFreshness;
+import com.crypto.platform.event.AlertChangedEvent;
+import com.crypto.platform.event.CoherenceResyncEvent;
+import com.crypto.platform.event.ModelPublishedEvent;
+import com.crypto.platform.event.PredictionsUpdatedEvent;
+import com.crypto.platform.event.PriceTickEvent;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.service.MarketStateCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applies the change notices of other processes to this replica's in-memory state.
+ *
+ * One thread holds a connection of its own, outside the primary pool, that {@code LISTEN}s on
+ * the coherence channel. A tick notice replays the symbol's ticks between the last one applied
+ * here and the announced id as remote {@link PriceTickEvent}s, so every tick listener stays
+ * current; a prediction notice becomes a local {@link PredictionsUpdatedEvent}, a model
+ * notice a {@link ModelPublishedEvent} and an alert notice an {@link AlertChangedEvent}.
+ * Sequence numbers are checked per origin; a gap, a
+ * reconnect after which notices may have been lost, or a tick backlog too large to replay
+ * triggers a full resync: the market state cache is dropped, every symbol catches up from the
+ * database and a {@link CoherenceResyncEvent} tells other state to reload.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeListener {
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ChangePublisher changePublisher;
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final MarketStateCache marketStateCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${coherence.enabled}")
+    private boolean enabled;
+
+    @Value("${coherence.channel}")
+    private String channel;
+
+    @Value("${coherence.poll-timeout-ms}")
+    private int pollTimeoutMs;
+
+    @Value("${coherence.retry-wait-ms}")
+    private long retryWaitMs;
+
+    @Value("${coherence.catch-up-limit}")
+    private int catchUpLimit;
+
+    // Highest tick id applied per symbol, whether stored here or replayed
+    private final ConcurrentMap<String, Long> appliedTicks = new ConcurrentHashMap<>();
+    // Last sequence seen per origin; listener thread only
+    private final Map<String, Long> sequences = new HashMap<>();
+    private volatile long baselineTickId;
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Cache coherence is disabled; caches rely on revalidation only");
+            return;
+        }
+        // Caches were warmed from the database; only later ticks need replaying
+        baselineTickId = ReadFreshness.primary(cryptoPriceRepository::findMaxId);
+        running = true;
+        thread = new Thread(this::run, "coherence-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(pollTimeoutMs * 2L);
+        }
+    }
+
+    /**
+     * Ticks stored by this replica advance the watermark, so a later replay never repeats them
+     */
+    @EventListener
+    public void onPriceTick(PriceTickEvent event) {
+        if (!event.isRemote()) {
+            appliedTicks.merge(event.getPrice().getSymbol(), event.getPrice().getId(), Math::max);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection.setAutoCommit(true);
+                PGConnection listener = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for change notices on {}", channel);
+                // Anything stored before LISTEN took effect has no notice here
+                resync();
+                while (running) {
+                    PGNotification[] notifications = listener.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Change listener failed, reconnecting in {} ms: {}", retryWaitMs, e.getMessage());
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryWaitMs));
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        ChangeNotice notice;
+        try {
+            notice = ChangeNotice.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring change notice: {}", e.getMessage());
+            return;
+        }
+        Long last = sequences.get(notice.getOrigin());
+        if (last == null || notice.getSequence() > last) {
+            sequences.put(notice.getOrigin(), notice.getSequence());
+        }
+        if (changePublisher.getOrigin().equals(notice.getOrigin())) {
+            return;
+        }
+        if (last != null && notice.getSequence() > last + 1) {
+            log.info("Missed change notices {}..{} from {}, resyncing", last + 1, notice.getSequence() - 1,
+                    notice.getOrigin());
+            resync();
+            return;
+        }
+        switch (notice.getType()) {
+            case TICK:
+                if (!catchUp(notice.getSymbol(), notice.getId())) {
+                    log.warn("More than {} ticks of {} to catch up, resyncing", catchUpLimit, notice.getSymbol());
+                    resync();
+                }
+                break;
+            case PREDICTION:
+                eventPublisher.publishEvent(new PredictionsUpdatedEvent(this, notice.getSymbol()));
+                break;
+            case MODEL:
+                eventPublisher.publishEvent(new ModelPublishedEvent(this, notice.getSymbol()));
+                break;
+            case ALERT:
+                eventPublisher.publishEvent(new AlertChangedEvent(this, notice.getSymbol(), notice.getId()));
+                break;
+        }
+    }
+
+    /**
+     * Replay the ticks of a symbol up to upToId. A backlog larger than one page is not replayed
+     * tick by tick and false is returned; the caller resyncs, which reloads that state instead.
+     */
+    private boolean catchUp(String symbol, long upToId) {
+        long after = appliedTicks.getOrDefault(symbol, baselineTickId);
+        if (after >= upToId) {
+            return true;
+        }
+        List<CryptoPrice> ticks = ReadFreshness.atLeastTick(upToId, () -> cryptoPriceRepository.findBySymbolAndIdRange(
+                symbol, after, upToId, PageRequest.of(0, catchUpLimit)));
+        boolean replayed = ticks.size() < catchUpLimit;
+        if (replayed) {
+            for (CryptoPrice tick : ticks) {
+                eventPublisher.publishEvent(new PriceTickEvent(this, tick, true));
+            }
+        }
+        appliedTicks.merge(symbol, upToId, Math::max);
+        return replayed;
+    }
+
+    private void resync() {
+        long started = System.currentTimeMillis();
+        marketStateCache.invalidateAll();
+        long upToId = ReadFreshness.primary(cryptoPriceRepository::findMaxId);
+        Set<String> symbols = new TreeSet<>(appliedTicks.keySet());
+        symbols.addAll(marketStateCache.getSymbols());
+        int skipped = 0;
+        for (String symbol : symbols) {
+            // The resync event below reloads what a skipped backlog would have updated
+            if (!catchUp(symbol, upToId)) {
+                skipped++;
+            }
+        }
+        eventPublisher.publishEvent(new CoherenceResyncEvent(this));
+        log.info("Resynced {} symbols ({} reloaded without replay) up to tick {} in {} ms", symbols.size(),
+                skipped, upToId, System.currentTimeMillis() - started);
+    }
+}
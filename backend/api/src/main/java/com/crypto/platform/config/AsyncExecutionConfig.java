@@ -0,0 +1,74 @@
+package com.crypto.platform.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Request execution for the price and prediction APIs.
+ *
+ * In {@code async} mode controllers hand their blocking work (JPA reads, Binance fallback)
+ * to a dedicated pool and return a {@code CompletableFuture}, so the servlet
+ * thread goes back to Tomcat immediately and concurrency is bounded by
+ * {@code server.tomcat.max-connections} instead of the worker thread count.
+ * In {@code sync} mode the same code runs inline on the servlet thread.
+ */
+@Configuration
+@Slf4j
+public class AsyncExecutionConfig implements WebMvcConfigurer {
+
+    public static final String MODE_ASYNC = "async";
+
+    @Value("${api.execution.mode}")
+    private String executionMode;
+
+    @Value("${api.execution.request-timeout-ms}")
+    private long requestTimeoutMs;
+
+    @Bean
+    public Executor apiQueryExecutor(@Value("${api.execution.query.pool-size}") int poolSize,
+                                     @Value("${api.execution.query.queue-capacity}") int queueCapacity) {
+        if (!MODE_ASYNC.equalsIgnoreCase(executionMode)) {
+            log.info("API request execution mode: {} (servlet threads)", executionMode);
+            return Runnable::run;
+        }
+        log.info("API request execution mode: async ({} query threads)", poolSize);
+        return newPool("api-query-", poolSize, queueCapacity);
+    }
+
+    /**
+     * BCrypt runs here in every mode: a pool sized to the cores with a bounded queue, so a
+     * login burst is shed with 503 instead of starving the request and query threads
+     */
+    @Bean
+    public Executor passwordHashExecutor(@Value("${auth.bcrypt.pool-size}") int poolSize,
+                                         @Value("${auth.bcrypt.queue-capacity}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        log.info("Password hashing pool: {} threads, queue {}", threads, queueCapacity);
+        return newPool("bcrypt-", threads, queueCapacity);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(requestTimeoutMs);
+    }
+
+    private static ThreadPoolTaskExecutor newPool(String prefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
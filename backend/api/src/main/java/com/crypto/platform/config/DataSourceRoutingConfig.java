@@ -0,0 +1,82 @@
+package com.crypto.platform.config;
+
+import com.crypto.platform.datasource.ReplicaHealthChecker;
+import com.crypto.platform.datasource.ReplicaPool;
+import com.crypto.platform.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data sources of the API: the primary from {@code spring.datasource.*} and one pool per
+ * read replica in {@code datasource.replicas.urls}. JPA uses the routing data source, which
+ * sends read-only transactions to a replica (see {@link ReplicaRoutingDataSource}); with no
+ * replicas configured every connection comes from the primary.
+ */
+@Configuration
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             @Value("${datasource.replicas.urls}") String urls,
+                                                             @Value("${datasource.replicas.pool-size}") int poolSize,
+                                                             @Value("${datasource.replicas.max-lag}") Duration maxLag,
+                                                             @Value("${datasource.replicas.max-failures}") int maxFailures) {
+        List<ReplicaPool> replicas = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (url.trim().isEmpty()) {
+                continue;
+            }
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (replicas.size() + 1));
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(properties.determineUsername());
+            pool.setPassword(properties.determinePassword());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            // Connections are opened on first use, so an unreachable replica does not block startup
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaPool(pool.getPoolName(), pool));
+        }
+        log.info("Read replicas: {} (max lag {}, pool size {})", replicas.size(), maxLag, poolSize);
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag.toMillis(), maxFailures);
+    }
+
+    /**
+     * The data source of JPA and everything else; connections are fetched lazily so the
+     * routing sees the read-only flag of the transaction
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(HikariDataSource primaryDataSource,
+                                                     ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthChecker(primaryDataSource, replicaRoutingDataSource);
+    }
+}
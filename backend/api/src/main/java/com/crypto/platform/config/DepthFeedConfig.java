@@ -0,0 +1,44 @@
+package com.crypto.platform.config;
+
+import com.crypto.platform.orderbook.BinanceDepthFeed;
+import com.crypto.platform.orderbook.DepthFeed;
+import com.crypto.platform.orderbook.ReplayDepthFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Selects the order book feed with {@code depth.feed}: {@code binance} for the live streams,
+ * {@code replay} for a recorded file, {@code none} to keep the books empty.
+ */
+@Configuration
+public class DepthFeedConfig {
+
+    @Value("${depth.symbols}")
+    private List<String> symbols;
+
+    @Bean
+    @ConditionalOnProperty(name = "depth.feed", havingValue = "binance")
+    public DepthFeed binanceDepthFeed(WebClient.Builder webClientBuilder,
+                                      @Value("${binance.api.base-url}") String restBaseUrl,
+                                      @Value("${depth.binance.stream-url}") String streamUrl,
+                                      @Value("${depth.snapshot-limit}") int snapshotLimit,
+                                      @Value("${depth.reconnect-delay-ms}") long reconnectDelayMs,
+                                      @Value("${depth.record-file:}") String recordFile) {
+        return new BinanceDepthFeed(webClientBuilder, restBaseUrl, streamUrl, symbols, snapshotLimit,
+                Duration.ofMillis(reconnectDelayMs), recordFile.isEmpty() ? null : Paths.get(recordFile));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "depth.feed", havingValue = "replay")
+    public DepthFeed replayDepthFeed(@Value("${depth.replay.file}") String file,
+                                     @Value("${depth.replay.messages-per-second}") int messagesPerSecond) {
+        return new ReplayDepthFeed(Paths.get(file), symbols, messagesPerSecond);
+    }
+}
@@ -0,0 +1,90 @@
+package com.crypto.platform.config;
+
+import com.crypto.platform.admission.AdmissionControl;
+import com.crypto.platform.datasource.ReplicaHealthChecker;
+import com.crypto.platform.jobs.JobDefinition;
+import com.crypto.platform.jobs.MisfirePolicy;
+import com.crypto.platform.security.RefreshTokenService;
+import com.crypto.platform.service.BinanceService;
+import com.crypto.platform.service.MarketStateSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Jobs of the API replicas, run by the {@code JobScheduler} on their own threads
+ */
+@Configuration
+public class ScheduledJobConfig {
+
+    /**
+     * Price ingestion: runs on every replica but only fetches on the one holding the tick
+     * journal's writer lock, which a standby replica takes over when that one stops. A firing
+     * that finds the previous fetch still running is dropped, the next one is only minutes away.
+     */
+    @Bean
+    public JobDefinition binanceFetchJob(BinanceService binanceService,
+                                         @Value("${scheduler.binance.data.fetch.cron}") String cron) {
+        return JobDefinition.builder()
+                .name("binance-fetch")
+                .cron(cron)
+                .misfirePolicy(MisfirePolicy.SKIP)
+                .task(binanceService::fetchCryptoPrices)
+                .build();
+    }
+
+    @Bean
+    public JobDefinition refreshTokenCleanupJob(RefreshTokenService refreshTokenService,
+                                                @Value("${auth.refresh-token.cleanup-cron}") String cron) {
+        return JobDefinition.builder()
+                .name("refresh-token-cleanup")
+                .cron(cron)
+                .clustered(true)
+                .lockAtLeastFor(Duration.ofMinutes(1))
+                .task(refreshTokenService::deleteExpired)
+                .build();
+    }
+
+    /**
+     * Lag and health of the read replicas; every API instance checks them for its own routing
+     */
+    @Bean
+    public JobDefinition replicaHealthJob(ReplicaHealthChecker replicaHealthChecker,
+                                         @Value("${datasource.replicas.check-interval}") Duration interval) {
+        return JobDefinition.builder()
+                .name("replica-health")
+                .fixedDelay(interval)
+                .task(replicaHealthChecker::check)
+                .build();
+    }
+
+    /**
+     * Market state snapshot for warm restarts; every replica writes its own
+     */
+    @Bean
+    public JobDefinition marketStateSnapshotJob(MarketStateSnapshotService marketStateSnapshotService,
+                                                @Value("${snapshot.interval}") Duration interval) {
+        return JobDefinition.builder()
+                .name("market-state-snapshot")
+                .fixedDelay(interval)
+                .initialDelay(interval)
+                .task(marketStateSnapshotService::write)
+                .build();
+    }
+
+    /**
+     * Drops the rate-limit buckets of clients that have gone quiet; per replica, like the buckets
+     */
+    @Bean
+    public JobDefinition admissionSweepJob(AdmissionControl admissionControl,
+                                           @Value("${admission.sweep-interval}") Duration interval) {
+        return JobDefinition.builder()
+                .name("admission-sweep")
+                .fixedDelay(interval)
+                .initialDelay(interval)
+                .task(admissionControl::sweep)
+                .build();
+    }
+}
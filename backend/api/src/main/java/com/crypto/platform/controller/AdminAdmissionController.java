@@ -0,0 +1,27 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.admission.AdmissionControl;
+import com.crypto.platform.payload.response.AdmissionStatusResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/admission")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminAdmissionController {
+
+    private final AdmissionControl admissionControl;
+
+    /**
+     * In-flight, admitted and shed requests per lane on this replica, and the clients tracked
+     */
+    @GetMapping
+    public ResponseEntity<AdmissionStatusResponse> getStatus() {
+        return ResponseEntity.ok(admissionControl.getStatus());
+    }
+}
@@ -0,0 +1,27 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.datasource.QueryCoalescer;
+import com.crypto.platform.payload.response.CoalescingStatusResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/coalescing")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminCoalescingController {
+
+    private final QueryCoalescer queryCoalescer;
+
+    /**
+     * Repository calls, queries actually run and the coalescing ratio per query method on this replica
+     */
+    @GetMapping
+    public ResponseEntity<CoalescingStatusResponse> getStatus() {
+        return ResponseEntity.ok(queryCoalescer.getStatus());
+    }
+}
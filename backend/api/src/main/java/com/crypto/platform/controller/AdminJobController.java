@@ -0,0 +1,49 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.jobs.JobScheduler;
+import com.crypto.platform.payload.response.JobStatusResponse;
+import com.crypto.platform.payload.response.MessageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@RestController
+@RequestMapping("/admin/jobs")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminJobController {
+
+    private final JobScheduler jobScheduler;
+    private final Executor apiQueryExecutor;
+
+    /**
+     * Run counts, durations and start lag of the scheduled jobs, plus the cluster leases
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<JobStatusResponse>> getJobs() {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(new JobStatusResponse(
+                ManagementFactory.getRuntimeMXBean().getName(),
+                jobScheduler.getSnapshots(),
+                jobScheduler.getClusterLocks())), apiQueryExecutor);
+    }
+
+    /**
+     * Fire a job of this replica now; clustered jobs still need the lease
+     */
+    @PostMapping("/{name}/run")
+    public ResponseEntity<MessageResponse> runJob(@PathVariable String name) {
+        try {
+            return jobScheduler.runNow(name)
+                    ? ResponseEntity.accepted().body(new MessageResponse("Job " + name + " started"))
+                    : ResponseEntity.accepted().body(new MessageResponse(
+                            "Job " + name + " is already running; handled by its misfire policy"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+}
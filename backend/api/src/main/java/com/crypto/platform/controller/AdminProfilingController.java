@@ -0,0 +1,92 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.diagnostics.FlightRecorderService;
+import com.crypto.platform.payload.response.MessageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@RestController
+@RequestMapping("/admin/profiling")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminProfilingController {
+
+    private final FlightRecorderService flightRecorderService;
+    private final Executor apiQueryExecutor;
+
+    /**
+     * State of the on-demand recording and the recording files kept on this replica
+     */
+    @GetMapping
+    public ResponseEntity<?> getStatus() {
+        return ResponseEntity.ok(flightRecorderService.status());
+    }
+
+    /**
+     * Start a bounded flight recording with the "default" or "profile" (allocation samples)
+     * settings; the duration is an ISO-8601 duration capped by diagnostics.recording.max-duration
+     */
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestParam(defaultValue = "default") String settings,
+                                   @RequestParam(required = false) Duration duration) {
+        try {
+            return ResponseEntity.accepted().body(flightRecorderService.start(settings, duration));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Snapshot the running recording and summarize it: slowest platform spans, top allocation
+     * sites and GC pauses
+     */
+    @PostMapping("/dump")
+    public CompletableFuture<ResponseEntity<?>> dump() {
+        return CompletableFuture.supplyAsync(() -> summarize(true), apiQueryExecutor);
+    }
+
+    /**
+     * Stop the recording and summarize the whole of it
+     */
+    @PostMapping("/stop")
+    public CompletableFuture<ResponseEntity<?>> stop() {
+        return CompletableFuture.supplyAsync(() -> summarize(false), apiQueryExecutor);
+    }
+
+    /**
+     * Download a kept recording file for JDK Mission Control
+     */
+    @GetMapping("/recordings/{name}")
+    public ResponseEntity<?> download(@PathVariable String name) {
+        return flightRecorderService.file(name)
+                .<ResponseEntity<?>>map(path -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "\"")
+                        .body(new FileSystemResource(path)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<?> summarize(boolean snapshot) {
+        try {
+            return ResponseEntity.ok(snapshot ? flightRecorderService.dump() : flightRecorderService.stop());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
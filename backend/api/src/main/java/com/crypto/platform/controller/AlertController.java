@@ -0,0 +1,82 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.model.AlertNotification;
+import com.crypto.platform.model.PriceAlert;
+import com.crypto.platform.payload.request.CreateAlertRequest;
+import com.crypto.platform.payload.response.MessageResponse;
+import com.crypto.platform.service.AlertDeliveryService;
+import com.crypto.platform.service.AlertService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.validation.Valid;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@RestController
+@RequestMapping("/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private static final int MAX_NOTIFICATIONS = 500;
+
+    private final AlertService alertService;
+    private final AlertDeliveryService alertDeliveryService;
+    private final Executor apiQueryExecutor;
+
+    /**
+     * Register a price alert for the current user
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<?>> createAlert(@Valid @RequestBody CreateAlertRequest request,
+                                                            Principal principal) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ResponseEntity.ok(alertService.create(principal.getName(), request));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+            }
+        }, apiQueryExecutor);
+    }
+
+    /**
+     * List the alerts of the current user, newest first
+     */
+    @GetMapping
+    public CompletableFuture<List<PriceAlert>> getAlerts(Principal principal) {
+        return CompletableFuture.supplyAsync(() -> alertService.list(principal.getName()), apiQueryExecutor);
+    }
+
+    /**
+     * Cancel an active alert of the current user
+     */
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<PriceAlert>> cancelAlert(@PathVariable long id, Principal principal) {
+        return CompletableFuture.supplyAsync(() -> alertService.cancel(principal.getName(), id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build()), apiQueryExecutor);
+    }
+
+    /**
+     * Delivered notifications of the current user, newest first
+     */
+    @GetMapping("/notifications")
+    public CompletableFuture<List<AlertNotification>> getNotifications(@RequestParam(defaultValue = "50") int limit,
+                                                                       Principal principal) {
+        int size = Math.max(1, Math.min(limit, MAX_NOTIFICATIONS));
+        return CompletableFuture.supplyAsync(
+                () -> alertDeliveryService.getNotifications(principal.getName(), size), apiQueryExecutor);
+    }
+
+    /**
+     * Server-sent events stream of the current user's notifications as they are delivered
+     */
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    public SseEmitter stream(Principal principal) {
+        return alertDeliveryService.subscribe(principal.getName());
+    }
+}
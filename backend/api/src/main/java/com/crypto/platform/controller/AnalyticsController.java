@@ -0,0 +1,94 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.payload.response.CorrelationResponse;
+import com.crypto.platform.payload.response.MarketOverviewResponse;
+import com.crypto.platform.payload.response.MessageResponse;
+import com.crypto.platform.service.CorrelationService;
+import com.crypto.platform.service.MarketOverviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final CorrelationService correlationService;
+    private final MarketOverviewService marketOverviewService;
+    private final Executor apiQueryExecutor;
+
+    @Value("${analytics.correlation.default-window}")
+    private Duration defaultWindow;
+
+    @Value("${analytics.correlation.max-symbols}")
+    private int maxSymbols;
+
+    /**
+     * Correlation and covariance matrix of hourly returns, e.g. ?symbols=BTCUSDT,ETHUSDT&window=30d.
+     * Without symbols every symbol of the market overview is used.
+     */
+    @GetMapping("/correlation")
+    public CompletableFuture<ResponseEntity<?>> getCorrelation(@RequestParam(required = false) String symbols,
+                                                               @RequestParam(required = false) String window) {
+        Duration length;
+        try {
+            length = window == null ? defaultWindow : parseWindow(window);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: window must look like 30d, 720h or P30D")));
+        }
+        List<String> symbolList = symbols == null
+                ? marketOverviewService.getOverview(1).getSymbols().stream()
+                        .map(MarketOverviewResponse.SymbolSummary::getSymbol)
+                        .collect(Collectors.toList())
+                : parseSymbols(symbols);
+        if (symbolList.size() < 2 || symbolList.size() > maxSymbols) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: between 2 and " + maxSymbols + " symbols are required")));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                CorrelationResponse correlation = correlationService.getCorrelation(symbolList, length);
+                return ResponseEntity.ok(correlation);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+            }
+        }, apiQueryExecutor);
+    }
+
+    private static List<String> parseSymbols(String symbols) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String symbol : symbols.split(",")) {
+            if (!symbol.trim().isEmpty()) {
+                unique.add(symbol.trim().toUpperCase());
+            }
+        }
+        return new ArrayList<>(unique);
+    }
+
+    private static Duration parseWindow(String window) {
+        String value = window.trim().toLowerCase();
+        if (value.endsWith("d")) {
+            return Duration.ofDays(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("h")) {
+            return Duration.ofHours(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(window.trim());
+    }
+}
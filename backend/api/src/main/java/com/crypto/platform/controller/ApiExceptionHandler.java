@@ -0,0 +1,55 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.payload.response.MessageResponse;
+import com.crypto.platform.service.NotJournalWriterException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@RestControllerAdvice
+@Slf4j
+public class ApiExceptionHandler {
+
+    /**
+     * Query or analytics pool is saturated: tell the client to back off instead of failing with 500
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<MessageResponse> handleRejected(RejectedExecutionException e) {
+        log.warn("Request rejected, executor saturated: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(new MessageResponse("Error: Server is busy, please retry"));
+    }
+
+    /**
+     * Failed login; raised on the hashing pool, so it reaches MVC instead of the security filters
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<MessageResponse> handleAuthentication(AuthenticationException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new MessageResponse("Error: Unauthorized"));
+    }
+
+    /**
+     * A tick had to be fetched but this replica does not ingest; another replica will answer
+     */
+    @ExceptionHandler(NotJournalWriterException.class)
+    public ResponseEntity<MessageResponse> handleNotJournalWriter(NotJournalWriterException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(new MessageResponse(e.getMessage()));
+    }
+
+    /**
+     * Continuation token that is malformed or was issued for another query
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<MessageResponse> handleInvalidCursor(InvalidCursorException e) {
+        return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.model.Role;
+import com.crypto.platform.model.User;
+import com.crypto.platform.payload.request.LoginRequest;
+import com.crypto.platform.payload.request.RefreshTokenRequest;
+import com.crypto.platform.payload.request.SignupRequest;
+import com.crypto.platform.payload.response.JwtResponse;
+import com.crypto.platform.payload.response.MessageResponse;
+import com.crypto.platform.repository.UserRepository;
+import com.crypto.platform.security.JwtUtils;
+import com.crypto.platform.security.LastLoginWriter;
+import com.crypto.platform.security.RefreshTokenService;
+import com.crypto.platform.security.RoleCache;
+import com.crypto.platform.security.UserDetailsServiceImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final RoleCache roleCache;
+    private final PasswordEncoder encoder;
+    private final JwtUtils jwtUtils;
+    private final RefreshTokenService refreshTokenService;
+    private final LastLoginWriter lastLoginWriter;
+    private final Executor passwordHashExecutor;
+    private final Executor apiQueryExecutor;
+
+    /**
+     * Authenticate user and return JWT token plus a refresh token. The password check runs
+     * on the bounded hashing pool; when it is saturated the login is rejected with 503.
+     */
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        UsernamePasswordAuthenticationToken credentials =
+                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword());
+        return CompletableFuture.supplyAsync(() -> authenticationManager.authenticate(credentials), passwordHashExecutor)
+                .thenApplyAsync(authentication -> {
+                    UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+                    // Last login is written behind, batched with other logins
+                    lastLoginWriter.record(userDetails.getUsername());
+                    return ResponseEntity.ok(tokens(userDetails,
+                            jwtUtils.generateJwtToken(authentication),
+                            refreshTokenService.issue(userDetails.getUsername())));
+                }, apiQueryExecutor);
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token, without a
+     * password check
+     */
+    @PostMapping("/refresh")
+    public CompletableFuture<ResponseEntity<?>> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return CompletableFuture.supplyAsync(() -> refreshTokenService.rotate(request.getRefreshToken())
+                .<ResponseEntity<?>>map(rotation -> {
+                    try {
+                        UserDetails userDetails = userDetailsService.loadUserByUsername(rotation.getUsername());
+                        return ResponseEntity.ok(tokens(userDetails,
+                                jwtUtils.generateJwtToken(rotation.getUsername()), rotation.getRefreshToken()));
+                    } catch (UsernameNotFoundException e) {
+                        refreshTokenService.revoke(rotation.getRefreshToken());
+                        return invalidRefreshToken();
+                    }
+                })
+                .orElseGet(this::invalidRefreshToken), apiQueryExecutor);
+    }
+
+    /**
+     * Revoke a refresh token
+     */
+    @PostMapping("/logout")
+    public CompletableFuture<ResponseEntity<?>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            refreshTokenService.revoke(request.getRefreshToken());
+            return ResponseEntity.ok(new MessageResponse("Logged out"));
+        }, apiQueryExecutor);
+    }
+
+    /**
+     * Register a new user. One query checks username and email, the password is hashed on the
+     * hashing pool, and the unique constraints settle a race between two registrations.
+     */
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+        return CompletableFuture.supplyAsync(() -> findConflict(signUpRequest), apiQueryExecutor)
+                .thenCompose(conflict -> conflict.isPresent()
+                        ? CompletableFuture.completedFuture(
+                                ResponseEntity.badRequest().body(new MessageResponse(conflict.get())))
+                        : CompletableFuture.supplyAsync(
+                                        () -> encoder.encode(signUpRequest.getPassword()), passwordHashExecutor)
+                                .thenApplyAsync(hash -> saveUser(signUpRequest, hash), apiQueryExecutor));
+    }
+
+    private ResponseEntity<?> saveUser(SignupRequest signUpRequest, String passwordHash) {
+        // Create new user
+        User user = User.builder()
+                .username(signUpRequest.getUsername())
+                .email(signUpRequest.getEmail())
+                .password(passwordHash)
+                .build();
+
+        Set<String> strRoles = signUpRequest.getRoles();
+        Set<Role> roles = new HashSet<>();
+        if (strRoles == null) {
+            roles.add(roleCache.get(Role.ERole.ROLE_USER));
+        } else {
+            strRoles.forEach(role -> roles.add(roleCache.get(
+                    "admin".equals(role) ? Role.ERole.ROLE_ADMIN : Role.ERole.ROLE_USER)));
+        }
+        user.setRoles(roles);
+
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent registration of the same username or email
+            return ResponseEntity.badRequest().body(new MessageResponse(
+                    findConflict(signUpRequest).orElse("Error: Username or email is already in use!")));
+        }
+        return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+    }
+
+    private Optional<String> findConflict(SignupRequest signUpRequest) {
+        List<Object[]> conflicts = userRepository.findConflicts(signUpRequest.getUsername(), signUpRequest.getEmail());
+        for (Object[] conflict : conflicts) {
+            if (signUpRequest.getUsername().equals(conflict[0])) {
+                return Optional.of("Error: Username is already taken!");
+            }
+        }
+        return conflicts.isEmpty() ? Optional.empty() : Optional.of("Error: Email is already in use!");
+    }
+
+    private static JwtResponse tokens(UserDetails userDetails, String jwt, String refreshToken) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        return new JwtResponse(jwt, refreshToken, userDetails.getUsername(), roles);
+    }
+
+    private ResponseEntity<?> invalidRefreshToken() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new MessageResponse("Error: Refresh token is invalid or expired"));
+    }
+}
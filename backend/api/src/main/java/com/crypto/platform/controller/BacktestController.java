@@ -0,0 +1,61 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.backtest.StrategyFactory;
+import com.crypto.platform.payload.request.BacktestRequest;
+import com.crypto.platform.payload.response.BacktestJobResponse;
+import com.crypto.platform.payload.response.MessageResponse;
+import com.crypto.platform.service.BacktestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/backtests")
+@RequiredArgsConstructor
+public class BacktestController {
+
+    private final BacktestService backtestService;
+
+    /**
+     * Available strategies with their parameter defaults
+     */
+    @GetMapping("/strategies")
+    public Map<String, Map<String, Object>> getStrategies() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (StrategyFactory factory : backtestService.getStrategies()) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("description", factory.getDescription());
+            info.put("defaults", factory.getDefaults());
+            result.put(factory.getName(), info);
+        }
+        return result;
+    }
+
+    /**
+     * Submit a backtest or parameter sweep; poll the returned job until it finishes
+     */
+    @PostMapping
+    public ResponseEntity<?> submit(@Valid @RequestBody BacktestRequest request, Principal principal) {
+        try {
+            return ResponseEntity.accepted()
+                    .body(BacktestJobResponse.of(backtestService.submit(principal.getName(), request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Status, progress and (once finished) the best runs of a backtest
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BacktestJobResponse> getJob(@PathVariable String id, Principal principal) {
+        return backtestService.getJob(principal.getName(), id)
+                .map(job -> ResponseEntity.ok(BacktestJobResponse.of(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,112 @@
+package com.crypto.platform.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Cache validators sent by the client, captured on the request thread so they can be
+ * evaluated before (and instead of) running the query on the async executor.
+ */
+final class ConditionalRequest {
+
+    private final String ifNoneMatch;
+    private final long ifModifiedSince;
+
+    private ConditionalRequest(String ifNoneMatch, long ifModifiedSince) {
+        this.ifNoneMatch = ifNoneMatch;
+        this.ifModifiedSince = ifModifiedSince;
+    }
+
+    static ConditionalRequest of(WebRequest request) {
+        long ifModifiedSince = -1;
+        try {
+            ifModifiedSince = request instanceof ServletWebRequest
+                    ? ((ServletWebRequest) request).getRequest()
+                            .getDateHeader(HttpHeaders.IF_MODIFIED_SINCE)
+                    : -1;
+        } catch (IllegalArgumentException e) {
+            // Unparseable date: ignore the header
+        }
+        return new ConditionalRequest(request.getHeader(HttpHeaders.IF_NONE_MATCH), ifModifiedSince);
+    }
+
+    /**
+     * Weak ETag for a data version plus the request parameters that shape the body. It is also
+     * the {@code ResponseCache} key, so the parameters go in as a SHA-256 digest of their
+     * canonical form rather than a hash code that other ranges can share.
+     */
+    static String etag(String kind, String symbol, long version, Object... params) {
+        return "W/\"" + kind + "-" + version + "-" + RequestDigest.encoded(kind, symbol, version, params) + "\"";
+    }
+
+    /**
+     * If-None-Match takes precedence over If-Modified-Since (RFC 7232, section 6)
+     */
+    boolean isNotModified(String etag, Instant lastModified) {
+        if (ifNoneMatch != null) {
+            String opaque = opaque(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if ("*".equals(tag) || Objects.equals(opaque(tag), opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return lastModified != null && ifModifiedSince >= 0
+                && lastModified.toEpochMilli() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, Instant lastModified, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.build();
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String etag, Instant lastModified, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Body already encoded in a negotiated wire format; shared caches must key it on Accept
+     */
+    static ResponseEntity<byte[]> okEncoded(byte[] body, MediaType contentType, String etag,
+                                            CacheControl cacheControl) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(contentType)
+                .body(body);
+    }
+
+    static ResponseEntity<byte[]> notModifiedEncoded(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
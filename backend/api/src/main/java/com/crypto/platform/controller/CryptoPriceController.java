@@ -0,0 +1,370 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.datasource.ReadFreshness;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.payload.response.DepthResponse;
+import com.crypto.platform.payload.response.RollingStatsResponse;
+import com.crypto.platform.service.BinanceService;
+import com.crypto.platform.service.ColumnarHistoryService;
+import com.crypto.platform.service.MarketStateCache;
+import com.crypto.platform.service.OrderBookService;
+import com.crypto.platform.service.PriceHistoryService;
+import com.crypto.platform.service.ResponseCache;
+import com.crypto.platform.service.RollingStatsService;
+import com.crypto.platform.wire.ColumnarEncoder;
+import com.crypto.platform.wire.TickColumns;
+import com.crypto.platform.wire.WireFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.crypto.platform.archive.TickArchiveFormat.fromMicros;
+import static com.crypto.platform.archive.TickArchiveFormat.toMicros;
+
+@RestController
+@RequestMapping("/prices")
+@RequiredArgsConstructor
+public class CryptoPriceController {
+
+    private final BinanceService binanceService;
+    private final PriceHistoryService priceHistoryService;
+    private final ColumnarHistoryService columnarHistoryService;
+    private final MarketStateCache marketStateCache;
+    private final ResponseCache responseCache;
+    private final RollingStatsService rollingStatsService;
+    private final OrderBookService orderBookService;
+    private final Executor apiQueryExecutor;
+
+    @Value("${http.cache.prices.max-age-seconds}")
+    private long pricesMaxAgeSeconds;
+
+    @Value("${history.page.default-size}")
+    private int defaultHistoryPageSize;
+
+    @Value("${history.page.max-size}")
+    private int maxPageSize;
+
+    @Value("${depth.levels.default}")
+    private int defaultDepthLevels;
+
+    @Value("${depth.levels.max}")
+    private int maxDepthLevels;
+
+    /**
+     * Get latest price for a symbol
+     */
+    @GetMapping("/{symbol}/latest")
+    public CompletableFuture<ResponseEntity<CryptoPrice>> getLatestPrice(@PathVariable String symbol,
+                                                                          WebRequest request) {
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        return binanceService.getLatestPriceAsync(symbol, apiQueryExecutor)
+                .thenApply(price -> {
+                    String etag = ConditionalRequest.etag("latest", symbol, price.getId());
+                    return conditional.isNotModified(etag, price.getTimestamp())
+                            ? ConditionalRequest.notModified(etag, price.getTimestamp(), pricesCacheControl())
+                            : ConditionalRequest.ok(price, etag, price.getTimestamp(), pricesCacheControl());
+                });
+    }
+
+    /**
+     * Fetch recent prices for a symbol, newest first. Pages hold at most the server's page size;
+     * a full page carries an X-Next-Cursor token that fetches the next older page.
+     */
+    @GetMapping("/{symbol}/recent")
+    public CompletableFuture<ResponseEntity<List<CryptoPrice>>> getRecentPrices(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+        
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        int pageSize = pageSize(limit);
+        PageCursor before = cursor != null ? PageCursor.decode(cursor, "recent", symbol) : null;
+        return CompletableFuture.supplyAsync(() -> {
+            long version = marketStateCache.getTickVersion(symbol);
+            String etag = ConditionalRequest.etag("recent", symbol, version, pageSize, cursor);
+            if (conditional.isNotModified(etag, null)) {
+                return ConditionalRequest.notModified(etag, null, pricesCacheControl());
+            }
+            List<CryptoPrice> prices = responseCache.get(etag, () -> ReadFreshness.atLeastTick(version,
+                    () -> before == null
+                            ? priceHistoryService.getRecentPage(symbol, null, 0, pageSize)
+                            : priceHistoryService.getRecentPage(symbol, fromMicros(before.getTimestampMicros()),
+                                    before.getId(), pageSize)));
+            return withNextCursor(ConditionalRequest.ok(prices, etag, null, pricesCacheControl()),
+                    nextCursor(prices, pageSize, "recent", symbol));
+        }, apiQueryExecutor);
+    }
+
+    /**
+     * Recent prices in a compact wire format (columnar JSON, CBOR or tick archive), oldest first;
+     * paged like the JSON variant
+     */
+    @GetMapping(value = "/{symbol}/recent", produces = {
+            WireFormat.COLUMNAR_JSON_VALUE, WireFormat.CBOR_VALUE, WireFormat.TICK_ARCHIVE_VALUE})
+    public CompletableFuture<ResponseEntity<byte[]>> getRecentPricesEncoded(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        WireFormat format = WireFormat.negotiate(accept, WireFormat.values()).orElse(WireFormat.COLUMNAR_JSON);
+        int pageSize = pageSize(limit);
+        PageCursor before = cursor != null ? PageCursor.decode(cursor, "recent", symbol) : null;
+        return CompletableFuture.supplyAsync(() -> {
+            long version = marketStateCache.getTickVersion(symbol);
+            String etag = ConditionalRequest.etag("recent-" + format.name(), symbol, version, pageSize, cursor);
+            if (conditional.isNotModified(etag, null)) {
+                return ConditionalRequest.notModifiedEncoded(etag, pricesCacheControl());
+            }
+            EncodedPage page = responseCache.get(etag, () -> ReadFreshness.atLeastTick(version, () -> {
+                TickColumns ticks = before == null
+                        ? columnarHistoryService.getRecent(symbol, pageSize)
+                        : columnarHistoryService.getRecentPage(symbol, before.getTimestampMicros(), before.getId(),
+                                pageSize);
+                // Oldest first: the next older page continues from the first row
+                String next = ticks.size() == pageSize
+                        ? PageCursor.encode(ticks.timestamp(0), ticks.id(0), "recent", symbol)
+                        : null;
+                return new EncodedPage(encode(format, ticks), next);
+            }));
+            return withNextCursor(ConditionalRequest.okEncoded(page.body, format.getMediaType(), etag,
+                    pricesCacheControl()), page.nextCursor);
+        }, apiQueryExecutor);
+    }
+
+    /**
+     * Get prices for a symbol in a specific time range, across the database and the compressed
+     * tick archive split at the retention watermark (default), or from one of them only.
+     * With maxPoints the series is downsampled (LTTB) to at most that many points. Otherwise
+     * the range is paged oldest first: at most limit rows (capped by the server), and a full
+     * page carries an X-Next-Cursor token for the next one.
+     */
+    @GetMapping("/{symbol}/history")
+    public CompletableFuture<ResponseEntity<List<CryptoPrice>>> getPriceHistory(
+            @PathVariable String symbol,
+            @RequestParam(required = false) Instant startTime,
+            @RequestParam(required = false) Instant endTime,
+            @RequestParam(defaultValue = "auto") String source,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+        
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        // Validators use the requested range as given: a default window moves with the latest tick
+        Object[] scope = {"history", symbol, startTime, endTime, source.toLowerCase()};
+        int pageSize = pageSize(limit != null ? limit : defaultHistoryPageSize);
+        PageCursor after = historyCursor(cursor, maxPoints, scope);
+        Object[] params = {startTime, endTime, source.toLowerCase(), maxPoints, pageSize, cursor};
+        
+        // If not specified, use last 24 hours
+        if (startTime == null) {
+            startTime = Instant.now().minus(24, ChronoUnit.HOURS);
+        }
+        
+        if (endTime == null) {
+            endTime = Instant.now();
+        }
+        
+        Instant start = startTime;
+        Instant end = endTime;
+        return CompletableFuture.supplyAsync(() -> {
+            long version = marketStateCache.getTickVersion(symbol);
+            String etag = ConditionalRequest.etag("history", symbol, version, params);
+            if (conditional.isNotModified(etag, null)) {
+                return ConditionalRequest.notModified(etag, null, pricesCacheControl());
+            }
+            List<CryptoPrice> prices = responseCache.get(etag, () -> ReadFreshness.atLeastTick(version, () -> {
+                try {
+                    if (maxPoints == null) {
+                        return after == null
+                                ? priceHistoryService.getHistoryPage(symbol, start, 0, end, source, pageSize)
+                                : priceHistoryService.getHistoryPage(symbol, fromMicros(after.getTimestampMicros()),
+                                        after.getId(), end, source, pageSize);
+                    }
+                    if ("archive".equalsIgnoreCase(source)) {
+                        return priceHistoryService.getArchivedHistory(symbol, start, end, maxPoints);
+                    }
+                    return "db".equalsIgnoreCase(source)
+                            ? priceHistoryService.getHistory(symbol, start, end, maxPoints)
+                            : priceHistoryService.getTieredHistory(symbol, start, end, maxPoints);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            ResponseEntity<List<CryptoPrice>> response = ConditionalRequest.ok(prices, etag, null, pricesCacheControl());
+            return maxPoints == null ? withNextCursor(response, nextCursor(prices, pageSize, scope)) : response;
+        }, apiQueryExecutor);
+    }
+
+    /**
+     * Price history in a compact wire format; same sources, downsampling and paging as the JSON variant
+     */
+    @GetMapping(value = "/{symbol}/history", produces = {
+            WireFormat.COLUMNAR_JSON_VALUE, WireFormat.CBOR_VALUE, WireFormat.TICK_ARCHIVE_VALUE})
+    public CompletableFuture<ResponseEntity<byte[]>> getPriceHistoryEncoded(
+            @PathVariable String symbol,
+            @RequestParam(required = false) Instant startTime,
+            @RequestParam(required = false) Instant endTime,
+            @RequestParam(defaultValue = "auto") String source,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        WireFormat format = WireFormat.negotiate(accept, WireFormat.values()).orElse(WireFormat.COLUMNAR_JSON);
+        Object[] scope = {"history", symbol, startTime, endTime, source.toLowerCase()};
+        int pageSize = pageSize(limit != null ? limit : defaultHistoryPageSize);
+        PageCursor after = historyCursor(cursor, maxPoints, scope);
+        Object[] params = {startTime, endTime, source.toLowerCase(), maxPoints, pageSize, cursor};
+        Instant end = endTime != null ? endTime : Instant.now();
+        Instant start = startTime != null ? startTime : end.minus(24, ChronoUnit.HOURS);
+        return CompletableFuture.supplyAsync(() -> {
+            long version = marketStateCache.getTickVersion(symbol);
+            String etag = ConditionalRequest.etag("history-" + format.name(), symbol, version, params);
+            if (conditional.isNotModified(etag, null)) {
+                return ConditionalRequest.notModifiedEncoded(etag, pricesCacheControl());
+            }
+            EncodedPage page = responseCache.get(etag, () -> ReadFreshness.atLeastTick(version, () -> {
+                try {
+                    if (maxPoints != null) {
+                        return new EncodedPage(encode(format,
+                                columnarHistoryService.getHistory(symbol, start, end, source, maxPoints)), null);
+                    }
+                    TickColumns ticks = after == null
+                            ? columnarHistoryService.getHistoryPage(symbol, start, 0, end, source, pageSize)
+                            : columnarHistoryService.getHistoryPage(symbol, fromMicros(after.getTimestampMicros()),
+                                    after.getId(), end, source, pageSize);
+                    int last = ticks.size() - 1;
+                    return new EncodedPage(encode(format, ticks), ticks.size() == pageSize
+                            ? PageCursor.encode(ticks.timestamp(last), ticks.id(last), scope)
+                            : null);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            return withNextCursor(ConditionalRequest.okEncoded(page.body, format.getMediaType(), etag,
+                    pricesCacheControl()), page.nextCursor);
+        }, apiQueryExecutor);
+    }
+
+    /**
+     * Get rolling statistics (VWAP, EMA, volatility, min/max) for a symbol over 1h/24h/7d
+     */
+    @GetMapping("/{symbol}/stats")
+    public ResponseEntity<RollingStatsResponse> getRollingStats(@PathVariable String symbol) {
+        return rollingStatsService.getStats(symbol)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the top of the L2 order book with spread, mid price and imbalance
+     */
+    @GetMapping("/{symbol}/depth")
+    public ResponseEntity<DepthResponse> getDepth(@PathVariable String symbol,
+                                                  @RequestParam(required = false) Integer levels) {
+        int depthLevels = Math.max(1, Math.min(levels == null ? defaultDepthLevels : levels, maxDepthLevels));
+        return orderBookService.getDepth(symbol, depthLevels)
+                .map(depth -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(depth))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Force refresh of price data (admin only)
+     */
+    @PostMapping("/{symbol}/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<ResponseEntity<CryptoPrice>> refreshPrice(@PathVariable String symbol) {
+        return binanceService.fetchAndSaveCryptoPriceAsync(symbol)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Get all available crypto symbols
+     */
+    @GetMapping("/symbols")
+    public CompletableFuture<ResponseEntity<List<String>>> getAllSymbols() {
+        return CompletableFuture.supplyAsync(
+                () -> ResponseEntity.ok(marketStateCache.getSymbols()), apiQueryExecutor);
+    }
+
+    private int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+
+    private static PageCursor historyCursor(String cursor, Integer maxPoints, Object[] scope) {
+        if (cursor == null) {
+            return null;
+        }
+        if (maxPoints != null) {
+            throw new InvalidCursorException("Error: Downsampled history is not paged, drop maxPoints to use a cursor");
+        }
+        return PageCursor.decode(cursor, scope);
+    }
+
+    /**
+     * Token continuing after the last row, or null when the page was not full (nothing follows)
+     */
+    private static String nextCursor(List<CryptoPrice> prices, int pageSize, Object... scope) {
+        if (prices.size() < pageSize) {
+            return null;
+        }
+        CryptoPrice last = prices.get(prices.size() - 1);
+        return PageCursor.encode(toMicros(last.getTimestamp()), last.getId(), scope);
+    }
+
+    private static <T> ResponseEntity<T> withNextCursor(ResponseEntity<T> response, String nextCursor) {
+        if (nextCursor == null) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.set(PageCursor.NEXT_CURSOR_HEADER, nextCursor);
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private static byte[] encode(WireFormat format, TickColumns ticks) {
+        try {
+            return ColumnarEncoder.encode(format, ticks);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CacheControl pricesCacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(pricesMaxAgeSeconds)).cachePublic();
+    }
+
+    /**
+     * Encoded body cached together with the token of the page after it
+     */
+    private static final class EncodedPage {
+        private final byte[] body;
+        private final String nextCursor;
+
+        private EncodedPage(byte[] body, String nextCursor) {
+            this.body = body;
+            this.nextCursor = nextCursor;
+        }
+    }
+}
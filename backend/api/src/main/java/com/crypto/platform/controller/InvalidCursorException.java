@@ -0,0 +1,11 @@
+package com.crypto.platform.controller;
+
+/**
+ * A continuation token that cannot be used for the request; answered with 400
+ */
+class InvalidCursorException extends IllegalArgumentException {
+
+    InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.payload.response.MarketOverviewResponse;
+import com.crypto.platform.service.MarketOverviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/market")
+@RequiredArgsConstructor
+public class MarketController {
+
+    private final MarketOverviewService marketOverviewService;
+
+    @Value("${http.cache.prices.max-age-seconds}")
+    private long pricesMaxAgeSeconds;
+
+    @Value("${market.overview.top.default}")
+    private int defaultTop;
+
+    @Value("${market.overview.top.max}")
+    private int maxTop;
+
+    /**
+     * Latest price, 24h change and volume of every symbol with top gainers, losers and volume
+     */
+    @GetMapping("/overview")
+    public ResponseEntity<MarketOverviewResponse> getOverview(@RequestParam(required = false) Integer top,
+                                                              WebRequest request) {
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        int size = Math.max(1, Math.min(top == null ? defaultTop : top, maxTop));
+        // Served from memory, so it runs on the request thread like /stats and /depth
+        String etag = ConditionalRequest.etag("overview", "all", marketOverviewService.getVersion(), size);
+        if (conditional.isNotModified(etag, null)) {
+            return ConditionalRequest.notModified(etag, null, cacheControl());
+        }
+        MarketOverviewResponse overview = marketOverviewService.getOverview(size);
+        etag = ConditionalRequest.etag("overview", "all", overview.getVersion(), size);
+        return ConditionalRequest.ok(overview, etag, null, cacheControl());
+    }
+
+    private CacheControl cacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(pricesMaxAgeSeconds)).cachePublic();
+    }
+}
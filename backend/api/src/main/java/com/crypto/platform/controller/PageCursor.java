@@ -0,0 +1,73 @@
+package com.crypto.platform.controller;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token of a keyset page: the (timestamp, id) of the last row returned
+ * plus a digest of the query it belongs to, so a token replayed against another symbol or range
+ * is rejected instead of silently paging the wrong data. Encoded as unpadded base64url of
+ * version(byte) timestampMicros(long) id(long) scope(16 bytes of the SHA-256 {@link RequestDigest}).
+ */
+final class PageCursor {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final byte VERSION = 2;
+    private static final int SCOPE_LENGTH = 16;
+    private static final int LENGTH = 1 + 8 + 8 + SCOPE_LENGTH;
+
+    private final long timestampMicros;
+    private final long id;
+
+    private PageCursor(long timestampMicros, long id) {
+        this.timestampMicros = timestampMicros;
+        this.id = id;
+    }
+
+    long getTimestampMicros() {
+        return timestampMicros;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    static String encode(long timestampMicros, long id, Object... scope) {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .put(VERSION)
+                .putLong(timestampMicros)
+                .putLong(id)
+                .put(scope(scope));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws InvalidCursorException when the token is malformed or belongs to another query
+     */
+    static PageCursor decode(String token, Object... scope) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Error: Malformed cursor");
+        }
+        if (bytes.length != LENGTH || bytes[0] != VERSION) {
+            throw new InvalidCursorException("Error: Malformed cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, LENGTH - 1);
+        PageCursor cursor = new PageCursor(buffer.getLong(), buffer.getLong());
+        byte[] tokenScope = new byte[SCOPE_LENGTH];
+        buffer.get(tokenScope);
+        if (!MessageDigest.isEqual(tokenScope, scope(scope))) {
+            throw new InvalidCursorException("Error: Cursor does not belong to this query");
+        }
+        return cursor;
+    }
+
+    private static byte[] scope(Object[] scope) {
+        return Arrays.copyOf(RequestDigest.of(scope), SCOPE_LENGTH);
+    }
+}
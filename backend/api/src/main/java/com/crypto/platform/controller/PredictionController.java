@@ -0,0 +1,234 @@
+package com.crypto.platform.controller;
+
+import com.crypto.platform.datasource.ReadFreshness;
+import com.crypto.platform.model.AnalyticsJob;
+import com.crypto.platform.model.ModelVersion;
+import com.crypto.platform.model.PricePrediction;
+import com.crypto.platform.payload.response.LivePredictionResponse;
+import com.crypto.platform.repository.PricePredictionRepository;
+import com.crypto.platform.service.AnalyticsJobService;
+import com.crypto.platform.service.ColumnarHistoryService;
+import com.crypto.platform.service.MarketStateCache;
+import com.crypto.platform.service.ModelRegistry;
+import com.crypto.platform.service.ModelScoringService;
+import com.crypto.platform.service.ResponseCache;
+import com.crypto.platform.wire.ColumnarEncoder;
+import com.crypto.platform.wire.PredictionColumns;
+import com.crypto.platform.wire.WireFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/predictions")
+@RequiredArgsConstructor
+@Slf4j
+public class PredictionController {
+
+    private static final List<Duration> DEFAULT_HORIZONS =
+            Arrays.asList(Duration.ofDays(1), Duration.ofDays(7), Duration.ofDays(30));
+
+    private final PricePredictionRepository pricePredictionRepository;
+    private final AnalyticsJobService analyticsJobService;
+    private final Executor apiQueryExecutor;
+    private final MarketStateCache marketStateCache;
+    private final ResponseCache responseCache;
+    private final ColumnarHistoryService columnarHistoryService;
+    private final ModelScoringService modelScoringService;
+    private final ModelRegistry modelRegistry;
+
+    @Value("${http.cache.predictions.max-age-seconds}")
+    private long predictionsMaxAgeSeconds;
+
+    /**
+     * Get latest prediction for a symbol
+     */
+    @GetMapping("/{symbol}/latest")
+    public CompletableFuture<ResponseEntity<PricePrediction>> getLatestPrediction(@PathVariable String symbol,
+                                                                                  WebRequest request) {
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        return CompletableFuture.supplyAsync(() -> marketStateCache.getLatestPrediction(symbol)
+                .map(prediction -> {
+                    String etag = ConditionalRequest.etag("prediction", symbol, prediction.getId());
+                    return conditional.isNotModified(etag, prediction.getCreatedAt())
+                            ? ConditionalRequest.<PricePrediction>notModified(
+                                    etag, prediction.getCreatedAt(), predictionsCacheControl())
+                            : ConditionalRequest.ok(
+                                    prediction, etag, prediction.getCreatedAt(), predictionsCacheControl());
+                })
+                .orElse(ResponseEntity.notFound().build()), apiQueryExecutor);
+    }
+
+    /**
+     * Get all predictions for a symbol
+     */
+    @GetMapping("/{symbol}")
+    public CompletableFuture<ResponseEntity<List<PricePrediction>>> getPredictions(@PathVariable String symbol,
+                                                                                   WebRequest request) {
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        return CompletableFuture.supplyAsync(
+                () -> cachedPredictions(conditional, symbol, "predictions", new Object[0],
+                        () -> pricePredictionRepository.findBySymbolOrderByTargetDateAsc(symbol)),
+                apiQueryExecutor);
+    }
+
+    /**
+     * Get predictions for a specific date range
+     */
+    @GetMapping("/{symbol}/range")
+    public CompletableFuture<ResponseEntity<List<PricePrediction>>> getPredictionsInRange(
+            @PathVariable String symbol,
+            @RequestParam(required = false) Instant startDate,
+            @RequestParam(required = false) Instant endDate,
+            WebRequest request) {
+        
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        Object[] params = {startDate, endDate};
+        
+        // If not specified, use next 30 days
+        if (startDate == null) {
+            startDate = Instant.now();
+        }
+        
+        if (endDate == null) {
+            endDate = Instant.now().plus(30, ChronoUnit.DAYS);
+        }
+        
+        Instant start = startDate;
+        Instant end = endDate;
+        return CompletableFuture.supplyAsync(
+                () -> cachedPredictions(conditional, symbol, "prediction-range", params,
+                        () -> pricePredictionRepository.findBySymbolAndTargetDateRange(symbol, start, end)),
+                apiQueryExecutor);
+    }
+
+    /**
+     * All predictions for a symbol as columnar JSON or CBOR
+     */
+    @GetMapping(value = "/{symbol}", produces = {WireFormat.COLUMNAR_JSON_VALUE, WireFormat.CBOR_VALUE})
+    public CompletableFuture<ResponseEntity<byte[]>> getPredictionsEncoded(
+            @PathVariable String symbol,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        WireFormat format = negotiate(accept);
+        return CompletableFuture.supplyAsync(
+                () -> encodedPredictions(conditional, format, symbol, "predictions", new Object[0],
+                        () -> columnarHistoryService.getPredictions(symbol)),
+                apiQueryExecutor);
+    }
+
+    /**
+     * Predictions for a date range as columnar JSON or CBOR
+     */
+    @GetMapping(value = "/{symbol}/range", produces = {WireFormat.COLUMNAR_JSON_VALUE, WireFormat.CBOR_VALUE})
+    public CompletableFuture<ResponseEntity<byte[]>> getPredictionsInRangeEncoded(
+            @PathVariable String symbol,
+            @RequestParam(required = false) Instant startDate,
+            @RequestParam(required = false) Instant endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        ConditionalRequest conditional = ConditionalRequest.of(request);
+        WireFormat format = negotiate(accept);
+        Object[] params = {startDate, endDate};
+        Instant start = startDate != null ? startDate : Instant.now();
+        Instant end = endDate != null ? endDate : Instant.now().plus(30, ChronoUnit.DAYS);
+        return CompletableFuture.supplyAsync(
+                () -> encodedPredictions(conditional, format, symbol, "prediction-range", params,
+                        () -> columnarHistoryService.getPredictions(symbol, start, end)),
+                apiQueryExecutor);
+    }
+
+    /**
+     * Predictions scored now from the latest price with the symbol's current model, for the given
+     * horizons (ISO-8601 durations, default one day, week and month)
+     */
+    @GetMapping("/{symbol}/live")
+    public ResponseEntity<LivePredictionResponse> getLivePrediction(
+            @PathVariable String symbol,
+            @RequestParam(value = "horizon", required = false) List<Duration> horizons) {
+        return modelScoringService.score(symbol, horizons == null || horizons.isEmpty() ? DEFAULT_HORIZONS : horizons)
+                .map(prediction -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(prediction))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Registered model versions of a symbol with their fit metrics, newest first
+     */
+    @GetMapping("/{symbol}/models")
+    public CompletableFuture<ResponseEntity<List<ModelVersion>>> getModelVersions(@PathVariable String symbol) {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(modelRegistry.versions(symbol)), apiQueryExecutor);
+    }
+
+    /**
+     * Force a new prediction for a symbol (admin only)
+     */
+    @PostMapping("/{symbol}/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<ResponseEntity<String>> refreshPrediction(@PathVariable String symbol) {
+        // Spark runs in the analytics worker; the API only queues the job
+        return CompletableFuture.supplyAsync(() -> analyticsJobService
+                .enqueue(AnalyticsJob.JobType.PREDICTION, symbol)
+                .map(job -> ResponseEntity.accepted()
+                        .body("Prediction job " + job.getId() + " queued for symbol: " + symbol))
+                .orElse(ResponseEntity.accepted()
+                        .body("Prediction job already queued for symbol: " + symbol)), apiQueryExecutor);
+    }
+
+    private ResponseEntity<List<PricePrediction>> cachedPredictions(ConditionalRequest conditional, String symbol,
+                                                                    String kind, Object[] params,
+                                                                    Supplier<List<PricePrediction>> query) {
+        long version = marketStateCache.getPredictionVersion(symbol);
+        String etag = ConditionalRequest.etag(kind, symbol, version, params);
+        if (conditional.isNotModified(etag, null)) {
+            return ConditionalRequest.notModified(etag, null, predictionsCacheControl());
+        }
+        List<PricePrediction> predictions = responseCache.get(etag,
+                () -> ReadFreshness.atLeastPrediction(version, query));
+        return ConditionalRequest.ok(predictions, etag, null, predictionsCacheControl());
+    }
+
+    private ResponseEntity<byte[]> encodedPredictions(ConditionalRequest conditional, WireFormat format,
+                                                      String symbol, String kind, Object[] params,
+                                                      Supplier<PredictionColumns> query) {
+        long version = marketStateCache.getPredictionVersion(symbol);
+        String etag = ConditionalRequest.etag(kind + "-" + format.name(), symbol, version, params);
+        if (conditional.isNotModified(etag, null)) {
+            return ConditionalRequest.notModifiedEncoded(etag, predictionsCacheControl());
+        }
+        byte[] body = responseCache.get(etag, () -> {
+            try {
+                return ColumnarEncoder.encode(format, ReadFreshness.atLeastPrediction(version, query));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ConditionalRequest.okEncoded(body, format.getMediaType(), etag, predictionsCacheControl());
+    }
+
+    private static WireFormat negotiate(String accept) {
+        return WireFormat.negotiate(accept, WireFormat.COLUMNAR_JSON, WireFormat.CBOR)
+                .orElse(WireFormat.COLUMNAR_JSON);
+    }
+
+    private CacheControl predictionsCacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(predictionsMaxAgeSeconds)).cachePublic();
+    }
+}
@@ -0,0 +1,50 @@
+package com.crypto.platform.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * SHA-256 over the canonical form of the values that shape a response. Every value is written
+ * with its length, nulls and nested arrays with their own markers, so two different parameter
+ * lists never share a canonical form and a collision needs a SHA-256 collision.
+ */
+final class RequestDigest {
+
+    private RequestDigest() {
+    }
+
+    static byte[] of(Object... parts) {
+        StringBuilder canonical = new StringBuilder();
+        append(canonical, parts);
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * {@link #of} as unpadded base64url, usable inside an ETag
+     */
+    static String encoded(Object... parts) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(of(parts));
+    }
+
+    private static void append(StringBuilder canonical, Object value) {
+        if (value == null) {
+            canonical.append('~');
+        } else if (value instanceof Object[]) {
+            Object[] values = (Object[]) value;
+            canonical.append('[').append(values.length).append(':');
+            for (Object element : values) {
+                append(canonical, element);
+            }
+            canonical.append(']');
+        } else {
+            String text = value.toString();
+            canonical.append(text.length()).append(':').append(text);
+        }
+    }
+}
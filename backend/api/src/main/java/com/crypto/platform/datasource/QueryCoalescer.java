@@ -0,0 +1,209 @@
+package com.crypto.platform.datasource;
+
+import com.crypto.platform.payload.response.CoalescingStatusResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Single-flight for repository reads: concurrent calls of the same query method with equal
+ * arguments and the same {@link ReadFreshness} share one execution, and its result answers
+ * repeats for {@code coalescing.ttl} afterwards. Database load then follows the number of
+ * distinct queries rather than the number of clients asking.
+ *
+ * Only reads outside read-write transactions are shared, so no caller can flush changes to an
+ * entity another caller also holds; reads that must go to the primary always run on their
+ * own. Lists are copied per caller because some callers reverse or extend them. Finished
+ * results are kept only while fewer than {@code coalescing.max-entries} are held and only up
+ * to {@code coalescing.max-cached-rows} rows; in-flight entries are bounded by concurrency.
+ */
+@Component
+public class QueryCoalescer implements MethodInterceptor {
+
+    private final Map<QueryKey, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, MethodStats> stats = new ConcurrentHashMap<>();
+
+    @Value("${coalescing.ttl}")
+    private Duration ttl;
+
+    @Value("${coalescing.max-entries}")
+    private int maxEntries;
+
+    @Value("${coalescing.max-cached-rows}")
+    private int maxCachedRows;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        ReadFreshness freshness = ReadFreshness.current();
+        if (!isCoalescable(method) || freshness.isPrimaryOnly()
+                || (TransactionSynchronizationManager.isActualTransactionActive()
+                        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return invocation.proceed();
+        }
+
+        MethodStats methodStats = stats.computeIfAbsent(
+                method.getDeclaringClass().getSimpleName() + "." + method.getName(), name -> new MethodStats());
+        methodStats.calls.increment();
+        QueryKey key = new QueryKey(method, invocation.getArguments(), freshness);
+        long now = System.nanoTime();
+        Flight candidate = new Flight();
+        while (true) {
+            Flight flight = flights.putIfAbsent(key, candidate);
+            if (flight == null) {
+                break;
+            }
+            if (!flight.result.isDone()) {
+                methodStats.joined.increment();
+                return copy(await(flight));
+            }
+            if (now - flight.completedAt < ttl.toNanos()) {
+                methodStats.cached.increment();
+                return copy(await(flight));
+            }
+            // Expired; whoever replaces it runs the query
+            flights.remove(key, flight);
+        }
+
+        methodStats.executed.increment();
+        try {
+            Object result = invocation.proceed();
+            candidate.complete(result);
+            retainOrRemove(key, candidate, result);
+            return copy(result);
+        } catch (Throwable e) {
+            // Failures are shared with the callers already waiting, never kept
+            flights.remove(key, candidate);
+            candidate.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public CoalescingStatusResponse getStatus() {
+        List<CoalescingStatusResponse.MethodStatus> methods = stats.entrySet().stream()
+                .map(entry -> entry.getValue().status(entry.getKey()))
+                .sorted(Comparator.comparingLong(CoalescingStatusResponse.MethodStatus::getCalls).reversed())
+                .collect(Collectors.toList());
+        long calls = methods.stream().mapToLong(CoalescingStatusResponse.MethodStatus::getCalls).sum();
+        long executed = methods.stream().mapToLong(CoalescingStatusResponse.MethodStatus::getExecuted).sum();
+        return new CoalescingStatusResponse(flights.size(), calls, executed, ratio(calls, executed), methods);
+    }
+
+    /**
+     * Derived and declared query methods of the repository interfaces; inherited CRUD methods,
+     * writes and cursor streams (bound to the caller's transaction) always run directly
+     */
+    private static boolean isCoalescable(Method method) {
+        String name = method.getName();
+        return (name.startsWith("find") || name.startsWith("count") || name.startsWith("exists"))
+                && method.getDeclaringClass().getPackage().getName().startsWith("com.crypto.platform")
+                && !Stream.class.isAssignableFrom(method.getReturnType());
+    }
+
+    private void retainOrRemove(QueryKey key, Flight flight, Object result) {
+        if (result instanceof Collection && ((Collection<?>) result).size() > maxCachedRows) {
+            flights.remove(key, flight);
+            return;
+        }
+        if (flights.size() > maxEntries) {
+            long now = System.nanoTime();
+            flights.entrySet().removeIf(entry -> entry.getValue().result.isDone()
+                    && now - entry.getValue().completedAt >= ttl.toNanos());
+            if (flights.size() > maxEntries) {
+                flights.remove(key, flight);
+            }
+        }
+    }
+
+    private static Object await(Flight flight) throws Throwable {
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private static Object copy(Object result) {
+        return result instanceof List ? new ArrayList<>((List<?>) result) : result;
+    }
+
+    private static double ratio(long calls, long executed) {
+        return calls == 0 ? 0 : 1 - (double) executed / calls;
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private void complete(Object value) {
+            completedAt = System.nanoTime();
+            result.complete(value);
+        }
+    }
+
+    private static final class MethodStats {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder joined = new LongAdder();
+        private final LongAdder cached = new LongAdder();
+
+        private CoalescingStatusResponse.MethodStatus status(String method) {
+            long callCount = calls.sum();
+            long executedCount = executed.sum();
+            return new CoalescingStatusResponse.MethodStatus(method, callCount, executedCount, joined.sum(),
+                    cached.sum(), ratio(callCount, executedCount));
+        }
+    }
+
+    private static final class QueryKey {
+
+        private final Method method;
+        private final Object[] arguments;
+        private final ReadFreshness freshness;
+        private final int hash;
+
+        private QueryKey(Method method, Object[] arguments, ReadFreshness freshness) {
+            this.method = method;
+            this.arguments = arguments.clone();
+            this.freshness = freshness;
+            this.hash = Objects.hash(method, Arrays.deepHashCode(this.arguments), freshness);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey other = (QueryKey) o;
+            return hash == other.hash
+                    && method.equals(other.method)
+                    && Arrays.deepEquals(arguments, other.arguments)
+                    && freshness.equals(other.freshness);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.crypto.platform.datasource;
+
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.repository.PricePredictionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts the {@link QueryCoalescer} in front of the price and prediction repositories. Spring
+ * Data repositories are already proxies, so the coalescer becomes their first advice and
+ * runs before the repository's own transaction is opened.
+ */
+@Component
+@ConditionalOnProperty(name = "coalescing.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class QueryCoalescingPostProcessor implements BeanPostProcessor {
+
+    // Resolved late: a post processor's own dependencies are created before it can process them
+    private final ObjectProvider<QueryCoalescer> queryCoalescer;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ((bean instanceof CryptoPriceRepository || bean instanceof PricePredictionRepository)
+                && bean instanceof Advised && !((Advised) bean).isFrozen()) {
+            ((Advised) bean).addAdvice(0, queryCoalescer.getObject());
+            log.info("Coalescing identical concurrent queries of {}", beanName);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,97 @@
+package com.crypto.platform.datasource;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * What a read-only transaction needs from a replica, held for the calling thread. Reads
+ * cached under a version (ETag) require the rows up to that version, so a lagging replica
+ * never fills a cache entry with older data; without a requirement any replica within the
+ * configured lag will do.
+ */
+public final class ReadFreshness {
+
+    private static final ThreadLocal<ReadFreshness> CURRENT = new ThreadLocal<>();
+    private static final ReadFreshness ANY = new ReadFreshness(false, 0, 0);
+
+    private final boolean primaryOnly;
+    private final long minTickId;
+    private final long minPredictionId;
+
+    private ReadFreshness(boolean primaryOnly, long minTickId, long minPredictionId) {
+        this.primaryOnly = primaryOnly;
+        this.minTickId = minTickId;
+        this.minPredictionId = minPredictionId;
+    }
+
+    /**
+     * Run a read that must see every tick up to tickId
+     */
+    public static <T> T atLeastTick(long tickId, Supplier<T> read) {
+        return with(new ReadFreshness(false, tickId, 0), read);
+    }
+
+    /**
+     * Run a read that must see every prediction up to predictionId
+     */
+    public static <T> T atLeastPrediction(long predictionId, Supplier<T> read) {
+        return with(new ReadFreshness(false, 0, predictionId), read);
+    }
+
+    /**
+     * Run a read on the primary
+     */
+    public static <T> T primary(Supplier<T> read) {
+        return with(new ReadFreshness(true, 0, 0), read);
+    }
+
+    static ReadFreshness current() {
+        ReadFreshness current = CURRENT.get();
+        return current != null ? current : ANY;
+    }
+
+    boolean isPrimaryOnly() {
+        return primaryOnly;
+    }
+
+    long getMinTickId() {
+        return minTickId;
+    }
+
+    long getMinPredictionId() {
+        return minPredictionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReadFreshness)) {
+            return false;
+        }
+        ReadFreshness other = (ReadFreshness) o;
+        return primaryOnly == other.primaryOnly
+                && minTickId == other.minTickId
+                && minPredictionId == other.minPredictionId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(primaryOnly, minTickId, minPredictionId);
+    }
+
+    private static <T> T with(ReadFreshness freshness, Supplier<T> read) {
+        ReadFreshness previous = CURRENT.get();
+        CURRENT.set(freshness);
+        try {
+            return read.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.crypto.platform.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Measures the replicas against the primary. A replica that has replayed the primary's
+ * current WAL position has no lag; otherwise the lag is the age of its last replayed
+ * transaction. The highest tick and prediction ids tell which versioned reads it can serve.
+ */
+@Slf4j
+public class ReplicaHealthChecker {
+
+    private static final String REPLICA_STATE =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0 "
+            + "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS bigint) END, "
+            + "(SELECT COALESCE(MAX(id), 0) FROM crypto_prices), "
+            + "(SELECT COALESCE(MAX(id), 0) FROM price_predictions)";
+
+    private final JdbcTemplate primary;
+    private final ReplicaRoutingDataSource routing;
+
+    public ReplicaHealthChecker(DataSource primary, ReplicaRoutingDataSource routing) {
+        this.primary = new JdbcTemplate(primary);
+        this.routing = routing;
+    }
+
+    public void check() {
+        if (routing.getReplicas().isEmpty()) {
+            return;
+        }
+        String primaryLsn;
+        try {
+            primaryLsn = primary.queryForObject("SELECT CAST(pg_current_wal_lsn() AS text)", String.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not read the primary WAL position, replica state unchanged: {}", e.getMessage());
+            return;
+        }
+        for (ReplicaPool replica : routing.getReplicas()) {
+            try {
+                new JdbcTemplate(replica.getDataSource()).query(REPLICA_STATE, rs -> {
+                    long lag = rs.getLong(1);
+                    if (rs.wasNull()) {
+                        lag = Long.MAX_VALUE;
+                    }
+                    if (replica.checked(lag, rs.getLong(2), rs.getLong(3))) {
+                        log.info("Read replica {} is available", replica.getName());
+                    }
+                }, primaryLsn);
+            } catch (RuntimeException e) {
+                if (replica.failed(e.getMessage(), routing.getMaxFailures())) {
+                    log.warn("Evicted read replica {}: {}", replica.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+}
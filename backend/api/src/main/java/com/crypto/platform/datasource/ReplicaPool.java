@@ -0,0 +1,71 @@
+package com.crypto.platform.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pool of one read replica with the state of its last health check. A replica
+ * takes reads only after a successful check; consecutive failures evict it until the next
+ * successful one.
+ */
+@Getter
+public class ReplicaPool {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private volatile boolean healthy;
+    // Replication lag at the last check; 0 when the replica had replayed the primary's WAL position
+    private volatile long lagMs = Long.MAX_VALUE;
+    private volatile long maxTickId = -1;
+    private volatile long maxPredictionId = -1;
+    private volatile Instant checkedAt;
+    private volatile String lastError;
+
+    public ReplicaPool(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Whether this replica may serve a read; the row ids only grow, so ids seen at the last
+     * check are still there
+     */
+    boolean satisfies(ReadFreshness freshness, long maxLagMs) {
+        return healthy
+                && lagMs <= maxLagMs
+                && maxTickId >= freshness.getMinTickId()
+                && maxPredictionId >= freshness.getMinPredictionId();
+    }
+
+    /**
+     * Record a successful check; returns true when this re-admits an evicted replica
+     */
+    boolean checked(long lagMs, long maxTickId, long maxPredictionId) {
+        this.lagMs = lagMs;
+        this.maxTickId = maxTickId;
+        this.maxPredictionId = maxPredictionId;
+        this.checkedAt = Instant.now();
+        this.lastError = null;
+        failures.set(0);
+        boolean admitted = !healthy;
+        healthy = true;
+        return admitted;
+    }
+
+    /**
+     * Record a failed check or connection attempt; returns true when this evicts the replica
+     */
+    boolean failed(String error, int maxFailures) {
+        lastError = error;
+        if (failures.incrementAndGet() >= maxFailures && healthy) {
+            healthy = false;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package com.crypto.platform.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to the replicas, round robin over those that
+ * are healthy, within the lag limit and have the rows the thread's {@link ReadFreshness}
+ * needs; everything else goes to the primary. A replica that fails to hand out a connection
+ * counts a failure and the transaction falls back to the primary.
+ *
+ * The decision needs the transaction's read-only flag, which is set after the transaction
+ * manager asks for a connection: wrap this data source in a LazyConnectionDataSourceProxy.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final long maxLagMs;
+    private final int maxFailures;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaPool> replicas, long maxLagMs, int maxFailures) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+        this.maxFailures = maxFailures;
+    }
+
+    public List<ReplicaPool> getReplicas() {
+        return replicas;
+    }
+
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaPool replica = select();
+        if (replica != null) {
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                if (replica.failed(e.getMessage(), maxFailures)) {
+                    log.warn("Evicted read replica {}: {}", replica.getName(), e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() {
+        for (ReplicaPool replica : replicas) {
+            replica.getDataSource().close();
+        }
+    }
+
+    private ReplicaPool select() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        ReadFreshness freshness = ReadFreshness.current();
+        if (freshness.isPrimaryOnly()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaPool replica = replicas.get((start + i) % replicas.size());
+            if (replica.satisfies(freshness, maxLagMs)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,207 @@
+package com.crypto.platform.diagnostics;
+
+import com.crypto.platform.payload.response.RecordingStatusResponse;
+import com.crypto.platform.payload.response.RecordingSummaryResponse;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * On-demand flight recordings of this replica. One recording runs at a time, bounded in
+ * duration, size and age, and written to {@code diagnostics.dir}; only the newest
+ * {@code diagnostics.recording.keep-files} files are kept. The platform events in
+ * {@link PlatformEvents} are enabled by both settings; "profile" adds allocation samples.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final List<String> SETTINGS = List.of("default", "profile");
+
+    private Recording recording;
+    private String settings;
+    private Instant startedAt;
+
+    @Value("${diagnostics.dir}")
+    private Path dir;
+
+    @Value("${diagnostics.recording.max-duration}")
+    private Duration maxDuration;
+
+    @Value("${diagnostics.recording.max-size}")
+    private long maxSize;
+
+    @Value("${diagnostics.recording.keep-files}")
+    private int keepFiles;
+
+    @Value("${diagnostics.summary.top}")
+    private int top;
+
+    /**
+     * Start a recording that stops by itself after {@code duration}, capped at the configured
+     * maximum. Throws IllegalStateException when one is already running.
+     */
+    public synchronized RecordingStatusResponse start(String settingsName, Duration duration) {
+        if (!SETTINGS.contains(settingsName)) {
+            throw new IllegalArgumentException("Unknown settings " + settingsName + ", expected one of " + SETTINGS);
+        }
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running since " + startedAt);
+        }
+        closeRecording();
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        Instant now = Instant.now();
+        Recording started;
+        try {
+            Files.createDirectories(dir);
+            // Before setDestination, which already creates the file
+            prune(keepFiles - 1);
+            started = new Recording(Configuration.getConfiguration(settingsName));
+            started.setName("platform-" + settingsName);
+            started.setToDisk(true);
+            started.setMaxSize(maxSize);
+            started.setMaxAge(bounded);
+            started.setDuration(bounded);
+            started.setDestination(dir.resolve("recording-" + FILE_TIME.format(now) + ".jfr"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Could not load recording settings " + settingsName, e);
+        }
+        started.start();
+        recording = started;
+        settings = settingsName;
+        startedAt = now;
+        log.info("Flight recording started with {} settings for {}", settingsName, bounded);
+        return status();
+    }
+
+    public synchronized RecordingStatusResponse status() {
+        String state = recording == null ? "NONE" : isRunning() ? "RUNNING" : "STOPPED";
+        Instant stopsAt = isRunning() && recording.getDuration() != null ? startedAt.plus(recording.getDuration()) : null;
+        return new RecordingStatusResponse(state, settings, startedAt, stopsAt, files());
+    }
+
+    /**
+     * Copy what the running recording holds so far to a snapshot file and summarize it; the
+     * recording keeps running
+     */
+    public RecordingSummaryResponse dump() throws IOException {
+        Path snapshot;
+        synchronized (this) {
+            if (!isRunning()) {
+                throw new IllegalStateException("No recording is running");
+            }
+            prune(keepFiles - 1);
+            snapshot = dir.resolve("snapshot-" + FILE_TIME.format(Instant.now()) + ".jfr");
+            recording.dump(snapshot);
+        }
+        return RecordingAnalyzer.analyze(snapshot, top);
+    }
+
+    /**
+     * Stop the recording, if still running, and summarize its file
+     */
+    public RecordingSummaryResponse stop() throws IOException {
+        Path destination;
+        synchronized (this) {
+            if (recording == null) {
+                throw new IllegalStateException("No recording was started");
+            }
+            destination = recording.getDestination();
+            if (isRunning()) {
+                recording.stop();
+                log.info("Flight recording stopped, written to {}", destination);
+            }
+            closeRecording();
+        }
+        return RecordingAnalyzer.analyze(destination, top);
+    }
+
+    /**
+     * A kept recording file by name; empty for names that are not one of {@link #files()}
+     */
+    public Optional<Path> file(String name) {
+        return files().contains(name) ? Optional.of(dir.resolve(name)) : Optional.empty();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (isRunning()) {
+            recording.stop();
+        }
+        closeRecording();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private void closeRecording() {
+        if (recording != null && recording.getState() != RecordingState.RUNNING) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Recording files in the directory, newest first
+     */
+    private List<String> files() {
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> paths = Files.list(dir)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(FlightRecorderService::lastModified).reversed())
+                    .map(path -> path.getFileName().toString())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Delete all but the newest {@code keep} recording files
+     */
+    private void prune(int keep) {
+        List<String> files = files();
+        for (String name : files.subList(Math.min(Math.max(keep, 0), files.size()), files.size())) {
+            try {
+                Files.deleteIfExists(dir.resolve(name));
+            } catch (IOException e) {
+                log.warn("Could not delete old recording {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
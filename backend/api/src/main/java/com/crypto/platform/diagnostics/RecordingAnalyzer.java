@@ -0,0 +1,174 @@
+package com.crypto.platform.diagnostics;
+
+import com.crypto.platform.payload.response.RecordingSummaryResponse;
+import jdk.jfr.EventType;
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One pass over a recording file: platform spans per type and the slowest ones, allocation
+ * samples by site and by type, and GC pauses. Allocation events are only in recordings made
+ * with the "profile" settings: TLAB samples weighted by the TLAB size on JDK 11, throttled
+ * allocation samples weighted by their sampling weight on later JDKs.
+ */
+final class RecordingAnalyzer {
+
+    private static final String APPLICATION_PACKAGE = "com.crypto.platform.";
+    private static final String IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+    private static final String OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+    private static final String SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+
+    private static final Set<String> BUILT_IN_FIELDS = Set.of("startTime", "duration", "eventThread", "stackTrace");
+
+    private final int top;
+    private final Map<String, long[]> spans = new HashMap<>();  // count, total nanos, max nanos
+    private final PriorityQueue<RecordedEvent> slowest =
+            new PriorityQueue<>(Comparator.comparing(RecordedEvent::getDuration));
+    private final Map<String, long[]> sites = new HashMap<>();  // bytes, samples
+    private final Map<String, long[]> types = new HashMap<>();
+    private final long[] gc = new long[3];  // collections, total pause nanos, longest pause nanos
+    private Instant from;
+    private Instant to;
+
+    private RecordingAnalyzer(int top) {
+        this.top = top;
+    }
+
+    static RecordingSummaryResponse analyze(Path file, int top) throws IOException {
+        RecordingAnalyzer analyzer = new RecordingAnalyzer(top);
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                analyzer.accept(recording.readEvent());
+            }
+        }
+        return analyzer.summary(file);
+    }
+
+    private void accept(RecordedEvent event) {
+        if (from == null || event.getStartTime().isBefore(from)) {
+            from = event.getStartTime();
+        }
+        if (to == null || event.getEndTime().isAfter(to)) {
+            to = event.getEndTime();
+        }
+        EventType type = event.getEventType();
+        String name = type.getName();
+        if (type.getCategoryNames().contains(PlatformEvents.CATEGORY)) {
+            long nanos = event.getDuration().toNanos();
+            long[] stats = spans.computeIfAbsent(type.getLabel(), k -> new long[3]);
+            stats[0]++;
+            stats[1] += nanos;
+            stats[2] = Math.max(stats[2], nanos);
+            slowest.add(event);
+            if (slowest.size() > top) {
+                slowest.poll();
+            }
+        } else if (IN_NEW_TLAB.equals(name) || OUTSIDE_TLAB.equals(name) || SAMPLE.equals(name)) {
+            long bytes = IN_NEW_TLAB.equals(name) ? event.getLong("tlabSize")
+                    : OUTSIDE_TLAB.equals(name) ? event.getLong("allocationSize") : event.getLong("weight");
+            RecordedClass objectClass = event.getClass("objectClass");
+            add(types, objectClass != null ? objectClass.getName() : "unknown", bytes);
+            add(sites, allocationSite(event.getStackTrace()), bytes);
+        } else if (GARBAGE_COLLECTION.equals(name)) {
+            long pause = event.getDuration("sumOfPauses").toNanos();
+            gc[0]++;
+            gc[1] += pause;
+            gc[2] = Math.max(gc[2], pause);
+        }
+    }
+
+    private RecordingSummaryResponse summary(Path file) throws IOException {
+        List<RecordedEvent> slowestFirst = new ArrayList<>(slowest);
+        slowestFirst.sort(Comparator.comparing(RecordedEvent::getDuration, Comparator.reverseOrder()));
+        return RecordingSummaryResponse.builder()
+                .file(file.getFileName().toString())
+                .sizeBytes(Files.size(file))
+                .from(from)
+                .to(to)
+                .spans(spans.entrySet().stream()
+                        .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+                        .map(e -> new RecordingSummaryResponse.SpanStats(e.getKey(), e.getValue()[0],
+                                millis(e.getValue()[1]), millis(e.getValue()[2])))
+                        .collect(Collectors.toList()))
+                .slowest(slowestFirst.stream().map(RecordingAnalyzer::span).collect(Collectors.toList()))
+                .allocationSites(topAllocations(sites))
+                .allocatedTypes(topAllocations(types))
+                .gc(new RecordingSummaryResponse.GcStats(gc[0], millis(gc[1]), millis(gc[2])))
+                .build();
+    }
+
+    private List<RecordingSummaryResponse.Allocation> topAllocations(Map<String, long[]> allocations) {
+        return allocations.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed())
+                .limit(top)
+                .map(e -> new RecordingSummaryResponse.Allocation(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordingSummaryResponse.Span span(RecordedEvent event) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (ValueDescriptor field : event.getFields()) {
+            if (BUILT_IN_FIELDS.contains(field.getName())) {
+                continue;
+            }
+            Object value = event.getValue(field.getName());
+            if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+                fields.put(field.getName(), value);
+            }
+        }
+        RecordedThread thread = event.getThread();
+        return new RecordingSummaryResponse.Span(event.getEventType().getLabel(), event.getStartTime(),
+                millis(event.getDuration().toNanos()), thread != null ? thread.getJavaName() : null, fields);
+    }
+
+    /**
+     * First application frame of the stack, so allocations inside JDK and library code are
+     * charged to the platform code that caused them; the top frame when there is none
+     */
+    private static String allocationSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return frameName(frame);
+            }
+        }
+        return frameName(stackTrace.getFrames().get(0));
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    private static void add(Map<String, long[]> allocations, String key, long bytes) {
+        long[] stats = allocations.computeIfAbsent(key, k -> new long[2]);
+        stats[0] += bytes;
+        stats[1]++;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.crypto.platform.market;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Symbols ordered by a score, highest first, with ties broken by symbol. Updating a symbol
+ * re-positions it in O(log n), so the top and bottom of the ranking are always ready to read.
+ * Not thread-safe; guarded by its owner.
+ */
+public class SymbolRanking {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble((Entry e) -> -e.score)
+            .thenComparing(e -> e.symbol);
+
+    private final NavigableSet<Entry> ranked = new TreeSet<>(ORDER);
+    private final Map<String, Entry> bySymbol = new HashMap<>();
+
+    public void update(String symbol, double score) {
+        Entry current = bySymbol.get(symbol);
+        if (current != null) {
+            if (Double.compare(current.score, score) == 0) {
+                return;
+            }
+            ranked.remove(current);
+        }
+        Entry entry = new Entry(symbol, score);
+        bySymbol.put(symbol, entry);
+        ranked.add(entry);
+    }
+
+    public void remove(String symbol) {
+        Entry current = bySymbol.remove(symbol);
+        if (current != null) {
+            ranked.remove(current);
+        }
+    }
+
+    /**
+     * Up to {@code n} symbols with the highest scores, highest first
+     */
+    public List<String> top(int n) {
+        return first(ranked.iterator(), n);
+    }
+
+    /**
+     * Up to {@code n} symbols with the lowest scores, lowest first
+     */
+    public List<String> bottom(int n) {
+        return first(ranked.descendingIterator(), n);
+    }
+
+    public int size() {
+        return ranked.size();
+    }
+
+    private static List<String> first(Iterator<Entry> entries, int n) {
+        List<String> symbols = new ArrayList<>(Math.min(n, 64));
+        while (symbols.size() < n && entries.hasNext()) {
+            symbols.add(entries.next().symbol);
+        }
+        return symbols;
+    }
+
+    private static final class Entry {
+        private final String symbol;
+        private final double score;
+
+        private Entry(String symbol, double score) {
+            this.symbol = symbol;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.crypto.platform.orderbook;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Binance depth feed: diff events from the combined {@code <symbol>@depth@100ms} WebSocket
+ * streams and snapshots from REST {@code /api/v3/depth}. Diff events are decoded on the
+ * WebSocket thread into one reused {@link DepthUpdate}. With a record file every received
+ * message is also written as a replay line for {@link ReplayDepthFeed}.
+ */
+@Slf4j
+public class BinanceDepthFeed implements DepthFeed {
+
+    private final WebClient webClient;
+    private final URI streamUri;
+    private final List<String> symbols;
+    private final int snapshotLimit;
+    private final Duration reconnectDelay;
+    private final BufferedWriter recorder;
+
+    private final DepthMessageParser snapshotParser;
+    private volatile Listener listener;
+    private Disposable connection;
+
+    public BinanceDepthFeed(WebClient.Builder webClientBuilder, String restBaseUrl, String streamBaseUrl,
+                            List<String> symbols, int snapshotLimit, Duration reconnectDelay, Path recordFile) {
+        this.webClient = webClientBuilder.baseUrl(restBaseUrl).build();
+        this.streamUri = URI.create(streamBaseUrl + "/stream?streams=" + symbols.stream()
+                .map(symbol -> symbol.toLowerCase(Locale.ROOT) + "@depth@100ms")
+                .collect(Collectors.joining("/")));
+        this.symbols = symbols;
+        this.snapshotLimit = snapshotLimit;
+        this.reconnectDelay = reconnectDelay;
+        this.snapshotParser = new DepthMessageParser(symbols);
+        this.recorder = recordFile == null ? null : openRecorder(recordFile);
+    }
+
+    @Override
+    public void start(Listener listener) {
+        this.listener = listener;
+        WebSocketClient client = new ReactorNettyWebSocketClient();
+        DepthMessageParser parser = new DepthMessageParser(symbols);
+        DepthUpdate update = new DepthUpdate();
+        byte[][] scratch = {new byte[64 * 1024]};
+
+        connection = Mono.defer(() -> client.execute(streamUri, session -> {
+                    log.info("Connected to Binance depth stream for {} symbols", symbols.size());
+                    listener.onFeedReset();
+                    return session.receive()
+                            .doOnNext(message -> onMessage(message.getPayload(), scratch, parser, update, listener))
+                            .then();
+                }))
+                .doOnError(e -> log.warn("Binance depth stream failed: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.delay(reconnectDelay))
+                .repeat()
+                .subscribe();
+    }
+
+    @Override
+    public void requestSnapshot(String symbol) {
+        webClient.get()
+                .uri("/api/v3/depth?symbol={symbol}&limit={limit}", symbol, snapshotLimit)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .subscribe(body -> {
+                    DepthUpdate snapshot = new DepthUpdate();
+                    try {
+                        synchronized (snapshotParser) {
+                            snapshotParser.parse(body, 0, body.length, snapshot);
+                        }
+                    } catch (IOException e) {
+                        log.warn("Invalid depth snapshot for {}: {}", symbol, e.getMessage());
+                        listener.onSnapshotFailed(symbol);
+                        return;
+                    }
+                    snapshot.setSymbol(symbol);
+                    record(snapshot.toSnapshotJson());
+                    listener.onSnapshot(snapshot);
+                }, e -> {
+                    log.warn("Depth snapshot request for {} failed: {}", symbol, e.getMessage());
+                    listener.onSnapshotFailed(symbol);
+                });
+    }
+
+    @Override
+    public void stop() {
+        if (connection != null) {
+            connection.dispose();
+        }
+        if (recorder != null) {
+            synchronized (recorder) {
+                try {
+                    recorder.close();
+                } catch (IOException e) {
+                    log.warn("Error closing depth recording: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void onMessage(DataBuffer payload, byte[][] scratch, DepthMessageParser parser, DepthUpdate update,
+                           Listener listener) {
+        int length = payload.readableByteCount();
+        if (scratch[0].length < length) {
+            scratch[0] = new byte[Integer.highestOneBit(length) << 1];
+        }
+        payload.read(scratch[0], 0, length);
+        try {
+            if (parser.parse(scratch[0], 0, length, update) == DepthMessageParser.DIFF && update.symbol != null) {
+                if (recorder != null) {
+                    record(new String(scratch[0], 0, length, StandardCharsets.UTF_8));
+                }
+                listener.onDiff(update);
+            }
+        } catch (IOException e) {
+            log.warn("Invalid depth message: {}", e.getMessage());
+        }
+    }
+
+    private void record(String line) {
+        if (recorder == null) {
+            return;
+        }
+        synchronized (recorder) {
+            try {
+                recorder.write(line);
+                recorder.newLine();
+            } catch (IOException e) {
+                log.warn("Error writing depth recording: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static BufferedWriter openRecorder(Path file) {
+        try {
+            log.info("Recording depth feed to {}", file);
+            return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open depth record file " + file, e);
+        }
+    }
+}
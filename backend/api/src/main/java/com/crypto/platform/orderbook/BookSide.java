@@ -0,0 +1,97 @@
+package com.crypto.platform.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * One side of an L2 book: price levels in parallel primitive arrays, best level first.
+ * Bids are kept as negated prices so both sides sort ascending and share the binary search.
+ * Updates shift at most the levels behind the touched one and never allocate once the arrays
+ * have grown to the working depth; levels beyond {@code maxLevels} are dropped.
+ *
+ * Not thread-safe; {@link OrderBook} guards access.
+ */
+final class BookSide {
+
+    private final boolean descending;
+    private final int maxLevels;
+
+    private long[] keys;
+    private long[] quantities;
+    private int size;
+
+    BookSide(boolean descending, int initialLevels, int maxLevels) {
+        this.descending = descending;
+        this.maxLevels = maxLevels;
+        int capacity = Math.min(Math.max(16, initialLevels), maxLevels);
+        this.keys = new long[capacity];
+        this.quantities = new long[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long price(int level) {
+        return descending ? -keys[level] : keys[level];
+    }
+
+    long quantity(int level) {
+        return quantities[level];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Set the quantity at a price level; zero removes the level
+     */
+    void update(long price, long quantity) {
+        long key = descending ? -price : price;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            if (quantity == 0) {
+                System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                System.arraycopy(quantities, index + 1, quantities, index, size - index - 1);
+                size--;
+            } else {
+                quantities[index] = quantity;
+            }
+            return;
+        }
+        if (quantity == 0) {
+            return;
+        }
+        int insert = -index - 1;
+        if (size == maxLevels) {
+            if (insert == size) {
+                return;
+            }
+            size--;
+        } else if (size == keys.length) {
+            int capacity = Math.min(keys.length * 2, maxLevels);
+            keys = Arrays.copyOf(keys, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+        }
+        System.arraycopy(keys, insert, keys, insert + 1, size - insert);
+        System.arraycopy(quantities, insert, quantities, insert + 1, size - insert);
+        keys[insert] = key;
+        quantities[insert] = quantity;
+        size++;
+    }
+
+    /**
+     * Copy the first levels into the destination arrays; returns the number copied
+     */
+    int copyTo(int levels, long[] prices, long[] sizes) {
+        // May run under an optimistic read: use one consistent view of the arrays and stay in bounds
+        long[] keyView = keys;
+        long[] quantityView = quantities;
+        int n = Math.min(Math.min(levels, size), Math.min(keyView.length, quantityView.length));
+        for (int i = 0; i < n; i++) {
+            prices[i] = descending ? -keyView[i] : keyView[i];
+            sizes[i] = quantityView[i];
+        }
+        return n;
+    }
+}
@@ -0,0 +1,36 @@
+package com.crypto.platform.orderbook;
+
+/**
+ * Source of depth snapshots and diff events for a set of symbols
+ */
+public interface DepthFeed {
+
+    /**
+     * Receives decoded depth messages; the update object is reused after the call returns
+     */
+    interface Listener {
+
+        void onSnapshot(DepthUpdate snapshot);
+
+        void onDiff(DepthUpdate diff);
+
+        /**
+         * A requested snapshot could not be fetched; it may be requested again
+         */
+        void onSnapshotFailed(String symbol);
+
+        /**
+         * The feed reconnected or restarted, so every book has to resync
+         */
+        void onFeedReset();
+    }
+
+    void start(Listener listener);
+
+    /**
+     * Ask for a fresh snapshot of one symbol; it arrives through {@link Listener#onSnapshot}
+     */
+    void requestSnapshot(String symbol);
+
+    void stop();
+}
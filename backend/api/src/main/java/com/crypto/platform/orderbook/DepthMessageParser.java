@@ -0,0 +1,167 @@
+package com.crypto.platform.orderbook;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Streaming decoder for Binance depth messages into a reused {@link DepthUpdate}.
+ *
+ * Understands diff events ({@code "e":"depthUpdate"}, optionally wrapped in a combined-stream
+ * {@code {"stream":..,"data":{..}}} envelope), REST {@code /api/v3/depth} snapshots and the
+ * replay snapshot lines written by {@link DepthUpdate#toSnapshotJson()}. Prices and quantities
+ * are parsed from the parser's character buffer into fixed-point longs, so no String or
+ * BigDecimal is created per level. One parser per feed thread.
+ */
+public final class DepthMessageParser {
+
+    public static final int IGNORED = 0;
+    public static final int DIFF = 1;
+    public static final int SNAPSHOT = 2;
+
+    private static final char[] DEPTH_UPDATE = "depthUpdate".toCharArray();
+    private static final char[] DEPTH_SNAPSHOT = "depthSnapshot".toCharArray();
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final SymbolTable symbols;
+
+    public DepthMessageParser(Collection<String> symbols) {
+        this.symbols = new SymbolTable(symbols);
+    }
+
+    /**
+     * Decode one message; returns {@link #DIFF}, {@link #SNAPSHOT} or {@link #IGNORED}
+     */
+    public int parse(byte[] data, int offset, int length, DepthUpdate out) throws IOException {
+        out.clear();
+        try (JsonParser parser = jsonFactory.createParser(data, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return IGNORED;
+            }
+            return parseObject(parser, out);
+        }
+    }
+
+    private int parseObject(JsonParser parser, DepthUpdate out) throws IOException {
+        int type = IGNORED;
+        boolean snapshotFields = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "data":
+                    if (value == JsonToken.START_OBJECT) {
+                        return parseObject(parser, out);
+                    }
+                    parser.skipChildren();
+                    break;
+                case "e":
+                    type = textEquals(parser, DEPTH_UPDATE) ? DIFF
+                            : textEquals(parser, DEPTH_SNAPSHOT) ? SNAPSHOT : IGNORED;
+                    if (type == IGNORED) {
+                        return IGNORED;
+                    }
+                    break;
+                case "s":
+                    out.symbol = symbols.lookup(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    break;
+                case "E":
+                    out.eventTime = parser.getLongValue();
+                    break;
+                case "U":
+                    out.firstUpdateId = parser.getLongValue();
+                    break;
+                case "u":
+                    out.finalUpdateId = parser.getLongValue();
+                    break;
+                case "lastUpdateId":
+                    out.firstUpdateId = parser.getLongValue();
+                    out.finalUpdateId = out.firstUpdateId;
+                    snapshotFields = true;
+                    break;
+                case "b":
+                case "bids":
+                    readLevels(parser, out, true);
+                    break;
+                case "a":
+                case "asks":
+                    readLevels(parser, out, false);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        // REST snapshots carry no event type
+        return type == IGNORED && snapshotFields ? SNAPSHOT : type;
+    }
+
+    private static void readLevels(JsonParser parser, DepthUpdate out, boolean bid) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            parser.nextToken();
+            long price = fixedPoint(parser);
+            parser.nextToken();
+            long quantity = fixedPoint(parser);
+            // Skip any trailing elements of the level
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            out.addLevel(bid, price, quantity);
+        }
+    }
+
+    /**
+     * Parse a decimal string or number token into a long with {@link OrderBook#SCALE} decimals,
+     * truncating extra digits
+     */
+    static long fixedPoint(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int end = offset + parser.getTextLength();
+        long value = 0;
+        int decimals = -1;
+        boolean negative = false;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c == '-') {
+                negative = true;
+            } else if (c == '.') {
+                decimals = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (decimals >= OrderBook.SCALE) {
+                    continue;
+                }
+                if (decimals >= 0) {
+                    decimals++;
+                }
+                value = value * 10 + (c - '0');
+            } else {
+                throw new IOException("Invalid decimal: " + new String(chars, offset, end - offset));
+            }
+        }
+        for (int i = Math.max(decimals, 0); i < OrderBook.SCALE; i++) {
+            value *= 10;
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean textEquals(JsonParser parser, char[] expected) throws IOException {
+        if (parser.getTextLength() != expected.length) {
+            return false;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        for (int i = 0; i < expected.length; i++) {
+            if (chars[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
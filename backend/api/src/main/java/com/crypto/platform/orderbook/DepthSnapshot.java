@@ -0,0 +1,95 @@
+package com.crypto.platform.orderbook;
+
+/**
+ * Point-in-time copy of the top of an {@link OrderBook}, with the derived top-of-book metrics
+ */
+public final class DepthSnapshot {
+
+    final String symbol;
+    final long[] bidPrices;
+    final long[] bidQuantities;
+    final long[] askPrices;
+    final long[] askQuantities;
+    int bidCount;
+    int askCount;
+    long lastUpdateId;
+    long eventTime;
+
+    DepthSnapshot(String symbol, int levels) {
+        this.symbol = symbol;
+        this.bidPrices = new long[levels];
+        this.bidQuantities = new long[levels];
+        this.askPrices = new long[levels];
+        this.askQuantities = new long[levels];
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public int getAskCount() {
+        return askCount;
+    }
+
+    public long bidPrice(int level) {
+        return bidPrices[level];
+    }
+
+    public long bidQuantity(int level) {
+        return bidQuantities[level];
+    }
+
+    public long askPrice(int level) {
+        return askPrices[level];
+    }
+
+    public long askQuantity(int level) {
+        return askQuantities[level];
+    }
+
+    public long getLastUpdateId() {
+        return lastUpdateId;
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public boolean hasTopOfBook() {
+        return bidCount > 0 && askCount > 0;
+    }
+
+    /**
+     * Best ask minus best bid, fixed point
+     */
+    public long spread() {
+        return askPrices[0] - bidPrices[0];
+    }
+
+    /**
+     * Mid price, fixed point (rounded down to the last decimal)
+     */
+    public long mid() {
+        return bidPrices[0] + (askPrices[0] - bidPrices[0]) / 2;
+    }
+
+    /**
+     * (bid depth - ask depth) / (bid depth + ask depth) over the copied levels, in [-1, 1]
+     */
+    public double imbalance() {
+        double bidDepth = 0;
+        double askDepth = 0;
+        for (int i = 0; i < bidCount; i++) {
+            bidDepth += bidQuantities[i];
+        }
+        for (int i = 0; i < askCount; i++) {
+            askDepth += askQuantities[i];
+        }
+        double total = bidDepth + askDepth;
+        return total == 0 ? 0 : (bidDepth - askDepth) / total;
+    }
+}
@@ -0,0 +1,123 @@
+package com.crypto.platform.orderbook;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * A depth snapshot or diff event in fixed-point form ({@link OrderBook#SCALE} decimals).
+ * Instances are reused by the feed parser; anything that keeps an update must {@link #copy()} it.
+ */
+public final class DepthUpdate {
+
+    String symbol;
+    long firstUpdateId;
+    long finalUpdateId;
+    long eventTime;
+
+    long[] bidPrices = new long[64];
+    long[] bidQuantities = new long[64];
+    int bidCount;
+    long[] askPrices = new long[64];
+    long[] askQuantities = new long[64];
+    int askCount;
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * First update id of a diff event (Binance {@code U}); equals the last id for a snapshot
+     */
+    public long getFirstUpdateId() {
+        return firstUpdateId;
+    }
+
+    /**
+     * Final update id of a diff event (Binance {@code u}) or {@code lastUpdateId} of a snapshot
+     */
+    public long getFinalUpdateId() {
+        return finalUpdateId;
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public int getAskCount() {
+        return askCount;
+    }
+
+    void clear() {
+        symbol = null;
+        firstUpdateId = 0;
+        finalUpdateId = 0;
+        eventTime = 0;
+        bidCount = 0;
+        askCount = 0;
+    }
+
+    void addLevel(boolean bid, long price, long quantity) {
+        if (bid) {
+            if (bidCount == bidPrices.length) {
+                bidPrices = Arrays.copyOf(bidPrices, bidCount * 2);
+                bidQuantities = Arrays.copyOf(bidQuantities, bidCount * 2);
+            }
+            bidPrices[bidCount] = price;
+            bidQuantities[bidCount++] = quantity;
+        } else {
+            if (askCount == askPrices.length) {
+                askPrices = Arrays.copyOf(askPrices, askCount * 2);
+                askQuantities = Arrays.copyOf(askQuantities, askCount * 2);
+            }
+            askPrices[askCount] = price;
+            askQuantities[askCount++] = quantity;
+        }
+    }
+
+    public DepthUpdate copy() {
+        DepthUpdate copy = new DepthUpdate();
+        copy.symbol = symbol;
+        copy.firstUpdateId = firstUpdateId;
+        copy.finalUpdateId = finalUpdateId;
+        copy.eventTime = eventTime;
+        copy.bidPrices = Arrays.copyOf(bidPrices, Math.max(bidCount, 1));
+        copy.bidQuantities = Arrays.copyOf(bidQuantities, Math.max(bidCount, 1));
+        copy.bidCount = bidCount;
+        copy.askPrices = Arrays.copyOf(askPrices, Math.max(askCount, 1));
+        copy.askQuantities = Arrays.copyOf(askQuantities, Math.max(askCount, 1));
+        copy.askCount = askCount;
+        return copy;
+    }
+
+    /**
+     * Replay-file line for this update as a snapshot ({@code "e":"depthSnapshot"})
+     */
+    public String toSnapshotJson() {
+        StringBuilder json = new StringBuilder(64 + 48 * (bidCount + askCount));
+        json.append("{\"e\":\"depthSnapshot\",\"s\":\"").append(symbol)
+                .append("\",\"lastUpdateId\":").append(finalUpdateId).append(",\"bids\":[");
+        appendLevels(json, bidPrices, bidQuantities, bidCount);
+        json.append("],\"asks\":[");
+        appendLevels(json, askPrices, askQuantities, askCount);
+        return json.append("]}").toString();
+    }
+
+    private static void appendLevels(StringBuilder json, long[] prices, long[] quantities, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("[\"").append(BigDecimal.valueOf(prices[i], OrderBook.SCALE).toPlainString())
+                    .append("\",\"").append(BigDecimal.valueOf(quantities[i], OrderBook.SCALE).toPlainString())
+                    .append("\"]");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.crypto.platform.orderbook;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * L2 order book of one symbol with fixed-point prices and quantities ({@link #SCALE} decimals).
+ * The feed thread applies snapshots and diffs under the write lock without allocating;
+ * readers copy the top of the book with an optimistic read and fall back to the read lock
+ * only if an update raced them.
+ */
+public class OrderBook {
+
+    /** Decimal places of prices and quantities, the precision Binance quotes in */
+    public static final int SCALE = 8;
+
+    private final String symbol;
+    private final BookSide bids;
+    private final BookSide asks;
+    private final StampedLock lock = new StampedLock();
+
+    private long lastUpdateId;
+    private long eventTime;
+
+    public OrderBook(String symbol, int initialLevels, int maxLevels) {
+        this.symbol = symbol;
+        this.bids = new BookSide(true, initialLevels, maxLevels);
+        this.asks = new BookSide(false, initialLevels, maxLevels);
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getLastUpdateId() {
+        long stamp = lock.tryOptimisticRead();
+        long id = lastUpdateId;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = lastUpdateId;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Replace the book with a snapshot
+     */
+    public void applySnapshot(DepthUpdate snapshot) {
+        long stamp = lock.writeLock();
+        try {
+            bids.clear();
+            asks.clear();
+            applyLevels(snapshot);
+            lastUpdateId = snapshot.finalUpdateId;
+            eventTime = snapshot.eventTime;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Apply a diff event; sequencing is checked by the caller
+     */
+    public void applyDiff(DepthUpdate diff) {
+        long stamp = lock.writeLock();
+        try {
+            applyLevels(diff);
+            lastUpdateId = diff.finalUpdateId;
+            eventTime = diff.eventTime;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copy of the top {@code levels} levels of both sides
+     */
+    public DepthSnapshot snapshot(int levels) {
+        DepthSnapshot view = new DepthSnapshot(symbol, levels);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            copyInto(view, levels);
+            if (lock.validate(stamp)) {
+                return view;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            copyInto(view, levels);
+            return view;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void copyInto(DepthSnapshot view, int levels) {
+        // Sizes may be torn under an optimistic read; clamp so the copy stays in bounds
+        view.bidCount = bids.copyTo(Math.min(levels, view.bidPrices.length), view.bidPrices, view.bidQuantities);
+        view.askCount = asks.copyTo(Math.min(levels, view.askPrices.length), view.askPrices, view.askQuantities);
+        view.lastUpdateId = lastUpdateId;
+        view.eventTime = eventTime;
+    }
+
+    private void applyLevels(DepthUpdate update) {
+        for (int i = 0; i < update.bidCount; i++) {
+            bids.update(update.bidPrices[i], update.bidQuantities[i]);
+        }
+        for (int i = 0; i < update.askCount; i++) {
+            asks.update(update.askPrices[i], update.askQuantities[i]);
+        }
+    }
+}
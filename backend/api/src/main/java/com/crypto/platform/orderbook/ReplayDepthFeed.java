@@ -0,0 +1,91 @@
+package com.crypto.platform.orderbook;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a recorded depth feed from a file with one message per line, as written by
+ * {@link BinanceDepthFeed} with {@code depth.record-file}: snapshot lines and raw diff events.
+ * Snapshots come from the recording, so {@link #requestSnapshot(String)} does nothing; a
+ * sequence gap in the recording resyncs at the next recorded snapshot.
+ */
+@Slf4j
+public class ReplayDepthFeed implements DepthFeed {
+
+    private final Path file;
+    private final Collection<String> symbols;
+    private final int messagesPerSecond;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param messagesPerSecond replay rate, 0 for as fast as possible
+     */
+    public ReplayDepthFeed(Path file, Collection<String> symbols, int messagesPerSecond) {
+        this.file = file;
+        this.symbols = symbols;
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    @Override
+    public void start(Listener listener) {
+        running = true;
+        thread = new Thread(() -> replay(listener), "depth-replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void requestSnapshot(String symbol) {
+        // Snapshots are part of the recording
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    private void replay(Listener listener) {
+        DepthMessageParser parser = new DepthMessageParser(symbols);
+        DepthUpdate update = new DepthUpdate();
+        long intervalNanos = messagesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / messagesPerSecond : 0;
+        long next = System.nanoTime();
+        long messages = 0;
+        listener.onFeedReset();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+                int type = parser.parse(bytes, 0, bytes.length, update);
+                if (update.symbol == null) {
+                    continue;
+                }
+                if (type == DepthMessageParser.SNAPSHOT) {
+                    listener.onSnapshot(update);
+                } else if (type == DepthMessageParser.DIFF) {
+                    listener.onDiff(update);
+                }
+                messages++;
+                if (intervalNanos > 0) {
+                    next += intervalNanos;
+                    LockSupport.parkNanos(next - System.nanoTime());
+                }
+            }
+            log.info("Depth replay of {} finished after {} messages", file, messages);
+        } catch (IOException e) {
+            log.error("Depth replay of {} failed after {} messages: {}", file, messages, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.crypto.platform.orderbook;
+
+import java.util.Collection;
+
+/**
+ * Maps symbol characters straight from the JSON parser's buffer to the canonical symbol
+ * string, so decoding a depth event does not create a String per message.
+ * Open addressing over a fixed set of symbols; read-only after construction.
+ */
+final class SymbolTable {
+
+    private final String[] slots;
+    private final int mask;
+
+    SymbolTable(Collection<String> symbols) {
+        int capacity = Integer.highestOneBit(Math.max(4, symbols.size() * 2) - 1) << 1;
+        slots = new String[capacity];
+        mask = capacity - 1;
+        for (String symbol : symbols) {
+            int slot = hash(symbol.toCharArray(), 0, symbol.length()) & mask;
+            while (slots[slot] != null && !slots[slot].equals(symbol)) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = symbol;
+        }
+    }
+
+    /**
+     * Canonical symbol for the characters (case-insensitive), or null if it is not tracked
+     */
+    String lookup(char[] chars, int offset, int length) {
+        int slot = hash(chars, offset, length) & mask;
+        String candidate;
+        while ((candidate = slots[slot]) != null) {
+            if (matches(candidate, chars, offset, length)) {
+                return candidate;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private static boolean matches(String symbol, char[] chars, int offset, int length) {
+        if (symbol.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != Character.toUpperCase(chars[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(char[] chars, int offset, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + Character.toUpperCase(chars[offset + i]);
+        }
+        return h ^ (h >>> 16);
+    }
+}
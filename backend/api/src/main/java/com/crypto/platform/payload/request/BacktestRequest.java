@@ -0,0 +1,42 @@
+package com.crypto.platform.payload.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class BacktestRequest {
+
+    @NotBlank
+    private String symbol;
+
+    @NotBlank
+    private String strategy;
+
+    private Instant startTime;  // default: 90 days before endTime
+
+    private Instant endTime;  // default: now
+
+    @NotNull
+    private Duration interval = Duration.ofHours(1);
+
+    private String source = "auto";  // auto, db or archive
+
+    @Min(0)
+    private double feeBps = 10;
+
+    // Values per parameter; unswept parameters keep the strategy defaults
+    private Map<String, List<Double>> parameters = new LinkedHashMap<>();
+
+    @Min(1)
+    @Max(1000)
+    private int top = 20;  // best runs returned, by Sharpe ratio
+}
@@ -0,0 +1,24 @@
+package com.crypto.platform.payload.request;
+
+import com.crypto.platform.model.PriceAlert;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.math.BigDecimal;
+
+@Data
+public class CreateAlertRequest {
+
+    @NotBlank
+    @Size(max = 20)
+    private String symbol;
+
+    @NotNull
+    private PriceAlert.AlertType type;
+
+    private BigDecimal targetPrice;  // ABOVE / BELOW
+
+    private BigDecimal percent;  // PERCENT_MOVE
+}
@@ -0,0 +1,12 @@
+package com.crypto.platform.payload.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+public class RefreshTokenRequest {
+
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,26 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AdmissionStatusResponse {
+
+    private int trackedClients;
+    private long overflowAdmissions;   // requests of new clients charged to the shared bucket
+    private List<LaneStatus> lanes;
+
+    @Data
+    @AllArgsConstructor
+    public static class LaneStatus {
+        private String lane;
+        private int maxConcurrent;
+        private int inFlight;
+        private long admitted;
+        private long shed;          // lane full
+        private long rateLimited;   // client over its rate
+    }
+}
@@ -0,0 +1,44 @@
+package com.crypto.platform.payload.response;
+
+import com.crypto.platform.backtest.BacktestJob;
+import com.crypto.platform.backtest.BacktestRun;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class BacktestJobResponse {
+
+    private String id;
+    private String status;
+    private String symbol;
+    private String strategy;
+    private Instant submittedAt;
+    private Instant finishedAt;
+    private int runs;
+    private int completedRuns;
+    private int bars;
+    private String error;
+    private List<BacktestRun> results;  // best first
+
+    public static BacktestJobResponse of(BacktestJob job) {
+        return BacktestJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus().name())
+                .symbol(job.getSymbol())
+                .strategy(job.getStrategy())
+                .submittedAt(job.getSubmittedAt())
+                .finishedAt(job.getFinishedAt())
+                .runs(job.getRuns())
+                .completedRuns(job.getCompletedRuns().get())
+                .bars(job.getBars())
+                .error(job.getError())
+                .results(job.getResults())
+                .build();
+    }
+}
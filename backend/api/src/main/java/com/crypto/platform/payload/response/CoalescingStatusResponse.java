@@ -0,0 +1,28 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CoalescingStatusResponse {
+
+    private int entries;            // queries in flight or kept for the TTL
+    private long calls;
+    private long executed;          // calls that ran a query
+    private double coalescingRatio; // share of calls answered without a query of their own
+    private List<MethodStatus> methods;
+
+    @Data
+    @AllArgsConstructor
+    public static class MethodStatus {
+        private String method;
+        private long calls;
+        private long executed;
+        private long joined;        // waited for an identical query in flight
+        private long cached;        // answered by a result within the TTL
+        private double coalescingRatio;
+    }
+}
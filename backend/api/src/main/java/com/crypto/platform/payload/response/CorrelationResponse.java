@@ -0,0 +1,22 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class CorrelationResponse {
+
+    private List<String> symbols;  // row and column order of the matrices
+    private String window;
+    private Instant from;  // start of the first hourly return
+    private Instant to;  // end of the last closed hour
+    private int observations;
+    private double[][] correlation;
+    private double[][] covariance;  // of hourly log returns
+}
@@ -0,0 +1,28 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class DepthResponse {
+
+    private String symbol;
+    private String status;
+    private long lastUpdateId;
+    private Instant eventTime;
+    private long resyncs;
+    private BigDecimal bestBid;
+    private BigDecimal bestAsk;
+    private BigDecimal spread;
+    private BigDecimal mid;
+    private Double imbalance;  // (bid qty - ask qty) / (bid qty + ask qty) over the returned levels
+    private List<List<BigDecimal>> bids;  // [price, quantity], best first
+    private List<List<BigDecimal>> asks;
+}
@@ -0,0 +1,17 @@
+package com.crypto.platform.payload.response;
+
+import com.crypto.platform.jobs.JobSnapshot;
+import com.crypto.platform.model.JobLock;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class JobStatusResponse {
+
+    private String replica;
+    private List<JobSnapshot> jobs;  // counters and timings on this replica
+    private List<JobLock> cluster;  // leases and last runs of clustered jobs, including the worker's
+}
@@ -9,11 +9,13 @@ public class JwtResponse {
     
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
     private String username;
     private List<String> roles;
 
-    public JwtResponse(String accessToken, String username, List<String> roles) {
+    public JwtResponse(String accessToken, String refreshToken, String username, List<String> roles) {
         this.token = accessToken;
+        this.refreshToken = refreshToken;
         this.username = username;
         this.roles = roles;
     }
@@ -0,0 +1,30 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LivePredictionResponse {
+
+    private String symbol;
+    private String model;
+    private int modelVersion;
+    private Instant trainedAt;
+    private double r2;
+    private double lastPrice;
+    private Instant asOf;
+    private List<Forecast> forecasts;
+
+    @Data
+    @AllArgsConstructor
+    public static class Forecast {
+        private double horizonHours;
+        private Instant targetDate;
+        private double predictedPrice;
+        private double confidenceInterval;
+    }
+}
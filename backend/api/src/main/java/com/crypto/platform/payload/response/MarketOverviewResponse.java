@@ -0,0 +1,36 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class MarketOverviewResponse {
+
+    private long version;
+    private Instant asOf;
+    private List<SymbolSummary> symbols;  // alphabetical
+    private List<SymbolSummary> topGainers;  // by 24h change, highest first
+    private List<SymbolSummary> topLosers;  // by 24h change, lowest first
+    private List<SymbolSummary> topVolume;  // by 24h volume, highest first
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    public static class SymbolSummary {
+        private String symbol;
+        private BigDecimal price;
+        private BigDecimal priceChangePercent24h;
+        private BigDecimal volume24h;
+        private BigDecimal marketCap;
+        private BigDecimal high24h;
+        private BigDecimal low24h;
+        private Instant timestamp;
+    }
+}
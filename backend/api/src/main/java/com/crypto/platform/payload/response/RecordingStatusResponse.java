@@ -0,0 +1,18 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RecordingStatusResponse {
+
+    private String state;       // NONE, RUNNING or STOPPED
+    private String settings;
+    private Instant startedAt;
+    private Instant stopsAt;
+    private List<String> files; // recordings kept on disk, newest first
+}
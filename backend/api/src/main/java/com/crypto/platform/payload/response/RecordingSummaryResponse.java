@@ -0,0 +1,60 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class RecordingSummaryResponse {
+
+    private String file;
+    private long sizeBytes;
+    private Instant from;
+    private Instant to;
+    private List<SpanStats> spans;          // platform events per type, slowest total first
+    private List<Span> slowest;             // slowest single platform events
+    private List<Allocation> allocationSites;  // first application frame of sampled allocations
+    private List<Allocation> allocatedTypes;
+    private GcStats gc;
+
+    @Data
+    @AllArgsConstructor
+    public static class SpanStats {
+        private String event;
+        private long count;
+        private double totalMs;
+        private double maxMs;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Span {
+        private String event;
+        private Instant start;
+        private double durationMs;
+        private String thread;
+        private Map<String, Object> fields;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Allocation {
+        private String name;
+        private long bytes;
+        private long samples;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class GcStats {
+        private long collections;
+        private double totalPauseMs;
+        private double longestPauseMs;
+    }
+}
@@ -0,0 +1,34 @@
+package com.crypto.platform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class RollingStatsResponse {
+
+    private String symbol;
+    private Instant asOf;
+    private Double lastPrice;
+    private Map<String, WindowStats> windows;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    public static class WindowStats {
+        private int count;
+        private Instant from;
+        private Double vwap;
+        private Double ema;
+        private Double mean;
+        private Double stdDev;
+        private Double volatility;
+        private Double min;
+        private Double max;
+        private Double changePercent;
+    }
+}
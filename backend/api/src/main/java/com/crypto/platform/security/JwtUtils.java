@@ -30,9 +30,15 @@ public class JwtUtils {
      */
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        
+        return generateJwtToken(userPrincipal.getUsername());
+    }
+
+    /**
+     * Generate JWT token for a user, e.g. on refresh
+     */
+    public String generateJwtToken(String username) {
         return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
+                .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(getSigningKey())
@@ -0,0 +1,68 @@
+package com.crypto.platform.security;
+
+import com.crypto.platform.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for {@code users.last_login}. A login only records the time in memory; the
+ * flush groups the users by login second and writes each group with one UPDATE, so repeated
+ * logins of a user between flushes cost a single write.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginWriter {
+
+    private final UserRepository userRepository;
+    private final Map<String, Instant> pending = new ConcurrentHashMap<>();
+
+    public void record(String username) {
+        pending.put(username, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval-ms}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Instant, List<String>> bySecond = new TreeMap<>();
+        for (String username : pending.keySet()) {
+            Instant lastLogin = pending.remove(username);
+            if (lastLogin != null) {
+                bySecond.computeIfAbsent(lastLogin, second -> new ArrayList<>()).add(username);
+            }
+        }
+        int updated = 0;
+        for (Map.Entry<Instant, List<String>> group : bySecond.entrySet()) {
+            try {
+                updated += userRepository.updateLastLogin(group.getValue(), group.getKey());
+            } catch (RuntimeException e) {
+                // Keep the group for the next flush unless the user logged in again meanwhile
+                group.getValue().forEach(username -> pending.putIfAbsent(username, group.getKey()));
+                log.warn("Could not record last login of {} users: {}", group.getValue().size(), e.getMessage());
+            }
+        }
+        log.debug("Recorded last login of {} users in {} statements", updated, bySecond.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not record pending last logins: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.crypto.platform.security;
+
+import com.crypto.platform.model.RefreshToken;
+import com.crypto.platform.repository.RefreshTokenRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque refresh tokens: 256 random bits handed to the client, stored as SHA-256 so a
+ * database leak does not leak usable tokens. Refreshing consumes the token and issues a new one.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${auth.refresh-token.expiration}")
+    private Duration expiration;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Rotation {
+        private final String username;
+        private final String refreshToken;
+    }
+
+    @Transactional
+    public String issue(String username) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .username(username)
+                .createdAt(now)
+                .expiresAt(now.plus(expiration))
+                .build());
+        return token;
+    }
+
+    /**
+     * Consume a token and issue its replacement; empty when the token is unknown, expired or
+     * was consumed by a concurrent refresh
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String token) {
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(token));
+        if (!stored.isPresent() || refreshTokenRepository.consume(stored.get().getId()) == 0
+                || stored.get().getExpiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        String username = stored.get().getUsername();
+        return Optional.of(new Rotation(username, issue(username)));
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.deleteByTokenHash(hash(token));
+    }
+
+    @Transactional
+    public int deleteExpired() {
+        return refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.crypto.platform.security;
+
+import com.crypto.platform.model.Role;
+import com.crypto.platform.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The roles table is a fixed set keyed by {@link Role.ERole}: it is read (and seeded when
+ * empty) once at startup and registrations take the ids from memory. Callers get copies, so
+ * the cached rows cannot be modified.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+    private final Map<Role.ERole, Role> roles = new EnumMap<>(Role.ERole.class);
+
+    @PostConstruct
+    public void load() {
+        for (Role.ERole name : Role.ERole.values()) {
+            Role role = roleRepository.findByName(name).orElseGet(() -> create(name));
+            roles.put(name, new Role(role.getId(), role.getName()));
+        }
+        log.info("Loaded {} roles", roles.size());
+    }
+
+    public Role get(Role.ERole name) {
+        Role role = roles.get(name);
+        return new Role(role.getId(), role.getName());
+    }
+
+    private Role create(Role.ERole name) {
+        try {
+            return roleRepository.save(new Role(null, name));
+        } catch (DataIntegrityViolationException e) {
+            // Another replica seeded it first
+            return roleRepository.findByName(name)
+                    .orElseThrow(() -> new IllegalStateException("Role " + name + " could not be created", e));
+        }
+    }
+}
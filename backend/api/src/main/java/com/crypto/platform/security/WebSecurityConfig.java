@@ -1,6 +1,11 @@
 package com.crypto.platform.security;
 
+import com.crypto.platform.admission.AdmissionControl;
+import com.crypto.platform.admission.AdmissionControlFilter;
+import com.crypto.platform.admission.CostModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,11 +19,15 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableWebSecurity
@@ -29,6 +38,18 @@ public class WebSecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final JwtUtils jwtUtils;
+    private final AdmissionControl admissionControl;
+    private final CostModel costModel;
+    private final ObjectMapper objectMapper;
+
+    @Value("${admission.enabled}")
+    private boolean admissionEnabled;
+
+    @Value("${admission.forwarded-for-header}")
+    private String forwardedForHeader;
+
+    @Value("${admission.trusted-proxies}")
+    private List<String> trustedProxies;
 
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
@@ -64,10 +85,20 @@ public class WebSecurityConfig {
                 .antMatchers("/auth/**").permitAll()
                 .antMatchers("/prices/**").permitAll()
                 .antMatchers("/predictions/**").permitAll()
+                .antMatchers("/market/**").permitAll()
+                .antMatchers("/analytics/**").permitAll()
                 .anyRequest().authenticated();
         
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        if (admissionEnabled) {
+            // Not a bean, so it is not registered a second time outside the security chain
+            http.addFilterAfter(new AdmissionControlFilter(admissionControl, costModel, objectMapper,
+                    forwardedForHeader, trustedProxies.stream()
+                            .filter(StringUtils::hasText)
+                            .map(proxy -> new IpAddressMatcher(proxy.trim()))
+                            .collect(Collectors.toList())), AuthTokenFilter.class);
+        }
         
         return http.build();
     }
@@ -78,7 +109,7 @@ public class WebSecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token"));
-        configuration.setExposedHeaders(Arrays.asList("x-auth-token"));
+        configuration.setExposedHeaders(Arrays.asList("x-auth-token", "x-next-cursor", "retry-after"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
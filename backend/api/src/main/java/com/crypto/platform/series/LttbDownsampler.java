@@ -0,0 +1,206 @@
+package com.crypto.platform.series;
+
+import java.util.Arrays;
+
+/**
+ * One-pass Largest-Triangle-Three-Buckets downsampler.
+ *
+ * Points are pushed in x order; only the current and the next bucket are buffered (in
+ * primitive arrays), so memory is bounded by two bucket widths regardless of the series length.
+ * The expected point count sizes the buckets up front; if the stream turns out shorter or
+ * longer the output simply has fewer points or a wider last bucket.
+ *
+ * @param <T> optional payload carried along with each point (e.g. the row it came from)
+ */
+public class LttbDownsampler<T> {
+
+    /**
+     * Receives selected points in x order with their position in the input stream
+     */
+    @FunctionalInterface
+    public interface Sink<T> {
+        void accept(long ordinal, T payload);
+    }
+
+    private final Sink<T> sink;
+    private final boolean passThrough;
+    private final double bucketWidth;
+    private final int lastBucket;
+
+    private Bucket<T> current;
+    private Bucket<T> next;
+    private int currentIndex = 0;
+
+    private long count;
+    private boolean hasPending;
+    private double pendingX;
+    private double pendingY;
+    private T pendingPayload;
+
+    private double anchorX;
+    private double anchorY;
+
+    /**
+     * @param expectedPoints number of points that will be pushed
+     * @param threshold      maximum number of points to emit, at least 3
+     */
+    public LttbDownsampler(long expectedPoints, int threshold, Sink<T> sink) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("LTTB threshold must be at least 3: " + threshold);
+        }
+        this.sink = sink;
+        this.passThrough = expectedPoints <= threshold;
+        this.bucketWidth = passThrough ? 1 : (double) (expectedPoints - 2) / (threshold - 2);
+        this.lastBucket = threshold - 3;
+        int capacity = (int) Math.ceil(bucketWidth) + 1;
+        this.current = new Bucket<>(capacity);
+        this.next = new Bucket<>(capacity);
+    }
+
+    public void add(double x, double y, T payload) {
+        if (passThrough) {
+            sink.accept(count++, payload);
+            return;
+        }
+        // Hold back the newest point: the last point of the stream is always emitted as is
+        if (hasPending) {
+            process(count - 1, pendingX, pendingY, pendingPayload);
+        }
+        hasPending = true;
+        pendingX = x;
+        pendingY = y;
+        pendingPayload = payload;
+        count++;
+    }
+
+    /**
+     * Flush the buffered buckets and the final point
+     */
+    public void finish() {
+        if (passThrough || !hasPending) {
+            return;
+        }
+        if (count == 1) {
+            sink.accept(0, pendingPayload);
+            return;
+        }
+        if (!current.isEmpty()) {
+            if (next.isEmpty()) {
+                select(current, pendingX, pendingY);
+            } else {
+                select(current, next.meanX(), next.meanY());
+                select(next, pendingX, pendingY);
+            }
+        }
+        sink.accept(count - 1, pendingPayload);
+    }
+
+    private void process(long ordinal, double x, double y, T payload) {
+        if (ordinal == 0) {
+            sink.accept(0, payload);
+            anchorX = x;
+            anchorY = y;
+            return;
+        }
+        int bucket = (int) Math.min(bucketOf(ordinal - 1), lastBucket);
+        if (bucket >= currentIndex + 2) {
+            // The next bucket is complete: its mean decides the point of the current one
+            select(current, next.meanX(), next.meanY());
+            Bucket<T> recycled = current;
+            current = next;
+            next = recycled;
+            next.clear();
+            currentIndex++;
+        }
+        if (bucket == currentIndex) {
+            current.add(ordinal, x, y, payload);
+        } else {
+            next.add(ordinal, x, y, payload);
+        }
+    }
+
+    /**
+     * Bucket i covers offsets [floor(i * width), floor((i + 1) * width)), the classic LTTB split
+     */
+    private long bucketOf(long offset) {
+        long bucket = (long) (offset / bucketWidth);
+        while ((long) Math.floor((bucket + 1) * bucketWidth) <= offset) {
+            bucket++;
+        }
+        while (bucket > 0 && (long) Math.floor(bucket * bucketWidth) > offset) {
+            bucket--;
+        }
+        return bucket;
+    }
+
+    private void select(Bucket<T> bucket, double nextX, double nextY) {
+        int best = 0;
+        double bestArea = -1;
+        for (int i = 0; i < bucket.size; i++) {
+            double area = Math.abs((anchorX - nextX) * (bucket.ys[i] - anchorY)
+                    - (anchorX - bucket.xs[i]) * (nextY - anchorY));
+            if (area > bestArea) {
+                bestArea = area;
+                best = i;
+            }
+        }
+        sink.accept(bucket.ordinals[best], bucket.payloads[best]);
+        anchorX = bucket.xs[best];
+        anchorY = bucket.ys[best];
+    }
+
+    private static final class Bucket<T> {
+
+        private long[] ordinals;
+        private double[] xs;
+        private double[] ys;
+        private T[] payloads;
+        private int size;
+        private double sumX;
+        private double sumY;
+
+        @SuppressWarnings("unchecked")
+        Bucket(int capacity) {
+            ordinals = new long[capacity];
+            xs = new double[capacity];
+            ys = new double[capacity];
+            payloads = (T[]) new Object[capacity];
+        }
+
+        void add(long ordinal, double x, double y, T payload) {
+            if (size == xs.length) {
+                int capacity = size * 2;
+                ordinals = Arrays.copyOf(ordinals, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                payloads = Arrays.copyOf(payloads, capacity);
+            }
+            ordinals[size] = ordinal;
+            xs[size] = x;
+            ys[size] = y;
+            payloads[size] = payload;
+            size++;
+            sumX += x;
+            sumY += y;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double meanX() {
+            return sumX / size;
+        }
+
+        double meanY() {
+            return sumY / size;
+        }
+
+        void clear() {
+            Arrays.fill(payloads, 0, size, null);
+            size = 0;
+            sumX = 0;
+            sumY = 0;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.alerts.AlertTrigger;
+import com.crypto.platform.model.AlertNotification;
+import com.crypto.platform.model.PriceAlert;
+import com.crypto.platform.repository.AlertNotificationRepository;
+import com.crypto.platform.repository.PriceAlertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Batched delivery of triggered alerts. The tick path only queues triggers; a scheduled flush
+ * marks a batch of alerts as triggered with one update per tick, inserts their notifications
+ * as a JDBC batch and then pushes them to the users' open SSE streams.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlertDeliveryService {
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final AlertNotificationRepository alertNotificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${alerts.delivery.batch-size}")
+    private int batchSize;
+
+    @Value("${alerts.stream.timeout-ms}")
+    private long streamTimeoutMs;
+
+    private final Queue<AlertTrigger> pending = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<String, List<SseEmitter>> streams = new ConcurrentHashMap<>();
+
+    public void enqueue(AlertTrigger trigger) {
+        pending.add(trigger);
+    }
+
+    public List<AlertNotification> getNotifications(String username, int limit) {
+        return alertNotificationRepository.findByUsernameOrderByCreatedAtDesc(username, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Open a notification stream for the user; each delivered alert is sent as an "alert" event
+     */
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        List<SseEmitter> emitters = streams.computeIfAbsent(username, user -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        Runnable unsubscribe = () -> emitters.remove(emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${alerts.delivery.flush-interval-ms}")
+    public void flush() {
+        List<AlertTrigger> batch = new ArrayList<>(batchSize);
+        AlertTrigger trigger;
+        while ((trigger = pending.poll()) != null) {
+            batch.add(trigger);
+            if (batch.size() == batchSize) {
+                deliver(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<AlertTrigger> batch) {
+        List<AlertNotification> notifications;
+        try {
+            notifications = transactionTemplate.execute(status -> store(batch));
+        } catch (RuntimeException e) {
+            // The alerts are still ACTIVE in the database, so the batch can simply be retried
+            log.error("Failed to store {} alert notifications, retrying on next flush: {}", batch.size(), e.getMessage());
+            pending.addAll(batch);
+            return;
+        }
+        for (AlertNotification notification : notifications) {
+            push(notification);
+        }
+    }
+
+    private List<AlertNotification> store(List<AlertTrigger> batch) {
+        Map<Long, AlertTrigger> byId = new LinkedHashMap<>();
+        for (AlertTrigger trigger : batch) {
+            byId.put(trigger.getAlertId(), trigger);
+        }
+        // Alerts cancelled since they fired, or already delivered by another replica, are dropped here
+        List<PriceAlert> active = priceAlertRepository.lockAllById(byId.keySet()).stream()
+                .filter(alert -> alert.getStatus() == PriceAlert.AlertStatus.ACTIVE)
+                .collect(Collectors.toList());
+        if (active.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Alerts fired by the same tick share price and time: one update per tick
+        Map<AlertTrigger, List<Long>> byTick = new LinkedHashMap<>();
+        Map<String, AlertTrigger> ticks = new LinkedHashMap<>();
+        List<AlertNotification> notifications = new ArrayList<>(active.size());
+        for (PriceAlert alert : active) {
+            AlertTrigger fired = byId.get(alert.getId());
+            AlertTrigger tick = ticks.computeIfAbsent(
+                    fired.getSymbol() + '@' + fired.getTime() + '@' + fired.getPrice(), key -> fired);
+            byTick.computeIfAbsent(tick, key -> new ArrayList<>()).add(alert.getId());
+            notifications.add(AlertNotification.builder()
+                    .alertId(alert.getId())
+                    .username(alert.getUsername())
+                    .symbol(alert.getSymbol())
+                    .price(fired.getPrice())
+                    .message(message(alert, fired))
+                    .build());
+        }
+        byTick.forEach((tick, ids) -> priceAlertRepository.markTriggered(ids, tick.getPrice(), tick.getTime()));
+        return alertNotificationRepository.saveAll(notifications);
+    }
+
+    private void push(AlertNotification notification) {
+        List<SseEmitter> emitters = streams.get(notification.getUsername());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("alert").data(notification));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private static String message(PriceAlert alert, AlertTrigger fired) {
+        switch (alert.getType()) {
+            case ABOVE:
+                return alert.getSymbol() + " rose to " + fired.getPrice().toPlainString()
+                        + " (alert above " + alert.getTargetPrice().toPlainString() + ")";
+            case BELOW:
+                return alert.getSymbol() + " fell to " + fired.getPrice().toPlainString()
+                        + " (alert below " + alert.getTargetPrice().toPlainString() + ")";
+            default:
+                return alert.getSymbol() + " moved to " + fired.getPrice().toPlainString() + " ("
+                        + alert.getPercent().toPlainString() + "% from " + alert.getBasePrice().toPlainString() + ")";
+        }
+    }
+}
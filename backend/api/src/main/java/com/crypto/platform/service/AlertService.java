@@ -0,0 +1,228 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.alerts.AlertTrigger;
+import com.crypto.platform.alerts.IndexedAlert;
+import com.crypto.platform.alerts.SymbolAlertIndex;
+import com.crypto.platform.coherence.ChangePublisher;
+import com.crypto.platform.datasource.ReadFreshness;
+import com.crypto.platform.event.AlertChangedEvent;
+import com.crypto.platform.event.CoherenceResyncEvent;
+import com.crypto.platform.event.PriceTickEvent;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.model.PriceAlert;
+import com.crypto.platform.model.PriceAlert.AlertStatus;
+import com.crypto.platform.model.PriceAlert.AlertType;
+import com.crypto.platform.payload.request.CreateAlertRequest;
+import com.crypto.platform.repository.PriceAlertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Price alerts evaluated on the tick stream. Active alerts are kept in a per-symbol
+ * {@link SymbolAlertIndex}, rebuilt from the database on startup and after a coherence resync;
+ * each persisted tick only touches the alerts it crosses, which are handed to
+ * {@link AlertDeliveryService} in batches. Creating or cancelling an alert is announced on the
+ * coherence channel, so every replica arms or disarms it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlertService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final MarketStateCache marketStateCache;
+    private final AlertDeliveryService alertDeliveryService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ChangePublisher changePublisher;
+
+    @Value("${alerts.max-per-user}")
+    private long maxPerUser;
+
+    private final ConcurrentMap<String, SymbolAlertIndex> indexes = new ConcurrentHashMap<>();
+
+    public PriceAlert create(String username, CreateAlertRequest request) {
+        String symbol = request.getSymbol().toUpperCase();
+        if (priceAlertRepository.countByUsernameAndStatus(username, AlertStatus.ACTIVE) >= maxPerUser) {
+            throw new IllegalArgumentException("Error: At most " + maxPerUser + " active alerts per user");
+        }
+        PriceAlert alert = PriceAlert.builder()
+                .username(username)
+                .symbol(symbol)
+                .type(request.getType())
+                .build();
+        if (request.getType() == AlertType.PERCENT_MOVE) {
+            if (request.getPercent() == null || request.getPercent().signum() <= 0) {
+                throw new IllegalArgumentException("Error: percent must be positive for PERCENT_MOVE alerts");
+            }
+            CryptoPrice latest = marketStateCache.getLatestTick(symbol)
+                    .orElseThrow(() -> new IllegalArgumentException("Error: No price data for symbol " + symbol));
+            alert.setPercent(request.getPercent());
+            alert.setBasePrice(latest.getPrice());
+        } else {
+            if (request.getTargetPrice() == null || request.getTargetPrice().signum() <= 0) {
+                throw new IllegalArgumentException("Error: targetPrice must be positive for "
+                        + request.getType() + " alerts");
+            }
+            alert.setTargetPrice(request.getTargetPrice());
+        }
+        PriceAlert saved = transactionTemplate.execute(status -> {
+            PriceAlert stored = priceAlertRepository.save(alert);
+            changePublisher.alertChanged(stored.getSymbol(), stored.getId());
+            return stored;
+        });
+        arm(saved);
+        return saved;
+    }
+
+    public List<PriceAlert> list(String username) {
+        return priceAlertRepository.findByUsernameOrderByCreatedAtDesc(username);
+    }
+
+    /**
+     * Cancel an active alert of the user; empty when there is no such alert
+     */
+    public Optional<PriceAlert> cancel(String username, long id) {
+        Optional<PriceAlert> cancelled = transactionTemplate.execute(status -> priceAlertRepository.findById(id)
+                .filter(alert -> alert.getUsername().equals(username))
+                .filter(alert -> alert.getStatus() == AlertStatus.ACTIVE)
+                .map(alert -> {
+                    alert.setStatus(AlertStatus.CANCELLED);
+                    PriceAlert stored = priceAlertRepository.save(alert);
+                    changePublisher.alertChanged(stored.getSymbol(), id);
+                    return stored;
+                }));
+        cancelled.ifPresent(alert -> disarm(alert.getSymbol(), id));
+        return cancelled;
+    }
+
+    public int getActiveCount() {
+        return indexes.values().stream().mapToInt(SymbolAlertIndex::size).sum();
+    }
+
+    /**
+     * Rebuild the indexes from the active alerts in the database. Arming and disarming wait
+     * meanwhile, so no change is lost between the read and the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        long started = System.currentTimeMillis();
+        int count;
+        synchronized (indexes) {
+            Map<String, SymbolAlertIndex> rebuilt = new HashMap<>();
+            count = transactionTemplate.execute(status -> {
+                int armed = 0;
+                try (Stream<PriceAlert> alerts = priceAlertRepository.streamByStatus(AlertStatus.ACTIVE)) {
+                    for (PriceAlert alert : (Iterable<PriceAlert>) alerts::iterator) {
+                        entityManager.detach(alert);
+                        arm(rebuilt, alert);
+                        armed++;
+                    }
+                }
+                return armed;
+            });
+            indexes.putAll(rebuilt);
+            indexes.keySet().retainAll(rebuilt.keySet());
+        }
+        log.info("Rehydrated {} active price alerts in {} ms", count, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Another replica created or cancelled an alert; its stored status decides whether it is armed here
+     */
+    @EventListener
+    public void onAlertChanged(AlertChangedEvent event) {
+        Optional<PriceAlert> alert = ReadFreshness.primary(() -> priceAlertRepository.findById(event.getAlertId()));
+        if (alert.isPresent() && alert.get().getStatus() == AlertStatus.ACTIVE) {
+            arm(alert.get());
+        } else {
+            disarm(event.getSymbol(), event.getAlertId());
+        }
+    }
+
+    @EventListener
+    public void onPriceTick(PriceTickEvent event) {
+        evaluate(event.getPrice());
+    }
+
+    /**
+     * Alert changes and ticks may have been missed; the alerts are reloaded and those the latest
+     * price has crossed fire now instead
+     */
+    @EventListener
+    public void onCoherenceResync(CoherenceResyncEvent event) {
+        rehydrate();
+        for (String symbol : indexes.keySet()) {
+            marketStateCache.getLatestTick(symbol).ifPresent(this::evaluate);
+        }
+    }
+
+    private void evaluate(CryptoPrice price) {
+        SymbolAlertIndex index = indexes.get(price.getSymbol());
+        if (index == null) {
+            return;
+        }
+        int fired = index.evaluate(SymbolAlertIndex.toFixedPoint(price.getPrice()), alert ->
+                alertDeliveryService.enqueue(new AlertTrigger(alert.getId(), alert.getUsername(),
+                        price.getSymbol(), price.getPrice(), price.getTimestamp())));
+        if (fired > 0) {
+            log.debug("{} alerts triggered for {} at {}", fired, price.getSymbol(), price.getPrice());
+        }
+    }
+
+    private void arm(PriceAlert alert) {
+        synchronized (indexes) {
+            arm(indexes, alert);
+        }
+    }
+
+    private void disarm(String symbol, long id) {
+        synchronized (indexes) {
+            SymbolAlertIndex index = indexes.get(symbol);
+            if (index != null) {
+                index.remove(id);
+            }
+        }
+    }
+
+    private static void arm(Map<String, SymbolAlertIndex> indexes, PriceAlert alert) {
+        long upper = IndexedAlert.NO_UPPER;
+        long lower = IndexedAlert.NO_LOWER;
+        switch (alert.getType()) {
+            case ABOVE:
+                upper = SymbolAlertIndex.toFixedPoint(alert.getTargetPrice());
+                break;
+            case BELOW:
+                lower = SymbolAlertIndex.toFixedPoint(alert.getTargetPrice());
+                break;
+            case PERCENT_MOVE:
+                BigDecimal move = alert.getBasePrice().multiply(alert.getPercent())
+                        .divide(HUNDRED, SymbolAlertIndex.SCALE, RoundingMode.HALF_UP);
+                upper = SymbolAlertIndex.toFixedPoint(alert.getBasePrice().add(move));
+                lower = SymbolAlertIndex.toFixedPoint(alert.getBasePrice().subtract(move));
+                break;
+            default:
+                return;
+        }
+        indexes.computeIfAbsent(alert.getSymbol(), symbol -> new SymbolAlertIndex())
+                .add(new IndexedAlert(alert.getId(), alert.getUsername(), upper, lower));
+    }
+}
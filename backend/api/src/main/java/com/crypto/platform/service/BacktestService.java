@@ -0,0 +1,171 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.backtest.BacktestJob;
+import com.crypto.platform.backtest.BacktestMetrics;
+import com.crypto.platform.backtest.BacktestRun;
+import com.crypto.platform.backtest.Backtester;
+import com.crypto.platform.backtest.BarSeries;
+import com.crypto.platform.backtest.ParameterGrid;
+import com.crypto.platform.backtest.StrategyFactory;
+import com.crypto.platform.payload.request.BacktestRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Backtest jobs: bars are loaded once per job into a {@link BarSeries}, then every parameter
+ * combination runs as its own simulation, spread over a dedicated fork/join pool. Jobs live
+ * in memory and are dropped a while after they finish.
+ */
+@Service
+@Slf4j
+public class BacktestService {
+
+    private final PriceHistoryService priceHistoryService;
+    private final Map<String, StrategyFactory> strategies;
+
+    @Value("${backtest.parallelism}")
+    private int parallelism;
+
+    @Value("${backtest.max-runs}")
+    private int maxRuns;
+
+    @Value("${backtest.max-range}")
+    private Duration maxRange;
+
+    @Value("${backtest.retention}")
+    private Duration retention;
+
+    private final ConcurrentMap<String, BacktestJob> jobs = new ConcurrentHashMap<>();
+    private ForkJoinPool pool;
+
+    public BacktestService(PriceHistoryService priceHistoryService, List<StrategyFactory> factories) {
+        this.priceHistoryService = priceHistoryService;
+        this.strategies = factories.stream()
+                .collect(Collectors.toMap(StrategyFactory::getName, Function.identity(), (a, b) -> a, TreeMap::new));
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        log.info("Backtesting: {} fork/join threads, strategies {}", threads, strategies.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public Collection<StrategyFactory> getStrategies() {
+        return strategies.values();
+    }
+
+    /**
+     * Validate and queue a backtest; throws IllegalArgumentException for a bad request
+     */
+    public BacktestJob submit(String username, BacktestRequest request) {
+        StrategyFactory factory = strategies.get(request.getStrategy());
+        if (factory == null) {
+            throw new IllegalArgumentException("Error: Unknown strategy " + request.getStrategy());
+        }
+        Instant end = request.getEndTime() != null ? request.getEndTime() : Instant.now();
+        Instant start = request.getStartTime() != null ? request.getStartTime() : end.minus(90, ChronoUnit.DAYS);
+        if (!start.isBefore(end) || Duration.between(start, end).compareTo(maxRange) > 0) {
+            throw new IllegalArgumentException("Error: The range must be positive and at most " + maxRange);
+        }
+        if (request.getInterval().toMillis() < 1000) {
+            throw new IllegalArgumentException("Error: The bar interval must be at least one second");
+        }
+        String symbol = request.getSymbol().toUpperCase();
+        if ("db".equalsIgnoreCase(request.getSource())) {
+            // Retention has evicted older ticks to the archive, so a database-only run would miss them
+            Optional<Instant> coldBefore = priceHistoryService.getColdBefore(symbol);
+            if (coldBefore.isPresent() && start.isBefore(coldBefore.get())) {
+                throw new IllegalArgumentException("Error: The database only holds ticks since "
+                        + coldBefore.get() + ", use the auto or archive source");
+            }
+        }
+        List<Map<String, Double>> combinations = ParameterGrid.expand(factory.getDefaults(),
+                request.getParameters(), maxRuns).stream()
+                .filter(factory::isValid)
+                .collect(Collectors.toList());
+        if (combinations.isEmpty()) {
+            throw new IllegalArgumentException("Error: No valid parameter combination");
+        }
+
+        BacktestJob job = new BacktestJob(UUID.randomUUID().toString(), username, symbol, factory.getName());
+        job.setRuns(combinations.size());
+        jobs.put(job.getId(), job);
+        pool.execute(() -> run(job, factory, combinations, request, start, end));
+        return job;
+    }
+
+    public Optional<BacktestJob> getJob(String username, String id) {
+        return Optional.ofNullable(jobs.get(id)).filter(job -> job.getUsername().equals(username));
+    }
+
+    @Scheduled(fixedDelayString = "${backtest.cleanup-interval-ms}")
+    public void dropFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void run(BacktestJob job, StrategyFactory factory, List<Map<String, Double>> combinations,
+                     BacktestRequest request, Instant start, Instant end) {
+        job.setStatus(BacktestJob.Status.RUNNING);
+        long started = System.nanoTime();
+        try {
+            long intervalMs = request.getInterval().toMillis();
+            BarSeries bars;
+            if ("archive".equalsIgnoreCase(request.getSource())) {
+                bars = priceHistoryService.getArchivedBars(job.getSymbol(), start, end, intervalMs);
+            } else if ("db".equalsIgnoreCase(request.getSource())) {
+                bars = priceHistoryService.getBars(job.getSymbol(), start, end, intervalMs);
+            } else {
+                bars = priceHistoryService.getTieredBars(job.getSymbol(), start, end, intervalMs);
+            }
+            job.setBars(bars.size());
+
+            // Called from a pool thread, so the parallel stream forks into this pool
+            List<BacktestRun> results = combinations.parallelStream()
+                    .map(parameters -> {
+                        BacktestMetrics metrics = Backtester.run(bars, factory.create(parameters), request.getFeeBps());
+                        job.getCompletedRuns().incrementAndGet();
+                        return new BacktestRun(parameters, metrics);
+                    })
+                    .sorted(Comparator.comparingDouble((BacktestRun run) -> run.getMetrics().getSharpe()).reversed())
+                    .limit(request.getTop())
+                    .collect(Collectors.toList());
+            job.setResults(results);
+            job.setStatus(BacktestJob.Status.SUCCEEDED);
+            log.info("Backtest {} ({} on {}): {} runs over {} bars in {} ms", job.getId(), job.getStrategy(),
+                    job.getSymbol(), combinations.size(), bars.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Backtest {} failed: {}", job.getId(), e.getMessage(), e);
+            job.setError(e.getMessage());
+            job.setStatus(BacktestJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.diagnostics.TickFetchEvent;
+import com.crypto.platform.diagnostics.TickParseEvent;
+import com.crypto.platform.diagnostics.TickStoreEvent;
+import com.crypto.platform.model.CryptoPrice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BinanceService {
+
+    private final WebClient.Builder webClientBuilder;
+    private final MarketStateCache marketStateCache;
+    private final TickJournalService tickJournalService;
+    private final JournalDbWriter journalDbWriter;
+
+    @Value("${binance.api.base-url}")
+    private String apiBaseUrl;
+
+    // List of crypto symbols to track
+    private final List<String> symbols = Arrays.asList("BTCUSDT", "ETHUSDT", "BNBUSDT", "ADAUSDT", "DOGEUSDT");
+
+    /**
+     * Fetch crypto prices from Binance API; run by the binance-fetch job (see ScheduledJobConfig).
+     * Only the replica writing the shared tick journal fetches, so every tick reaches the one
+     * journal the database writer and the HDFS export tail.
+     */
+    public void fetchCryptoPrices() {
+        if (!tickJournalService.tryAcquireWriter()) {
+            log.debug("Tick journal is written by another replica, skipping the fetch");
+            return;
+        }
+        log.info("Fetching crypto prices from Binance API at {}", Instant.now());
+        
+        for (String symbol : symbols) {
+            try {
+                // Only journal the tick; the journal DB writer stores it at its own pace
+                Map<String, Object> tickerResponse = requestTicker(symbol).block();
+                if (tickerResponse == null) {
+                    throw new RuntimeException("Failed to fetch data from Binance API");
+                }
+                CryptoPrice tick = toTick(symbol, tickerResponse);
+                TickStoreEvent event = TickStoreEvent.start(TickStoreEvent.JOURNAL, 1);
+                try {
+                    tickJournalService.append(tick);
+                } finally {
+                    event.finish();
+                }
+            } catch (Exception e) {
+                log.error("Error fetching price for symbol {}: {}", symbol, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fetch crypto price for a specific symbol and wait until it is saved to the database
+     */
+    public CryptoPrice fetchAndSaveCryptoPrice(String symbol) {
+        return fetchAndSaveCryptoPriceAsync(symbol).join();
+    }
+
+    /**
+     * Non-blocking variant: the HTTP call runs on the WebClient event loop and the future
+     * completes when the journal DB writer has stored the tick. On a replica that does not
+     * write the tick journal it fails with {@link NotJournalWriterException} before fetching.
+     */
+    public CompletableFuture<CryptoPrice> fetchAndSaveCryptoPriceAsync(String symbol) {
+        if (!tickJournalService.tryAcquireWriter()) {
+            return CompletableFuture.failedFuture(new NotJournalWriterException());
+        }
+        return requestTicker(symbol)
+                .switchIfEmpty(Mono.error(new RuntimeException("Failed to fetch data from Binance API")))
+                .toFuture()
+                .thenCompose(tickerResponse -> journalDbWriter.appendAndAwait(toTick(symbol, tickerResponse)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Map<String, Object>> requestTicker(String symbol) {
+        WebClient webClient = webClientBuilder.baseUrl(apiBaseUrl).build();
+        
+        // Fetch ticker price; the flight recorder span runs from subscription to the last signal
+        return Mono.defer(() -> {
+            TickFetchEvent event = TickFetchEvent.start(symbol);
+            return webClient.get()
+                    .uri("/api/v3/ticker/24hr?symbol=" + symbol)
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .map(response -> (Map<String, Object>) response)
+                    .doFinally(signal -> event.finish(signal.toString()));
+        });
+    }
+
+    private CryptoPrice toTick(String symbol, Map<String, Object> tickerResponse) {
+        TickParseEvent event = TickParseEvent.start(symbol);
+        try {
+            return parseTick(symbol, tickerResponse);
+        } finally {
+            event.finish();
+        }
+    }
+
+    private CryptoPrice parseTick(String symbol, Map<String, Object> tickerResponse) {
+        // Extract required fields
+        BigDecimal price = new BigDecimal(tickerResponse.get("lastPrice").toString());
+        BigDecimal volume = new BigDecimal(tickerResponse.get("volume").toString());
+        BigDecimal high24h = new BigDecimal(tickerResponse.get("highPrice").toString());
+        BigDecimal low24h = new BigDecimal(tickerResponse.get("lowPrice").toString());
+        BigDecimal priceChangePercent = new BigDecimal(tickerResponse.get("priceChangePercent").toString());
+        
+        // For market cap, we'll just use a placeholder since Binance doesn't provide this directly
+        BigDecimal marketCap = price.multiply(volume).divide(BigDecimal.valueOf(1000), BigDecimal.ROUND_HALF_UP);
+        
+        // Create the entity
+        CryptoPrice cryptoPrice = CryptoPrice.builder()
+                .symbol(symbol)
+                .price(price)
+                .volume24h(volume)
+                .high24h(high24h)
+                .low24h(low24h)
+                .priceChangePercent24h(priceChangePercent)
+                .marketCap(marketCap)
+                .timestamp(Instant.now())
+                .build();
+        
+        log.info("Journaling price for {}: {}", symbol, price);
+        return cryptoPrice;
+    }
+
+    /**
+     * Get the latest price for a symbol
+     * If no price is found in the database, fetch it from Binance API
+     */
+    public CryptoPrice getLatestPrice(String symbol) {
+        return marketStateCache.getLatestTick(symbol)
+                .orElseGet(() -> {
+                    log.info("No price data found in DB for symbol: {}. Fetching from Binance API...", symbol);
+                    try {
+                        return fetchAndSaveCryptoPrice(symbol);
+                    } catch (CompletionException e) {
+                        if (e.getCause() instanceof NotJournalWriterException) {
+                            throw (NotJournalWriterException) e.getCause();
+                        }
+                        log.error("Error fetching price for symbol {} from API: {}", symbol, e.getMessage());
+                        throw new RuntimeException("Could not fetch price data for symbol: " + symbol, e);
+                    } catch (Exception e) {
+                        log.error("Error fetching price for symbol {} from API: {}", symbol, e.getMessage());
+                        throw new RuntimeException("Could not fetch price data for symbol: " + symbol, e);
+                    }
+                });
+    }
+
+    /**
+     * Non-blocking variant of {@link #getLatestPrice(String)}: the DB lookup runs on the executor
+     * and a missing symbol falls back to an async Binance fetch without holding any thread
+     */
+    public CompletableFuture<CryptoPrice> getLatestPriceAsync(String symbol, Executor executor) {
+        return CompletableFuture
+                .supplyAsync(() -> marketStateCache.getLatestTick(symbol), executor)
+                .thenCompose(latest -> latest.map(CompletableFuture::completedFuture).orElseGet(() -> {
+                    log.info("No price data found in DB for symbol: {}. Fetching from Binance API...", symbol);
+                    return fetchAndSaveCryptoPriceAsync(symbol)
+                            .exceptionally(e -> {
+                                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                                if (cause instanceof NotJournalWriterException) {
+                                    throw (NotJournalWriterException) cause;
+                                }
+                                log.error("Error fetching price for symbol {} from API: {}", symbol, e.getMessage());
+                                throw new RuntimeException("Could not fetch price data for symbol: " + symbol, e);
+                            });
+                }));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.archive.TickArchiveReader;
+import com.crypto.platform.archive.TickBlock;
+import com.crypto.platform.model.TierWatermark;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.repository.PricePredictionRepository;
+import com.crypto.platform.repository.TierWatermarkRepository;
+import com.crypto.platform.series.LttbDownsampler;
+import com.crypto.platform.wire.PredictionColumns;
+import com.crypto.platform.wire.TickColumns;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.crypto.platform.archive.TickArchiveFormat.fromMicros;
+import static com.crypto.platform.archive.TickArchiveFormat.toMicros;
+
+/**
+ * Price and prediction reads for the compact wire formats. Rows go from the query cursor or the
+ * archive blocks into primitive {@link TickColumns}; no entity is created per tick.
+ */
+@Service
+@RequiredArgsConstructor
+public class ColumnarHistoryService {
+
+    private static final int MIN_POINTS = 3;
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final PricePredictionRepository pricePredictionRepository;
+    private final TickArchiveService tickArchiveService;
+    private final TierWatermarkRepository tierWatermarkRepository;
+
+    @Value("${history.max-points.limit}")
+    private int maxPointsLimit;
+
+    @Value("${archive.block-size}")
+    private int blockSize;
+
+    /**
+     * The latest {@code limit} ticks, oldest first (columnar clients chart them as they are)
+     */
+    @Transactional(readOnly = true)
+    public TickColumns getRecent(String symbol, int limit) {
+        List<Object[]> rows = cryptoPriceRepository.findRecentColumnsBySymbol(symbol, PageRequest.of(0, limit));
+        Collections.reverse(rows);
+        TickColumns columns = new TickColumns(symbol, rows.size());
+        for (Object[] row : rows) {
+            columns.addRow(row);
+        }
+        return columns;
+    }
+
+    /**
+     * History from the database ("db"), the tick archive ("archive") or both split at the tier
+     * watermark ("auto"), with the same LTTB downsampling as {@link PriceHistoryService}
+     */
+    @Transactional(readOnly = true)
+    public TickColumns getHistory(String symbol, Instant startTime, Instant endTime, String source,
+                                  Integer maxPoints) throws IOException {
+        if ("db".equalsIgnoreCase(source)) {
+            return downsample(symbol, Collections.emptyList(), 0, 0, loadHot(symbol, startTime, endTime), maxPoints);
+        }
+        if ("archive".equalsIgnoreCase(source)) {
+            return downsample(symbol, tickArchiveService.segments(symbol, startTime, endTime),
+                    toMicros(startTime), toMicros(endTime), new TickColumns(symbol, 0), maxPoints);
+        }
+
+        Instant coldBefore = tierWatermarkRepository.findById(symbol)
+                .map(TierWatermark::getColdBefore)
+                .orElse(null);
+        if (coldBefore == null || !startTime.isBefore(coldBefore)) {
+            return getHistory(symbol, startTime, endTime, "db", maxPoints);
+        }
+        if (endTime.isBefore(coldBefore)) {
+            return getHistory(symbol, startTime, endTime, "archive", maxPoints);
+        }
+        Instant coldEnd = coldBefore.minusNanos(1000);
+        return downsample(symbol, tickArchiveService.segments(symbol, startTime, coldEnd),
+                toMicros(startTime), toMicros(coldEnd), loadHot(symbol, coldBefore, endTime), maxPoints);
+    }
+
+    /**
+     * Columnar keyset page before (timestamp micros, id), oldest first like {@link #getRecent};
+     * same rows as {@link PriceHistoryService#getRecentPage}
+     */
+    @Transactional(readOnly = true)
+    public TickColumns getRecentPage(String symbol, long beforeMicros, long beforeId, int limit) {
+        List<Object[]> rows = cryptoPriceRepository.findColumnsPageBefore(symbol, fromMicros(beforeMicros), beforeId,
+                PageRequest.of(0, limit));
+        Collections.reverse(rows);
+        TickColumns columns = new TickColumns(symbol, rows.size());
+        for (Object[] row : rows) {
+            columns.addRow(row);
+        }
+        return columns;
+    }
+
+    /**
+     * Columnar keyset page of history after (timestamp, id); same rows and tier split as
+     * {@link PriceHistoryService#getHistoryPage}
+     */
+    @Transactional(readOnly = true)
+    public TickColumns getHistoryPage(String symbol, Instant afterTimestamp, long afterId, Instant endTime,
+                                      String source, int limit) throws IOException {
+        TickColumns page = new TickColumns(symbol);
+        Instant coldBefore = coldBefore(symbol, source, endTime);
+        if (coldBefore != null && afterTimestamp.isBefore(coldBefore)) {
+            Instant coldEnd = coldBefore.isAfter(endTime) ? endTime : coldBefore.minusNanos(1000);
+            tickArchiveService.scanPage(symbol, toMicros(afterTimestamp), afterId, toMicros(coldEnd), limit,
+                    page::addRow);
+            if (page.size() == limit || coldBefore.isAfter(endTime)) {
+                return page;
+            }
+            afterTimestamp = coldBefore;
+            afterId = 0;
+        }
+        for (Object[] row : cryptoPriceRepository.findColumnsPageAfter(symbol, afterTimestamp, afterId, endTime,
+                PageRequest.of(0, limit - page.size()))) {
+            page.addRow(row);
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public PredictionColumns getPredictions(String symbol) {
+        return new PredictionColumns(symbol, pricePredictionRepository.findColumnsBySymbol(symbol));
+    }
+
+    @Transactional(readOnly = true)
+    public PredictionColumns getPredictions(String symbol, Instant startDate, Instant endDate) {
+        return new PredictionColumns(symbol,
+                pricePredictionRepository.findColumnsBySymbolAndTargetDateRange(symbol, startDate, endDate));
+    }
+
+    private TickColumns loadHot(String symbol, Instant startTime, Instant endTime) {
+        TickColumns hot = new TickColumns(symbol);
+        try (Stream<Object[]> rows = cryptoPriceRepository.streamColumnsBySymbolAndTimeRange(symbol, startTime, endTime)) {
+            rows.forEach(hot::addRow);
+        }
+        return hot;
+    }
+
+    /**
+     * Concatenate the archived rows of [from, to] with the hot rows. Above the point budget one
+     * downsampler runs over the archive price column and then the hot prices; cold rows are
+     * decoded in full only at the selected ordinals, hot rows are copied by position.
+     */
+    private TickColumns downsample(String symbol, List<TickArchiveReader> segments, long from, long to,
+                                   TickColumns hot, Integer maxPoints) {
+        TickBlock block = new TickBlock(blockSize);
+        long[] coldCount = new long[1];
+        for (TickArchiveReader segment : segments) {
+            segment.scan(from, to, 0, block, (b, first, last) -> coldCount[0] += last - first);
+        }
+        long total = coldCount[0] + hot.size();
+
+        if (maxPoints == null || total <= clamp(maxPoints)) {
+            if (coldCount[0] == 0) {
+                return hot;
+            }
+            TickColumns result = new TickColumns(symbol, (int) total);
+            for (TickArchiveReader segment : segments) {
+                segment.scan(from, to, TickBlock.ALL_COLUMNS, block, (b, first, last) -> {
+                    for (int row = first; row < last; row++) {
+                        result.addRow(b, row);
+                    }
+                });
+            }
+            result.addAll(hot);
+            return result;
+        }
+
+        int threshold = clamp(maxPoints);
+        long[] coldSelected = new long[threshold];
+        int[] hotSelected = new int[threshold];
+        int[] counts = new int[2];
+        LttbDownsampler<Void> downsampler = new LttbDownsampler<>(total, threshold, (ordinal, ignored) -> {
+            if (ordinal < coldCount[0]) {
+                coldSelected[counts[0]++] = ordinal;
+            } else {
+                hotSelected[counts[1]++] = (int) (ordinal - coldCount[0]);
+            }
+        });
+        for (TickArchiveReader segment : segments) {
+            segment.scan(from, to, TickBlock.mask(TickBlock.PRICE), block, (b, first, last) -> {
+                for (int row = first; row < last; row++) {
+                    downsampler.add(b.timestamp(row), b.doubleValue(TickBlock.PRICE, row), null);
+                }
+            });
+        }
+        long[] hotTimestamps = hot.timestamps();
+        double[] hotPrices = hot.column(TickBlock.PRICE);
+        for (int row = 0; row < hot.size(); row++) {
+            downsampler.add(hotTimestamps[row], hotPrices[row], null);
+        }
+        downsampler.finish();
+
+        TickColumns result = new TickColumns(symbol, counts[0] + counts[1]);
+        if (counts[0] > 0) {
+            long[] ordinal = new long[1];
+            int[] next = new int[1];
+            for (TickArchiveReader segment : segments) {
+                segment.scan(from, to, TickBlock.ALL_COLUMNS, block, (b, first, last) -> {
+                    for (int row = first; row < last && next[0] < counts[0]; row++, ordinal[0]++) {
+                        if (ordinal[0] == coldSelected[next[0]]) {
+                            result.addRow(b, row);
+                            next[0]++;
+                        }
+                    }
+                });
+            }
+        }
+        hot.copyRows(hotSelected, 0, counts[1], result);
+        return result;
+    }
+
+    private Instant coldBefore(String symbol, String source, Instant endTime) {
+        if ("db".equalsIgnoreCase(source)) {
+            return null;
+        }
+        if ("archive".equalsIgnoreCase(source)) {
+            return endTime.plusNanos(1000);
+        }
+        return tierWatermarkRepository.findById(symbol)
+                .map(TierWatermark::getColdBefore)
+                .orElse(null);
+    }
+
+    private int clamp(int maxPoints) {
+        return Math.max(MIN_POINTS, Math.min(maxPoints, maxPointsLimit));
+    }
+}
@@ -0,0 +1,217 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.analytics.CorrelationWindow;
+import com.crypto.platform.backtest.BarSeries;
+import com.crypto.platform.analytics.HourlyCloses;
+import com.crypto.platform.event.CoherenceResyncEvent;
+import com.crypto.platform.event.PriceTickEvent;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.payload.response.CorrelationResponse;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Cross-symbol covariance and correlation of hourly log returns. Hourly closes are loaded once
+ * per symbol, from the tick archive before the tier watermark and the database after it, and
+ * then kept current from the tick stream; matrices are cached per symbol list and
+ * window and rolled forward as hours close (see {@link CorrelationWindow}). Only tracked
+ * symbols are accepted, and both caches evict their least recently used entries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CorrelationService {
+
+    private static final long HOUR_MS = 3_600_000L;
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final PriceHistoryService priceHistoryService;
+    private final MarketStateCache marketStateCache;
+
+    @Value("${analytics.correlation.max-window}")
+    private Duration maxWindow;
+
+    @Value("${analytics.correlation.cache.max-entries}")
+    private int maxCacheEntries;
+
+    @Value("${analytics.correlation.cache.max-symbols}")
+    private int maxCachedSymbols;
+
+    @Value("${analytics.correlation.parallelism}")
+    private int parallelism;
+
+    private Map<String, HourlyCloses> closes;
+    private Map<String, CorrelationWindow> windows;
+    private ForkJoinPool pool;
+    private int retainedHours;
+    // Bumped by a resync, so closes loaded before it are not cached
+    private long generation;
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        // Spare hours so the close before the window start and late gaps are still retained
+        retainedHours = (int) maxWindow.toHours() + 48;
+        closes = new LinkedHashMap<String, HourlyCloses>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, HourlyCloses> eldest) {
+                return size() > maxCachedSymbols;
+            }
+        };
+        windows = new LinkedHashMap<String, CorrelationWindow>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CorrelationWindow> eldest) {
+                return size() > maxCacheEntries;
+            }
+        };
+        log.info("Correlation analytics: {} fork/join threads, up to {} hours", threads, maxWindow.toHours());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public Duration getMaxWindow() {
+        return maxWindow;
+    }
+
+    public CorrelationResponse getCorrelation(List<String> symbols, Duration window) {
+        int length = (int) window.toHours();
+        if (length < 3 || window.compareTo(maxWindow) > 0) {
+            throw new IllegalArgumentException("Error: window must be between 3 hours and " + maxWindow);
+        }
+        Set<String> tracked = new HashSet<>(marketStateCache.getSymbols());
+        List<String> unknown = new ArrayList<>();
+        for (String symbol : symbols) {
+            if (!tracked.contains(symbol)) {
+                unknown.add(symbol);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Error: Unknown symbols " + String.join(",", unknown));
+        }
+        long endHour = Math.floorDiv(System.currentTimeMillis(), HOUR_MS) - 1;
+        HourlyCloses[] series = new HourlyCloses[symbols.size()];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = cachedCloses(symbols.get(i));
+        }
+
+        String key = String.join(",", symbols) + "|" + length;
+        CorrelationWindow matrix;
+        synchronized (windows) {
+            matrix = windows.computeIfAbsent(key,
+                    k -> new CorrelationWindow(symbols.toArray(new String[0]), length));
+        }
+        double[][] covariance;
+        synchronized (matrix) {
+            matrix.advanceTo(endHour, series, pool);
+            covariance = matrix.covariance();
+        }
+        return CorrelationResponse.builder()
+                .symbols(Arrays.asList(matrix.getSymbols()))
+                .window(window.toString())
+                .from(Instant.ofEpochMilli((endHour - length + 1) * HOUR_MS))
+                .to(Instant.ofEpochMilli((endHour + 1) * HOUR_MS))
+                .observations(length)
+                .covariance(covariance)
+                .correlation(CorrelationWindow.correlation(covariance))
+                .build();
+    }
+
+    @EventListener
+    public void onPriceTick(PriceTickEvent event) {
+        CryptoPrice price = event.getPrice();
+        HourlyCloses series;
+        synchronized (closes) {
+            series = closes.get(price.getSymbol());
+        }
+        if (series != null) {
+            series.update(price.getTimestamp().toEpochMilli(), price.getPrice().doubleValue());
+        }
+    }
+
+    /**
+     * Ticks may have been missed; closes load again on next use and matrices are rebuilt
+     */
+    @EventListener
+    public void onCoherenceResync(CoherenceResyncEvent event) {
+        synchronized (closes) {
+            closes.clear();
+            generation++;
+        }
+        synchronized (windows) {
+            windows.clear();
+        }
+    }
+
+    /**
+     * Cached closes of a symbol, loaded outside the cache lock; concurrent first requests may
+     * both load and the first to finish is kept
+     */
+    private HourlyCloses cachedCloses(String symbol) {
+        long loadGeneration;
+        synchronized (closes) {
+            HourlyCloses series = closes.get(symbol);
+            if (series != null) {
+                return series;
+            }
+            loadGeneration = generation;
+        }
+        HourlyCloses loaded = load(symbol);
+        synchronized (closes) {
+            if (loadGeneration != generation) {
+                return loaded;
+            }
+            HourlyCloses series = closes.putIfAbsent(symbol, loaded);
+            return series != null ? series : loaded;
+        }
+    }
+
+    private HourlyCloses load(String symbol) {
+        HourlyCloses series = new HourlyCloses(retainedHours);
+        Instant since = Instant.now().minus(Duration.ofHours(retainedHours));
+        Instant coldBefore = priceHistoryService.getColdBefore(symbol).orElse(null);
+        int archived = 0;
+        if (coldBefore != null && since.isBefore(coldBefore)) {
+            BarSeries bars;
+            try {
+                bars = priceHistoryService.getArchivedBars(symbol, since, coldBefore.minusNanos(1000), HOUR_MS);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // A bar is stamped with its hour start, so a database tick later in that hour wins
+            for (int i = 0; i < bars.size(); i++) {
+                series.update(bars.time(i), bars.close(i));
+            }
+            archived = bars.size();
+            since = coldBefore;
+        }
+        List<Object[]> rows = cryptoPriceRepository.findHourlyClosesSince(symbol, since);
+        for (Object[] row : rows) {
+            series.update(((Number) row[1]).longValue(), ((Number) row[2]).doubleValue());
+        }
+        log.info("Loaded {} archived and {} hourly closes for {}", archived, rows.size(), symbol);
+        return series;
+    }
+}
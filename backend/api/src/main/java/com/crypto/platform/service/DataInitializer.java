@@ -26,6 +26,7 @@ public class DataInitializer {
     private final CryptoPriceRepository cryptoPriceRepository;
     private final BinanceService binanceService;
     private final WebClient.Builder webClientBuilder;
+    private final TickJournalService tickJournalService;
 
     @Value("${binance.api.base-url}")
     private String apiBaseUrl;
@@ -36,15 +37,20 @@ public class DataInitializer {
     @EventListener(ApplicationReadyEvent.class)
     public void initializeData() {
         log.info("Checking if initial data load is needed...");
+        if (!tickJournalService.tryAcquireWriter()) {
+            log.info("Tick journal is written by another replica; it loads the initial data");
+            return;
+        }
         
-        // Check if we have any data in the database
-        long count = cryptoPriceRepository.count();
+        // Check if we have any data in the database; the max id comes from the primary key
+        // index, where count() would scan the whole table
+        long latestId = cryptoPriceRepository.findMaxId();
         
-        if (count == 0) {
+        if (latestId == 0) {
             log.info("No data found in database. Loading initial historical data...");
             loadHistoricalData();
         } else {
-            log.info("Database already contains {} price records. Skipping initial data load.", count);
+            log.info("Database already contains price records up to id {}. Skipping initial data load.", latestId);
         }
     }
     
@@ -110,9 +116,9 @@ public class DataInitializer {
                         prices.add(price);
                     }
                     
-                    // Save all prices
-                    cryptoPriceRepository.saveAll(prices);
-                    log.info("Saved {} historical data points for {}", prices.size(), symbol);
+                    // Journal all prices; the journal DB writer saves them
+                    prices.forEach(tickJournalService::append);
+                    log.info("Journaled {} historical data points for {}", prices.size(), symbol);
                 }
                 
                 // Sleep a bit to avoid hitting rate limits
@@ -0,0 +1,183 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.coherence.ChangePublisher;
+import com.crypto.platform.diagnostics.TickStoreEvent;
+import com.crypto.platform.event.PriceTickEvent;
+import com.crypto.platform.journal.TickJournalTailer;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.model.JournalOffset;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.repository.JournalOffsetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tails the tick journal into crypto_prices in batches. The tailer offset is stored in the
+ * same transaction as the rows, so the table catches up exactly once after a crash or a
+ * database outage while ingestion keeps appending. Persisted ticks are then published as
+ * {@link PriceTickEvent}s for the in-memory caches, and announced to the other replicas
+ * by a change notice committed with them. Starts after the market state snapshot is
+ * restored, so its ticks are applied on top of it. Only the replica holding the journal's
+ * writer lock runs it; the others wait on standby and take over when that lock is released.
+ */
+@Service
+@DependsOn("marketStateSnapshotService")
+@RequiredArgsConstructor
+@Slf4j
+public class JournalDbWriter {
+
+    public static final String TAILER_NAME = "db-writer";
+
+    private final TickJournalService tickJournalService;
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final JournalOffsetRepository journalOffsetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangePublisher changePublisher;
+
+    @Value("${journal.db-writer.batch-size}")
+    private int batchSize;
+
+    @Value("${journal.db-writer.idle-wait-ms}")
+    private long idleWaitMs;
+
+    @Value("${journal.db-writer.retry-wait-ms}")
+    private long retryWaitMs;
+
+    @Value("${journal.persist-timeout-ms}")
+    private long persistTimeoutMs;
+
+    // Callers waiting for their tick's database id, by journal sequence
+    private final Map<Long, CompletableFuture<CryptoPrice>> waiters = new ConcurrentHashMap<>();
+
+    private TickJournalTailer tailer;
+    private Thread thread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        tailer = tickJournalService.tailer(TAILER_NAME);
+        running = true;
+        thread = new Thread(this::run, "journal-db-writer");
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        tailer.close();
+    }
+
+    /**
+     * Append a tick to the journal and complete once it is stored with its id. Only the
+     * journal's writer stores ticks, so on any other replica the future fails with
+     * {@link NotJournalWriterException} instead of waiting for a store that never happens.
+     */
+    public CompletableFuture<CryptoPrice> appendAndAwait(CryptoPrice tick) {
+        if (!tickJournalService.tryAcquireWriter()) {
+            return CompletableFuture.failedFuture(new NotJournalWriterException());
+        }
+        CompletableFuture<CryptoPrice> persisted = new CompletableFuture<>();
+        tickJournalService.append(tick, sequence -> {
+            waiters.put(sequence, persisted);
+            persisted.orTimeout(persistTimeoutMs, TimeUnit.MILLISECONDS)
+                    .whenComplete((saved, e) -> waiters.remove(sequence));
+        });
+        return persisted;
+    }
+
+    private void run() {
+        List<CryptoPrice> batch = new ArrayList<>(batchSize);
+        List<Long> sequences = new ArrayList<>(batchSize);
+        boolean positioned = false;
+        boolean standby = false;
+        while (running) {
+            try {
+                if (!positioned && !tickJournalService.tryAcquireWriter()) {
+                    if (!standby) {
+                        log.info("Tick journal is written by another replica; journal DB writer on standby");
+                        standby = true;
+                    }
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryWaitMs));
+                    continue;
+                }
+                if (!positioned) {
+                    restorePosition();
+                    positioned = true;
+                }
+                batch.clear();
+                sequences.clear();
+                int read = tailer.poll((sequence, tick) -> {
+                    sequences.add(sequence);
+                    batch.add(tick);
+                }, batchSize);
+                if (read == 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleWaitMs));
+                    continue;
+                }
+                List<CryptoPrice> saved = persist(batch, tailer.getPosition());
+                tailer.commit();
+                for (int i = 0; i < saved.size(); i++) {
+                    CryptoPrice price = saved.get(i);
+                    eventPublisher.publishEvent(new PriceTickEvent(this, price));
+                    CompletableFuture<CryptoPrice> waiter = waiters.remove(sequences.get(i));
+                    if (waiter != null) {
+                        waiter.complete(price);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Journal DB writer failed, retrying in {} ms: {}", retryWaitMs, e.getMessage());
+                tailer.rewind();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryWaitMs));
+            }
+        }
+    }
+
+    private List<CryptoPrice> persist(List<CryptoPrice> batch, long nextPosition) {
+        TickStoreEvent event = TickStoreEvent.start(TickStoreEvent.DATABASE, batch.size());
+        try {
+            return transactionTemplate.execute(status -> {
+                List<CryptoPrice> saved = cryptoPriceRepository.saveAll(batch);
+                journalOffsetRepository.save(new JournalOffset(TAILER_NAME, nextPosition, Instant.now()));
+                changePublisher.ticksStored(saved);
+                return saved;
+            });
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * The database offset wins over the tailer file, which may be one batch behind
+     */
+    private void restorePosition() {
+        long end = tickJournalService.getEndSequence();
+        long position = journalOffsetRepository.findById(TAILER_NAME)
+                .map(JournalOffset::getPosition)
+                .orElse(tailer.getCommitted());
+        if (position > end) {
+            log.warn("Journal DB writer offset {} is past the journal end {}; the journal was reset", position, end);
+            position = 0;
+        }
+        tailer.seek(position);
+        log.info("Journal DB writer resuming at sequence {}", position);
+    }
+}
@@ -0,0 +1,136 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.event.CoherenceResyncEvent;
+import com.crypto.platform.event.PriceTickEvent;
+import com.crypto.platform.market.SymbolRanking;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.payload.response.MarketOverviewResponse;
+import com.crypto.platform.payload.response.MarketOverviewResponse.SymbolSummary;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latest summary of every symbol plus gainer/loser and volume rankings, updated per tick.
+ * A request only copies the top of the rankings; the full symbol list is rebuilt at most once
+ * per change. The version is the highest tick id applied, which every replica reaches with the
+ * same ticks, so an ETag built from it is valid on any of them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketOverviewService {
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+
+    @Value("${market.overview.warmup-window}")
+    private Duration warmupWindow;
+
+    private final Map<String, SymbolSummary> summaries = new TreeMap<>();
+    private final SymbolRanking byChange = new SymbolRanking();
+    private final SymbolRanking byVolume = new SymbolRanking();
+    private long version;
+    private long changes;
+    private Instant asOf;
+    private List<SymbolSummary> symbolsSnapshot;
+    private long snapshotVersion = -1;
+    private boolean restored;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        synchronized (this) {
+            if (restored) {
+                log.info("Market overview restored from snapshot with {} symbols", summaries.size());
+                return;
+            }
+        }
+        List<CryptoPrice> latest = cryptoPriceRepository.findLatestPerSymbolSince(Instant.now().minus(warmupWindow));
+        latest.forEach(this::apply);
+        log.info("Market overview warmed up with {} symbols", latest.size());
+    }
+
+    @EventListener
+    public void onPriceTick(PriceTickEvent event) {
+        apply(event.getPrice());
+    }
+
+    /**
+     * Ticks may have been missed; the latest tick of every symbol is applied again
+     */
+    @EventListener
+    public void onCoherenceResync(CoherenceResyncEvent event) {
+        cryptoPriceRepository.findLatestPerSymbolSince(Instant.now().minus(warmupWindow)).forEach(this::apply);
+    }
+
+    /**
+     * Apply a tick from the market state snapshot; the database warm-up is then skipped
+     */
+    public synchronized void restore(CryptoPrice price) {
+        restored = true;
+        apply(price);
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized MarketOverviewResponse getOverview(int top) {
+        if (snapshotVersion != changes) {
+            symbolsSnapshot = new ArrayList<>(summaries.values());
+            snapshotVersion = changes;
+        }
+        return MarketOverviewResponse.builder()
+                .version(version)
+                .asOf(asOf)
+                .symbols(symbolsSnapshot)
+                .topGainers(lookup(byChange.top(top)))
+                .topLosers(lookup(byChange.bottom(top)))
+                .topVolume(lookup(byVolume.top(top)))
+                .build();
+    }
+
+    private synchronized void apply(CryptoPrice price) {
+        if (price.getId() != null && price.getId() > version) {
+            version = price.getId();
+        }
+        SymbolSummary current = summaries.get(price.getSymbol());
+        if (current != null && current.getTimestamp().isAfter(price.getTimestamp())) {
+            return;
+        }
+        summaries.put(price.getSymbol(), SymbolSummary.builder()
+                .symbol(price.getSymbol())
+                .price(price.getPrice())
+                .priceChangePercent24h(price.getPriceChangePercent24h())
+                .volume24h(price.getVolume24h())
+                .marketCap(price.getMarketCap())
+                .high24h(price.getHigh24h())
+                .low24h(price.getLow24h())
+                .timestamp(price.getTimestamp())
+                .build());
+        byChange.update(price.getSymbol(), price.getPriceChangePercent24h().doubleValue());
+        byVolume.update(price.getSymbol(), price.getVolume24h().doubleValue());
+        if (asOf == null || price.getTimestamp().isAfter(asOf)) {
+            asOf = price.getTimestamp();
+        }
+        changes++;
+    }
+
+    private List<SymbolSummary> lookup(List<String> symbols) {
+        List<SymbolSummary> result = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            result.add(summaries.get(symbol));
+        }
+        return result;
+    }
+}
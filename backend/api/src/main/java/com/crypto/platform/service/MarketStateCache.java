@@ -0,0 +1,151 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.datasource.ReadFreshness;
+import com.crypto.platform.event.PredictionsUpdatedEvent;
+import com.crypto.platform.event.PriceTickEvent;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.model.PricePrediction;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.repository.PricePredictionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Latest tick and latest prediction per symbol and the list of symbols, kept current by
+ * tick/prediction events. Writes of other processes arrive as replayed events from their
+ * change notices; the TTL revalidation against the database is only a safety net for
+ * notices lost while this replica was not listening. The tick id and prediction id double
+ * as cache versions.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarketStateCache {
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final PricePredictionRepository pricePredictionRepository;
+
+    @Value("${market.cache.revalidate-ms}")
+    private long revalidateMs;
+
+    private final ConcurrentMap<String, Entry<CryptoPrice>> latestTicks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry<PricePrediction>> latestPredictions = new ConcurrentHashMap<>();
+    private volatile Entry<List<String>> symbols;
+
+    public Optional<CryptoPrice> getLatestTick(String symbol) {
+        // Revalidation never goes back to an older tick than the cached one
+        return get(latestTicks, symbol, CryptoPrice::getId, (s, version) -> ReadFreshness.atLeastTick(version,
+                () -> cryptoPriceRepository.findTopBySymbolOrderByTimestampDesc(s)));
+    }
+
+    public Optional<PricePrediction> getLatestPrediction(String symbol) {
+        return get(latestPredictions, symbol, PricePrediction::getId, (s, version) -> ReadFreshness.atLeastPrediction(
+                version, () -> pricePredictionRepository.findTopBySymbolOrderByCreatedAtDesc(s)));
+    }
+
+    public List<String> getSymbols() {
+        Entry<List<String>> entry = symbols;
+        if (entry == null || entry.isStale(revalidateMs)) {
+            entry = new Entry<>(cryptoPriceRepository.findAllCryptoSymbols());
+            symbols = entry;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Version of the tick data of a symbol: the id of its latest tick, 0 when there is none
+     */
+    public long getTickVersion(String symbol) {
+        return getLatestTick(symbol).map(CryptoPrice::getId).orElse(0L);
+    }
+
+    /**
+     * Version of the predictions of a symbol: the id of its latest prediction, 0 when there is none
+     */
+    public long getPredictionVersion(String symbol) {
+        return getLatestPrediction(symbol).map(PricePrediction::getId).orElse(0L);
+    }
+
+    @EventListener
+    public void onPriceTick(PriceTickEvent event) {
+        CryptoPrice price = event.getPrice();
+        Entry<CryptoPrice> fresh = new Entry<>(price);
+        latestTicks.merge(price.getSymbol(), fresh, (current, candidate) ->
+                current.value != null && current.value.getTimestamp().isAfter(price.getTimestamp()) ? current : candidate);
+        Entry<List<String>> known = symbols;
+        if (known != null && !known.value.contains(price.getSymbol())) {
+            symbols = null;
+        }
+    }
+
+    @EventListener
+    public void onPredictionsUpdated(PredictionsUpdatedEvent event) {
+        latestPredictions.remove(event.getSymbol());
+    }
+
+    /**
+     * Seed the latest tick of a symbol, e.g. from a snapshot; a newer cached tick is kept
+     */
+    public void prime(CryptoPrice price) {
+        latestTicks.merge(price.getSymbol(), new Entry<>(price), (current, candidate) ->
+                current.value != null && !current.value.getTimestamp().isBefore(price.getTimestamp()) ? current : candidate);
+    }
+
+    /**
+     * The latest ticks currently cached, without loading or revalidating
+     */
+    public List<CryptoPrice> cachedTicks() {
+        List<CryptoPrice> ticks = new ArrayList<>(latestTicks.size());
+        for (Entry<CryptoPrice> entry : latestTicks.values()) {
+            ticks.add(entry.value);
+        }
+        return ticks;
+    }
+
+    /**
+     * Drop everything, e.g. after change notices were missed; entries reload on next read
+     */
+    public void invalidateAll() {
+        latestTicks.clear();
+        latestPredictions.clear();
+        symbols = null;
+    }
+
+    private <T> Optional<T> get(ConcurrentMap<String, Entry<T>> entries, String symbol,
+                                Function<T, Long> version, BiFunction<String, Long, Optional<T>> loader) {
+        Entry<T> entry = entries.get(symbol);
+        if (entry == null || entry.isStale(revalidateMs)) {
+            Optional<T> loaded = loader.apply(symbol, entry != null ? version.apply(entry.value) : 0L);
+            if (!loaded.isPresent()) {
+                entries.remove(symbol);
+                return Optional.empty();
+            }
+            entry = new Entry<>(loaded.get());
+            entries.put(symbol, entry);
+        }
+        return Optional.of(entry.value);
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+        private final long loadedAt = System.currentTimeMillis();
+
+        Entry(T value) {
+            this.value = value;
+        }
+
+        boolean isStale(long ttlMs) {
+            return System.currentTimeMillis() - loadedAt > ttlMs;
+        }
+    }
+}
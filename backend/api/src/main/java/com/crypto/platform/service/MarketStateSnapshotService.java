@@ -0,0 +1,192 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.datasource.ReadFreshness;
+import com.crypto.platform.event.PriceTickEvent;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.snapshot.MarketStateSnapshot;
+import com.crypto.platform.snapshot.MarketStateSnapshot.SymbolState;
+import com.crypto.platform.stats.SymbolStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warm restarts from a {@link MarketStateSnapshot} on local disk. The latest ticks and the
+ * rolling window ticks are written periodically and on shutdown; at startup the snapshot is
+ * memory-mapped, verified and applied, then caught up with one bounded query for the ticks
+ * stored since. A missing, corrupt or too stale snapshot leaves the usual database warm-up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketStateSnapshotService {
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final MarketStateCache marketStateCache;
+    private final MarketOverviewService marketOverviewService;
+    private final RollingStatsService rollingStatsService;
+
+    @Value("${snapshot.enabled}")
+    private boolean enabled;
+
+    @Value("${snapshot.path}")
+    private String snapshotPath;
+
+    @Value("${snapshot.catch-up-limit}")
+    private int catchUpLimit;
+
+    // Highest tick id applied to the in-memory state
+    private final AtomicLong appliedTickId = new AtomicLong();
+
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long upToId = ReadFreshness.primary(cryptoPriceRepository::findMaxId);
+        appliedTickId.accumulateAndGet(upToId, Math::max);
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            log.info("No market state snapshot at {}, warming up from the database", path);
+            return;
+        }
+
+        MarketStateSnapshot snapshot;
+        try {
+            snapshot = MarketStateSnapshot.read(path);
+        } catch (IOException e) {
+            log.warn("Ignoring market state snapshot: {}", e.getMessage());
+            return;
+        }
+        if (snapshot.getLastTickId() > upToId) {
+            log.warn("Market state snapshot is ahead of the database (tick {} > {}), ignoring it",
+                    snapshot.getLastTickId(), upToId);
+            return;
+        }
+        // Fetched before anything is applied, so a snapshot that is too far behind changes nothing
+        List<CryptoPrice> delta = ReadFreshness.atLeastTick(upToId, () -> cryptoPriceRepository.findByIdRange(
+                snapshot.getLastTickId(), upToId, PageRequest.of(0, catchUpLimit)));
+        if (delta.size() == catchUpLimit) {
+            log.info("Market state snapshot of {} is more than {} ticks behind, warming up from the database",
+                    Instant.ofEpochMilli(snapshot.getCreatedAtMs()), catchUpLimit);
+            return;
+        }
+        boolean windows = snapshot.getWindowMs() >= rollingStatsService.getLongestWindow().toMillis();
+
+        long ticks = 0;
+        for (SymbolState state : snapshot.getSymbols()) {
+            if (state.getLatest() != null) {
+                marketStateCache.prime(state.getLatest());
+                marketOverviewService.restore(state.getLatest());
+            }
+            if (windows && state.getCount() > 0) {
+                SymbolStatistics stats = rollingStatsService.restore(state.getSymbol());
+                for (int i = 0; i < state.getCount(); i++) {
+                    stats.update(state.getTimes()[i], state.getPrices()[i], state.getVolumes()[i]);
+                }
+                ticks += state.getCount();
+            }
+        }
+        Map<String, SymbolStatistics> statistics = rollingStatsService.allStatistics();
+        for (CryptoPrice tick : delta) {
+            marketStateCache.prime(tick);
+            marketOverviewService.restore(tick);
+            // Symbols without restored windows warm up from the database on first use
+            SymbolStatistics stats = statistics.get(tick.getSymbol());
+            if (stats != null) {
+                stats.update(tick.getTimestamp().toEpochMilli(), tick.getPrice().doubleValue(),
+                        tick.getVolume24h().doubleValue());
+            }
+        }
+        log.info("Restored market state of {} symbols ({} window ticks{}) from the snapshot of {} "
+                        + "and {} newer ticks in {} ms",
+                snapshot.getSymbols().size(), ticks, windows ? "" : ", windows skipped as shorter than configured",
+                Instant.ofEpochMilli(snapshot.getCreatedAtMs()), delta.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @EventListener
+    public void onPriceTick(PriceTickEvent event) {
+        appliedTickId.accumulateAndGet(event.getPrice().getId(), Math::max);
+    }
+
+    /**
+     * Write the current state. The tick watermark is read first, so the windows hold at
+     * least every tick up to it; newer ticks caught up again at restore are ignored as
+     * duplicates by the windows.
+     */
+    public synchronized void write() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long lastTickId = appliedTickId.get();
+        Map<String, SymbolState> states = new TreeMap<>();
+        for (CryptoPrice latest : marketStateCache.cachedTicks()) {
+            states.put(latest.getSymbol(), new SymbolState(latest.getSymbol(), latest, 0, null, null, null));
+        }
+        for (Map.Entry<String, SymbolStatistics> entry : rollingStatsService.allStatistics().entrySet()) {
+            WindowTicks window = new WindowTicks();
+            entry.getValue().forEachTick(window::add);
+            SymbolState latest = states.get(entry.getKey());
+            states.put(entry.getKey(), new SymbolState(entry.getKey(), latest != null ? latest.getLatest() : null,
+                    window.count, window.times, window.prices, window.volumes));
+        }
+
+        MarketStateSnapshot snapshot = new MarketStateSnapshot(System.currentTimeMillis(), lastTickId,
+                rollingStatsService.getLongestWindow().toMillis(), new ArrayList<>(states.values()));
+        Path path = Paths.get(snapshotPath);
+        try {
+            snapshot.write(path);
+            log.debug("Wrote market state snapshot of {} symbols up to tick {} in {} ms", states.size(), lastTickId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            log.warn("Could not write market state snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        write();
+    }
+
+    private static final class WindowTicks {
+
+        private long[] times = new long[64];
+        private double[] prices = new double[64];
+        private double[] volumes = new double[64];
+        private int count;
+
+        void add(long timeMs, double price, double volume) {
+            if (count == times.length) {
+                times = Arrays.copyOf(times, count * 2);
+                prices = Arrays.copyOf(prices, count * 2);
+                volumes = Arrays.copyOf(volumes, count * 2);
+            }
+            times[count] = timeMs;
+            prices[count] = price;
+            volumes[count] = volume;
+            count++;
+        }
+    }
+}
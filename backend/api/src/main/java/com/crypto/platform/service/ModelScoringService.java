@@ -0,0 +1,112 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.datasource.ReadFreshness;
+import com.crypto.platform.event.CoherenceResyncEvent;
+import com.crypto.platform.event.ModelPublishedEvent;
+import com.crypto.platform.ml.TrendModel;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.model.ModelVersion;
+import com.crypto.platform.payload.response.LivePredictionResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Scores the current registry model of each symbol in-process, from the latest tick in the
+ * market state cache: no Spark job and no query per request. Models load at startup and are
+ * swapped one symbol at a time when the worker publishes a new version; requests see either
+ * the old or the new model, never a partly loaded one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ModelScoringService {
+
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private final ModelRegistry modelRegistry;
+    private final MarketStateCache marketStateCache;
+
+    @Value("${models.max-horizon}")
+    private Duration maxHorizon;
+
+    private final ConcurrentMap<String, TrendModel> models = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<ModelVersion> versions = ReadFreshness.primary(modelRegistry::currentVersions);
+        for (ModelVersion version : versions) {
+            install(version);
+        }
+        log.info("Loaded {} of {} current models", models.size(), versions.size());
+    }
+
+    /**
+     * Notices arrive in commit order, but a reload never replaces a newer model with an older one
+     */
+    @EventListener
+    public void onModelPublished(ModelPublishedEvent event) {
+        ReadFreshness.primary(() -> modelRegistry.current(event.getSymbol())).ifPresent(this::install);
+    }
+
+    @EventListener
+    public void onCoherenceResync(CoherenceResyncEvent event) {
+        loadAll();
+    }
+
+    /**
+     * Forecasts from the latest price for each horizon; horizons are capped at the maximum
+     */
+    public Optional<LivePredictionResponse> score(String symbol, List<Duration> horizons) {
+        TrendModel model = models.get(symbol);
+        if (model == null) {
+            return Optional.empty();
+        }
+        return marketStateCache.getLatestTick(symbol).map(tick -> score(model, tick, horizons));
+    }
+
+    private LivePredictionResponse score(TrendModel model, CryptoPrice tick, List<Duration> horizons) {
+        double price = tick.getPrice().doubleValue();
+        List<LivePredictionResponse.Forecast> forecasts = new ArrayList<>(horizons.size());
+        for (Duration horizon : horizons) {
+            Duration capped = horizon.compareTo(maxHorizon) > 0 ? maxHorizon : horizon;
+            if (capped.isNegative() || capped.isZero()) {
+                continue;
+            }
+            double hours = capped.toMillis() / MILLIS_PER_HOUR;
+            double predicted = model.predictPrice(price, hours);
+            forecasts.add(new LivePredictionResponse.Forecast(hours, tick.getTimestamp().plus(capped),
+                    predicted, model.confidenceInterval(predicted, hours)));
+        }
+        return new LivePredictionResponse(model.getSymbol(), TrendModel.TYPE, model.getVersion(),
+                Instant.ofEpochMilli(model.getTrainedAtMs()), model.getR2(), price, tick.getTimestamp(), forecasts);
+    }
+
+    private void install(ModelVersion version) {
+        TrendModel current = models.get(version.getSymbol());
+        if (current != null && current.getVersion() >= version.getVersion()) {
+            return;
+        }
+        try {
+            TrendModel model = modelRegistry.load(version);
+            models.merge(version.getSymbol(), model,
+                    (existing, loaded) -> loaded.getVersion() > existing.getVersion() ? loaded : existing);
+            log.info("Serving {} model v{} for {}", version.getModelType(), version.getVersion(), version.getSymbol());
+        } catch (IOException e) {
+            log.warn("Could not load model v{} of {}, keeping the current one: {}", version.getVersion(),
+                    version.getSymbol(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.crypto.platform.service;
+
+/**
+ * A tick must be ingested but another replica writes the tick journal; answered with 503
+ */
+public class NotJournalWriterException extends IllegalStateException {
+
+    public NotJournalWriterException() {
+        super("Error: Prices are ingested by another replica, please retry");
+    }
+}
@@ -0,0 +1,248 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.orderbook.DepthFeed;
+import com.crypto.platform.orderbook.DepthSnapshot;
+import com.crypto.platform.orderbook.DepthUpdate;
+import com.crypto.platform.orderbook.OrderBook;
+import com.crypto.platform.payload.response.DepthResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains one L2 book per symbol from a {@link DepthFeed}, following Binance's rules for
+ * a local book: buffer diff events, fetch a snapshot, drop events up to its
+ * {@code lastUpdateId}, require the first applied event to straddle it and every later event
+ * to start at the previous {@code u + 1}. The first event may be buffered or arrive live when
+ * every buffered event predates the snapshot. A gap puts the book back into resync.
+ */
+@Service
+@Slf4j
+public class OrderBookService implements DepthFeed.Listener {
+
+    public enum BookStatus {
+        SYNCING,
+        LIVE
+    }
+
+    private static final class BookState {
+        final OrderBook book;
+        final Deque<DepthUpdate> buffered = new ArrayDeque<>();
+        BookStatus status = BookStatus.SYNCING;
+        boolean snapshotPending;
+        // No event has been applied on top of the snapshot yet, so the next one may straddle it
+        boolean firstAfterSnapshot;
+        long resyncs;
+
+        BookState(OrderBook book) {
+            this.book = book;
+        }
+    }
+
+    private final ObjectProvider<DepthFeed> depthFeedProvider;
+    private final Map<String, BookState> books = new ConcurrentHashMap<>();
+    private DepthFeed depthFeed;
+
+    @Value("${depth.symbols}")
+    private List<String> symbols;
+
+    @Value("${depth.max-levels}")
+    private int maxLevels;
+
+    @Value("${depth.max-buffered-updates}")
+    private int maxBufferedUpdates;
+
+    public OrderBookService(ObjectProvider<DepthFeed> depthFeedProvider) {
+        this.depthFeedProvider = depthFeedProvider;
+    }
+
+    @PostConstruct
+    public void start() {
+        for (String symbol : symbols) {
+            books.put(symbol, new BookState(new OrderBook(symbol, 1024, maxLevels)));
+        }
+        depthFeed = depthFeedProvider.getIfAvailable();
+        if (depthFeed == null) {
+            log.info("No depth feed configured; order books stay empty");
+            return;
+        }
+        depthFeed.start(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (depthFeed != null) {
+            depthFeed.stop();
+        }
+    }
+
+    /**
+     * Top {@code levels} of the book with spread, mid and imbalance; empty if the symbol is not tracked
+     */
+    public Optional<DepthResponse> getDepth(String symbol, int levels) {
+        BookState state = books.get(symbol.toUpperCase());
+        if (state == null) {
+            return Optional.empty();
+        }
+        BookStatus status;
+        long resyncs;
+        synchronized (state) {
+            status = state.status;
+            resyncs = state.resyncs;
+        }
+        DepthSnapshot depth = state.book.snapshot(levels);
+        List<List<BigDecimal>> bids = new ArrayList<>(depth.getBidCount());
+        for (int i = 0; i < depth.getBidCount(); i++) {
+            bids.add(List.of(decimal(depth.bidPrice(i)), decimal(depth.bidQuantity(i))));
+        }
+        List<List<BigDecimal>> asks = new ArrayList<>(depth.getAskCount());
+        for (int i = 0; i < depth.getAskCount(); i++) {
+            asks.add(List.of(decimal(depth.askPrice(i)), decimal(depth.askQuantity(i))));
+        }
+        boolean top = depth.hasTopOfBook();
+        return Optional.of(DepthResponse.builder()
+                .symbol(depth.getSymbol())
+                .status(status.name())
+                .lastUpdateId(depth.getLastUpdateId())
+                .eventTime(depth.getEventTime() > 0 ? Instant.ofEpochMilli(depth.getEventTime()) : null)
+                .resyncs(resyncs)
+                .bestBid(depth.getBidCount() > 0 ? decimal(depth.bidPrice(0)) : null)
+                .bestAsk(depth.getAskCount() > 0 ? decimal(depth.askPrice(0)) : null)
+                .spread(top ? decimal(depth.spread()) : null)
+                .mid(top ? decimal(depth.mid()) : null)
+                .imbalance(top ? depth.imbalance() : null)
+                .bids(bids)
+                .asks(asks)
+                .build());
+    }
+
+    @Override
+    public void onDiff(DepthUpdate diff) {
+        BookState state = books.get(diff.getSymbol());
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            if (state.status == BookStatus.SYNCING) {
+                buffer(state, diff);
+                return;
+            }
+            long lastUpdateId = state.book.getLastUpdateId();
+            if (diff.getFinalUpdateId() <= lastUpdateId) {
+                return;
+            }
+            if (!inSequence(state, diff, lastUpdateId)) {
+                log.warn("Depth gap for {}: expected update {} but got {}..{}, resyncing", diff.getSymbol(),
+                        lastUpdateId + 1, diff.getFirstUpdateId(), diff.getFinalUpdateId());
+                resync(state);
+                buffer(state, diff);
+                return;
+            }
+            state.book.applyDiff(diff);
+            state.firstAfterSnapshot = false;
+        }
+    }
+
+    @Override
+    public void onSnapshot(DepthUpdate snapshot) {
+        BookState state = books.get(snapshot.getSymbol());
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            state.snapshotPending = false;
+            state.book.applySnapshot(snapshot);
+            state.firstAfterSnapshot = true;
+            long lastUpdateId = snapshot.getFinalUpdateId();
+            while (!state.buffered.isEmpty()) {
+                DepthUpdate diff = state.buffered.pollFirst();
+                if (diff.getFinalUpdateId() <= lastUpdateId) {
+                    continue;
+                }
+                if (!inSequence(state, diff, lastUpdateId)) {
+                    // The snapshot is older than the buffered events or they have a hole: try again
+                    state.buffered.addFirst(diff);
+                    requestSnapshot(state);
+                    return;
+                }
+                state.book.applyDiff(diff);
+                lastUpdateId = diff.getFinalUpdateId();
+                state.firstAfterSnapshot = false;
+            }
+            if (state.status != BookStatus.LIVE) {
+                log.info("Order book for {} is live at update {}", snapshot.getSymbol(), lastUpdateId);
+            }
+            state.status = BookStatus.LIVE;
+        }
+    }
+
+    @Override
+    public void onSnapshotFailed(String symbol) {
+        BookState state = books.get(symbol);
+        if (state != null) {
+            synchronized (state) {
+                // The next buffered diff asks again
+                state.snapshotPending = false;
+            }
+        }
+    }
+
+    @Override
+    public void onFeedReset() {
+        books.values().forEach(state -> {
+            synchronized (state) {
+                state.buffered.clear();
+                state.status = BookStatus.SYNCING;
+            }
+        });
+    }
+
+    /**
+     * Whether a diff ending after lastUpdateId follows it: the first one after a snapshot has to
+     * straddle it ({@code U <= lastUpdateId + 1}), later ones have to start right after it
+     */
+    private static boolean inSequence(BookState state, DepthUpdate diff, long lastUpdateId) {
+        return state.firstAfterSnapshot
+                ? diff.getFirstUpdateId() <= lastUpdateId + 1
+                : diff.getFirstUpdateId() == lastUpdateId + 1;
+    }
+
+    private void resync(BookState state) {
+        state.status = BookStatus.SYNCING;
+        state.buffered.clear();
+        state.resyncs++;
+    }
+
+    private void buffer(BookState state, DepthUpdate diff) {
+        if (state.buffered.size() == maxBufferedUpdates) {
+            state.buffered.pollFirst();
+        }
+        state.buffered.addLast(diff.copy());
+        if (!state.snapshotPending) {
+            requestSnapshot(state);
+        }
+    }
+
+    private static BigDecimal decimal(long fixedPoint) {
+        BigDecimal value = BigDecimal.valueOf(fixedPoint, OrderBook.SCALE).stripTrailingZeros();
+        return value.scale() < 0 ? value.setScale(0) : value;
+    }
+
+    private void requestSnapshot(BookState state) {
+        state.snapshotPending = true;
+        depthFeed.requestSnapshot(state.book.getSymbol());
+    }
+}
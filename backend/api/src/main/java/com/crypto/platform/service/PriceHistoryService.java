@@ -0,0 +1,332 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.archive.TickArchiveReader;
+import com.crypto.platform.archive.TickBlock;
+import com.crypto.platform.backtest.BarSeries;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.model.TierWatermark;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.repository.TierWatermarkRepository;
+import com.crypto.platform.series.LttbDownsampler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.crypto.platform.archive.TickArchiveFormat.toMicros;
+
+/**
+ * Price history reads, optionally downsampled with LTTB so chart payloads stay bounded
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryService {
+
+    private static final int MIN_POINTS = 3;
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final TickArchiveService tickArchiveService;
+    private final TierWatermarkRepository tierWatermarkRepository;
+    private final EntityManager entityManager;
+
+    @Value("${history.max-points.limit}")
+    private int maxPointsLimit;
+
+    /**
+     * Read history from the database. With {@code maxPoints} the rows are streamed from the
+     * cursor through the downsampler and only the selected ones are kept.
+     */
+    @Transactional(readOnly = true)
+    public List<CryptoPrice> getHistory(String symbol, Instant startTime, Instant endTime, Integer maxPoints) {
+        if (maxPoints == null) {
+            return cryptoPriceRepository.findBySymbolAndTimeRange(symbol, startTime, endTime);
+        }
+        int threshold = clamp(maxPoints);
+        long total = cryptoPriceRepository.countBySymbolAndTimeRange(symbol, startTime, endTime);
+        if (total <= threshold) {
+            return cryptoPriceRepository.findBySymbolAndTimeRange(symbol, startTime, endTime);
+        }
+
+        List<CryptoPrice> result = new ArrayList<>(threshold);
+        LttbDownsampler<CryptoPrice> downsampler =
+                new LttbDownsampler<>(total, threshold, (ordinal, price) -> result.add(price));
+        try (Stream<CryptoPrice> rows = cryptoPriceRepository.streamBySymbolAndTimeRange(symbol, startTime, endTime)) {
+            rows.forEach(price -> {
+                // Keep the persistence context flat while scanning long ranges
+                entityManager.detach(price);
+                downsampler.add(price.getTimestamp().toEpochMilli(), price.getPrice().doubleValue(), price);
+            });
+        }
+        downsampler.finish();
+        return result;
+    }
+
+    /**
+     * Read history from the local tick archive. Downsampling works on the mapped columns:
+     * one pass counts rows, one pass picks points on the price column only, and only the
+     * selected rows are materialized.
+     */
+    public List<CryptoPrice> getArchivedHistory(String symbol, Instant startTime, Instant endTime, Integer maxPoints)
+            throws IOException {
+        if (maxPoints == null) {
+            return tickArchiveService.readRange(symbol, startTime, endTime);
+        }
+        int threshold = clamp(maxPoints);
+        long from = toMicros(startTime);
+        long to = toMicros(endTime);
+        List<TickArchiveReader> segments = tickArchiveService.segments(symbol, startTime, endTime);
+        TickBlock block = new TickBlock(1024);
+
+        long[] total = new long[1];
+        for (TickArchiveReader segment : segments) {
+            segment.scan(from, to, 0, block, (b, first, last) -> total[0] += last - first);
+        }
+        if (total[0] <= threshold) {
+            return tickArchiveService.readRange(symbol, startTime, endTime);
+        }
+
+        long[] selected = new long[threshold];
+        int[] selectedCount = new int[1];
+        LttbDownsampler<Void> downsampler = new LttbDownsampler<>(total[0], threshold,
+                (ordinal, ignored) -> selected[selectedCount[0]++] = ordinal);
+        for (TickArchiveReader segment : segments) {
+            segment.scan(from, to, TickBlock.mask(TickBlock.PRICE), block, (b, first, last) -> {
+                for (int row = first; row < last; row++) {
+                    downsampler.add(b.timestamp(row), b.doubleValue(TickBlock.PRICE, row), null);
+                }
+            });
+        }
+        downsampler.finish();
+
+        return materialize(symbol, segments, from, to, Arrays.copyOf(selected, selectedCount[0]), block);
+    }
+
+    /**
+     * Read history across both storage tiers. Ticks before the symbol's tier watermark only
+     * exist in the archive, later ones in the database; the range is split at the watermark,
+     * the cold part is scanned with range and column pushdown, the hot part is streamed from
+     * the cursor, and both feed one downsampler in time order.
+     */
+    @Transactional(readOnly = true)
+    public List<CryptoPrice> getTieredHistory(String symbol, Instant startTime, Instant endTime, Integer maxPoints)
+            throws IOException {
+        Instant coldBefore = tierWatermarkRepository.findById(symbol)
+                .map(TierWatermark::getColdBefore)
+                .orElse(null);
+        if (coldBefore == null || !startTime.isBefore(coldBefore)) {
+            return getHistory(symbol, startTime, endTime, maxPoints);
+        }
+        if (endTime.isBefore(coldBefore)) {
+            return getArchivedHistory(symbol, startTime, endTime, maxPoints);
+        }
+        Instant coldEnd = coldBefore.minusNanos(1000);
+        long from = toMicros(startTime);
+        long to = toMicros(coldEnd);
+        List<TickArchiveReader> segments = tickArchiveService.segments(symbol, startTime, coldEnd);
+        TickBlock block = new TickBlock(1024);
+
+        long[] coldCount = new long[1];
+        for (TickArchiveReader segment : segments) {
+            segment.scan(from, to, 0, block, (b, first, last) -> coldCount[0] += last - first);
+        }
+        long hotCount = cryptoPriceRepository.countBySymbolAndTimeRange(symbol, coldBefore, endTime);
+        long total = coldCount[0] + hotCount;
+        if (maxPoints == null || total <= clamp(maxPoints)) {
+            List<CryptoPrice> result = new ArrayList<>((int) Math.min(total, Integer.MAX_VALUE));
+            result.addAll(tickArchiveService.readRange(symbol, startTime, coldEnd));
+            result.addAll(cryptoPriceRepository.findBySymbolAndTimeRange(symbol, coldBefore, endTime));
+            return result;
+        }
+
+        int threshold = clamp(maxPoints);
+        long[] coldSelected = new long[threshold];
+        int[] coldSelectedCount = new int[1];
+        List<CryptoPrice> hotSelected = new ArrayList<>();
+        // Cold rows carry no payload and are materialized by ordinal afterwards; x is in micros for both tiers
+        LttbDownsampler<CryptoPrice> downsampler = new LttbDownsampler<>(total, threshold, (ordinal, price) -> {
+            if (price == null) {
+                coldSelected[coldSelectedCount[0]++] = ordinal;
+            } else {
+                hotSelected.add(price);
+            }
+        });
+        for (TickArchiveReader segment : segments) {
+            segment.scan(from, to, TickBlock.mask(TickBlock.PRICE), block, (b, first, last) -> {
+                for (int row = first; row < last; row++) {
+                    downsampler.add(b.timestamp(row), b.doubleValue(TickBlock.PRICE, row), null);
+                }
+            });
+        }
+        try (Stream<CryptoPrice> rows = cryptoPriceRepository.streamBySymbolAndTimeRange(symbol, coldBefore, endTime)) {
+            rows.forEach(price -> {
+                entityManager.detach(price);
+                downsampler.add(toMicros(price.getTimestamp()), price.getPrice().doubleValue(), price);
+            });
+        }
+        downsampler.finish();
+
+        List<CryptoPrice> result = materialize(symbol, segments, from, to,
+                Arrays.copyOf(coldSelected, coldSelectedCount[0]), block);
+        result.addAll(hotSelected);
+        return result;
+    }
+
+    /**
+     * One keyset page of a symbol's ticks before (timestamp, id), newest first; a null
+     * timestamp starts at the newest tick. Each page is one index range scan of
+     * (symbol, timestamp, id), however far back it starts.
+     */
+    @Transactional(readOnly = true)
+    public List<CryptoPrice> getRecentPage(String symbol, Instant beforeTimestamp, long beforeId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return beforeTimestamp == null
+                ? cryptoPriceRepository.findBySymbolOrderByTimestampDescIdDesc(symbol, page)
+                : cryptoPriceRepository.findPageBefore(symbol, beforeTimestamp, beforeId, page);
+    }
+
+    /**
+     * One keyset page of history after (timestamp, id) up to endTime, oldest first, from the
+     * database ("db"), the archive ("archive") or both split at the tier watermark ("auto").
+     * A page that runs out of archived ticks continues in the database.
+     */
+    @Transactional(readOnly = true)
+    public List<CryptoPrice> getHistoryPage(String symbol, Instant afterTimestamp, long afterId, Instant endTime,
+                                            String source, int limit) throws IOException {
+        List<CryptoPrice> page = new ArrayList<>();
+        Instant coldBefore = coldBefore(symbol, source, endTime);
+        if (coldBefore != null && afterTimestamp.isBefore(coldBefore)) {
+            Instant coldEnd = coldBefore.isAfter(endTime) ? endTime : coldBefore.minusNanos(1000);
+            tickArchiveService.scanPage(symbol, toMicros(afterTimestamp), afterId, toMicros(coldEnd), limit,
+                    (block, row) -> page.add(block.toCryptoPrice(symbol, row)));
+            if (page.size() == limit || coldBefore.isAfter(endTime)) {
+                return page;
+            }
+            afterTimestamp = coldBefore;
+            afterId = 0;
+        }
+        page.addAll(cryptoPriceRepository.findPageAfter(symbol, afterTimestamp, afterId, endTime,
+                PageRequest.of(0, limit - page.size())));
+        return page;
+    }
+
+    /**
+     * Aggregate the ticks of a range into OHLC bars from the database, streaming the rows
+     */
+    @Transactional(readOnly = true)
+    public BarSeries getBars(String symbol, Instant startTime, Instant endTime, long intervalMs) {
+        BarSeries.Builder bars = BarSeries.builder(intervalMs);
+        addBars(bars, symbol, startTime, endTime);
+        return bars.build();
+    }
+
+    /**
+     * Aggregate the ticks of a range into OHLC bars from the tick archive, reading only the
+     * price column
+     */
+    public BarSeries getArchivedBars(String symbol, Instant startTime, Instant endTime, long intervalMs)
+            throws IOException {
+        BarSeries.Builder bars = BarSeries.builder(intervalMs);
+        addArchivedBars(bars, symbol, startTime, endTime);
+        return bars.build();
+    }
+
+    /**
+     * Aggregate the ticks of a range into OHLC bars across both storage tiers, split at the
+     * symbol's tier watermark like {@link #getTieredHistory}
+     */
+    @Transactional(readOnly = true)
+    public BarSeries getTieredBars(String symbol, Instant startTime, Instant endTime, long intervalMs)
+            throws IOException {
+        Instant coldBefore = getColdBefore(symbol).orElse(null);
+        if (coldBefore == null || !startTime.isBefore(coldBefore)) {
+            return getBars(symbol, startTime, endTime, intervalMs);
+        }
+        if (endTime.isBefore(coldBefore)) {
+            return getArchivedBars(symbol, startTime, endTime, intervalMs);
+        }
+        BarSeries.Builder bars = BarSeries.builder(intervalMs);
+        addArchivedBars(bars, symbol, startTime, coldBefore.minusNanos(1000));
+        addBars(bars, symbol, coldBefore, endTime);
+        return bars.build();
+    }
+
+    /**
+     * Start of the symbol's ticks in the database; older ticks were evicted to the archive
+     */
+    public Optional<Instant> getColdBefore(String symbol) {
+        return tierWatermarkRepository.findById(symbol).map(TierWatermark::getColdBefore);
+    }
+
+    private void addBars(BarSeries.Builder bars, String symbol, Instant startTime, Instant endTime) {
+        try (Stream<CryptoPrice> rows = cryptoPriceRepository.streamBySymbolAndTimeRange(symbol, startTime, endTime)) {
+            rows.forEach(price -> {
+                entityManager.detach(price);
+                bars.add(price.getTimestamp().toEpochMilli(), price.getPrice().doubleValue());
+            });
+        }
+    }
+
+    private void addArchivedBars(BarSeries.Builder bars, String symbol, Instant startTime, Instant endTime)
+            throws IOException {
+        TickBlock block = new TickBlock(1024);
+        for (TickArchiveReader segment : tickArchiveService.segments(symbol, startTime, endTime)) {
+            segment.scan(toMicros(startTime), toMicros(endTime), TickBlock.mask(TickBlock.PRICE), block,
+                    (b, first, last) -> {
+                        for (int row = first; row < last; row++) {
+                            bars.add(b.timestamp(row) / 1000, b.doubleValue(TickBlock.PRICE, row));
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Decode the archived rows at the given ordinals (ascending) of a range scan
+     */
+    private static List<CryptoPrice> materialize(String symbol, List<TickArchiveReader> segments, long from, long to,
+                                                 long[] ordinals, TickBlock block) {
+        List<CryptoPrice> result = new ArrayList<>(ordinals.length);
+        long[] ordinal = new long[1];
+        int[] next = new int[1];
+        for (TickArchiveReader segment : segments) {
+            segment.scan(from, to, TickBlock.ALL_COLUMNS, block, (b, first, last) -> {
+                for (int row = first; row < last && next[0] < ordinals.length; row++, ordinal[0]++) {
+                    if (ordinal[0] == ordinals[next[0]]) {
+                        result.add(b.toCryptoPrice(symbol, row));
+                        next[0]++;
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    private int clamp(int maxPoints) {
+        return Math.max(MIN_POINTS, Math.min(maxPoints, maxPointsLimit));
+    }
+
+    /**
+     * Where a paged read leaves the archive for the database: null when the database holds
+     * the whole range, after endTime when the archive does
+     */
+    private Instant coldBefore(String symbol, String source, Instant endTime) {
+        if ("db".equalsIgnoreCase(source)) {
+            return null;
+        }
+        if ("archive".equalsIgnoreCase(source)) {
+            return endTime.plusNanos(1000);
+        }
+        return tierWatermarkRepository.findById(symbol)
+                .map(TierWatermark::getColdBefore)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.crypto.platform.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Small LRU of response bodies for hot (endpoint, symbol, range) keys.
+ * Keys embed the data version, so entries never need invalidation: a new tick or
+ * prediction produces a new key and the old entry ages out.
+ */
+@Service
+public class ResponseCache {
+
+    private final Map<String, Object> entries;
+
+    public ResponseCache(@Value("${http.cache.response-cache.max-entries}") int maxEntries) {
+        this.entries = new LinkedHashMap<String, Object>(maxEntries, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        synchronized (entries) {
+            Object cached = entries.get(key);
+            if (cached != null) {
+                return (T) cached;
+            }
+        }
+        T value = loader.get();
+        if (value != null) {
+            synchronized (entries) {
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,238 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.event.CoherenceResyncEvent;
+import com.crypto.platform.event.PriceTickEvent;
+import com.crypto.platform.model.CryptoPrice;
+import com.crypto.platform.payload.response.RollingStatsResponse;
+import com.crypto.platform.repository.CryptoPriceRepository;
+import com.crypto.platform.stats.SymbolStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Near-real-time analytics per symbol (VWAP, EMA, variance, volatility, min/max) over
+ * 1h/24h/7d windows, maintained incrementally from the tick stream instead of Spark batches.
+ * A symbol is restored from the market state snapshot or warmed up from the database on a
+ * background thread: every tracked symbol at startup and after a coherence resync, a new one
+ * when its first tick arrives. Ticks arriving during a warm-up are buffered and applied after it,
+ * so the ingestion thread never queries the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RollingStatsService {
+
+    private final CryptoPriceRepository cryptoPriceRepository;
+    private final MarketStateCache marketStateCache;
+
+    // Window name to ISO-8601 duration, e.g. 1h=PT1H,24h=PT24H,7d=P7D
+    @Value("${stats.windows}")
+    private String windowsSpec;
+
+    @Value("${stats.expected-ticks-per-hour}")
+    private int expectedTicksPerHour;
+
+    private final ConcurrentMap<String, SymbolStatistics> statistics = new ConcurrentHashMap<>();
+    // Symbols without ticks in the longest window, so their statistics start with the next tick
+    private final Set<String> idle = ConcurrentHashMap.newKeySet();
+    // Ticks that arrived while their symbol warms up, guarded by itself
+    private final Map<String, List<CryptoPrice>> warming = new HashMap<>();
+    private Map<String, Duration> windowLengths;
+    private Duration longestWindow;
+    private ExecutorService warmUpExecutor;
+    // Bumped by a resync, so warm-ups started before it are dropped
+    private long generation;
+
+    @PostConstruct
+    public void init() {
+        Map<String, Duration> lengths = new LinkedHashMap<>();
+        for (String window : windowsSpec.split(",")) {
+            String[] parts = window.trim().split("=");
+            lengths.put(parts[0].trim(), Duration.parse(parts[1].trim()));
+        }
+        windowLengths = Collections.unmodifiableMap(lengths);
+        longestWindow = lengths.values().stream().max(Duration::compareTo).orElse(Duration.ofDays(7));
+        warmUpExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "rolling-stats-warmup"));
+        log.info("Rolling statistics windows: {}", windowLengths);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        warmUpExecutor.shutdownNow();
+    }
+
+    /**
+     * Warm up every tracked symbol the market state snapshot did not restore
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpAll() {
+        List<String> symbols = marketStateCache.getSymbols();
+        for (String symbol : symbols) {
+            requestWarmUp(symbol, null);
+        }
+        log.info("Warming up rolling statistics of {} symbols", symbols.size());
+    }
+
+    /**
+     * Statistics of a symbol; empty while it warms up and for symbols without ticks
+     */
+    public Optional<RollingStatsResponse> getStats(String symbol) {
+        return Optional.ofNullable(statistics.get(symbol))
+                .map(stats -> stats.snapshot(System.currentTimeMillis()));
+    }
+
+    @EventListener
+    public void onPriceTick(PriceTickEvent event) {
+        CryptoPrice price = event.getPrice();
+        SymbolStatistics stats = statistics.get(price.getSymbol());
+        if (stats == null) {
+            stats = startOrBuffer(price);
+        }
+        if (stats != null) {
+            update(stats, price);
+        }
+    }
+
+    /**
+     * Ticks may have been missed; every tracked symbol warms up again
+     */
+    @EventListener
+    public void onCoherenceResync(CoherenceResyncEvent event) {
+        synchronized (warming) {
+            generation++;
+            warming.clear();
+            statistics.clear();
+            idle.clear();
+        }
+        warmUpAll();
+    }
+
+    Map<String, SymbolStatistics> allStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    Duration getLongestWindow() {
+        return longestWindow;
+    }
+
+    /**
+     * Replace the statistics of a symbol with empty ones, to be filled from a snapshot
+     */
+    SymbolStatistics restore(String symbol) {
+        SymbolStatistics stats = new SymbolStatistics(symbol, windowLengths, expectedTicksPerHour);
+        statistics.put(symbol, stats);
+        return stats;
+    }
+
+    /**
+     * Statistics for the first tick of a symbol without any: fresh ones when it has been idle for
+     * the longest window, otherwise null after buffering the tick for the symbol's warm-up
+     */
+    private SymbolStatistics startOrBuffer(CryptoPrice price) {
+        String symbol = price.getSymbol();
+        synchronized (warming) {
+            SymbolStatistics stats = statistics.get(symbol);
+            if (stats != null) {
+                return stats;
+            }
+            if (idle.remove(symbol)) {
+                stats = new SymbolStatistics(symbol, windowLengths, expectedTicksPerHour);
+                statistics.put(symbol, stats);
+                return stats;
+            }
+            requestWarmUp(symbol, price);
+            return null;
+        }
+    }
+
+    private void requestWarmUp(String symbol, CryptoPrice tick) {
+        long warmUpGeneration;
+        synchronized (warming) {
+            if (statistics.containsKey(symbol) || idle.contains(symbol)) {
+                return;
+            }
+            List<CryptoPrice> buffered = warming.get(symbol);
+            if (buffered != null) {
+                if (tick != null) {
+                    buffered.add(tick);
+                }
+                return;
+            }
+            buffered = new ArrayList<>();
+            if (tick != null) {
+                buffered.add(tick);
+            }
+            warming.put(symbol, buffered);
+            warmUpGeneration = generation;
+        }
+        warmUpExecutor.execute(() -> warmUp(symbol, warmUpGeneration));
+    }
+
+    /**
+     * Build the statistics of a symbol from the last {@code longestWindow} of ticks, then apply
+     * the ticks buffered meanwhile that are newer than the history
+     */
+    private void warmUp(String symbol, long warmUpGeneration) {
+        SymbolStatistics stats = new SymbolStatistics(symbol, windowLengths, expectedTicksPerHour);
+        List<Object[]> history;
+        try {
+            history = cryptoPriceRepository.findPriceVolumeSince(symbol, Instant.now().minus(longestWindow));
+        } catch (RuntimeException e) {
+            log.warn("Rolling statistics warm-up for {} failed, retrying with its next tick: {}", symbol, e.getMessage());
+            synchronized (warming) {
+                if (warmUpGeneration == generation) {
+                    warming.remove(symbol);
+                }
+            }
+            return;
+        }
+        for (Object[] row : history) {
+            stats.update(((Instant) row[0]).toEpochMilli(), ((Number) row[1]).doubleValue(),
+                    ((Number) row[2]).doubleValue());
+        }
+        synchronized (warming) {
+            if (warmUpGeneration != generation) {
+                return;
+            }
+            List<CryptoPrice> buffered = warming.remove(symbol);
+            if (history.isEmpty() && buffered.isEmpty()) {
+                idle.add(symbol);
+                return;
+            }
+            long lastTime = history.isEmpty() ? Long.MIN_VALUE : stats.lastTime();
+            for (CryptoPrice price : buffered) {
+                if (price.getTimestamp().toEpochMilli() > lastTime) {
+                    update(stats, price);
+                }
+            }
+            statistics.put(symbol, stats);
+        }
+        log.info("Warmed up rolling statistics for {} from {} ticks", symbol, history.size());
+    }
+
+    private static void update(SymbolStatistics stats, CryptoPrice price) {
+        stats.update(price.getTimestamp().toEpochMilli(), price.getPrice().doubleValue(),
+                price.getVolume24h().doubleValue());
+    }
+}
@@ -0,0 +1,187 @@
+package com.crypto.platform.snapshot;
+
+import com.crypto.platform.model.CryptoPrice;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static com.crypto.platform.archive.TickArchiveFormat.fromMicros;
+import static com.crypto.platform.archive.TickArchiveFormat.toMicros;
+
+/**
+ * In-memory market state written to local disk for a warm restart: the latest tick and the
+ * rolling window ticks of every symbol.
+ *
+ * File layout, fixed width so the mapped file is read with bulk copies:
+ * <pre>
+ *   header : magic(int) version(byte) createdAtMs(long) lastTickId(long) windowMs(long) symbolCount(int)
+ *   symbol : symbolLength(short) symbol(utf-8) hasLatest(byte)
+ *            [id(long) timestampMicros(long) price volume24h marketCap high24h low24h change(double)]
+ *            count(int) times[count](long ms) prices[count](double) volumes[count](double)
+ *   footer : crc32c(int) of everything before it, magic(int)
+ * </pre>
+ * The file is written next to the target and moved over it, so a reader sees either the old
+ * or the new snapshot; a torn or corrupted file fails the checksum.
+ */
+@Getter
+@AllArgsConstructor
+public class MarketStateSnapshot {
+
+    public static final int MAGIC = 0x434D5331; // "CMS1"
+    public static final byte VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 1 + 8 + 8 + 8 + 4;
+    private static final int LATEST_BYTES = 8 + 8 + 6 * 8;
+    private static final int FOOTER_BYTES = 4 + 4;
+
+    private final long createdAtMs;
+    // Every tick up to this id is reflected in the snapshot
+    private final long lastTickId;
+    // Length of the longest rolling window when the snapshot was taken
+    private final long windowMs;
+    private final List<SymbolState> symbols;
+
+    @Getter
+    @AllArgsConstructor
+    public static class SymbolState {
+        private final String symbol;
+        private final CryptoPrice latest;
+        private final int count;
+        private final long[] times;
+        private final double[] prices;
+        private final double[] volumes;
+    }
+
+    public void write(Path path) throws IOException {
+        int size = HEADER_BYTES + FOOTER_BYTES;
+        List<byte[]> names = new ArrayList<>(symbols.size());
+        for (SymbolState state : symbols) {
+            byte[] name = state.symbol.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += 2 + name.length + 1 + (state.latest != null ? LATEST_BYTES : 0) + 4 + state.count * 24;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).put(VERSION).putLong(createdAtMs).putLong(lastTickId).putLong(windowMs)
+                .putInt(symbols.size());
+        for (int i = 0; i < symbols.size(); i++) {
+            SymbolState state = symbols.get(i);
+            byte[] name = names.get(i);
+            buffer.putShort((short) name.length).put(name);
+            CryptoPrice latest = state.latest;
+            buffer.put((byte) (latest != null ? 1 : 0));
+            if (latest != null) {
+                buffer.putLong(latest.getId()).putLong(toMicros(latest.getTimestamp()))
+                        .putDouble(latest.getPrice().doubleValue())
+                        .putDouble(latest.getVolume24h().doubleValue())
+                        .putDouble(latest.getMarketCap().doubleValue())
+                        .putDouble(latest.getHigh24h().doubleValue())
+                        .putDouble(latest.getLow24h().doubleValue())
+                        .putDouble(latest.getPriceChangePercent24h().doubleValue());
+            }
+            buffer.putInt(state.count);
+            buffer.asLongBuffer().put(state.times, 0, state.count);
+            buffer.position(buffer.position() + state.count * 8);
+            buffer.asDoubleBuffer().put(state.prices, 0, state.count);
+            buffer.position(buffer.position() + state.count * 8);
+            buffer.asDoubleBuffer().put(state.volumes, 0, state.count);
+            buffer.position(buffer.position() + state.count * 8);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue()).putInt(MAGIC);
+        buffer.flip();
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Map and verify a snapshot file
+     *
+     * @throws IOException when the file cannot be read or fails its checksum
+     */
+    public static MarketStateSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES + FOOTER_BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a market state snapshot: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int footer = (int) fileSize - FOOTER_BYTES;
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(footer + 4) != MAGIC) {
+                throw new IOException("Not a market state snapshot: " + path);
+            }
+            if (buffer.get(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + buffer.get(4) + ": " + path);
+            }
+            CRC32C crc = new CRC32C();
+            ByteBuffer content = buffer.duplicate();
+            content.limit(footer);
+            crc.update(content);
+            if ((int) crc.getValue() != buffer.getInt(footer)) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+
+            buffer.position(5);
+            long createdAtMs = buffer.getLong();
+            long lastTickId = buffer.getLong();
+            long windowMs = buffer.getLong();
+            int symbolCount = buffer.getInt();
+            List<SymbolState> symbols = new ArrayList<>(symbolCount);
+            for (int i = 0; i < symbolCount; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                String symbol = new String(name, StandardCharsets.UTF_8);
+                CryptoPrice latest = null;
+                if (buffer.get() == 1) {
+                    latest = CryptoPrice.builder()
+                            .id(buffer.getLong())
+                            .symbol(symbol)
+                            .timestamp(fromMicros(buffer.getLong()))
+                            .price(BigDecimal.valueOf(buffer.getDouble()))
+                            .volume24h(BigDecimal.valueOf(buffer.getDouble()))
+                            .marketCap(BigDecimal.valueOf(buffer.getDouble()))
+                            .high24h(BigDecimal.valueOf(buffer.getDouble()))
+                            .low24h(BigDecimal.valueOf(buffer.getDouble()))
+                            .priceChangePercent24h(BigDecimal.valueOf(buffer.getDouble()))
+                            .build();
+                }
+                int count = buffer.getInt();
+                long[] times = new long[count];
+                double[] prices = new double[count];
+                double[] volumes = new double[count];
+                buffer.asLongBuffer().get(times);
+                buffer.position(buffer.position() + count * 8);
+                buffer.asDoubleBuffer().get(prices);
+                buffer.position(buffer.position() + count * 8);
+                buffer.asDoubleBuffer().get(volumes);
+                buffer.position(buffer.position() + count * 8);
+                symbols.add(new SymbolState(symbol, latest, count, times, prices, volumes));
+            }
+            return new MarketStateSnapshot(createdAtMs, lastTickId, windowMs, Collections.unmodifiableList(symbols));
+        }
+    }
+}
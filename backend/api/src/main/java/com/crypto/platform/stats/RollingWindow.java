@@ -0,0 +1,279 @@
+package com.crypto.platform.stats;
+
+/**
+ * Time-based sliding window over a tick stream with O(1) amortized updates.
+ *
+ * Ticks live in primitive ring buffers; expired ticks are evicted from the head as new ones
+ * arrive. Running sums give the VWAP, Welford's add/remove recurrences give the price variance
+ * and the variance of log returns (volatility), and two monotonic index deques give min/max.
+ * The EMA uses a time-aware smoothing factor so irregular tick spacing is handled.
+ *
+ * Not thread-safe; {@link SymbolStatistics} serializes access.
+ */
+public class RollingWindow {
+
+    private final long lengthMs;
+
+    // Ring buffer of ticks, addressed by a monotonically increasing sequence number
+    private long[] times;
+    private double[] prices;
+    private double[] volumes;
+    private double[] returns;
+    private long head;
+    private long tail;
+
+    // Monotonic deques of sequence numbers: increasing prices for min, decreasing for max
+    private long[] minQueue;
+    private long[] maxQueue;
+    private long minHead;
+    private long minTail;
+    private long maxHead;
+    private long maxTail;
+
+    private double sumPriceVolume;
+    private double sumVolume;
+
+    private double priceMean;
+    private double priceM2;
+
+    private long returnCount;
+    private double returnMean;
+    private double returnM2;
+
+    private double ema = Double.NaN;
+    private long lastTime = Long.MIN_VALUE;
+    private double lastPrice = Double.NaN;
+
+    public RollingWindow(long lengthMs, int initialCapacity) {
+        this.lengthMs = lengthMs;
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity) - 1) << 1;
+        times = new long[capacity];
+        prices = new double[capacity];
+        volumes = new double[capacity];
+        returns = new double[capacity];
+        minQueue = new long[capacity];
+        maxQueue = new long[capacity];
+    }
+
+    public long getLengthMs() {
+        return lengthMs;
+    }
+
+    /**
+     * Add a tick; ticks not newer than the last one (late or duplicate) are ignored
+     */
+    public void add(long timeMs, double price, double volume) {
+        if (timeMs <= lastTime) {
+            return;
+        }
+        evict(timeMs);
+        if (tail - head == times.length) {
+            grow();
+        }
+
+        double logReturn = Double.NaN;
+        if (!Double.isNaN(lastPrice) && lastPrice > 0 && price > 0) {
+            logReturn = Math.log(price / lastPrice);
+        }
+        if (Double.isNaN(ema)) {
+            ema = price;
+        } else {
+            double alpha = 1 - Math.exp(-(double) (timeMs - lastTime) / lengthMs);
+            ema += alpha * (price - ema);
+        }
+
+        int slot = slot(tail);
+        times[slot] = timeMs;
+        prices[slot] = price;
+        volumes[slot] = volume;
+        returns[slot] = logReturn;
+
+        sumPriceVolume += price * volume;
+        sumVolume += volume;
+
+        long n = tail - head + 1;
+        double delta = price - priceMean;
+        priceMean += delta / n;
+        priceM2 += delta * (price - priceMean);
+
+        if (!Double.isNaN(logReturn)) {
+            returnCount++;
+            double d = logReturn - returnMean;
+            returnMean += d / returnCount;
+            returnM2 += d * (logReturn - returnMean);
+        }
+
+        while (minTail > minHead && prices[slot(minQueue[slot(minTail - 1)])] >= price) {
+            minTail--;
+        }
+        minQueue[slot(minTail++)] = tail;
+        while (maxTail > maxHead && prices[slot(maxQueue[slot(maxTail - 1)])] <= price) {
+            maxTail--;
+        }
+        maxQueue[slot(maxTail++)] = tail;
+
+        tail++;
+        lastTime = timeMs;
+        lastPrice = price;
+    }
+
+    /**
+     * Drop ticks that fell out of the window as of {@code nowMs}
+     */
+    public void evict(long nowMs) {
+        long cutoff = nowMs - lengthMs;
+        while (head < tail && times[slot(head)] <= cutoff) {
+            removeHead();
+        }
+    }
+
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    public double vwap() {
+        return sumVolume > 0 ? sumPriceVolume / sumVolume : Double.NaN;
+    }
+
+    public double ema() {
+        return ema;
+    }
+
+    public double mean() {
+        return size() > 0 ? priceMean : Double.NaN;
+    }
+
+    public double stdDev() {
+        return size() > 1 ? Math.sqrt(Math.max(priceM2, 0) / (size() - 1)) : Double.NaN;
+    }
+
+    /**
+     * Standard deviation of tick-to-tick log returns in the window
+     */
+    public double volatility() {
+        return returnCount > 1 ? Math.sqrt(Math.max(returnM2, 0) / (returnCount - 1)) : Double.NaN;
+    }
+
+    public double min() {
+        return minTail > minHead ? prices[slot(minQueue[slot(minHead)])] : Double.NaN;
+    }
+
+    public double max() {
+        return maxTail > maxHead ? prices[slot(maxQueue[slot(maxHead)])] : Double.NaN;
+    }
+
+    public double first() {
+        return size() > 0 ? prices[slot(head)] : Double.NaN;
+    }
+
+    public double last() {
+        return lastPrice;
+    }
+
+    public long firstTime() {
+        return size() > 0 ? times[slot(head)] : Long.MIN_VALUE;
+    }
+
+    public long lastTime() {
+        return lastTime;
+    }
+
+    /**
+     * Visit the ticks currently in the window, oldest first (used for snapshots)
+     */
+    public void forEach(TickVisitor visitor) {
+        for (long seq = head; seq < tail; seq++) {
+            int slot = slot(seq);
+            visitor.visit(times[slot], prices[slot], volumes[slot]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface TickVisitor {
+        void visit(long timeMs, double price, double volume);
+    }
+
+    private void removeHead() {
+        int slot = slot(head);
+        double price = prices[slot];
+        double volume = volumes[slot];
+        double logReturn = returns[slot];
+
+        sumPriceVolume -= price * volume;
+        sumVolume -= volume;
+
+        long n = tail - head - 1;
+        if (n == 0) {
+            priceMean = 0;
+            priceM2 = 0;
+            sumPriceVolume = 0;
+            sumVolume = 0;
+        } else {
+            double delta = price - priceMean;
+            priceMean -= delta / n;
+            priceM2 -= delta * (price - priceMean);
+        }
+
+        if (!Double.isNaN(logReturn)) {
+            returnCount--;
+            if (returnCount == 0) {
+                returnMean = 0;
+                returnM2 = 0;
+            } else {
+                double d = logReturn - returnMean;
+                returnMean -= d / returnCount;
+                returnM2 -= d * (logReturn - returnMean);
+            }
+        }
+
+        if (minTail > minHead && minQueue[slot(minHead)] == head) {
+            minHead++;
+        }
+        if (maxTail > maxHead && maxQueue[slot(maxHead)] == head) {
+            maxHead++;
+        }
+        head++;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & (times.length - 1));
+    }
+
+    private void grow() {
+        int oldCapacity = times.length;
+        int newCapacity = oldCapacity << 1;
+        times = regrow(times, newCapacity, oldCapacity);
+        prices = regrow(prices, newCapacity, oldCapacity);
+        volumes = regrow(volumes, newCapacity, oldCapacity);
+        returns = regrow(returns, newCapacity, oldCapacity);
+        minQueue = regrowQueue(minQueue, minHead, minTail, newCapacity, oldCapacity);
+        maxQueue = regrowQueue(maxQueue, maxHead, maxTail, newCapacity, oldCapacity);
+    }
+
+    /**
+     * Re-lay a full ring so every live sequence number maps to the same slot formula
+     */
+    private long[] regrow(long[] source, int newCapacity, int oldCapacity) {
+        long[] target = new long[newCapacity];
+        for (long seq = head; seq < tail; seq++) {
+            target[(int) (seq & (newCapacity - 1))] = source[(int) (seq & (oldCapacity - 1))];
+        }
+        return target;
+    }
+
+    private double[] regrow(double[] source, int newCapacity, int oldCapacity) {
+        double[] target = new double[newCapacity];
+        for (long seq = head; seq < tail; seq++) {
+            target[(int) (seq & (newCapacity - 1))] = source[(int) (seq & (oldCapacity - 1))];
+        }
+        return target;
+    }
+
+    private static long[] regrowQueue(long[] source, long from, long to, int newCapacity, int oldCapacity) {
+        long[] target = new long[newCapacity];
+        for (long i = from; i < to; i++) {
+            target[(int) (i & (newCapacity - 1))] = source[(int) (i & (oldCapacity - 1))];
+        }
+        return target;
+    }
+}
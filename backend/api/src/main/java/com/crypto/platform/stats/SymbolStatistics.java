@@ -0,0 +1,83 @@
+package com.crypto.platform.stats;
+
+import com.crypto.platform.payload.response.RollingStatsResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rolling statistics of one symbol over several window lengths, updated per tick
+ */
+public class SymbolStatistics {
+
+    private final String symbol;
+    private final String[] names;
+    private final RollingWindow[] windows;
+
+    public SymbolStatistics(String symbol, Map<String, Duration> windowLengths, int expectedTicksPerHour) {
+        this.symbol = symbol;
+        this.names = windowLengths.keySet().toArray(new String[0]);
+        this.windows = new RollingWindow[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Duration length = windowLengths.get(names[i]);
+            int capacity = (int) Math.min(1 << 20, Math.max(16, length.toHours() * expectedTicksPerHour));
+            windows[i] = new RollingWindow(length.toMillis(), capacity);
+        }
+    }
+
+    public synchronized void update(long timeMs, double price, double volume) {
+        for (RollingWindow window : windows) {
+            window.add(timeMs, price, volume);
+        }
+    }
+
+    public synchronized long lastTime() {
+        return windows.length > 0 ? windows[0].lastTime() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Visit the ticks of the longest window (it contains every shorter one), oldest first
+     */
+    public synchronized void forEachTick(RollingWindow.TickVisitor visitor) {
+        RollingWindow longest = null;
+        for (RollingWindow window : windows) {
+            if (longest == null || window.getLengthMs() > longest.getLengthMs()) {
+                longest = window;
+            }
+        }
+        if (longest != null) {
+            longest.forEach(visitor);
+        }
+    }
+
+    public synchronized RollingStatsResponse snapshot(long nowMs) {
+        Map<String, RollingStatsResponse.WindowStats> result = new LinkedHashMap<>();
+        for (int i = 0; i < windows.length; i++) {
+            RollingWindow window = windows[i];
+            window.evict(nowMs);
+            result.put(names[i], RollingStatsResponse.WindowStats.builder()
+                    .count(window.size())
+                    .from(window.size() > 0 ? Instant.ofEpochMilli(window.firstTime()) : null)
+                    .vwap(finite(window.vwap()))
+                    .ema(finite(window.ema()))
+                    .mean(finite(window.mean()))
+                    .stdDev(finite(window.stdDev()))
+                    .volatility(finite(window.volatility()))
+                    .min(finite(window.min()))
+                    .max(finite(window.max()))
+                    .changePercent(window.size() > 0 ? finite((window.last() / window.first() - 1) * 100) : null)
+                    .build());
+        }
+        long last = lastTime();
+        return new RollingStatsResponse(symbol,
+                last == Long.MIN_VALUE ? null : Instant.ofEpochMilli(last),
+                finite(windows.length > 0 ? windows[0].last() : Double.NaN),
+                result);
+    }
+
+    private static Double finite(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+}
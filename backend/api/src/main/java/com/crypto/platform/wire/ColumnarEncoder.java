@@ -0,0 +1,151 @@
+package com.crypto.platform.wire;
+
+import com.crypto.platform.archive.TickArchiveWriter;
+import com.crypto.platform.archive.TickBlock;
+import com.crypto.platform.model.CryptoPrice;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static com.crypto.platform.archive.TickArchiveFormat.fromMicros;
+
+/**
+ * Encodes price and prediction columns in a {@link WireFormat}.
+ *
+ * JSON and CBOR share one layout, written with the streaming generator straight from the
+ * primitive arrays:
+ * <pre>
+ *   {"symbol": "BTCUSDT", "count": n, "timestamp": [epoch ms...], "id": [...], "price": [...], ...}
+ * </pre>
+ */
+public final class ColumnarEncoder {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final JsonFactory CBOR = new CBORFactory();
+
+    private static final int ARCHIVE_BLOCK_SIZE = 1024;
+    private static final String[] TICK_FIELDS =
+            {"price", "volume24h", "marketCap", "high24h", "low24h", "priceChangePercent24h"};
+
+    private ColumnarEncoder() {
+    }
+
+    public static byte[] encode(WireFormat format, TickColumns ticks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ticks.size() * 16 + 256);
+        if (format == WireFormat.TICK_ARCHIVE) {
+            writeArchive(ticks, out);
+        } else {
+            try (JsonGenerator generator = factory(format).createGenerator(out)) {
+                writeTicks(generator, ticks);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(WireFormat format, PredictionColumns predictions) throws IOException {
+        if (format == WireFormat.TICK_ARCHIVE) {
+            throw new IllegalArgumentException("Predictions have no tick archive encoding");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(predictions.size() * 48 + 256);
+        try (JsonGenerator generator = factory(format).createGenerator(out)) {
+            writePredictions(generator, predictions);
+        }
+        return out.toByteArray();
+    }
+
+    private static JsonFactory factory(WireFormat format) {
+        return format == WireFormat.CBOR ? CBOR : JSON;
+    }
+
+    private static void writeTicks(JsonGenerator generator, TickColumns ticks) throws IOException {
+        int size = ticks.size();
+        generator.writeStartObject();
+        generator.writeStringField("symbol", ticks.getSymbol());
+        generator.writeNumberField("count", size);
+
+        generator.writeArrayFieldStart("timestamp");
+        long[] timestamps = ticks.timestamps();
+        for (int i = 0; i < size; i++) {
+            generator.writeNumber(Math.floorDiv(timestamps[i], 1000L));
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName("id");
+        generator.writeArray(ticks.ids(), 0, size);
+        for (int c = 0; c < TickBlock.DECIMAL_COLUMNS; c++) {
+            generator.writeFieldName(TICK_FIELDS[c]);
+            generator.writeArray(ticks.column(c), 0, size);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writePredictions(JsonGenerator generator, PredictionColumns predictions) throws IOException {
+        int size = predictions.size();
+        generator.writeStartObject();
+        generator.writeStringField("symbol", predictions.getSymbol());
+        generator.writeNumberField("count", size);
+        generator.writeFieldName("targetDate");
+        generator.writeArray(predictions.targetDates(), 0, size);
+        generator.writeFieldName("id");
+        generator.writeArray(predictions.ids(), 0, size);
+        generator.writeFieldName("predictedPrice");
+        generator.writeArray(predictions.predictedPrices(), 0, size);
+        generator.writeFieldName("confidenceInterval");
+        generator.writeArray(predictions.confidenceIntervals(), 0, size);
+
+        generator.writeArrayFieldStart("accuracy");
+        for (double accuracy : predictions.accuracies()) {
+            if (Double.isNaN(accuracy)) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(accuracy);
+            }
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName("createdAt");
+        generator.writeArray(predictions.createdAts(), 0, size);
+        generator.writeArrayFieldStart("model");
+        for (String model : predictions.models()) {
+            generator.writeString(model);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Only the rows of the block being encoded are turned into transient prices; values go
+     * back to decimals through their shortest representation, which restores feed prices exactly
+     */
+    private static void writeArchive(TickColumns ticks, OutputStream out) throws IOException {
+        try (TickArchiveWriter writer = new TickArchiveWriter(out, ticks.getSymbol(), ARCHIVE_BLOCK_SIZE)) {
+            for (int row = 0; row < ticks.size(); row++) {
+                writer.append(CryptoPrice.builder()
+                        .id(ticks.id(row))
+                        .symbol(ticks.getSymbol())
+                        .price(decimal(ticks, TickBlock.PRICE, row))
+                        .volume24h(decimal(ticks, TickBlock.VOLUME_24H, row))
+                        .marketCap(decimal(ticks, TickBlock.MARKET_CAP, row))
+                        .high24h(decimal(ticks, TickBlock.HIGH_24H, row))
+                        .low24h(decimal(ticks, TickBlock.LOW_24H, row))
+                        .priceChangePercent24h(decimal(ticks, TickBlock.PRICE_CHANGE_PERCENT_24H, row))
+                        .timestamp(timestamp(ticks, row))
+                        .build());
+            }
+        }
+    }
+
+    private static BigDecimal decimal(TickColumns ticks, int column, int row) {
+        return BigDecimal.valueOf(ticks.value(column, row));
+    }
+
+    private static Instant timestamp(TickColumns ticks, int row) {
+        return fromMicros(ticks.timestamp(row));
+    }
+}
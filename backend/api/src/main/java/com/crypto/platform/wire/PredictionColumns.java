@@ -0,0 +1,81 @@
+package com.crypto.platform.wire;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Predictions of one symbol as primitive columns, built from scalar query rows in the column
+ * order of {@code PricePredictionRepository#findColumnsBySymbol}. Dates are epoch millis and a
+ * missing accuracy is NaN.
+ */
+public final class PredictionColumns {
+
+    private final String symbol;
+    private final int size;
+    private final long[] targetDates;
+    private final long[] ids;
+    private final double[] predictedPrices;
+    private final double[] confidenceIntervals;
+    private final double[] accuracies;
+    private final long[] createdAts;
+    private final String[] models;
+
+    public PredictionColumns(String symbol, List<Object[]> rows) {
+        this.symbol = symbol;
+        this.size = rows.size();
+        this.targetDates = new long[size];
+        this.ids = new long[size];
+        this.predictedPrices = new double[size];
+        this.confidenceIntervals = new double[size];
+        this.accuracies = new double[size];
+        this.createdAts = new long[size];
+        this.models = new String[size];
+        for (int i = 0; i < size; i++) {
+            Object[] row = rows.get(i);
+            targetDates[i] = ((Instant) row[0]).toEpochMilli();
+            ids[i] = ((Number) row[1]).longValue();
+            predictedPrices[i] = ((BigDecimal) row[2]).doubleValue();
+            confidenceIntervals[i] = ((BigDecimal) row[3]).doubleValue();
+            accuracies[i] = row[4] != null ? ((BigDecimal) row[4]).doubleValue() : Double.NaN;
+            createdAts[i] = ((Instant) row[5]).toEpochMilli();
+            models[i] = (String) row[6];
+        }
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] targetDates() {
+        return targetDates;
+    }
+
+    public long[] ids() {
+        return ids;
+    }
+
+    public double[] predictedPrices() {
+        return predictedPrices;
+    }
+
+    public double[] confidenceIntervals() {
+        return confidenceIntervals;
+    }
+
+    public double[] accuracies() {
+        return accuracies;
+    }
+
+    public long[] createdAts() {
+        return createdAts;
+    }
+
+    public String[] models() {
+        return models;
+    }
+}
@@ -0,0 +1,139 @@
+package com.crypto.platform.wire;
+
+import com.crypto.platform.archive.TickArchiveFormat;
+import com.crypto.platform.archive.TickBlock;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Ticks of one symbol held as growable primitive columns, filled straight from query rows or
+ * archive blocks so no entity is created per tick. Timestamps are epoch micros.
+ */
+public final class TickColumns {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final String symbol;
+    private int size;
+    private long[] timestamps;
+    private long[] ids;
+    private double[][] values;
+
+    public TickColumns(String symbol) {
+        this(symbol, INITIAL_CAPACITY);
+    }
+
+    public TickColumns(String symbol, int capacity) {
+        this.symbol = symbol;
+        int initial = Math.max(capacity, 1);
+        this.timestamps = new long[initial];
+        this.ids = new long[initial];
+        this.values = new double[TickBlock.DECIMAL_COLUMNS][initial];
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timestamp(int row) {
+        return timestamps[row];
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    /**
+     * @param column one of the {@link TickBlock} column constants
+     */
+    public double value(int column, int row) {
+        return values[column][row];
+    }
+
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public long[] ids() {
+        return ids;
+    }
+
+    public double[] column(int column) {
+        return values[column];
+    }
+
+    /**
+     * Append a scalar row in the column order of
+     * {@code CryptoPriceRepository#streamColumnsBySymbolAndTimeRange}
+     */
+    public void addRow(Object[] row) {
+        int at = next();
+        timestamps[at] = TickArchiveFormat.toMicros((Instant) row[0]);
+        ids[at] = row[1] != null ? ((Number) row[1]).longValue() : 0L;
+        for (int c = 0; c < TickBlock.DECIMAL_COLUMNS; c++) {
+            BigDecimal value = (BigDecimal) row[2 + c];
+            values[c][at] = value != null ? value.doubleValue() : 0.0;
+        }
+    }
+
+    /**
+     * Append a decoded archive row; the block must have been scanned with all columns
+     */
+    public void addRow(TickBlock block, int row) {
+        int at = next();
+        timestamps[at] = block.timestamp(row);
+        ids[at] = block.id(row);
+        for (int c = 0; c < TickBlock.DECIMAL_COLUMNS; c++) {
+            values[c][at] = block.doubleValue(c, row);
+        }
+    }
+
+    public void addAll(TickColumns other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.timestamps, 0, timestamps, size, other.size);
+        System.arraycopy(other.ids, 0, ids, size, other.size);
+        for (int c = 0; c < TickBlock.DECIMAL_COLUMNS; c++) {
+            System.arraycopy(other.values[c], 0, values[c], size, other.size);
+        }
+        size += other.size;
+    }
+
+    /**
+     * Copy the rows at the given ascending positions into {@code target}
+     */
+    public void copyRows(int[] rows, int from, int to, TickColumns target) {
+        target.ensureCapacity(target.size + (to - from));
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            int at = target.size++;
+            target.timestamps[at] = timestamps[row];
+            target.ids[at] = ids[row];
+            for (int c = 0; c < TickBlock.DECIMAL_COLUMNS; c++) {
+                target.values[c][at] = values[c][row];
+            }
+        }
+    }
+
+    private int next() {
+        ensureCapacity(size + 1);
+        return size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= timestamps.length) {
+            return;
+        }
+        int grown = Math.max(capacity, timestamps.length + (timestamps.length >> 1));
+        timestamps = Arrays.copyOf(timestamps, grown);
+        ids = Arrays.copyOf(ids, grown);
+        for (int c = 0; c < TickBlock.DECIMAL_COLUMNS; c++) {
+            values[c] = Arrays.copyOf(values[c], grown);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.crypto.platform.wire;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compact encodings of price series, selected by the Accept header. Row-oriented JSON stays
+ * the default; these are opt-in for chart and data-science clients.
+ */
+public enum WireFormat {
+
+    /**
+     * One JSON object of parallel arrays, field names written once per column
+     */
+    COLUMNAR_JSON(WireFormat.COLUMNAR_JSON_VALUE),
+
+    /**
+     * The columnar layout encoded as CBOR (RFC 8949), numbers as native binary values
+     */
+    CBOR(WireFormat.CBOR_VALUE),
+
+    /**
+     * The tick archive file format ({@code .cta}): delta encoded fixed-point columns
+     */
+    TICK_ARCHIVE(WireFormat.TICK_ARCHIVE_VALUE);
+
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.crypto.columnar+json";
+    public static final String CBOR_VALUE = "application/cbor";
+    public static final String TICK_ARCHIVE_VALUE = "application/vnd.crypto.tick-archive";
+
+    private final MediaType mediaType;
+
+    WireFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * The most preferred of the given formats the Accept header asks for explicitly
+     */
+    public static Optional<WireFormat> negotiate(String accept, WireFormat... supported) {
+        if (accept == null) {
+            return Optional.empty();
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            for (WireFormat format : supported) {
+                // Wildcards must not select a binary format by accident
+                if (!type.isWildcardType() && !type.isWildcardSubtype() && type.includes(format.mediaType)) {
+                    return Optional.of(format);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
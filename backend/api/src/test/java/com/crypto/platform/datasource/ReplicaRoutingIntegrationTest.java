@@ -0,0 +1,221 @@
+package com.crypto.platform.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Replica routing against a real primary and a streaming replica: read-only transactions go
+ * to the replica, writes, lagging replicas, reads needing newer rows and failing replicas
+ * fall back to the primary.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingIntegrationTest {
+
+    private static final DockerImageName POSTGRES = DockerImageName.parse("postgres:14");
+    private static final String USER = "crypto";
+    private static final Network NETWORK = Network.newNetwork();
+    private static final long MAX_LAG_MS = 500;
+    private static final long AWAIT_MS = 30_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>(POSTGRES)
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withUsername(USER)
+            .withCopyFileToContainer(MountableFile.forClasspathResource("replication/allow-replication.sh"),
+                    "/docker-entrypoint-initdb.d/allow-replication.sh");
+
+    @Container
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>(POSTGRES)
+            .withNetwork(NETWORK)
+            .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+            .withCommand("sh", "-c", "until pg_basebackup -h primary -U " + USER
+                    + " -D \"$PGDATA\" -R -X stream; do sleep 1; done; chmod 700 \"$PGDATA\"; exec postgres")
+            .dependsOn(PRIMARY)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*\\n", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    private HikariDataSource primary;
+    private HikariDataSource replicaDataSource;
+    private ReplicaPool replica;
+    private ReplicaRoutingDataSource routing;
+    private ReplicaHealthChecker checker;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void createSchema() throws InterruptedException {
+        try (HikariDataSource primary = pool("setup", PRIMARY.getJdbcUrl(), false);
+             HikariDataSource replica = pool("setup-replica", replicaUrl(), true)) {
+            new JdbcTemplate(primary).execute("CREATE TABLE crypto_prices (id bigserial PRIMARY KEY, symbol text)");
+            new JdbcTemplate(primary).execute("CREATE TABLE price_predictions (id bigserial PRIMARY KEY, symbol text)");
+            JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+            await(() -> replicaJdbc.queryForObject(
+                    "SELECT to_regclass('price_predictions') IS NOT NULL", Boolean.class));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary = pool("primary", PRIMARY.getJdbcUrl(), false);
+        replicaDataSource = pool("replica-1", replicaUrl(), true);
+        replica = new ReplicaPool("replica-1", replicaDataSource);
+        routing = new ReplicaRoutingDataSource(primary, Collections.singletonList(replica), MAX_LAG_MS, 1);
+        checker = new ReplicaHealthChecker(primary, routing);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        primary.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        checker.check();
+
+        assertTrue(replica.isHealthy());
+        assertTrue(readOnlyOnReplica());
+        assertFalse(readWriteOnReplica());
+        assertFalse(primaryOnlyOnReplica());
+    }
+
+    @Test
+    void readsNeedingNewerTicksFallBackToThePrimary() throws InterruptedException {
+        checker.check();
+        long seen = replica.getMaxTickId();
+        long inserted = insertTick();
+
+        // The replica has not been checked since the insert, so it cannot promise that tick
+        assertTrue(tickOnReplica(seen));
+        assertFalse(tickOnReplica(inserted));
+
+        awaitCheck(() -> replica.getMaxTickId() >= inserted);
+        assertTrue(tickOnReplica(inserted));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() throws InterruptedException {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replicaDataSource);
+        replicaJdbc.execute("SELECT pg_wal_replay_pause()");
+        try {
+            insertTick();
+            Thread.sleep(MAX_LAG_MS * 3);
+            checker.check();
+
+            assertTrue(replica.isHealthy());
+            assertTrue(replica.getLagMs() > MAX_LAG_MS);
+            assertFalse(readOnlyOnReplica());
+        } finally {
+            replicaJdbc.execute("SELECT pg_wal_replay_resume()");
+        }
+
+        awaitCheck(() -> replica.getLagMs() <= MAX_LAG_MS);
+        assertTrue(readOnlyOnReplica());
+    }
+
+    @Test
+    void failingReplicaIsEvicted() {
+        checker.check();
+        assertTrue(readOnlyOnReplica());
+
+        // A closed pool refuses connections like an unreachable replica
+        replicaDataSource.close();
+        checker.check();
+
+        assertFalse(replica.isHealthy());
+        assertNotNull(replica.getLastError());
+        assertFalse(readOnlyOnReplica());
+    }
+
+    private boolean readOnlyOnReplica() {
+        return readOnly.execute(status -> inRecovery());
+    }
+
+    private boolean readWriteOnReplica() {
+        return readWrite.execute(status -> inRecovery());
+    }
+
+    private boolean tickOnReplica(long tickId) {
+        return ReadFreshness.atLeastTick(tickId, this::readOnlyOnReplica);
+    }
+
+    private boolean primaryOnlyOnReplica() {
+        return ReadFreshness.primary(this::readOnlyOnReplica);
+    }
+
+    private boolean inRecovery() {
+        return jdbc.queryForObject("SELECT pg_is_in_recovery()", Boolean.class);
+    }
+
+    private long insertTick() {
+        return new JdbcTemplate(primary).queryForObject(
+                "INSERT INTO crypto_prices (symbol) VALUES ('BTCUSDT') RETURNING id", Long.class);
+    }
+
+    private void awaitCheck(BooleanSupplier condition) throws InterruptedException {
+        await(() -> {
+            checker.check();
+            return condition.getAsBoolean();
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + AWAIT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within " + AWAIT_MS + " ms");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + REPLICA.getHost() + ":"
+                + REPLICA.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + PRIMARY.getDatabaseName();
+    }
+
+    private static HikariDataSource pool(String name, String url, boolean readOnly) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(PRIMARY.getUsername());
+        pool.setPassword(PRIMARY.getPassword());
+        pool.setMaximumPoolSize(2);
+        pool.setReadOnly(readOnly);
+        return pool;
+    }
+}
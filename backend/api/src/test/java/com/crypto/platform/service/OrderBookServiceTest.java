@@ -0,0 +1,140 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.orderbook.DepthFeed;
+import com.crypto.platform.orderbook.DepthMessageParser;
+import com.crypto.platform.orderbook.DepthUpdate;
+import com.crypto.platform.payload.response.DepthResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Depth sync rules: buffered diffs up to the snapshot are dropped, the first applied diff
+ * straddles the snapshot and every later one starts right after the previous one.
+ */
+class OrderBookServiceTest {
+
+    private static final String SYMBOL = "BTCUSDT";
+
+    private final List<String> snapshotRequests = new ArrayList<>();
+    private final DepthMessageParser parser = new DepthMessageParser(Collections.singletonList(SYMBOL));
+    private OrderBookService service;
+
+    @BeforeEach
+    void setUp() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("depthFeed", new DepthFeed() {
+            @Override
+            public void start(Listener listener) {
+            }
+
+            @Override
+            public void requestSnapshot(String symbol) {
+                snapshotRequests.add(symbol);
+            }
+
+            @Override
+            public void stop() {
+            }
+        });
+        service = new OrderBookService(beanFactory.getBeanProvider(DepthFeed.class));
+        ReflectionTestUtils.setField(service, "symbols", Collections.singletonList(SYMBOL));
+        ReflectionTestUtils.setField(service, "maxLevels", 100);
+        ReflectionTestUtils.setField(service, "maxBufferedUpdates", 100);
+        service.start();
+    }
+
+    @Test
+    void liveDiffStraddlingTheSnapshotIsApplied() throws IOException {
+        service.onDiff(diff(1, 5));
+        service.onSnapshot(snapshot(10));
+
+        // Every buffered diff predates the snapshot, so the first live one has to bridge it
+        assertEquals("LIVE", depth().getStatus());
+        service.onDiff(diff(8, 12));
+        service.onDiff(diff(13, 15));
+
+        assertEquals("LIVE", depth().getStatus());
+        assertEquals(15, depth().getLastUpdateId());
+        assertEquals(0, depth().getResyncs());
+        assertEquals(1, snapshotRequests.size());
+    }
+
+    @Test
+    void bufferedDiffStraddlingTheSnapshotIsApplied() throws IOException {
+        service.onDiff(diff(1, 5));
+        service.onDiff(diff(6, 12));
+        service.onDiff(diff(13, 14));
+        service.onSnapshot(snapshot(10));
+        service.onDiff(diff(15, 16));
+
+        assertEquals("LIVE", depth().getStatus());
+        assertEquals(16, depth().getLastUpdateId());
+        assertEquals(0, depth().getResyncs());
+    }
+
+    @Test
+    void straddlingDiffAfterTheFirstIsAGap() throws IOException {
+        service.onDiff(diff(1, 5));
+        service.onSnapshot(snapshot(10));
+        service.onDiff(diff(8, 12));
+        service.onDiff(diff(11, 14));
+
+        assertEquals("SYNCING", depth().getStatus());
+        assertEquals(1, depth().getResyncs());
+        assertEquals(2, snapshotRequests.size());
+    }
+
+    @Test
+    void liveDiffAfterTheSnapshotGapResyncs() throws IOException {
+        service.onDiff(diff(1, 5));
+        service.onSnapshot(snapshot(10));
+        service.onDiff(diff(12, 14));
+
+        assertEquals("SYNCING", depth().getStatus());
+        assertEquals(1, depth().getResyncs());
+    }
+
+    @Test
+    void snapshotOlderThanTheBufferIsFetchedAgain() throws IOException {
+        service.onDiff(diff(20, 25));
+        service.onSnapshot(snapshot(10));
+
+        assertEquals("SYNCING", depth().getStatus());
+        assertEquals(2, snapshotRequests.size());
+
+        service.onSnapshot(snapshot(22));
+        assertEquals("LIVE", depth().getStatus());
+        assertEquals(25, depth().getLastUpdateId());
+    }
+
+    private DepthResponse depth() {
+        return service.getDepth(SYMBOL, 5).orElseThrow();
+    }
+
+    private DepthUpdate diff(long first, long last) throws IOException {
+        return parse("{\"e\":\"depthUpdate\",\"E\":" + last + ",\"s\":\"" + SYMBOL + "\",\"U\":" + first
+                + ",\"u\":" + last + ",\"b\":[[\"100." + last + "\",\"1\"]],\"a\":[[\"101\",\"2\"]]}");
+    }
+
+    private DepthUpdate snapshot(long lastUpdateId) throws IOException {
+        return parse("{\"e\":\"depthSnapshot\",\"s\":\"" + SYMBOL + "\",\"lastUpdateId\":" + lastUpdateId
+                + ",\"bids\":[[\"100\",\"1\"]],\"asks\":[[\"101\",\"1\"]]}");
+    }
+
+    private DepthUpdate parse(String json) throws IOException {
+        DepthUpdate update = new DepthUpdate();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        parser.parse(bytes, 0, bytes.length, update);
+        return update;
+    }
+}
@@ -0,0 +1,3 @@
+#!/bin/sh
+# Let the replica container stream the WAL of this primary
+echo "host replication all all trust" >> "$PGDATA/pg_hba.conf"
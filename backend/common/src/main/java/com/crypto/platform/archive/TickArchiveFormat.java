@@ -0,0 +1,115 @@
+package com.crypto.platform.archive;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * Constants and primitive codecs shared by the tick archive writer and reader.
+ *
+ * File layout:
+ * <pre>
+ *   header : magic(int) version(byte) symbolLength(short) symbol(utf-8)
+ *   blocks : count(varint) ids timestamps column[0..5]
+ *   index  : per block firstMicros(long) lastMicros(long) offset(long) length(int) count(int)
+ *   footer : indexOffset(long) blockCount(int) tickCount(long) magic(int)
+ * </pre>
+ * Ids are delta encoded, timestamps (epoch micros) are delta-of-delta encoded and every
+ * decimal column is stored as fixed-point longs with a per-block scale, delta encoded.
+ * All deltas are zig-zag varints, so a regular 15 minute feed costs 1-2 bytes per field.
+ * A column whose values need more than {@link #MAX_SCALE} digits or 63 bits is written with
+ * scale {@link #EXACT} instead: each value as scale(zig-zag varint) length(varint) and its
+ * unscaled two's-complement bytes. Rows never hold nulls.
+ * Version 1 segments are the same without exact columns.
+ */
+public final class TickArchiveFormat {
+
+    public static final int MAGIC = 0x43544131; // "CTA1"
+    public static final byte VERSION = 2;
+    public static final String FILE_EXTENSION = ".cta";
+
+    public static final int INDEX_ENTRY_BYTES = 8 + 8 + 8 + 4 + 4;
+    public static final int FOOTER_BYTES = 8 + 4 + 8 + 4;
+
+    public static final int MAX_SCALE = 12;
+    public static final int EXACT = -1;
+
+    private TickArchiveFormat() {
+    }
+
+    public static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    public static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    public static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Write an unsigned varint; the caller sizes the buffer for the worst case (10 bytes)
+     */
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Absolute-position varint cursor over a (memory-mapped) buffer; never allocates.
+     */
+    static final class Cursor {
+
+        private final ByteBuffer buffer;
+        private int position;
+
+        Cursor(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        long varLong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        long zigZagLong() {
+            return unZigZag(varLong());
+        }
+
+        void skipVarLong() {
+            while ((buffer.get(position++) & 0x80) != 0) {
+                // continuation bytes
+            }
+        }
+
+        byte get() {
+            return buffer.get(position++);
+        }
+
+        void get(byte[] target) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] = buffer.get(position++);
+            }
+        }
+
+        void skip(int length) {
+            position += length;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.crypto.platform.archive;
+
+import com.crypto.platform.model.CryptoPrice;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Memory-maps an archive segment and decodes time ranges straight from the mapping.
+ * The block index is loaded into primitive arrays; blocks outside the requested range are
+ * never touched. Instances are immutable after {@link #open(Path)} and safe to share between
+ * threads as long as each caller passes its own {@link TickBlock}.
+ */
+public class TickArchiveReader implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final String symbol;
+    private final long tickCount;
+    private final long[] blockFirst;
+    private final long[] blockLast;
+    private final int[] blockOffset;
+    private final int[] blockCount;
+
+    /**
+     * Receives decoded blocks; rows {@code [from, to)} of the block fall in the requested range.
+     */
+    @FunctionalInterface
+    public interface BlockConsumer {
+        void accept(TickBlock block, int from, int to);
+    }
+
+    private TickArchiveReader(Path path, FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+
+        int size = buffer.capacity();
+        if (size < 7 + TickArchiveFormat.FOOTER_BYTES || buffer.getInt(0) != TickArchiveFormat.MAGIC
+                || buffer.getInt(size - 4) != TickArchiveFormat.MAGIC) {
+            throw new IOException("Not a tick archive segment: " + path);
+        }
+        if (buffer.get(4) < 1 || buffer.get(4) > TickArchiveFormat.VERSION) {
+            throw new IOException("Unsupported tick archive version " + buffer.get(4) + " in " + path);
+        }
+        int symbolLength = buffer.getShort(5);
+        byte[] symbolBytes = new byte[symbolLength];
+        ByteBuffer header = buffer.duplicate();
+        header.position(7);
+        header.get(symbolBytes);
+        this.symbol = new String(symbolBytes, StandardCharsets.UTF_8);
+
+        int footer = size - TickArchiveFormat.FOOTER_BYTES;
+        int indexOffset = (int) buffer.getLong(footer);
+        int blocks = buffer.getInt(footer + 8);
+        this.tickCount = buffer.getLong(footer + 12);
+
+        blockFirst = new long[blocks];
+        blockLast = new long[blocks];
+        blockOffset = new int[blocks];
+        blockCount = new int[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int entry = indexOffset + b * TickArchiveFormat.INDEX_ENTRY_BYTES;
+            blockFirst[b] = buffer.getLong(entry);
+            blockLast[b] = buffer.getLong(entry + 8);
+            blockOffset[b] = (int) buffer.getLong(entry + 16);
+            blockCount[b] = buffer.getInt(entry + 28);
+        }
+    }
+
+    public static TickArchiveReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tick archive segment too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new TickArchiveReader(path, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getBlockCount() {
+        return blockFirst.length;
+    }
+
+    public boolean isEmpty() {
+        return blockFirst.length == 0;
+    }
+
+    /**
+     * First timestamp in epoch micros, or {@code Long.MAX_VALUE} for an empty segment
+     */
+    public long getFirstMicros() {
+        return isEmpty() ? Long.MAX_VALUE : blockFirst[0];
+    }
+
+    /**
+     * Last timestamp in epoch micros, or {@code Long.MIN_VALUE} for an empty segment
+     */
+    public long getLastMicros() {
+        return isEmpty() ? Long.MIN_VALUE : blockLast[blockLast.length - 1];
+    }
+
+    public boolean overlaps(long fromMicros, long toMicros) {
+        return !isEmpty() && getFirstMicros() <= toMicros && getLastMicros() >= fromMicros;
+    }
+
+    /**
+     * Decode every block intersecting {@code [fromMicros, toMicros]} (both inclusive).
+     * Only the decimal columns selected by {@code columnMask} are materialized; others are skipped.
+     */
+    public void scan(long fromMicros, long toMicros, int columnMask, TickBlock block, BlockConsumer consumer) {
+        scan(fromMicros, toMicros, columnMask, block, consumer, () -> false);
+    }
+
+    /**
+     * {@link #scan} that stops before decoding the next block once {@code done} is true
+     */
+    public void scan(long fromMicros, long toMicros, int columnMask, TickBlock block, BlockConsumer consumer,
+                     BooleanSupplier done) {
+        for (int b = firstBlock(fromMicros); b < blockFirst.length && blockFirst[b] <= toMicros
+                && !done.getAsBoolean(); b++) {
+            decodeBlock(b, columnMask, block);
+            int from = block.lowerBound(fromMicros);
+            int to = toMicros == Long.MAX_VALUE ? block.size() : block.lowerBound(toMicros + 1);
+            if (from < to) {
+                consumer.accept(block, from, to);
+            }
+        }
+    }
+
+    /**
+     * Convenience range read materializing entities, inclusive bounds like the repository query
+     */
+    public List<CryptoPrice> readRange(Instant startTime, Instant endTime) {
+        List<CryptoPrice> result = new ArrayList<>();
+        scan(TickArchiveFormat.toMicros(startTime), TickArchiveFormat.toMicros(endTime), TickBlock.ALL_COLUMNS,
+                new TickBlock(256), (block, from, to) -> {
+                    for (int row = from; row < to; row++) {
+                        result.add(block.toCryptoPrice(symbol, row));
+                    }
+                });
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int firstBlock(long fromMicros) {
+        int lo = 0;
+        int hi = blockLast.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (blockLast[mid] < fromMicros) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void decodeBlock(int b, int columnMask, TickBlock block) {
+        TickArchiveFormat.Cursor cursor = new TickArchiveFormat.Cursor(buffer, blockOffset[b]);
+        int count = (int) cursor.varLong();
+        block.clear();
+        block.ensureCapacity(count);
+
+        decodeDeltas(cursor, block.ids(), count);
+
+        long[] timestamps = block.timestamps();
+        timestamps[0] = cursor.zigZagLong();
+        long delta = 0;
+        for (int i = 1; i < count; i++) {
+            delta += cursor.zigZagLong();
+            timestamps[i] = timestamps[i - 1] + delta;
+        }
+
+        for (int c = 0; c < TickBlock.DECIMAL_COLUMNS; c++) {
+            int scale = cursor.get();
+            boolean selected = (columnMask & (1 << c)) != 0;
+            if (selected) {
+                block.setScale(c, scale);
+            }
+            if (scale == TickArchiveFormat.EXACT) {
+                decodeExact(cursor, selected ? block.exactColumn(c) : null, count);
+            } else if (selected) {
+                decodeDeltas(cursor, block.column(c), count);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    cursor.skipVarLong();
+                }
+            }
+        }
+        block.setSize(count);
+    }
+
+    /**
+     * Decode (or skip, when target is null) a column stored with {@link TickArchiveFormat#EXACT}
+     */
+    private static void decodeExact(TickArchiveFormat.Cursor cursor, BigDecimal[] target, int count) {
+        for (int i = 0; i < count; i++) {
+            int scale = (int) cursor.zigZagLong();
+            int length = (int) cursor.varLong();
+            if (target == null) {
+                cursor.skip(length);
+            } else {
+                byte[] unscaled = new byte[length];
+                cursor.get(unscaled);
+                target[i] = new BigDecimal(new BigInteger(unscaled), scale);
+            }
+        }
+    }
+
+    private static void decodeDeltas(TickArchiveFormat.Cursor cursor, long[] target, int count) {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value += cursor.zigZagLong();
+            target[i] = value;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.crypto.platform.archive;
+
+import com.crypto.platform.model.CryptoPrice;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Streams ticks of one symbol into the archive format described in {@link TickArchiveFormat}.
+ * Ticks must be appended in ascending timestamp order and carry an id and every value; the
+ * archive stores them exactly.
+ */
+public class TickArchiveWriter implements Closeable {
+
+    private static final int MAX_VARLONG_BYTES = 10;
+
+    private final DataOutputStream out;
+    private final int blockSize;
+    private final List<CryptoPrice> pending;
+    private final List<long[]> index = new ArrayList<>();
+    private final TickBlock block;
+    private ByteBuffer scratch;
+    private long position;
+    private long tickCount;
+    private long lastMicros = Long.MIN_VALUE;
+    private boolean closed;
+
+    public TickArchiveWriter(OutputStream out, String symbol, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.out = new DataOutputStream(out);
+        this.blockSize = blockSize;
+        this.pending = new ArrayList<>(blockSize);
+        this.block = new TickBlock(blockSize);
+        this.scratch = ByteBuffer.allocate(blockSize * (2 + TickBlock.DECIMAL_COLUMNS) * MAX_VARLONG_BYTES + 64);
+
+        byte[] symbolBytes = symbol.getBytes(StandardCharsets.UTF_8);
+        this.out.writeInt(TickArchiveFormat.MAGIC);
+        this.out.writeByte(TickArchiveFormat.VERSION);
+        this.out.writeShort(symbolBytes.length);
+        this.out.write(symbolBytes);
+        this.position = 4 + 1 + 2 + symbolBytes.length;
+    }
+
+    public void append(CryptoPrice price) throws IOException {
+        if (price.getId() == null || price.getTimestamp() == null || price.getPrice() == null
+                || price.getVolume24h() == null || price.getMarketCap() == null || price.getHigh24h() == null
+                || price.getLow24h() == null || price.getPriceChangePercent24h() == null) {
+            throw new IllegalArgumentException("Tick archive rows need an id, a timestamp and every value: " + price);
+        }
+        long micros = TickArchiveFormat.toMicros(price.getTimestamp());
+        if (micros < lastMicros) {
+            throw new IllegalArgumentException("Ticks must be appended in timestamp order: " + price.getTimestamp());
+        }
+        lastMicros = micros;
+        pending.add(price);
+        if (pending.size() == blockSize) {
+            flushBlock();
+        }
+    }
+
+    public void appendAll(Iterable<CryptoPrice> prices) throws IOException {
+        for (CryptoPrice price : prices) {
+            append(price);
+        }
+    }
+
+    public long getTickCount() {
+        return tickCount + pending.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flushBlock();
+
+        long indexOffset = position;
+        for (long[] entry : index) {
+            out.writeLong(entry[0]);
+            out.writeLong(entry[1]);
+            out.writeLong(entry[2]);
+            out.writeInt((int) entry[3]);
+            out.writeInt((int) entry[4]);
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(index.size());
+        out.writeLong(tickCount);
+        out.writeInt(TickArchiveFormat.MAGIC);
+        out.flush();
+        out.close();
+    }
+
+    private void flushBlock() throws IOException {
+        int count = pending.size();
+        if (count == 0) {
+            return;
+        }
+        fillBlock(count);
+        scratch.clear();
+
+        TickArchiveFormat.putVarLong(scratch, count);
+        putDeltas(block.ids(), count);
+        putDeltaOfDeltas(block.timestamps(), count);
+        for (int c = 0; c < TickBlock.DECIMAL_COLUMNS; c++) {
+            scratch.put((byte) block.scale(c));
+            if (block.isExact(c)) {
+                putExact(block.exactColumn(c), count);
+            } else {
+                putDeltas(block.column(c), count);
+            }
+        }
+
+        int length = scratch.position();
+        out.write(scratch.array(), 0, length);
+        index.add(new long[]{block.timestamp(0), block.timestamp(count - 1), position, length, count});
+        position += length;
+        tickCount += count;
+        pending.clear();
+    }
+
+    private void fillBlock(int count) {
+        block.clear();
+        block.ensureCapacity(count);
+        long[] ids = block.ids();
+        long[] timestamps = block.timestamps();
+        for (int row = 0; row < count; row++) {
+            CryptoPrice price = pending.get(row);
+            ids[row] = price.getId();
+            timestamps[row] = TickArchiveFormat.toMicros(price.getTimestamp());
+        }
+        fillColumn(TickBlock.PRICE, count, CryptoPrice::getPrice);
+        fillColumn(TickBlock.VOLUME_24H, count, CryptoPrice::getVolume24h);
+        fillColumn(TickBlock.MARKET_CAP, count, CryptoPrice::getMarketCap);
+        fillColumn(TickBlock.HIGH_24H, count, CryptoPrice::getHigh24h);
+        fillColumn(TickBlock.LOW_24H, count, CryptoPrice::getLow24h);
+        fillColumn(TickBlock.PRICE_CHANGE_PERCENT_24H, count, CryptoPrice::getPriceChangePercent24h);
+        block.setSize(count);
+    }
+
+    /**
+     * Pick the smallest scale that represents every value of the column exactly and store the
+     * unscaled values; a column that needs more than {@link TickArchiveFormat#MAX_SCALE} digits
+     * or 63 bits is stored as {@link TickArchiveFormat#EXACT} decimals instead of being rounded.
+     */
+    private void fillColumn(int column, int count, Function<CryptoPrice, BigDecimal> getter) {
+        int scale = 0;
+        for (int row = 0; row < count; row++) {
+            BigDecimal value = getter.apply(pending.get(row));
+            if (value.signum() != 0) {
+                scale = Math.max(scale, value.stripTrailingZeros().scale());
+            }
+        }
+        if (scale <= TickArchiveFormat.MAX_SCALE && tryFill(block.column(column), count, scale, getter)) {
+            block.setScale(column, scale);
+            return;
+        }
+        BigDecimal[] target = block.exactColumn(column);
+        for (int row = 0; row < count; row++) {
+            target[row] = getter.apply(pending.get(row));
+        }
+        block.setScale(column, TickArchiveFormat.EXACT);
+    }
+
+    private boolean tryFill(long[] target, int count, int scale,
+                            Function<CryptoPrice, BigDecimal> getter) {
+        for (int row = 0; row < count; row++) {
+            // The scale covers every value's digits, so this never rounds
+            BigInteger unscaled = getter.apply(pending.get(row)).setScale(scale, RoundingMode.UNNECESSARY)
+                    .unscaledValue();
+            if (unscaled.bitLength() > 63) {
+                return false;
+            }
+            target[row] = unscaled.longValue();
+        }
+        return true;
+    }
+
+    private void putExact(BigDecimal[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            byte[] unscaled = values[i].unscaledValue().toByteArray();
+            ensureScratch(2 * MAX_VARLONG_BYTES + unscaled.length);
+            TickArchiveFormat.putVarLong(scratch, TickArchiveFormat.zigZag(values[i].scale()));
+            TickArchiveFormat.putVarLong(scratch, unscaled.length);
+            scratch.put(unscaled);
+        }
+    }
+
+    /**
+     * Exact columns have no fixed worst case; grow the scratch buffer, leaving room for the
+     * fixed-point columns that may still follow
+     */
+    private void ensureScratch(int bytes) {
+        int needed = scratch.position() + bytes
+                + block.size() * TickBlock.DECIMAL_COLUMNS * MAX_VARLONG_BYTES + TickBlock.DECIMAL_COLUMNS;
+        if (needed > scratch.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(needed, scratch.capacity() * 2));
+            scratch.flip();
+            grown.put(scratch);
+            scratch = grown;
+        }
+    }
+
+    private void putDeltas(long[] values, int count) {
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            TickArchiveFormat.putVarLong(scratch, TickArchiveFormat.zigZag(values[i] - previous));
+            previous = values[i];
+        }
+    }
+
+    private void putDeltaOfDeltas(long[] values, int count) {
+        TickArchiveFormat.putVarLong(scratch, TickArchiveFormat.zigZag(values[0]));
+        long previousDelta = 0;
+        for (int i = 1; i < count; i++) {
+            long delta = values[i] - values[i - 1];
+            TickArchiveFormat.putVarLong(scratch, TickArchiveFormat.zigZag(delta - previousDelta));
+            previousDelta = delta;
+        }
+    }
+}
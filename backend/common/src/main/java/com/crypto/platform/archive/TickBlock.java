@@ -0,0 +1,179 @@
+package com.crypto.platform.archive;
+
+import com.crypto.platform.model.CryptoPrice;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Columnar, reusable buffer of ticks for one archive block.
+ * Decimal columns are kept as fixed-point longs with one scale per column, or as decimals for
+ * the rare block whose values do not fit (see {@link TickArchiveFormat#EXACT}).
+ */
+public final class TickBlock {
+
+    public static final int PRICE = 0;
+    public static final int VOLUME_24H = 1;
+    public static final int MARKET_CAP = 2;
+    public static final int HIGH_24H = 3;
+    public static final int LOW_24H = 4;
+    public static final int PRICE_CHANGE_PERCENT_24H = 5;
+    public static final int DECIMAL_COLUMNS = 6;
+
+    /** Column mask bits for {@link TickArchiveReader#scan}; ids and timestamps are always decoded */
+    public static final int ALL_COLUMNS = (1 << DECIMAL_COLUMNS) - 1;
+
+    private static final double[] POWERS_OF_TEN = new double[TickArchiveFormat.MAX_SCALE + 1];
+
+    static {
+        double value = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = value;
+            value *= 10;
+        }
+    }
+
+    private long[] ids;
+    private long[] timestamps;
+    private final long[][] unscaled = new long[DECIMAL_COLUMNS][];
+    private final BigDecimal[][] exact = new BigDecimal[DECIMAL_COLUMNS][];
+    private final int[] scales = new int[DECIMAL_COLUMNS];
+    private int size;
+
+    public TickBlock(int capacity) {
+        ids = new long[capacity];
+        timestamps = new long[capacity];
+        for (int c = 0; c < DECIMAL_COLUMNS; c++) {
+            unscaled[c] = new long[capacity];
+        }
+    }
+
+    public static int mask(int... columns) {
+        int mask = 0;
+        for (int column : columns) {
+            mask |= 1 << column;
+        }
+        return mask;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Timestamp of a row in epoch microseconds
+     */
+    public long timestamp(int row) {
+        return timestamps[row];
+    }
+
+    /**
+     * Fixed-point value of a row; only meaningful when the column is not {@link #isExact exact}
+     */
+    public long unscaled(int column, int row) {
+        return unscaled[column][row];
+    }
+
+    public int scale(int column) {
+        return scales[column];
+    }
+
+    public boolean isExact(int column) {
+        return scales[column] == TickArchiveFormat.EXACT;
+    }
+
+    public double doubleValue(int column, int row) {
+        if (isExact(column)) {
+            return exact[column][row].doubleValue();
+        }
+        return unscaled[column][row] / POWERS_OF_TEN[scales[column]];
+    }
+
+    public BigDecimal decimal(int column, int row) {
+        if (isExact(column)) {
+            return exact[column][row];
+        }
+        return BigDecimal.valueOf(unscaled[column][row], scales[column]);
+    }
+
+    /**
+     * Materialize one row as an entity (only used at the API boundary)
+     */
+    public CryptoPrice toCryptoPrice(String symbol, int row) {
+        return CryptoPrice.builder()
+                .id(ids[row])
+                .symbol(symbol)
+                .price(decimal(PRICE, row))
+                .volume24h(decimal(VOLUME_24H, row))
+                .marketCap(decimal(MARKET_CAP, row))
+                .high24h(decimal(HIGH_24H, row))
+                .low24h(decimal(LOW_24H, row))
+                .priceChangePercent24h(decimal(PRICE_CHANGE_PERCENT_24H, row))
+                .timestamp(TickArchiveFormat.fromMicros(timestamps[row]))
+                .build();
+    }
+
+    /**
+     * First row whose timestamp is >= the given micros (binary search, rows are sorted)
+     */
+    public int lowerBound(long micros) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[mid] < micros) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    void clear() {
+        size = 0;
+        Arrays.fill(scales, 0);
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        ids = Arrays.copyOf(ids, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        for (int c = 0; c < DECIMAL_COLUMNS; c++) {
+            unscaled[c] = Arrays.copyOf(unscaled[c], capacity);
+        }
+    }
+
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    void setScale(int column, int scale) {
+        scales[column] = scale;
+    }
+
+    long[] ids() {
+        return ids;
+    }
+
+    long[] timestamps() {
+        return timestamps;
+    }
+
+    long[] column(int column) {
+        return unscaled[column];
+    }
+
+    BigDecimal[] exactColumn(int column) {
+        if (exact[column] == null || exact[column].length < ids.length) {
+            exact[column] = new BigDecimal[ids.length];
+        }
+        return exact[column];
+    }
+}
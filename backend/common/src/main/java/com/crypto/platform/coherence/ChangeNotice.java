@@ -0,0 +1,65 @@
+package com.crypto.platform.coherence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A change announced on the coherence channel. The payload is one short line,
+ * {@code type|symbol|id|origin|sequence}, e.g. {@code T|BTCUSDT|81234|1@api-1:lq2x|42}: the
+ * highest tick id, the prediction run id, the model version id or the created or cancelled alert id
+ * stored for the symbol, the process that stored it
+ * and that process's notice sequence number.
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeNotice {
+
+    public enum Type {
+        TICK('T'),
+        PREDICTION('P'),
+        MODEL('M'),
+        ALERT('A');
+
+        private final char code;
+
+        Type(char code) {
+            this.code = code;
+        }
+
+        static Type of(String code) {
+            for (Type type : values()) {
+                if (code.length() == 1 && code.charAt(0) == type.code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown change type: " + code);
+        }
+    }
+
+    private static final char SEPARATOR = '|';
+
+    private final Type type;
+    private final String symbol;
+    private final long id;
+    private final String origin;
+    private final long sequence;
+
+    public String toPayload() {
+        return new StringBuilder(64)
+                .append(type.code).append(SEPARATOR)
+                .append(symbol).append(SEPARATOR)
+                .append(id).append(SEPARATOR)
+                .append(origin).append(SEPARATOR)
+                .append(sequence)
+                .toString();
+    }
+
+    public static ChangeNotice parse(String payload) {
+        String[] fields = payload.split("\\|", -1);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Malformed change notice: " + payload);
+        }
+        return new ChangeNotice(Type.of(fields[0]), fields[1], Long.parseLong(fields[2]), fields[3],
+                Long.parseLong(fields[4]));
+    }
+}
@@ -0,0 +1,85 @@
+package com.crypto.platform.coherence;
+
+import com.crypto.platform.model.CryptoPrice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Announces stored ticks, predictions, models and alert changes to the other processes with Postgres
+ * {@code NOTIFY}. Call it inside the transaction that stores the rows: the notice is then
+ * delivered exactly when the rows become visible, and dropped with them on rollback. A
+ * dropped notice leaves a hole in this process's sequence, which subscribers treat as a gap.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangePublisher {
+
+    private final EntityManager entityManager;
+
+    // The start time tells a restarted process from its previous run, whose sequence ended elsewhere
+    private final String origin = ManagementFactory.getRuntimeMXBean().getName()
+            + ':' + Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${coherence.enabled}")
+    private boolean enabled;
+
+    @Value("${coherence.channel}")
+    private String channel;
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * One notice per symbol of the batch, carrying its highest tick id
+     */
+    public void ticksStored(List<CryptoPrice> ticks) {
+        Map<String, Long> maxIds = new LinkedHashMap<>();
+        for (CryptoPrice tick : ticks) {
+            maxIds.merge(tick.getSymbol(), tick.getId(), Math::max);
+        }
+        maxIds.forEach((symbol, id) -> publish(ChangeNotice.Type.TICK, symbol, id));
+    }
+
+    /**
+     * Predictions of one run were stored; the run is identified by its highest prediction id
+     */
+    public void predictionsStored(String symbol, long runId) {
+        publish(ChangeNotice.Type.PREDICTION, symbol, runId);
+    }
+
+    /**
+     * A model version was registered for the symbol
+     */
+    public void modelPublished(String symbol, long modelVersionId) {
+        publish(ChangeNotice.Type.MODEL, symbol, modelVersionId);
+    }
+
+    /**
+     * A price alert of the symbol was created or cancelled
+     */
+    public void alertChanged(String symbol, long alertId) {
+        publish(ChangeNotice.Type.ALERT, symbol, alertId);
+    }
+
+    private void publish(ChangeNotice.Type type, String symbol, long id) {
+        if (!enabled) {
+            return;
+        }
+        ChangeNotice notice = new ChangeNotice(type, symbol, id, origin, sequence.incrementAndGet());
+        // pg_notify returns void, which has no JDBC mapping
+        entityManager.createNativeQuery("SELECT 1 FROM (SELECT pg_notify(:channel, :payload)) notified")
+                .setParameter("channel", channel)
+                .setParameter("payload", notice.toPayload())
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,37 @@
+package com.crypto.platform.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Bearer token check of one request: signature validation and the user lookup
+ */
+@Name("com.crypto.platform.AuthFilter")
+@Label("Auth Filter")
+@Category({PlatformEvents.CATEGORY, "API"})
+@Description("JWT validation and user lookup of a request")
+@StackTrace(false)
+public class AuthFilterEvent extends Event {
+
+    @Label("Path")
+    private String path;
+
+    @Label("Authenticated")
+    private boolean authenticated;
+
+    public static AuthFilterEvent start(String path) {
+        AuthFilterEvent event = new AuthFilterEvent();
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean authenticated) {
+        this.authenticated = authenticated;
+        commit();
+    }
+}
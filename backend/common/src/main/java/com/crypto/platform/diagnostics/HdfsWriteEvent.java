@@ -0,0 +1,41 @@
+package com.crypto.platform.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One file of an hour written to HDFS
+ */
+@Name("com.crypto.platform.HdfsWrite")
+@Label("HDFS Write")
+@Category({PlatformEvents.CATEGORY, "Export"})
+@Description("CSV rows or an archive segment written to HDFS")
+@StackTrace(false)
+public class HdfsWriteEvent extends Event {
+
+    @Label("Symbol")
+    private String symbol;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Rows")
+    private int rows;
+
+    public static HdfsWriteEvent start(String symbol, String path, int rows) {
+        HdfsWriteEvent event = new HdfsWriteEvent();
+        event.symbol = symbol;
+        event.path = path;
+        event.rows = rows;
+        event.begin();
+        return event;
+    }
+
+    public void finish() {
+        commit();
+    }
+}
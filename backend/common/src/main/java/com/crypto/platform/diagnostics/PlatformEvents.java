@@ -0,0 +1,14 @@
+package com.crypto.platform.diagnostics;
+
+/**
+ * Flight Recorder category of the platform's own events. Events cost next to nothing while no
+ * recording is running; recordings are started on demand (see the API's profiling endpoint) or
+ * with {@code jcmd <pid> JFR.start} on the worker.
+ */
+public final class PlatformEvents {
+
+    public static final String CATEGORY = "Crypto Platform";
+
+    private PlatformEvents() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.crypto.platform.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of a Spark prediction job for a symbol
+ */
+@Name("com.crypto.platform.SparkPhase")
+@Label("Spark Phase")
+@Category({PlatformEvents.CATEGORY, "Analytics"})
+@Description("Session, load, fit or publish phase of a prediction job")
+@StackTrace(false)
+public class SparkPhaseEvent extends Event {
+
+    public static final String SESSION = "session";
+    public static final String LOAD = "load";
+    public static final String FIT = "fit";
+    public static final String PUBLISH = "publish";
+
+    @Label("Symbol")
+    private String symbol;
+
+    @Label("Phase")
+    private String phase;
+
+    public static SparkPhaseEvent start(String symbol, String phase) {
+        SparkPhaseEvent event = new SparkPhaseEvent();
+        event.symbol = symbol;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    public void finish() {
+        commit();
+    }
+}
@@ -0,0 +1,38 @@
+package com.crypto.platform.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One Binance ticker request, from subscription to response or failure
+ */
+@Name("com.crypto.platform.TickFetch")
+@Label("Tick Fetch")
+@Category({PlatformEvents.CATEGORY, "Ingest"})
+@Description("Binance 24h ticker request")
+@StackTrace(false)
+public class TickFetchEvent extends Event {
+
+    @Label("Symbol")
+    private String symbol;
+
+    @Label("Outcome")
+    @Description("onComplete, onError or cancel")
+    private String outcome;
+
+    public static TickFetchEvent start(String symbol) {
+        TickFetchEvent event = new TickFetchEvent();
+        event.symbol = symbol;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome) {
+        this.outcome = outcome;
+        commit();
+    }
+}
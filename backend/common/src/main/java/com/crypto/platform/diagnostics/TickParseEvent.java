@@ -0,0 +1,33 @@
+package com.crypto.platform.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Conversion of a ticker response into a tick (decimal parsing and the derived columns)
+ */
+@Name("com.crypto.platform.TickParse")
+@Label("Tick Parse")
+@Category({PlatformEvents.CATEGORY, "Ingest"})
+@Description("Ticker response converted to a tick")
+@StackTrace(false)
+public class TickParseEvent extends Event {
+
+    @Label("Symbol")
+    private String symbol;
+
+    public static TickParseEvent start(String symbol) {
+        TickParseEvent event = new TickParseEvent();
+        event.symbol = symbol;
+        event.begin();
+        return event;
+    }
+
+    public void finish() {
+        commit();
+    }
+}
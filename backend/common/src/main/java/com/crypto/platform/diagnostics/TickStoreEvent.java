@@ -0,0 +1,41 @@
+package com.crypto.platform.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Ticks written to a store: a journal append, or a database batch including the JPA flush
+ * and commit
+ */
+@Name("com.crypto.platform.TickStore")
+@Label("Tick Store")
+@Category({PlatformEvents.CATEGORY, "Ingest"})
+@Description("Ticks appended to the journal or saved to the database")
+@StackTrace(false)
+public class TickStoreEvent extends Event {
+
+    public static final String JOURNAL = "journal";
+    public static final String DATABASE = "database";
+
+    @Label("Store")
+    private String store;
+
+    @Label("Ticks")
+    private int ticks;
+
+    public static TickStoreEvent start(String store, int ticks) {
+        TickStoreEvent event = new TickStoreEvent();
+        event.store = store;
+        event.ticks = ticks;
+        event.begin();
+        return event;
+    }
+
+    public void finish() {
+        commit();
+    }
+}
@@ -0,0 +1,20 @@
+package com.crypto.platform.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when another process created or cancelled a price alert
+ */
+@Getter
+public class AlertChangedEvent extends ApplicationEvent {
+
+    private final String symbol;
+    private final long alertId;
+
+    public AlertChangedEvent(Object source, String symbol, long alertId) {
+        super(source);
+        this.symbol = symbol;
+        this.alertId = alertId;
+    }
+}
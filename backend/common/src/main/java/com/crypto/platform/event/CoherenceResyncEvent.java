@@ -0,0 +1,14 @@
+package com.crypto.platform.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after change notices may have been missed and the shared caches were reloaded;
+ * state kept elsewhere should reload as well
+ */
+public class CoherenceResyncEvent extends ApplicationEvent {
+
+    public CoherenceResyncEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,18 @@
+package com.crypto.platform.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a new model version has been registered for a symbol
+ */
+@Getter
+public class ModelPublishedEvent extends ApplicationEvent {
+
+    private final String symbol;
+
+    public ModelPublishedEvent(Object source, String symbol) {
+        super(source);
+        this.symbol = symbol;
+    }
+}
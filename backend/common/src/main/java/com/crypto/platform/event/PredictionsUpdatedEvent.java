@@ -0,0 +1,18 @@
+package com.crypto.platform.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after new predictions have been stored for a symbol
+ */
+@Getter
+public class PredictionsUpdatedEvent extends ApplicationEvent {
+
+    private final String symbol;
+
+    public PredictionsUpdatedEvent(Object source, String symbol) {
+        super(source);
+        this.symbol = symbol;
+    }
+}
@@ -0,0 +1,26 @@
+package com.crypto.platform.event;
+
+import com.crypto.platform.model.CryptoPrice;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a price tick has been stored in the database. Remote ticks were stored by
+ * another process and are replayed from its change notices.
+ */
+@Getter
+public class PriceTickEvent extends ApplicationEvent {
+
+    private final CryptoPrice price;
+    private final boolean remote;
+
+    public PriceTickEvent(Object source, CryptoPrice price) {
+        this(source, price, false);
+    }
+
+    public PriceTickEvent(Object source, CryptoPrice price, boolean remote) {
+        super(source);
+        this.price = price;
+        this.remote = remote;
+    }
+}
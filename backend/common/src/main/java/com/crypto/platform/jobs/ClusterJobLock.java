@@ -0,0 +1,42 @@
+package com.crypto.platform.jobs;
+
+import com.crypto.platform.model.JobLock;
+import com.crypto.platform.repository.JobLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Job leases shared by every API and worker replica through Postgres
+ */
+@Component
+@RequiredArgsConstructor
+public class ClusterJobLock {
+
+    private final JobLockRepository jobLockRepository;
+
+    @Transactional
+    public boolean tryAcquire(String name, String owner, Instant now, Instant until) {
+        return jobLockRepository.tryAcquire(name, owner, now, until) == 1;
+    }
+
+    @Transactional
+    public void release(String name, String owner, Instant until, Instant finishedAt, long durationMs,
+                        boolean succeeded) {
+        jobLockRepository.release(name, owner, until, finishedAt, durationMs, succeeded);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JobLock> find(String name) {
+        return jobLockRepository.findById(name);
+    }
+
+    @Transactional(readOnly = true)
+    public List<JobLock> findAll() {
+        return jobLockRepository.findAllByOrderByNameAsc();
+    }
+}
@@ -0,0 +1,54 @@
+package com.crypto.platform.jobs;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * A job run by the {@link JobScheduler} on its own thread, either on a cron expression or with
+ * a fixed delay between the end of one run and the start of the next.
+ *
+ * Clustered jobs take a lease in {@code job_locks} before each run, so only one replica
+ * runs a given firing. {@code lockAtMostFor} bounds how long a crashed owner blocks the job
+ * and must exceed the longest run; {@code lockAtLeastFor} keeps the lease after a quick run
+ * so a replica whose clock is slightly behind does not run the same firing again.
+ */
+@Getter
+@Builder
+public class JobDefinition {
+
+    private final String name;
+
+    /**
+     * Spring cron expression (seconds first); mutually exclusive with {@code fixedDelay}
+     */
+    private final String cron;
+
+    private final Duration fixedDelay;
+
+    @Builder.Default
+    private final Duration initialDelay = Duration.ZERO;
+
+    @Builder.Default
+    private final MisfirePolicy misfirePolicy = MisfirePolicy.SKIP;
+
+    /**
+     * Run once at startup when a cron firing was missed while no replica was running
+     */
+    private final boolean catchUp;
+
+    private final boolean clustered;
+
+    @Builder.Default
+    private final Duration lockAtMostFor = Duration.ofHours(1);
+
+    @Builder.Default
+    private final Duration lockAtLeastFor = Duration.ZERO;
+
+    private final Runnable task;
+
+    public String getSchedule() {
+        return cron != null ? "cron " + cron : "every " + fixedDelay + " after completion";
+    }
+}
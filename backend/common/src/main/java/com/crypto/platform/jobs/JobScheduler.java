@@ -0,0 +1,255 @@
+package com.crypto.platform.jobs;
+
+import com.crypto.platform.model.JobLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link JobDefinition} beans of the application.
+ *
+ * Trigger threads only decide when a job is due and hand it to that job's own single-thread
+ * executor, so a long run of one job never delays another. A job never overlaps itself: a
+ * firing that finds it running is a misfire, handled by its {@link MisfirePolicy}. Clustered
+ * jobs run only on the replica that wins the lease in {@code job_locks}.
+ */
+@Component
+@Slf4j
+public class JobScheduler {
+
+    private final ClusterJobLock clusterJobLock;
+    private final Map<String, ManagedJob> jobs = new LinkedHashMap<>();
+    private final ThreadPoolTaskScheduler triggers = new ThreadPoolTaskScheduler();
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+    private volatile boolean stopped;
+
+    @Value("${jobs.trigger-threads}")
+    private int triggerThreads;
+
+    @Value("${jobs.shutdown-timeout}")
+    private Duration shutdownTimeout;
+
+    public JobScheduler(ClusterJobLock clusterJobLock, ObjectProvider<JobDefinition> definitions) {
+        this.clusterJobLock = clusterJobLock;
+        definitions.orderedStream().forEach(definition -> {
+            ExecutorService executor = Executors.newSingleThreadExecutor(
+                    new CustomizableThreadFactory("job-" + definition.getName() + "-"));
+            if (jobs.putIfAbsent(definition.getName(), new ManagedJob(definition, executor)) != null) {
+                executor.shutdown();
+                throw new IllegalArgumentException("Duplicate job name: " + definition.getName());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        triggers.setPoolSize(triggerThreads);
+        triggers.setThreadNamePrefix("job-trigger-");
+        triggers.initialize();
+        Instant now = Instant.now();
+        for (ManagedJob job : jobs.values()) {
+            JobDefinition definition = job.definition();
+            if (job.isCron()) {
+                if (definition.isCatchUp()) {
+                    catchUp(job, now);
+                }
+                scheduleCron(job, now);
+            } else {
+                scheduleOnce(job, now.plus(definition.getInitialDelay()));
+            }
+        }
+        log.info("Job scheduler started {} jobs as {}", jobs.size(), owner);
+    }
+
+    /**
+     * Fire a job now, outside its schedule. Returns false when it is already running; the
+     * request then follows the job's misfire policy.
+     */
+    public boolean runNow(String name) {
+        ManagedJob job = jobs.get(name);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job: " + name);
+        }
+        return fire(job, Instant.now());
+    }
+
+    public List<JobSnapshot> getSnapshots() {
+        List<JobSnapshot> snapshots = new ArrayList<>(jobs.size());
+        for (ManagedJob job : jobs.values()) {
+            snapshots.add(job.snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Leases and last runs of the clustered jobs of every replica
+     */
+    public List<JobLock> getClusterLocks() {
+        return clusterJobLock.findAll();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopped = true;
+        for (ManagedJob job : jobs.values()) {
+            job.cancel();
+        }
+        triggers.shutdown();
+        for (ManagedJob job : jobs.values()) {
+            job.executor().shutdown();
+        }
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (ManagedJob job : jobs.values()) {
+            long remaining = deadline - System.nanoTime();
+            if (!job.executor().awaitTermination(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                log.warn("Job {} still running at shutdown, interrupting", job.definition().getName());
+                job.executor().shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Run once now if the last run recorded by any replica is older than the most recent
+     * firing, i.e. a firing passed while the whole cluster was down
+     */
+    private void catchUp(ManagedJob job, Instant now) {
+        String name = job.definition().getName();
+        try {
+            clusterJobLock.find(name)
+                    .map(JobLock::getLockedAt)
+                    .map(job::nextFire)
+                    .filter(missed -> missed.isBefore(now))
+                    .ifPresent(missed -> {
+                        log.info("Job {} missed its firing at {}, catching up", name, missed);
+                        fire(job, missed);
+                    });
+        } catch (RuntimeException e) {
+            log.warn("Could not check missed firings of job {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void scheduleCron(ManagedJob job, Instant after) {
+        Instant next = job.nextFire(after);
+        if (next == null || stopped) {
+            return;
+        }
+        try {
+            job.scheduled(next, triggers.schedule(() -> {
+                // Schedule the following firing first so a slow dispatch cannot shift it
+                scheduleCron(job, next);
+                fire(job, next);
+            }, next));
+        } catch (TaskRejectedException e) {
+            // Shutting down
+        }
+    }
+
+    private void scheduleOnce(ManagedJob job, Instant at) {
+        if (stopped) {
+            return;
+        }
+        // Replaces the pending firing, e.g. after a run started with runNow
+        job.cancel();
+        try {
+            job.scheduled(at, triggers.schedule(() -> fire(job, at), at));
+        } catch (TaskRejectedException e) {
+            // Shutting down
+        }
+    }
+
+    private boolean fire(ManagedJob job, Instant scheduledAt) {
+        if (!job.tryStart()) {
+            if (job.misfire(scheduledAt)) {
+                log.info("Job {} still running, firing at {} will run after it", job.definition().getName(), scheduledAt);
+            } else {
+                log.warn("Job {} still running, skipped firing at {}", job.definition().getName(), scheduledAt);
+            }
+            return false;
+        }
+        try {
+            job.executor().execute(() -> execute(job, scheduledAt));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            job.finish();
+            return false;
+        }
+    }
+
+    private void execute(ManagedJob job, Instant scheduledAt) {
+        try {
+            runOnce(job, scheduledAt);
+        } finally {
+            job.finish();
+            Instant pending = job.takePending();
+            if (pending != null && !stopped) {
+                fire(job, pending);
+            } else if (!job.isCron()) {
+                scheduleOnce(job, Instant.now().plus(job.definition().getFixedDelay()));
+            }
+        }
+    }
+
+    private void runOnce(ManagedJob job, Instant scheduledAt) {
+        JobDefinition definition = job.definition();
+        String name = definition.getName();
+        Instant startedAt = Instant.now();
+        if (definition.isClustered()) {
+            try {
+                if (!clusterJobLock.tryAcquire(name, owner, startedAt, startedAt.plus(definition.getLockAtMostFor()))) {
+                    job.lockedElsewhere();
+                    log.debug("Job {} is locked by another replica", name);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not lock job {}, skipping this firing: {}", name, e.getMessage());
+                job.finished(Instant.now(), 0, "Lock failed: " + e.getMessage());
+                return;
+            }
+        }
+
+        job.started(scheduledAt, startedAt);
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            definition.getTask().run();
+        } catch (RuntimeException e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            log.error("Job {} failed: {}", name, error, e);
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Instant finishedAt = Instant.now();
+        job.finished(finishedAt, durationMs, error);
+        log.debug("Job {} finished in {} ms, started {} ms after it was due", name, durationMs,
+                startedAt.toEpochMilli() - scheduledAt.toEpochMilli());
+
+        if (definition.isClustered()) {
+            Instant holdUntil = startedAt.plus(definition.getLockAtLeastFor());
+            try {
+                clusterJobLock.release(name, owner, holdUntil.isAfter(finishedAt) ? holdUntil : finishedAt,
+                        finishedAt, durationMs, error == null);
+            } catch (RuntimeException e) {
+                log.warn("Could not release lock of job {}; it expires at its lease end: {}", name, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.crypto.platform.jobs;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Counters and timings of one job on this replica. Lag is the delay between the time a run
+ * was due and the time it started.
+ */
+@Getter
+@Builder
+public class JobSnapshot {
+
+    private final String name;
+    private final String schedule;
+    private final boolean clustered;
+    private final MisfirePolicy misfirePolicy;
+    private final boolean running;
+    private final Instant nextFireAt;
+
+    private final long runs;
+    private final long failures;
+    private final long misfires;
+    private final long lockedElsewhere;
+
+    private final Instant lastStartedAt;
+    private final Instant lastFinishedAt;
+    private final String lastError;
+    private final long lastDurationMs;
+    private final long maxDurationMs;
+    private final long averageDurationMs;
+    private final long lastLagMs;
+    private final long maxLagMs;
+}
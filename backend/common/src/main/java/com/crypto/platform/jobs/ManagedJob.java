@@ -0,0 +1,151 @@
+package com.crypto.platform.jobs;
+
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runtime state of a registered job: its executor, the overlap guard and its statistics
+ */
+class ManagedJob {
+
+    private final JobDefinition definition;
+    private final CronExpression cron;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Instant pendingFire;
+    private Instant nextFireAt;
+    private ScheduledFuture<?> nextFuture;
+
+    private long runs;
+    private long failures;
+    private long misfires;
+    private long lockedElsewhere;
+    private Instant lastStartedAt;
+    private Instant lastFinishedAt;
+    private String lastError;
+    private long lastDurationMs;
+    private long maxDurationMs;
+    private long totalDurationMs;
+    private long lastLagMs;
+    private long maxLagMs;
+
+    ManagedJob(JobDefinition definition, ExecutorService executor) {
+        if ((definition.getCron() == null) == (definition.getFixedDelay() == null)) {
+            throw new IllegalArgumentException("Job " + definition.getName() + " needs either a cron or a fixed delay");
+        }
+        this.definition = definition;
+        this.cron = definition.getCron() != null ? CronExpression.parse(definition.getCron()) : null;
+        this.executor = executor;
+    }
+
+    JobDefinition definition() {
+        return definition;
+    }
+
+    ExecutorService executor() {
+        return executor;
+    }
+
+    boolean isCron() {
+        return cron != null;
+    }
+
+    /**
+     * Next cron firing strictly after {@code after}, in the system time zone
+     */
+    Instant nextFire(Instant after) {
+        ZonedDateTime next = cron.next(after.atZone(ZoneId.systemDefault()));
+        return next != null ? next.toInstant() : null;
+    }
+
+    boolean tryStart() {
+        return running.compareAndSet(false, true);
+    }
+
+    void finish() {
+        running.set(false);
+    }
+
+    synchronized void scheduled(Instant fireAt, ScheduledFuture<?> future) {
+        nextFireAt = fireAt;
+        nextFuture = future;
+    }
+
+    synchronized void cancel() {
+        if (nextFuture != null) {
+            nextFuture.cancel(false);
+        }
+    }
+
+    /**
+     * Record a firing that found the job busy; returns true when it was kept for later
+     */
+    synchronized boolean misfire(Instant scheduledAt) {
+        misfires++;
+        if (definition.getMisfirePolicy() != MisfirePolicy.COALESCE) {
+            return false;
+        }
+        if (pendingFire == null || scheduledAt.isBefore(pendingFire)) {
+            pendingFire = scheduledAt;
+        }
+        return true;
+    }
+
+    synchronized Instant takePending() {
+        Instant pending = pendingFire;
+        pendingFire = null;
+        return pending;
+    }
+
+    synchronized void lockedElsewhere() {
+        lockedElsewhere++;
+    }
+
+    synchronized void started(Instant scheduledAt, Instant startedAt) {
+        lastStartedAt = startedAt;
+        lastLagMs = Math.max(0, startedAt.toEpochMilli() - scheduledAt.toEpochMilli());
+        maxLagMs = Math.max(maxLagMs, lastLagMs);
+    }
+
+    synchronized void finished(Instant finishedAt, long durationMs, String error) {
+        runs++;
+        if (error != null) {
+            failures++;
+        }
+        lastFinishedAt = finishedAt;
+        lastError = error;
+        lastDurationMs = durationMs;
+        maxDurationMs = Math.max(maxDurationMs, durationMs);
+        totalDurationMs += durationMs;
+    }
+
+    synchronized JobSnapshot snapshot() {
+        return JobSnapshot.builder()
+                .name(definition.getName())
+                .schedule(definition.getSchedule())
+                .clustered(definition.isClustered())
+                .misfirePolicy(definition.getMisfirePolicy())
+                .running(running.get())
+                .nextFireAt(nextFireAt)
+                .runs(runs)
+                .failures(failures)
+                .misfires(misfires)
+                .lockedElsewhere(lockedElsewhere)
+                .lastStartedAt(lastStartedAt)
+                .lastFinishedAt(lastFinishedAt)
+                .lastError(lastError)
+                .lastDurationMs(lastDurationMs)
+                .maxDurationMs(maxDurationMs)
+                .averageDurationMs(runs == 0 ? 0 : totalDurationMs / runs)
+                .lastLagMs(lastLagMs)
+                .maxLagMs(maxLagMs)
+                .build();
+    }
+}
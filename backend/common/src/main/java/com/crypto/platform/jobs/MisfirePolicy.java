@@ -0,0 +1,18 @@
+package com.crypto.platform.jobs;
+
+/**
+ * What happens to a firing that comes due while the previous run of the job is still going
+ */
+public enum MisfirePolicy {
+
+    /**
+     * Drop the firing; the job runs again at its next regular time
+     */
+    SKIP,
+
+    /**
+     * Remember the firing and run once more as soon as the current run ends, however many
+     * firings were missed in between
+     */
+    COALESCE
+}
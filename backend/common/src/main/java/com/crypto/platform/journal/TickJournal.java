@@ -0,0 +1,204 @@
+package com.crypto.platform.journal;
+
+import com.crypto.platform.model.CryptoPrice;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+
+/**
+ * Single-writer side of the tick journal (see {@link TickJournalFormat}).
+ * Appends go to the mapped segment, so they cost a memory copy and never wait on a disk or
+ * database. A file lock keeps a second process from writing the same directory.
+ *
+ * On open the last segment is scanned to find the end of the data; a torn record left by a
+ * crash fails its checksum and is cut off there, so the journal replays up to the last
+ * complete record.
+ */
+@Slf4j
+public class TickJournal implements Closeable {
+
+    private final Path dir;
+    private final int segmentSize;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ByteBuffer scratch = ByteBuffer.allocate(TickJournalFormat.MAX_PAYLOAD_BYTES);
+
+    private long segment;
+    private MappedByteBuffer buffer;
+    private int writeOffset;
+    private boolean closed;
+
+    private TickJournal(Path dir, int segmentSize, FileChannel lockChannel, FileLock lock) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+    }
+
+    public static TickJournal open(Path dir, int segmentSize) throws IOException {
+        TickJournal journal = tryOpen(dir, segmentSize);
+        if (journal == null) {
+            throw new IllegalStateException("Tick journal " + dir + " is already open for writing by another process");
+        }
+        return journal;
+    }
+
+    /**
+     * {@link #open}, or null when another process holds the writer lock
+     */
+    public static TickJournal tryOpen(Path dir, int segmentSize) throws IOException {
+        if (segmentSize < 4096 || segmentSize % 8 != 0) {
+            throw new IllegalArgumentException("Segment size must be a multiple of 8 and at least 4096: " + segmentSize);
+        }
+        Files.createDirectories(dir.resolve(TickJournalFormat.TAILERS_DIR));
+        FileChannel lockChannel = FileChannel.open(dir.resolve(TickJournalFormat.LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            return null;
+        }
+        TickJournal journal = new TickJournal(dir, segmentSize, lockChannel, lock);
+        journal.recover();
+        return journal;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    /**
+     * Sequence the next appended record will get
+     */
+    public synchronized long getEndSequence() {
+        return TickJournalFormat.sequence(segment, writeOffset);
+    }
+
+    /**
+     * Append a tick and return its sequence
+     */
+    public long append(CryptoPrice tick) {
+        return append(tick, null);
+    }
+
+    /**
+     * Append a tick. {@code beforePublish} receives the sequence before the record becomes
+     * visible to tailers, so callers can register interest in it without racing them.
+     */
+    public synchronized long append(CryptoPrice tick, LongConsumer beforePublish) {
+        if (closed) {
+            throw new IllegalStateException("Tick journal is closed");
+        }
+        scratch.clear();
+        int length = TickJournalFormat.encode(tick, scratch);
+        scratch.flip();
+
+        int recordBytes = TickJournalFormat.align(TickJournalFormat.HEADER_BYTES + length);
+        // Keep room for the end-of-segment marker
+        if (writeOffset + recordBytes + TickJournalFormat.HEADER_BYTES > segmentSize) {
+            roll();
+        }
+
+        int offset = writeOffset;
+        long sequence = TickJournalFormat.sequence(segment, offset);
+        buffer.position(offset + TickJournalFormat.HEADER_BYTES);
+        buffer.put(scratch);
+        buffer.putInt(offset + 4, TickJournalFormat.crc(buffer, offset + TickJournalFormat.HEADER_BYTES, length));
+        if (beforePublish != null) {
+            beforePublish.accept(sequence);
+        }
+        TickJournalFormat.putIntOrdered(buffer, offset, length);
+        writeOffset = offset + recordBytes;
+        return sequence;
+    }
+
+    /**
+     * Flush written records of the current segment to disk
+     */
+    public synchronized void force() {
+        if (!closed) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.force();
+        lock.release();
+        lockChannel.close();
+    }
+
+    private void recover() throws IOException {
+        long last = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + TickJournalFormat.FILE_EXTENSION)) {
+            for (Path file : files) {
+                last = Math.max(last, TickJournalFormat.segmentIndex(file));
+            }
+        }
+        segment = Math.max(last, 0);
+        buffer = map(segment);
+        writeOffset = 0;
+        while (writeOffset + TickJournalFormat.HEADER_BYTES <= segmentSize) {
+            int length = buffer.getInt(writeOffset);
+            if (length == TickJournalFormat.END_OF_SEGMENT) {
+                segment++;
+                buffer.force();
+                buffer = map(segment);
+                writeOffset = 0;
+                continue;
+            }
+            if (length == 0) {
+                break;
+            }
+            int payload = writeOffset + TickJournalFormat.HEADER_BYTES;
+            if (length < 0 || payload + length > segmentSize
+                    || TickJournalFormat.crc(buffer, payload, length) != buffer.getInt(writeOffset + 4)) {
+                log.warn("Discarding torn tick journal record at segment {} offset {}", segment, writeOffset);
+                int end = Math.min(segmentSize, payload + Math.max(length, 0));
+                for (int i = writeOffset; i < end; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                break;
+            }
+            writeOffset += TickJournalFormat.align(TickJournalFormat.HEADER_BYTES + length);
+        }
+        log.info("Opened tick journal {} at segment {} offset {}", dir, segment, writeOffset);
+    }
+
+    private void roll() {
+        long next = segment + 1;
+        MappedByteBuffer nextBuffer;
+        try {
+            // Create the next segment before the marker so readers always find it
+            nextBuffer = map(next);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create tick journal segment " + next, e);
+        }
+        TickJournalFormat.putIntOrdered(buffer, writeOffset, TickJournalFormat.END_OF_SEGMENT);
+        buffer.force();
+        segment = next;
+        buffer = nextBuffer;
+        writeOffset = 0;
+    }
+
+    private MappedByteBuffer map(long index) throws IOException {
+        try (FileChannel channel = FileChannel.open(TickJournalFormat.segmentPath(dir, index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.crypto.platform.journal;
+
+import com.crypto.platform.archive.TickArchiveFormat;
+import com.crypto.platform.model.CryptoPrice;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Layout and codec of the tick journal.
+ *
+ * The journal is a directory of pre-sized, memory-mapped segment files
+ * ({@code 000000000042.tjl}). Each segment is a sequence of 8-byte aligned records:
+ * <pre>
+ *   record  : length(int) crc32(int) payload padding
+ *   payload : timestampMicros(long) symbolLength(byte) symbol(ascii)
+ *             6 x [scale(byte) unscaledLength(byte) unscaled(two's complement)]
+ * </pre>
+ * The writer stores the length word last with release semantics, so a reader that sees a
+ * non-zero length also sees the whole payload. A zero length is the end of the data written
+ * so far and {@link #END_OF_SEGMENT} tells readers to continue in the next segment.
+ *
+ * A record's sequence is {@code segmentIndex << 32 | offset}, which is increasing and also
+ * its position in the journal.
+ */
+public final class TickJournalFormat {
+
+    public static final String FILE_EXTENSION = ".tjl";
+    public static final String OFFSET_EXTENSION = ".offset";
+    public static final String TAILERS_DIR = "tailers";
+    public static final String LOCK_FILE = "writer.lock";
+
+    public static final int HEADER_BYTES = 8;
+    public static final int END_OF_SEGMENT = -1;
+    public static final int MAX_PAYLOAD_BYTES = 8 + 1 + 255 + 6 * (2 + 255);
+
+    static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private TickJournalFormat() {
+    }
+
+    public static long sequence(long segment, int offset) {
+        return (segment << 32) | offset;
+    }
+
+    public static long segmentOf(long sequence) {
+        return sequence >>> 32;
+    }
+
+    public static int offsetOf(long sequence) {
+        return (int) sequence;
+    }
+
+    public static int align(int length) {
+        return (length + 7) & ~7;
+    }
+
+    public static Path segmentPath(Path dir, long segment) {
+        return dir.resolve(String.format("%012d%s", segment, FILE_EXTENSION));
+    }
+
+    /**
+     * Segment index of a journal file name, or -1 if it is not a segment
+     */
+    public static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(FILE_EXTENSION)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(0, name.length() - FILE_EXTENSION.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static int getIntVolatile(ByteBuffer buffer, int index) {
+        return (int) INT_VIEW.getAcquire(buffer, index);
+    }
+
+    static void putIntOrdered(ByteBuffer buffer, int index, int value) {
+        INT_VIEW.setRelease(buffer, index, value);
+    }
+
+    /**
+     * Encode a tick into the buffer at its position and return the payload length
+     */
+    static int encode(CryptoPrice tick, ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putLong(TickArchiveFormat.toMicros(tick.getTimestamp()));
+        byte[] symbol = tick.getSymbol().getBytes(StandardCharsets.US_ASCII);
+        if (symbol.length > 255) {
+            throw new IllegalArgumentException("Symbol too long: " + tick.getSymbol());
+        }
+        buffer.put((byte) symbol.length);
+        buffer.put(symbol);
+        putDecimal(buffer, tick.getPrice());
+        putDecimal(buffer, tick.getVolume24h());
+        putDecimal(buffer, tick.getMarketCap());
+        putDecimal(buffer, tick.getHigh24h());
+        putDecimal(buffer, tick.getLow24h());
+        putDecimal(buffer, tick.getPriceChangePercent24h());
+        return buffer.position() - start;
+    }
+
+    /**
+     * Decode the payload starting at {@code offset}; the id is left to the caller
+     */
+    static CryptoPrice decode(ByteBuffer buffer, int offset) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(offset);
+        long micros = in.getLong();
+        byte[] symbol = new byte[in.get() & 0xFF];
+        in.get(symbol);
+        return CryptoPrice.builder()
+                .timestamp(TickArchiveFormat.fromMicros(micros))
+                .symbol(new String(symbol, StandardCharsets.US_ASCII))
+                .price(getDecimal(in))
+                .volume24h(getDecimal(in))
+                .marketCap(getDecimal(in))
+                .high24h(getDecimal(in))
+                .low24h(getDecimal(in))
+                .priceChangePercent24h(getDecimal(in))
+                .build();
+    }
+
+    static int crc(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset).limit(offset + length);
+        CRC32 crc = new CRC32();
+        crc.update(slice);
+        return (int) crc.getValue();
+    }
+
+    private static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        if (unscaled.length > 255 || value.scale() != (byte) value.scale()) {
+            throw new IllegalArgumentException("Decimal out of journal range: " + value);
+        }
+        buffer.put((byte) value.scale());
+        buffer.put((byte) unscaled.length);
+        buffer.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        int scale = buffer.get();
+        byte[] unscaled = new byte[buffer.get() & 0xFF];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
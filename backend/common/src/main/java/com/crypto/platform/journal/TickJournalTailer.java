@@ -0,0 +1,189 @@
+package com.crypto.platform.journal;
+
+import com.crypto.platform.model.CryptoPrice;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Named reader of the tick journal with its own read position. The committed position is
+ * persisted in {@code tailers/<name>.offset}, so a restarted tailer resumes after the last
+ * record it committed, and tailers in other processes can read the same directory.
+ * Not thread safe; each consumer owns its tailer.
+ */
+@Slf4j
+public class TickJournalTailer implements Closeable {
+
+    /**
+     * Receives journal records in order
+     */
+    public interface TickHandler {
+        void onTick(long sequence, CryptoPrice tick);
+    }
+
+    private final Path dir;
+    private final String name;
+    private final FileChannel offsetChannel;
+    private final MappedByteBuffer offsetBuffer;
+
+    private long segment = -1;
+    private MappedByteBuffer buffer;
+    private int readOffset;
+    private long committed;
+
+    private TickJournalTailer(Path dir, String name, FileChannel offsetChannel, MappedByteBuffer offsetBuffer) {
+        this.dir = dir;
+        this.name = name;
+        this.offsetChannel = offsetChannel;
+        this.offsetBuffer = offsetBuffer;
+    }
+
+    public static TickJournalTailer open(Path dir, String name) throws IOException {
+        Path tailers = dir.resolve(TickJournalFormat.TAILERS_DIR);
+        Files.createDirectories(tailers);
+        FileChannel channel = FileChannel.open(tailers.resolve(name + TickJournalFormat.OFFSET_EXTENSION),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer offsetBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        TickJournalTailer tailer = new TickJournalTailer(dir, name, channel, offsetBuffer);
+        tailer.seek(offsetBuffer.getLong(0));
+        log.info("Tick journal tailer '{}' resuming at segment {} offset {}", name,
+                TickJournalFormat.segmentOf(tailer.committed), TickJournalFormat.offsetOf(tailer.committed));
+        return tailer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sequence of the next record this tailer will read
+     */
+    public long getPosition() {
+        return TickJournalFormat.sequence(Math.max(segment, 0), readOffset);
+    }
+
+    public long getCommitted() {
+        return committed;
+    }
+
+    /**
+     * Move the read position, e.g. to an offset stored elsewhere
+     */
+    public void seek(long sequence) {
+        long target = TickJournalFormat.segmentOf(sequence);
+        if (target != segment) {
+            segment = target;
+            buffer = null;
+        }
+        readOffset = TickJournalFormat.offsetOf(sequence);
+        committed = sequence;
+    }
+
+    /**
+     * Go back to the last committed position, e.g. after the consumer failed
+     */
+    public void rewind() {
+        seek(committed);
+    }
+
+    /**
+     * Hand up to {@code maxRecords} new records to the handler without committing them.
+     * Returns the number of records read, 0 when the tailer is at the end of the journal.
+     */
+    public int poll(TickHandler handler, int maxRecords) throws IOException {
+        return poll(handler, maxRecords, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #poll(TickHandler, int)}, but stop before the record at {@code endSequence},
+     * e.g. the position another tailer has committed
+     */
+    public int poll(TickHandler handler, int maxRecords, long endSequence) throws IOException {
+        int read = 0;
+        while (read < maxRecords && getPosition() < endSequence) {
+            if (buffer == null && !mapSegment()) {
+                break;
+            }
+            if (readOffset + TickJournalFormat.HEADER_BYTES > buffer.capacity()) {
+                break;
+            }
+            int length = TickJournalFormat.getIntVolatile(buffer, readOffset);
+            if (length == 0) {
+                break;
+            }
+            if (length == TickJournalFormat.END_OF_SEGMENT) {
+                segment++;
+                readOffset = 0;
+                buffer = null;
+                continue;
+            }
+            int payload = readOffset + TickJournalFormat.HEADER_BYTES;
+            if (length < 0 || payload + length > buffer.capacity()
+                    || TickJournalFormat.crc(buffer, payload, length) != buffer.getInt(readOffset + 4)) {
+                throw new IOException("Corrupt tick journal record at segment " + segment + " offset " + readOffset);
+            }
+            handler.onTick(TickJournalFormat.sequence(segment, readOffset), TickJournalFormat.decode(buffer, payload));
+            readOffset += TickJournalFormat.align(TickJournalFormat.HEADER_BYTES + length);
+            read++;
+        }
+        return read;
+    }
+
+    /**
+     * Persist the current read position
+     */
+    public void commit() {
+        committed = getPosition();
+        offsetBuffer.putLong(0, committed);
+    }
+
+    @Override
+    public void close() throws IOException {
+        offsetBuffer.force();
+        offsetChannel.close();
+    }
+
+    private boolean mapSegment() throws IOException {
+        try (FileChannel channel = FileChannel.open(TickJournalFormat.segmentPath(dir, segment), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < TickJournalFormat.HEADER_BYTES) {
+                return false;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return true;
+        } catch (NoSuchFileException e) {
+            return skipToOldestSegment();
+        }
+    }
+
+    /**
+     * The segment was removed by retention before this tailer read it; continue with the
+     * oldest one still on disk
+     */
+    private boolean skipToOldestSegment() throws IOException {
+        long oldest = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + TickJournalFormat.FILE_EXTENSION)) {
+            for (Path file : files) {
+                long index = TickJournalFormat.segmentIndex(file);
+                if (index > segment && (oldest < 0 || index < oldest)) {
+                    oldest = index;
+                }
+            }
+        }
+        if (oldest < 0) {
+            return false;
+        }
+        log.warn("Tick journal tailer '{}' skipped missing segments {}..{}", name, segment, oldest - 1);
+        segment = oldest;
+        readOffset = 0;
+        return mapSegment();
+    }
+}
@@ -0,0 +1,121 @@
+package com.crypto.platform.ml;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Log-linear trend of the hourly closes of one symbol, fitted by least squares, with the
+ * volatility of hourly log returns. Scoring is two multiplications and an exp, so it runs
+ * in-process on every request from the live price:
+ * <pre>
+ *   price(t + h)  = price(t) * exp(slopePerHour * h)
+ *   interval(h)   = price(t + h) * volatility * sqrt(h)
+ * </pre>
+ * File layout: magic(int) formatVersion(byte) symbolLength(short) symbol(utf-8) version(int)
+ * trainedAt trainedFrom trainedTo(long ms) sampleCount(int) slopePerHour intercept
+ * residualStdDev volatility r2(double) crc32c(int) of everything before it.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class TrendModel {
+
+    public static final String TYPE = "LOG_TREND";
+    public static final String FILE_EXTENSION = ".cpm";
+
+    private static final int MAGIC = 0x43504D31; // "CPM1"
+    private static final byte FORMAT_VERSION = 1;
+
+    private final String symbol;
+    // Registry version, increasing per symbol
+    private final int version;
+    private final long trainedAtMs;
+    private final long trainedFromMs;
+    private final long trainedToMs;
+    private final int sampleCount;
+    // Drift of ln(price) per hour
+    private final double slopePerHour;
+    // Fitted ln(price) at the last training hour
+    private final double intercept;
+    private final double residualStdDev;
+    // Standard deviation of hourly log returns
+    private final double volatility;
+    private final double r2;
+
+    public double predictPrice(double price, double hours) {
+        return price * Math.exp(slopePerHour * hours);
+    }
+
+    /**
+     * One standard deviation around a predicted price, widening with the square root of time
+     */
+    public double confidenceInterval(double predictedPrice, double hours) {
+        return predictedPrice * volatility * Math.sqrt(hours);
+    }
+
+    public void write(Path path) throws IOException {
+        byte[] name = symbol.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 1 + 2 + name.length + 4 + 3 * 8 + 4 + 5 * 8 + 4);
+        buffer.putInt(MAGIC).put(FORMAT_VERSION).putShort((short) name.length).put(name).putInt(version)
+                .putLong(trainedAtMs).putLong(trainedFromMs).putLong(trainedToMs).putInt(sampleCount)
+                .putDouble(slopePerHour).putDouble(intercept).putDouble(residualStdDev).putDouble(volatility)
+                .putDouble(r2);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @throws IOException when the file cannot be read or fails its checksum
+     */
+    public static TrendModel read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < 11 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a model file: " + path);
+        }
+        if (buffer.get() != FORMAT_VERSION) {
+            throw new IOException("Unsupported model format: " + path);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.limit() - 4);
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            throw new IOException("Model checksum mismatch: " + path);
+        }
+        byte[] name = new byte[buffer.getShort()];
+        buffer.get(name);
+        return TrendModel.builder()
+                .symbol(new String(name, StandardCharsets.UTF_8))
+                .version(buffer.getInt())
+                .trainedAtMs(buffer.getLong())
+                .trainedFromMs(buffer.getLong())
+                .trainedToMs(buffer.getLong())
+                .sampleCount(buffer.getInt())
+                .slopePerHour(buffer.getDouble())
+                .intercept(buffer.getDouble())
+                .residualStdDev(buffer.getDouble())
+                .volatility(buffer.getDouble())
+                .r2(buffer.getDouble())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.crypto.platform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Entity
+@Table(name = "alert_notifications",
+       indexes = @Index(name = "idx_alert_notifications_username", columnList = "username, createdAt"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertNotification {
+
+    // Sequence ids (not IDENTITY) so a delivery batch is inserted with JDBC batching
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_notification_seq")
+    @SequenceGenerator(name = "alert_notification_seq", sequenceName = "alert_notification_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long alertId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+}
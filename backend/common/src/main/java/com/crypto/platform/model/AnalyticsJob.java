@@ -0,0 +1,82 @@
+package com.crypto.platform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Unit of work handed from the API to the analytics workers through Postgres.
+ * Workers claim PENDING rows with {@code FOR UPDATE SKIP LOCKED}, so any number
+ * of them can poll the same table, and renew the heartbeat of a RUNNING job while they work on it.
+ */
+@Entity
+@Table(name = "analytics_jobs",
+       indexes = @Index(name = "idx_analytics_jobs_status_created", columnList = "status, createdAt"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobType type;
+
+    @Column
+    private String symbol;  // null means all symbols
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column
+    private Instant startedAt;
+
+    @Column
+    private Instant finishedAt;
+
+    @Column
+    private Instant heartbeatAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column
+    private String workerId;
+
+    @Column(length = 1000)
+    private String error;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        if (status == null) {
+            status = JobStatus.PENDING;
+        }
+    }
+
+    public enum JobType {
+        PREDICTION,
+        HDFS_EXPORT,
+        RETENTION,
+        COMPACTION
+    }
+
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+}
@@ -10,7 +10,8 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "crypto_prices")
+@Table(name = "crypto_prices",
+       indexes = @Index(name = "idx_crypto_prices_symbol_timestamp_id", columnList = "symbol, timestamp, id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,40 @@
+package com.crypto.platform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Cluster-wide lease for a scheduled job: the replica that holds an unexpired lease runs the
+ * job, the others skip that firing. Also records the last run so a restarted cluster can
+ * tell whether a firing was missed.
+ */
+@Entity
+@Table(name = "job_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLock {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant lockedAt;
+
+    @Column(nullable = false)
+    private Instant lockedUntil;
+
+    private Instant lastFinishedAt;
+
+    private Long lastDurationMs;
+
+    private Boolean lastSucceeded;
+}
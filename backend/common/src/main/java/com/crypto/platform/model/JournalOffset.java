@@ -0,0 +1,30 @@
+package com.crypto.platform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Read position of a tick journal tailer whose output lives in the database. It is updated
+ * in the same transaction as the rows, so a replay after a crash neither loses nor repeats ticks.
+ */
+@Entity
+@Table(name = "journal_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalOffset {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private long position;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,68 @@
+package com.crypto.platform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A trained model in the registry: where its serialized file is and how well it fitted.
+ * The highest version of a symbol is the one being served.
+ */
+@Entity
+@Table(name = "model_versions",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"symbol", "version"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Column(nullable = false)
+    private String modelType;
+
+    @Column(nullable = false, length = 500)
+    private String path;
+
+    @Column(nullable = false)
+    private Integer sampleCount;
+
+    @Column(nullable = false)
+    private Double slopePerHour;
+
+    @Column(nullable = false)
+    private Double volatility;
+
+    @Column(nullable = false)
+    private Double residualStdDev;
+
+    @Column(nullable = false)
+    private Double r2;
+
+    @Column(nullable = false)
+    private Instant trainedFrom;
+
+    @Column(nullable = false)
+    private Instant trainedTo;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,79 @@
+package com.crypto.platform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Entity
+@Table(name = "price_alerts",
+       indexes = {
+           @Index(name = "idx_price_alerts_status", columnList = "status"),
+           @Index(name = "idx_price_alerts_username", columnList = "username")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AlertType type;
+
+    @Column
+    private BigDecimal targetPrice;  // ABOVE / BELOW
+
+    @Column
+    private BigDecimal percent;  // PERCENT_MOVE, in either direction from basePrice
+
+    @Column
+    private BigDecimal basePrice;  // PERCENT_MOVE reference price at creation
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AlertStatus status;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column
+    private Instant triggeredAt;
+
+    @Column
+    private BigDecimal triggeredPrice;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        if (status == null) {
+            status = AlertStatus.ACTIVE;
+        }
+    }
+
+    public enum AlertType {
+        ABOVE,
+        BELOW,
+        PERCENT_MOVE
+    }
+
+    public enum AlertStatus {
+        ACTIVE,
+        TRIGGERED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,40 @@
+package com.crypto.platform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Long-lived token exchanged for a new access token without a password check. Only the
+ * SHA-256 of the token is stored; each token is single use and replaced on refresh.
+ */
+@Entity
+@Table(name = "refresh_tokens",
+       uniqueConstraints = @UniqueConstraint(columnNames = "tokenHash"),
+       indexes = @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
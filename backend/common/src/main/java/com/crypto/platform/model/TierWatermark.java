@@ -0,0 +1,30 @@
+package com.crypto.platform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Boundary between the storage tiers of a symbol: ticks before {@code coldBefore} have been
+ * evicted from Postgres after being verified in the tick archive, later ticks are still in Postgres.
+ */
+@Entity
+@Table(name = "tier_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TierWatermark {
+
+    @Id
+    @Column(length = 50)
+    private String symbol;
+
+    @Column(nullable = false)
+    private Instant coldBefore;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
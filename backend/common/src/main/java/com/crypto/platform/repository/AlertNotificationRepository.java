@@ -0,0 +1,14 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.AlertNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlertNotificationRepository extends JpaRepository<AlertNotification, Long> {
+
+    List<AlertNotification> findByUsernameOrderByCreatedAtDesc(String username, Pageable pageable);
+}
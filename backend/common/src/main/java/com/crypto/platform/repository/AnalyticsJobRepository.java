@@ -0,0 +1,39 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.AnalyticsJob;
+import com.crypto.platform.model.AnalyticsJob.JobStatus;
+import com.crypto.platform.model.AnalyticsJob.JobType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsJobRepository extends JpaRepository<AnalyticsJob, Long> {
+
+    /** Lock the oldest pending job; rows locked by other workers are skipped, not waited on */
+    @Query(value = "SELECT * FROM analytics_jobs WHERE status = 'PENDING' ORDER BY created_at, id " +
+                   "LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<AnalyticsJob> lockNextPending();
+
+    boolean existsByTypeAndSymbolAndStatusIn(JobType type, String symbol, Collection<JobStatus> statuses);
+
+    boolean existsByTypeAndSymbolIsNullAndStatusIn(JobType type, Collection<JobStatus> statuses);
+
+    /** Renew the heartbeat of a job the worker still holds */
+    @Modifying
+    @Query("UPDATE AnalyticsJob j SET j.heartbeatAt = :now " +
+           "WHERE j.id = :id AND j.workerId = :workerId AND j.status = 'RUNNING'")
+    int heartbeat(@Param("id") long id, @Param("workerId") String workerId, @Param("now") Instant now);
+
+    /** Put jobs of crashed workers back in the queue; rows claimed before heartbeats fall back to the start */
+    @Modifying
+    @Query("UPDATE AnalyticsJob j SET j.status = 'PENDING', j.workerId = NULL " +
+           "WHERE j.status = 'RUNNING' AND COALESCE(j.heartbeatAt, j.startedAt) < :cutoff")
+    int requeueStale(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,190 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.CryptoPrice;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface CryptoPriceRepository extends JpaRepository<CryptoPrice, Long> {
+
+    Optional<CryptoPrice> findTopBySymbolOrderByTimestampDesc(String symbol);
+
+    Optional<CryptoPrice> findTopBySymbolOrderByTimestampAsc(String symbol);
+
+    List<CryptoPrice> findBySymbolOrderByTimestampDesc(String symbol, Pageable pageable);
+
+    List<CryptoPrice> findBySymbolOrderByTimestampDescIdDesc(String symbol, Pageable pageable);
+
+    @Query("SELECT cp FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp BETWEEN :startTime AND :endTime ORDER BY cp.timestamp ASC")
+    List<CryptoPrice> findBySymbolAndTimeRange(
+            @Param("symbol") String symbol,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT cp FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp BETWEEN :startTime AND :endTime ORDER BY cp.timestamp ASC")
+    Stream<CryptoPrice> streamBySymbolAndTimeRange(
+            @Param("symbol") String symbol,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime);
+
+    /**
+     * Scalar rows [timestamp, id, price, volume24h, marketCap, high24h, low24h, priceChangePercent24h]
+     * of a range, oldest first, read from the cursor without creating managed entities
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT cp.timestamp, cp.id, cp.price, cp.volume24h, cp.marketCap, cp.high24h, cp.low24h, " +
+           "cp.priceChangePercent24h FROM CryptoPrice cp " +
+           "WHERE cp.symbol = :symbol AND cp.timestamp BETWEEN :startTime AND :endTime ORDER BY cp.timestamp ASC")
+    Stream<Object[]> streamColumnsBySymbolAndTimeRange(
+            @Param("symbol") String symbol,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime);
+
+    /**
+     * Latest scalar rows of a symbol, newest first, in the column order of
+     * {@link #streamColumnsBySymbolAndTimeRange}
+     */
+    @Query("SELECT cp.timestamp, cp.id, cp.price, cp.volume24h, cp.marketCap, cp.high24h, cp.low24h, " +
+           "cp.priceChangePercent24h FROM CryptoPrice cp WHERE cp.symbol = :symbol ORDER BY cp.timestamp DESC, cp.id DESC")
+    List<Object[]> findRecentColumnsBySymbol(@Param("symbol") String symbol, Pageable pageable);
+
+    /**
+     * Keyset page of a symbol's ticks older than (timestamp, id), newest first. The first
+     * conjunct bounds the index range scan; the second only drops rows of the same timestamp.
+     */
+    @Query("SELECT cp FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp <= :timestamp " +
+           "AND (cp.timestamp < :timestamp OR cp.id < :id) ORDER BY cp.timestamp DESC, cp.id DESC")
+    List<CryptoPrice> findPageBefore(
+            @Param("symbol") String symbol,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") long id,
+            Pageable pageable);
+
+    /**
+     * Keyset page of a symbol's ticks newer than (timestamp, id) up to endTime, oldest first
+     */
+    @Query("SELECT cp FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp >= :timestamp " +
+           "AND (cp.timestamp > :timestamp OR cp.id > :id) AND cp.timestamp <= :endTime " +
+           "ORDER BY cp.timestamp ASC, cp.id ASC")
+    List<CryptoPrice> findPageAfter(
+            @Param("symbol") String symbol,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") long id,
+            @Param("endTime") Instant endTime,
+            Pageable pageable);
+
+    /**
+     * {@link #findPageBefore} as scalar rows in the column order of {@link #streamColumnsBySymbolAndTimeRange}
+     */
+    @Query("SELECT cp.timestamp, cp.id, cp.price, cp.volume24h, cp.marketCap, cp.high24h, cp.low24h, " +
+           "cp.priceChangePercent24h FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp <= :timestamp " +
+           "AND (cp.timestamp < :timestamp OR cp.id < :id) ORDER BY cp.timestamp DESC, cp.id DESC")
+    List<Object[]> findColumnsPageBefore(
+            @Param("symbol") String symbol,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") long id,
+            Pageable pageable);
+
+    /**
+     * {@link #findPageAfter} as scalar rows in the column order of {@link #streamColumnsBySymbolAndTimeRange}
+     */
+    @Query("SELECT cp.timestamp, cp.id, cp.price, cp.volume24h, cp.marketCap, cp.high24h, cp.low24h, " +
+           "cp.priceChangePercent24h FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp >= :timestamp " +
+           "AND (cp.timestamp > :timestamp OR cp.id > :id) AND cp.timestamp <= :endTime " +
+           "ORDER BY cp.timestamp ASC, cp.id ASC")
+    List<Object[]> findColumnsPageAfter(
+            @Param("symbol") String symbol,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") long id,
+            @Param("endTime") Instant endTime,
+            Pageable pageable);
+
+    /**
+     * Scalar rows [timestamp, price, volume24h] of a symbol's ticks since {@code since}, oldest
+     * first, without creating managed entities
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT cp.timestamp, cp.price, cp.volume24h FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp >= :since ORDER BY cp.timestamp ASC")
+    List<Object[]> findPriceVolumeSince(@Param("symbol") String symbol, @Param("since") Instant since);
+
+    /**
+     * Database ids of a symbol's ticks in a range as [timestamp, id] rows
+     */
+    @Query("SELECT cp.timestamp, cp.id FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp BETWEEN :startTime AND :endTime")
+    List<Object[]> findIdsBySymbolAndTimeRange(
+            @Param("symbol") String symbol,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime);
+
+    @Query("SELECT COUNT(cp) FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp BETWEEN :startTime AND :endTime")
+    long countBySymbolAndTimeRange(
+            @Param("symbol") String symbol,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime);
+
+    /**
+     * Latest tick of every symbol that has ticks since {@code since}
+     */
+    @Query(value = "SELECT DISTINCT ON (symbol) * FROM crypto_prices WHERE timestamp >= :since " +
+                   "ORDER BY symbol, timestamp DESC", nativeQuery = true)
+    List<CryptoPrice> findLatestPerSymbolSince(@Param("since") Instant since);
+
+    /**
+     * Hourly closes of a symbol since {@code since} as [epoch hour, epoch millis, price] rows, oldest first
+     */
+    @Query(value = "SELECT DISTINCT ON (hour) CAST(FLOOR(EXTRACT(EPOCH FROM timestamp) / 3600) AS bigint) AS hour, " +
+                   "CAST(EXTRACT(EPOCH FROM timestamp) * 1000 AS bigint) AS time_ms, price " +
+                   "FROM crypto_prices WHERE symbol = :symbol AND timestamp >= :since " +
+                   "ORDER BY hour, timestamp DESC", nativeQuery = true)
+    List<Object[]> findHourlyClosesSince(@Param("symbol") String symbol, @Param("since") Instant since);
+
+    /**
+     * Delete the ticks of a symbol in [startTime, endTime)
+     */
+    @Modifying
+    @Query("DELETE FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.timestamp >= :startTime AND cp.timestamp < :endTime")
+    int deleteBySymbolAndTimeRange(
+            @Param("symbol") String symbol,
+            @Param("startTime") Instant startTime,
+            @Param("endTime") Instant endTime);
+
+    @Query("SELECT DISTINCT cp.symbol FROM CryptoPrice cp")
+    List<String> findAllCryptoSymbols();
+
+    @Query("SELECT COALESCE(MAX(cp.id), 0) FROM CryptoPrice cp")
+    long findMaxId();
+
+    /**
+     * Ticks of all symbols after afterId up to and including upToId, in id order
+     */
+    @Query("SELECT cp FROM CryptoPrice cp WHERE cp.id > :afterId AND cp.id <= :upToId ORDER BY cp.id ASC")
+    List<CryptoPrice> findByIdRange(
+            @Param("afterId") long afterId,
+            @Param("upToId") long upToId,
+            Pageable pageable);
+
+    /**
+     * Ticks of a symbol after afterId up to and including upToId, in id order
+     */
+    @Query("SELECT cp FROM CryptoPrice cp WHERE cp.symbol = :symbol AND cp.id > :afterId AND cp.id <= :upToId ORDER BY cp.id ASC")
+    List<CryptoPrice> findBySymbolAndIdRange(
+            @Param("symbol") String symbol,
+            @Param("afterId") long afterId,
+            @Param("upToId") long upToId,
+            Pageable pageable);
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Take the lease if it is free, expired or already ours; returns 1 when acquired. One
+     * statement, so two replicas racing for a missing row cannot both win.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_locks (name, owner, locked_at, locked_until) " +
+                   "VALUES (:name, :owner, :now, :until) " +
+                   "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, locked_at = EXCLUDED.locked_at, " +
+                   "locked_until = EXCLUDED.locked_until " +
+                   "WHERE job_locks.locked_until <= :now OR job_locks.owner = :owner", nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Shorten our lease to {@code until} and record the outcome of the run
+     */
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until, l.lastFinishedAt = :finishedAt, " +
+           "l.lastDurationMs = :durationMs, l.lastSucceeded = :succeeded " +
+           "WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("until") Instant until,
+                @Param("finishedAt") Instant finishedAt, @Param("durationMs") long durationMs,
+                @Param("succeeded") boolean succeeded);
+
+    List<JobLock> findAllByOrderByNameAsc();
+}
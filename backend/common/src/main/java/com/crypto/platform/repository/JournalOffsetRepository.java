@@ -0,0 +1,9 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.JournalOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JournalOffsetRepository extends JpaRepository<JournalOffset, String> {
+}
@@ -0,0 +1,23 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.ModelVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ModelVersionRepository extends JpaRepository<ModelVersion, Long> {
+
+    Optional<ModelVersion> findTopBySymbolOrderByVersionDesc(String symbol);
+
+    List<ModelVersion> findBySymbolOrderByVersionDesc(String symbol);
+
+    Optional<ModelVersion> findBySymbolAndVersion(String symbol, int version);
+
+    /** The current (highest) version of every symbol */
+    @Query(value = "SELECT DISTINCT ON (symbol) * FROM model_versions ORDER BY symbol, version DESC", nativeQuery = true)
+    List<ModelVersion> findCurrentVersions();
+}
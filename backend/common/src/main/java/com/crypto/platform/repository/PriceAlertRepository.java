@@ -0,0 +1,46 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.PriceAlert;
+import com.crypto.platform.model.PriceAlert.AlertStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT pa FROM PriceAlert pa WHERE pa.status = :status")
+    Stream<PriceAlert> streamByStatus(@Param("status") AlertStatus status);
+
+    List<PriceAlert> findByUsernameOrderByCreatedAtDesc(String username);
+
+    long countByUsernameAndStatus(String username, AlertStatus status);
+
+    /** Lock the alerts for the rest of the transaction; a replica delivering the same alerts waits and then sees them triggered */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pa FROM PriceAlert pa WHERE pa.id IN :ids")
+    List<PriceAlert> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /** Mark still-active alerts as triggered; alerts cancelled in the meantime are left alone */
+    @Modifying
+    @Query("UPDATE PriceAlert pa SET pa.status = 'TRIGGERED', pa.triggeredAt = :triggeredAt, pa.triggeredPrice = :price " +
+           "WHERE pa.id IN :ids AND pa.status = 'ACTIVE'")
+    int markTriggered(@Param("ids") Collection<Long> ids,
+                      @Param("price") BigDecimal price,
+                      @Param("triggeredAt") Instant triggeredAt);
+}
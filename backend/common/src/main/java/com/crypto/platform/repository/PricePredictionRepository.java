@@ -0,0 +1,44 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.PricePrediction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PricePredictionRepository extends JpaRepository<PricePrediction, Long> {
+
+    Optional<PricePrediction> findTopBySymbolOrderByCreatedAtDesc(String symbol);
+
+    List<PricePrediction> findBySymbolOrderByTargetDateAsc(String symbol);
+
+    @Query("SELECT pp FROM PricePrediction pp WHERE pp.symbol = :symbol AND pp.targetDate BETWEEN :startDate AND :endDate ORDER BY pp.targetDate ASC")
+    List<PricePrediction> findBySymbolAndTargetDateRange(
+            @Param("symbol") String symbol,
+            @Param("startDate") Instant startDate,
+            @Param("endDate") Instant endDate);
+
+    /**
+     * Scalar rows [targetDate, id, predictedPrice, confidenceInterval, accuracy, createdAt, model]
+     * of a symbol, ordered by target date
+     */
+    @Query("SELECT pp.targetDate, pp.id, pp.predictedPrice, pp.confidenceInterval, pp.accuracy, pp.createdAt, " +
+           "pp.model FROM PricePrediction pp WHERE pp.symbol = :symbol ORDER BY pp.targetDate ASC")
+    List<Object[]> findColumnsBySymbol(@Param("symbol") String symbol);
+
+    /**
+     * Scalar rows of a target date range in the column order of {@link #findColumnsBySymbol}
+     */
+    @Query("SELECT pp.targetDate, pp.id, pp.predictedPrice, pp.confidenceInterval, pp.accuracy, pp.createdAt, " +
+           "pp.model FROM PricePrediction pp " +
+           "WHERE pp.symbol = :symbol AND pp.targetDate BETWEEN :startDate AND :endDate ORDER BY pp.targetDate ASC")
+    List<Object[]> findColumnsBySymbolAndTargetDateRange(
+            @Param("symbol") String symbol,
+            @Param("startDate") Instant startDate,
+            @Param("endDate") Instant endDate);
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Delete a token; returns 0 when a concurrent refresh already used it
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id = :id")
+    int consume(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,9 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.TierWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TierWatermarkRepository extends JpaRepository<TierWatermark, String> {
+}
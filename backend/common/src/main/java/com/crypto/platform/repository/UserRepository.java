@@ -0,0 +1,39 @@
+package com.crypto.platform.repository;
+
+import com.crypto.platform.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+
+    Optional<User> findByUsername(String username);
+
+    Boolean existsByUsername(String username);
+
+    Boolean existsByEmail(String email);
+
+    /**
+     * Usernames and emails of the users that clash with a registration, in one index-backed
+     * query; empty when both are free
+     */
+    @Query("SELECT u.username, u.email FROM User u WHERE u.username = :username OR u.email = :email")
+    List<Object[]> findConflicts(@Param("username") String username, @Param("email") String email);
+
+    /**
+     * Record the last login of a batch of users that logged in within the same second
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.lastLogin = :lastLogin WHERE u.username IN :usernames")
+    int updateLastLogin(@Param("usernames") Collection<String> usernames, @Param("lastLogin") Instant lastLogin);
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.model.AnalyticsJob;
+import com.crypto.platform.model.AnalyticsJob.JobStatus;
+import com.crypto.platform.model.AnalyticsJob.JobType;
+import com.crypto.platform.repository.AnalyticsJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Postgres-backed job queue between the API and the analytics workers. A partial unique index
+ * allows one active (pending or running) job per type and symbol, so concurrent enqueues of
+ * the same job store it once; workers renew a heartbeat while running a job, and jobs whose
+ * heartbeat stopped are requeued.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsJobService {
+
+    private static final Set<JobStatus> ACTIVE = EnumSet.of(JobStatus.PENDING, JobStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // ddl-auto cannot express partial or expression indexes; NULL symbols mean all symbols
+    private static final String ACTIVE_JOB_INDEX = "CREATE UNIQUE INDEX IF NOT EXISTS uq_analytics_jobs_active "
+            + "ON analytics_jobs (type, COALESCE(symbol, '')) WHERE status IN ('PENDING', 'RUNNING')";
+
+    private final AnalyticsJobRepository analyticsJobRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void createActiveJobIndex() {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    entityManager.createNativeQuery(ACTIVE_JOB_INDEX).executeUpdate());
+        } catch (RuntimeException e) {
+            // E.g. another process created it at the same moment, or duplicates are still active
+            log.warn("Could not create the unique index of active analytics jobs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Enqueue a job unless an identical one is already pending or running; empty in that case.
+     * The check only saves a failed insert, the unique index decides.
+     */
+    public Optional<AnalyticsJob> enqueue(JobType type, String symbol) {
+        boolean active = symbol == null
+                ? analyticsJobRepository.existsByTypeAndSymbolIsNullAndStatusIn(type, ACTIVE)
+                : analyticsJobRepository.existsByTypeAndSymbolAndStatusIn(type, symbol, ACTIVE);
+        if (active) {
+            log.debug("{} job for {} already queued", type, symbol == null ? "all symbols" : symbol);
+            return Optional.empty();
+        }
+        AnalyticsJob job = AnalyticsJob.builder()
+                .type(type)
+                .symbol(symbol)
+                .status(JobStatus.PENDING)
+                .build();
+        try {
+            return Optional.of(analyticsJobRepository.save(job));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("{} job for {} was queued concurrently", type, symbol == null ? "all symbols" : symbol);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Claim the next pending job for a worker
+     */
+    @Transactional
+    public Optional<AnalyticsJob> claim(String workerId) {
+        return analyticsJobRepository.lockNextPending().map(job -> {
+            job.setStatus(JobStatus.RUNNING);
+            job.setWorkerId(workerId);
+            job.setStartedAt(Instant.now());
+            job.setHeartbeatAt(job.getStartedAt());
+            job.setAttempts(job.getAttempts() + 1);
+            return analyticsJobRepository.save(job);
+        });
+    }
+
+    @Transactional
+    public void complete(AnalyticsJob job) {
+        finish(job, JobStatus.SUCCEEDED, null);
+    }
+
+    /**
+     * Fail a job; it goes back to PENDING while it has attempts left
+     */
+    @Transactional
+    public void fail(AnalyticsJob job, String error, int maxAttempts) {
+        String message = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (job.getAttempts() < maxAttempts) {
+            job.setStatus(JobStatus.PENDING);
+            job.setWorkerId(null);
+            job.setError(message);
+            analyticsJobRepository.save(job);
+        } else {
+            finish(job, JobStatus.FAILED, message);
+        }
+    }
+
+    /**
+     * Renew the heartbeat of a running job; false when the worker no longer holds it
+     */
+    @Transactional
+    public boolean heartbeat(long jobId, String workerId) {
+        return analyticsJobRepository.heartbeat(jobId, workerId, Instant.now()) > 0;
+    }
+
+    /**
+     * Requeue jobs whose worker stopped renewing their heartbeat before finishing them
+     */
+    @Transactional
+    public int requeueStale(Instant heartbeatBefore) {
+        return analyticsJobRepository.requeueStale(heartbeatBefore);
+    }
+
+    private void finish(AnalyticsJob job, JobStatus status, String error) {
+        job.setStatus(status);
+        job.setError(error);
+        job.setFinishedAt(Instant.now());
+        analyticsJobRepository.save(job);
+    }
+}
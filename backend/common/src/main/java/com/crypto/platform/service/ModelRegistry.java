@@ -0,0 +1,184 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.coherence.ChangePublisher;
+import com.crypto.platform.ml.TrendModel;
+import com.crypto.platform.model.ModelVersion;
+import com.crypto.platform.repository.ModelVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Versioned trained models per symbol. Model files live on the shared volume
+ * {@code <models.dir>/<symbol>/v<version>.cpm} and are never overwritten; the
+ * {@code model_versions} table records each version with its fit metrics. The highest version
+ * of a symbol is current, and publishing one announces it on the coherence channel so the API
+ * replicas swap it in. A new file is written under a pending name and only moved into place
+ * once its version row commits, so a rolled back version never leaves a file behind.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ModelRegistry {
+
+    private static final String PENDING_EXTENSION = ".pending";
+    // The notice is delivered at commit, just before the pending file is moved into place
+    private static final int LOAD_ATTEMPTS = 10;
+    private static final long LOAD_RETRY_MS = 100;
+
+    private final ModelVersionRepository modelVersionRepository;
+    private final ChangePublisher changePublisher;
+
+    @Value("${models.dir}")
+    private String modelsDir;
+
+    /**
+     * Register the next version of the model's symbol. The file goes to a pending path first and
+     * is renamed to its version path after the row commits; a rollback deletes it. Pending files
+     * left by a crash are settled by the symbol's next publish.
+     */
+    @Transactional
+    public ModelVersion publish(TrendModel model) {
+        String symbol = model.getSymbol();
+        settlePending(symbol);
+        int version = modelVersionRepository.findTopBySymbolOrderByVersionDesc(symbol)
+                .map(current -> current.getVersion() + 1)
+                .orElse(1);
+        TrendModel versioned = model.toBuilder().version(version).build();
+        Path path = versionPath(symbol, version);
+        Path pending = path.resolveSibling("v" + version + "-" + UUID.randomUUID() + PENDING_EXTENSION);
+        try {
+            versioned.write(pending);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write model " + pending, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    movePending(pending, path);
+                } else {
+                    deletePending(pending);
+                }
+            }
+        });
+
+        ModelVersion saved = modelVersionRepository.save(ModelVersion.builder()
+                .symbol(symbol)
+                .version(version)
+                .modelType(TrendModel.TYPE)
+                .path(path.toString())
+                .sampleCount(model.getSampleCount())
+                .slopePerHour(model.getSlopePerHour())
+                .volatility(model.getVolatility())
+                .residualStdDev(model.getResidualStdDev())
+                .r2(model.getR2())
+                .trainedFrom(Instant.ofEpochMilli(model.getTrainedFromMs()))
+                .trainedTo(Instant.ofEpochMilli(model.getTrainedToMs()))
+                .build());
+        changePublisher.modelPublished(saved.getSymbol(), saved.getId());
+        log.info("Published {} model v{} for {} (r2 {}, {} samples)", TrendModel.TYPE, version,
+                symbol, String.format("%.3f", model.getR2()), model.getSampleCount());
+        return saved;
+    }
+
+    /**
+     * Read a version's file, waiting briefly when its notice arrived before the file was moved
+     */
+    public TrendModel load(ModelVersion version) throws IOException {
+        Path path = Paths.get(version.getPath());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return TrendModel.read(path);
+            } catch (NoSuchFileException e) {
+                if (attempt >= LOAD_ATTEMPTS) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(LOAD_RETRY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ModelVersion> current(String symbol) {
+        return modelVersionRepository.findTopBySymbolOrderByVersionDesc(symbol);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ModelVersion> versions(String symbol) {
+        return modelVersionRepository.findBySymbolOrderByVersionDesc(symbol);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ModelVersion> currentVersions() {
+        return modelVersionRepository.findCurrentVersions();
+    }
+
+    private Path versionPath(String symbol, int version) {
+        return Paths.get(modelsDir, symbol, "v" + version + TrendModel.FILE_EXTENSION);
+    }
+
+    /**
+     * Move pending files whose version committed but was never renamed, and delete the rest
+     */
+    private void settlePending(String symbol) {
+        Path dir = Paths.get(modelsDir, symbol);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "v*-*" + PENDING_EXTENSION)) {
+            for (Path pending : files) {
+                String name = pending.getFileName().toString();
+                int version = Integer.parseInt(name.substring(1, name.indexOf('-')));
+                Path path = versionPath(symbol, version);
+                boolean committed = modelVersionRepository.findBySymbolAndVersion(symbol, version).isPresent();
+                if (committed && !Files.exists(path)) {
+                    movePending(pending, path);
+                } else {
+                    deletePending(pending);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Could not settle pending models of {}: {}", symbol, e.getMessage());
+        }
+    }
+
+    private static void movePending(Path pending, Path path) {
+        try {
+            Files.move(pending, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Model {} committed but could not be moved into place from {}: {}", path, pending,
+                    e.getMessage());
+        }
+    }
+
+    private static void deletePending(Path pending) {
+        try {
+            Files.deleteIfExists(pending);
+        } catch (IOException e) {
+            log.warn("Could not delete pending model {}: {}", pending, e.getMessage());
+        }
+    }
+}
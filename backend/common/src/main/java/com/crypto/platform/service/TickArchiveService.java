@@ -0,0 +1,323 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.archive.TickArchiveFormat;
+import com.crypto.platform.archive.TickArchiveReader;
+import com.crypto.platform.archive.TickArchiveWriter;
+import com.crypto.platform.archive.TickBlock;
+import com.crypto.platform.model.CryptoPrice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Local store of compressed tick archive segments, one file per hour:
+ * {@code <archive.local-dir>/<symbol>/yyyyMMddHH.cta}.
+ * Segments are written by the HDFS export and memory-mapped on read. A range is read from
+ * the paths of its hours; only ranges longer than a month list the symbol's directory instead.
+ */
+@Service
+@Slf4j
+public class TickArchiveService {
+
+    private static final DateTimeFormatter SEGMENT_KEY = DateTimeFormatter.ofPattern("yyyyMMddHH");
+    // Present once segments named after another hour than their ticks have been renamed
+    private static final String NAMES_MIGRATED = ".segment-names-v2";
+    // Beyond this many hours one directory listing is cheaper than probing every hour
+    private static final long MAX_PROBED_HOURS = 31 * 24;
+
+    @Value("${archive.local-dir}")
+    private String localDir;
+
+    @Value("${archive.block-size}")
+    private int blockSize;
+
+    private final Map<Path, TickArchiveReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * Write (or replace) the segment for one symbol and hour, atomically
+     */
+    public Path writeSegment(String symbol, LocalDateTime hour, List<CryptoPrice> prices) throws IOException {
+        Path dir = symbolDir(symbol);
+        Files.createDirectories(dir);
+        Path target = segmentPath(symbol, hour);
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+
+        List<CryptoPrice> sorted = new ArrayList<>(prices);
+        sorted.sort(Comparator.comparing(CryptoPrice::getTimestamp));
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp));
+             TickArchiveWriter writer = new TickArchiveWriter(out, symbol, blockSize)) {
+            writer.appendAll(sorted);
+        }
+
+        closeReader(target);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Archived {} ticks for {} into {} ({} bytes)", sorted.size(), symbol, target, Files.size(target));
+        return target;
+    }
+
+    /**
+     * All ticks of the segment for one symbol and hour; empty if it was never written
+     */
+    public List<CryptoPrice> readSegment(String symbol, LocalDateTime hour) throws IOException {
+        TickArchiveReader reader = segment(symbol, hour);
+        if (reader == null) {
+            return List.of();
+        }
+        if (reader.isEmpty()) {
+            return List.of();
+        }
+        return reader.readRange(TickArchiveFormat.fromMicros(reader.getFirstMicros()),
+                TickArchiveFormat.fromMicros(reader.getLastMicros()));
+    }
+
+    /**
+     * Read archived ticks for a symbol in a time range (inclusive), ordered by timestamp
+     */
+    public List<CryptoPrice> readRange(String symbol, Instant startTime, Instant endTime) throws IOException {
+        List<CryptoPrice> result = new ArrayList<>();
+        for (TickArchiveReader reader : segments(symbol, startTime, endTime)) {
+            result.addAll(reader.readRange(startTime, endTime));
+        }
+        return result;
+    }
+
+    /**
+     * Number of archived ticks of a symbol in a time range (inclusive), counted on the
+     * timestamp column only
+     */
+    public long countRange(String symbol, Instant startTime, Instant endTime) throws IOException {
+        long[] count = new long[1];
+        TickBlock block = new TickBlock(blockSize);
+        for (TickArchiveReader reader : segments(symbol, startTime, endTime)) {
+            reader.scan(TickArchiveFormat.toMicros(startTime), TickArchiveFormat.toMicros(endTime), 0, block,
+                    (b, first, last) -> count[0] += last - first);
+        }
+        return count[0];
+    }
+
+    /**
+     * Visit up to {@code limit} archived rows of a symbol after the keyset position
+     * (afterMicros, afterId) and up to toMicros (inclusive), in timestamp order. Segments are
+     * read one at a time until the page is full, so a page decodes at most the blocks of the
+     * segments it spans. Returns the number of rows visited.
+     */
+    public int scanPage(String symbol, long afterMicros, long afterId, long toMicros, int limit,
+                        ObjIntConsumer<TickBlock> rows) throws IOException {
+        int[] visited = new int[1];
+        TickBlock block = new TickBlock(blockSize);
+        for (TickArchiveReader reader : segments(symbol, TickArchiveFormat.fromMicros(afterMicros),
+                TickArchiveFormat.fromMicros(toMicros))) {
+            reader.scan(afterMicros, toMicros, TickBlock.ALL_COLUMNS, block, (b, first, last) -> {
+                for (int row = first; row < last && visited[0] < limit; row++) {
+                    if (b.timestamp(row) > afterMicros || b.id(row) > afterId) {
+                        rows.accept(b, row);
+                        visited[0]++;
+                    }
+                }
+            }, () -> visited[0] == limit);
+            if (visited[0] == limit) {
+                break;
+            }
+        }
+        return visited[0];
+    }
+
+    /**
+     * Mapped segments overlapping the range, ordered by their first tick
+     */
+    public List<TickArchiveReader> segments(String symbol, Instant startTime, Instant endTime) throws IOException {
+        if (endTime.isBefore(startTime) || !Files.isDirectory(symbolDir(symbol))) {
+            return List.of();
+        }
+        long fromMicros = TickArchiveFormat.toMicros(startTime);
+        long toMicros = TickArchiveFormat.toMicros(endTime);
+        LocalDateTime first = hourOf(startTime);
+        LocalDateTime last = hourOf(endTime);
+
+        List<TickArchiveReader> result = new ArrayList<>();
+        if (ChronoUnit.HOURS.between(first, last) > MAX_PROBED_HOURS) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(symbolDir(symbol), "*" + TickArchiveFormat.FILE_EXTENSION)) {
+                for (Path file : files) {
+                    LocalDateTime key = segmentKey(file);
+                    if (key != null && !key.isBefore(first) && !key.isAfter(last)) {
+                        TickArchiveReader reader = reader(file);
+                        if (reader.overlaps(fromMicros, toMicros)) {
+                            result.add(reader);
+                        }
+                    }
+                }
+            }
+        } else {
+            for (LocalDateTime hour = first; !hour.isAfter(last); hour = hour.plusHours(1)) {
+                TickArchiveReader reader = segment(symbol, hour);
+                if (reader != null && reader.overlaps(fromMicros, toMicros)) {
+                    result.add(reader);
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(TickArchiveReader::getFirstMicros));
+        return result;
+    }
+
+    /**
+     * Rewrite segments holding ticks of another hour than their name, e.g. those written before
+     * the journal export, which were named after the hour following their data. Runs once per
+     * archive directory; concurrent callers wait on a file lock.
+     */
+    public void migrateSegmentNames() throws IOException {
+        Path root = Paths.get(localDir);
+        Files.createDirectories(root);
+        try (FileChannel channel = FileChannel.open(root.resolve(NAMES_MIGRATED + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock()) {
+            Path marker = root.resolve(NAMES_MIGRATED);
+            if (Files.exists(marker)) {
+                return;
+            }
+            int moved = 0;
+            try (DirectoryStream<Path> symbols = Files.newDirectoryStream(root, Files::isDirectory)) {
+                for (Path dir : symbols) {
+                    moved += migrateSegmentNames(dir.getFileName().toString());
+                }
+            }
+            Files.createFile(marker);
+            log.info("Moved the ticks of {} misnamed tick archive segments to the segments of their hours", moved);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        readers.keySet().forEach(this::closeReader);
+    }
+
+    private TickArchiveReader reader(Path file) throws IOException {
+        TickArchiveReader reader = readers.get(file);
+        if (reader == null) {
+            TickArchiveReader opened = TickArchiveReader.open(file);
+            reader = readers.putIfAbsent(file, opened);
+            if (reader == null) {
+                reader = opened;
+            } else {
+                opened.close();
+            }
+        }
+        return reader;
+    }
+
+    private void closeReader(Path file) {
+        TickArchiveReader reader = readers.remove(file);
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                log.warn("Error closing tick archive segment {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private int migrateSegmentNames(String symbol) throws IOException {
+        List<Path> misnamed = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(symbolDir(symbol), "*" + TickArchiveFormat.FILE_EXTENSION)) {
+            for (Path file : files) {
+                LocalDateTime key = segmentKey(file);
+                TickArchiveReader reader = reader(file);
+                if (key != null && !reader.isEmpty()
+                        && (!hourOf(TickArchiveFormat.fromMicros(reader.getFirstMicros())).equals(key)
+                        || !hourOf(TickArchiveFormat.fromMicros(reader.getLastMicros())).equals(key))) {
+                    misnamed.add(file);
+                }
+            }
+        }
+        for (Path file : misnamed) {
+            LocalDateTime key = segmentKey(file);
+            Map<LocalDateTime, List<CryptoPrice>> byHour = new TreeMap<>();
+            for (CryptoPrice price : readSegment(symbol, key)) {
+                byHour.computeIfAbsent(hourOf(price.getTimestamp()), h -> new ArrayList<>()).add(price);
+            }
+            // Other hours first, so a failure leaves at most duplicates that the next run merges away
+            for (Map.Entry<LocalDateTime, List<CryptoPrice>> hour : byHour.entrySet()) {
+                if (!hour.getKey().equals(key)) {
+                    writeSegment(symbol, hour.getKey(), merge(readSegment(symbol, hour.getKey()), hour.getValue()));
+                }
+            }
+            List<CryptoPrice> own = byHour.get(key);
+            if (own != null) {
+                writeSegment(symbol, key, own);
+            } else {
+                closeReader(file);
+                Files.delete(file);
+            }
+        }
+        return misnamed.size();
+    }
+
+    private static List<CryptoPrice> merge(List<CryptoPrice> existing, List<CryptoPrice> moved) {
+        Map<String, CryptoPrice> merged = new LinkedHashMap<>();
+        for (CryptoPrice price : existing) {
+            merged.put(price.getId() + "@" + price.getTimestamp(), price);
+        }
+        for (CryptoPrice price : moved) {
+            merged.putIfAbsent(price.getId() + "@" + price.getTimestamp(), price);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * The mapped segment of one symbol and hour; null if it was never written
+     */
+    private TickArchiveReader segment(String symbol, LocalDateTime hour) throws IOException {
+        Path file = segmentPath(symbol, hour);
+        if (!readers.containsKey(file) && !Files.exists(file)) {
+            return null;
+        }
+        return reader(file);
+    }
+
+    private Path segmentPath(String symbol, LocalDateTime hour) {
+        return symbolDir(symbol).resolve(SEGMENT_KEY.format(hour) + TickArchiveFormat.FILE_EXTENSION);
+    }
+
+    private Path symbolDir(String symbol) {
+        return Paths.get(localDir, symbol);
+    }
+
+    private static LocalDateTime hourOf(Instant time) {
+        return LocalDateTime.ofInstant(time, ZoneId.systemDefault()).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static LocalDateTime segmentKey(Path file) {
+        String name = file.getFileName().toString();
+        String key = name.substring(0, name.length() - TickArchiveFormat.FILE_EXTENSION.length());
+        try {
+            return LocalDateTime.parse(key, SEGMENT_KEY);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.crypto.platform.service;
+
+import com.crypto.platform.journal.TickJournal;
+import com.crypto.platform.journal.TickJournalFormat;
+import com.crypto.platform.journal.TickJournalTailer;
+import com.crypto.platform.model.CryptoPrice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Local append-only tick journal that ingestion writes to and consumers tail at their own pace.
+ * The writer is opened on first append, so processes that only tail (the analytics worker)
+ * never take the writer lock. API replicas share one journal directory; the replica holding
+ * the writer lock is the only one that ingests (see {@link #tryAcquireWriter()}).
+ */
+@Service
+@Slf4j
+public class TickJournalService {
+
+    @Value("${journal.dir}")
+    private String journalDir;
+
+    @Value("${journal.segment-size}")
+    private int segmentSize;
+
+    @Value("${journal.retained-segments}")
+    private int retainedSegments;
+
+    private TickJournal journal;
+
+    /**
+     * Append a tick and return its journal sequence
+     */
+    public long append(CryptoPrice tick) {
+        return writer().append(tick);
+    }
+
+    /**
+     * Append a tick; the callback gets the sequence before tailers can see the record
+     */
+    public long append(CryptoPrice tick, LongConsumer beforePublish) {
+        return writer().append(tick, beforePublish);
+    }
+
+    /**
+     * Take the writer lock unless another process holds it; true when this process is the
+     * journal's writer. The lock is released when the writer process exits, so a standby
+     * replica that keeps asking takes over.
+     */
+    public synchronized boolean tryAcquireWriter() {
+        if (journal == null) {
+            try {
+                journal = TickJournal.tryOpen(dir(), segmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open tick journal " + journalDir, e);
+            }
+        }
+        return journal != null;
+    }
+
+    /**
+     * Sequence the next appended tick will get
+     */
+    public long getEndSequence() {
+        return writer().getEndSequence();
+    }
+
+    /**
+     * Open a named tailer at its last committed position
+     */
+    public TickJournalTailer tailer(String name) throws IOException {
+        return TickJournalTailer.open(dir(), name);
+    }
+
+    /**
+     * Flush the current segment and drop segments every tailer has moved past
+     */
+    @Scheduled(fixedDelayString = "${journal.flush-interval-ms}")
+    public void flushAndRetain() {
+        TickJournal writer;
+        synchronized (this) {
+            writer = journal;
+        }
+        if (writer == null) {
+            return;
+        }
+        writer.force();
+        try {
+            deleteConsumedSegments(TickJournalFormat.segmentOf(writer.getEndSequence()));
+        } catch (IOException e) {
+            log.warn("Tick journal retention failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private synchronized TickJournal writer() {
+        if (journal == null) {
+            try {
+                journal = TickJournal.open(dir(), segmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open tick journal " + journalDir, e);
+            }
+        }
+        return journal;
+    }
+
+    private void deleteConsumedSegments(long currentSegment) throws IOException {
+        long minTailerSegment = currentSegment;
+        try (DirectoryStream<Path> offsets = Files.newDirectoryStream(
+                dir().resolve(TickJournalFormat.TAILERS_DIR), "*" + TickJournalFormat.OFFSET_EXTENSION)) {
+            for (Path offset : offsets) {
+                minTailerSegment = Math.min(minTailerSegment, TickJournalFormat.segmentOf(readOffset(offset)));
+            }
+        }
+
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir(), "*" + TickJournalFormat.FILE_EXTENSION)) {
+            for (Path file : files) {
+                long index = TickJournalFormat.segmentIndex(file);
+                if (index >= 0) {
+                    segments.add(index);
+                }
+            }
+        }
+        Collections.sort(segments);
+        for (int i = 0; i < segments.size() - retainedSegments; i++) {
+            long index = segments.get(i);
+            if (index >= minTailerSegment) {
+                break;
+            }
+            Files.deleteIfExists(TickJournalFormat.segmentPath(dir(), index));
+            log.info("Deleted consumed tick journal segment {}", index);
+        }
+    }
+
+    private static long readOffset(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+            return channel.read(buffer, 0) < Long.BYTES ? 0 : buffer.getLong(0);
+        }
+    }
+
+    private Path dir() {
+        return Paths.get(journalDir);
+    }
+}
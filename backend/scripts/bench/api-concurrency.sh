@@ -0,0 +1,52 @@
+#!/bin/bash
+
+# Compares request execution modes (api.execution.mode=sync|async) under rising concurrency.
+# For every concurrency level it records p99 latency and the error rate, and reports the
+# highest level that stayed under the error and latency budget ("max concurrent connections").
+#
+# Usage:
+#   API_EXECUTION_MODE=sync  docker-compose up -d backend && scripts/bench/api-concurrency.sh sync
+#   API_EXECUTION_MODE=async docker-compose up -d backend && scripts/bench/api-concurrency.sh async
+#
+# Requires `hey` (https://github.com/rakyll/hey) on the PATH.
+
+MODE_LABEL=${1:-unknown}
+BASE_URL=${BASE_URL:-http://localhost:8080/api}
+SYMBOL=${SYMBOL:-BTCUSDT}
+DURATION=${DURATION:-20s}
+LEVELS=${LEVELS:-"50 100 200 400 800 1600 3200"}
+P99_BUDGET_MS=${P99_BUDGET_MS:-1000}
+ERROR_BUDGET_PCT=${ERROR_BUDGET_PCT:-1}
+ENDPOINTS=${ENDPOINTS:-"/prices/${SYMBOL}/latest /prices/${SYMBOL}/history /predictions/${SYMBOL}"}
+
+if ! command -v hey >/dev/null 2>&1; then
+  echo "hey is required: go install github.com/rakyll/hey@latest"
+  exit 1
+fi
+
+echo "Benchmarking mode=${MODE_LABEL} against ${BASE_URL} (${DURATION} per level)"
+
+for ENDPOINT in ${ENDPOINTS}; do
+  MAX_OK=0
+  printf "\n%-40s %8s %10s %10s %8s\n" "endpoint" "conns" "req/s" "p99(ms)" "err%"
+  for CONCURRENCY in ${LEVELS}; do
+    OUTPUT=$(hey -z "${DURATION}" -c "${CONCURRENCY}" -t 30 "${BASE_URL}${ENDPOINT}")
+
+    RPS=$(echo "${OUTPUT}" | awk '/Requests\/sec/ {print $2}')
+    P99=$(echo "${OUTPUT}" | awk '/ 99% in / {printf "%.0f", $3 * 1000}')
+    TOTAL=$(echo "${OUTPUT}" | awk '/\[[0-9]+\]/ {gsub(/[^0-9]/, "", $2); sum += $2} END {print sum + 0}')
+    OK=$(echo "${OUTPUT}" | awk '/\[2[0-9][0-9]\]|\[304\]/ {gsub(/[^0-9]/, "", $2); sum += $2} END {print sum + 0}')
+    ERRORS=$(echo "${OUTPUT}" | awk '/Error distribution/ {flag=1; next} flag && /\[[0-9]+\]/ {gsub(/[^0-9]/, "", $1); sum += $1} END {print sum + 0}')
+    ALL=$((TOTAL + ERRORS))
+    ERR_PCT=$(awk -v ok="${OK}" -v all="${ALL}" 'BEGIN {if (all == 0) print 100; else printf "%.2f", (all - ok) * 100 / all}')
+
+    printf "%-40s %8s %10s %10s %8s\n" "${ENDPOINT}" "${CONCURRENCY}" "${RPS:-0}" "${P99:-n/a}" "${ERR_PCT}"
+
+    WITHIN=$(awk -v p="${P99:-999999}" -v e="${ERR_PCT}" -v pb="${P99_BUDGET_MS}" -v eb="${ERROR_BUDGET_PCT}" \
+      'BEGIN {print (p <= pb && e <= eb) ? 1 : 0}')
+    if [ "${WITHIN}" -eq 1 ]; then
+      MAX_OK=${CONCURRENCY}
+    fi
+  done
+  echo "max concurrent connections within budget (p99<=${P99_BUDGET_MS}ms, errors<=${ERROR_BUDGET_PCT}%): ${MAX_OK}"
+done
@@ -0,0 +1,43 @@
+#!/bin/bash
+
+# Measures logins/sec through POST /auth/login under rising concurrency. It also reports how
+# many logins were shed with 503 by the bounded BCrypt pool (auth.bcrypt.*) instead of queueing.
+#
+# Usage:
+#   docker-compose up -d backend && scripts/bench/auth-logins.sh
+#
+# Requires `hey` (https://github.com/rakyll/hey) and curl on the PATH.
+
+BASE_URL=${BASE_URL:-http://localhost:8080/api}
+DURATION=${DURATION:-20s}
+LEVELS=${LEVELS:-"1 4 16 64 256"}
+BENCH_USER=${BENCH_USER:-bench$(date +%s)}
+BENCH_PASSWORD=${BENCH_PASSWORD:-bench-password}
+
+if ! command -v hey >/dev/null 2>&1; then
+  echo "hey is required: go install github.com/rakyll/hey@latest"
+  exit 1
+fi
+
+curl -s -o /dev/null -X POST "${BASE_URL}/auth/register" -H "Content-Type: application/json" \
+  -d "{\"username\":\"${BENCH_USER}\",\"email\":\"${BENCH_USER}@example.com\",\"password\":\"${BENCH_PASSWORD}\"}"
+
+BODY="{\"username\":\"${BENCH_USER}\",\"password\":\"${BENCH_PASSWORD}\"}"
+echo "Benchmarking logins of ${BENCH_USER} against ${BASE_URL} (${DURATION} per level)"
+printf "\n%8s %12s %10s %10s %8s\n" "conns" "logins/s" "p50(ms)" "p99(ms)" "503%"
+
+for CONCURRENCY in ${LEVELS}; do
+  OUTPUT=$(hey -z "${DURATION}" -c "${CONCURRENCY}" -t 30 -m POST -T "application/json" -d "${BODY}" \
+    "${BASE_URL}/auth/login")
+
+  P50=$(echo "${OUTPUT}" | awk '/ 50% in / {printf "%.0f", $3 * 1000}')
+  P99=$(echo "${OUTPUT}" | awk '/ 99% in / {printf "%.0f", $3 * 1000}')
+  OK=$(echo "${OUTPUT}" | awk '/\[200\]/ {gsub(/[^0-9]/, "", $2); sum += $2} END {print sum + 0}')
+  SHED=$(echo "${OUTPUT}" | awk '/\[503\]/ {gsub(/[^0-9]/, "", $2); sum += $2} END {print sum + 0}')
+  TOTAL=$(echo "${OUTPUT}" | awk '/\[[0-9]+\]/ {gsub(/[^0-9]/, "", $2); sum += $2} END {print sum + 0}')
+  SECONDS_RUN=$(echo "${OUTPUT}" | awk '/Total:/ {print $2}')
+  LOGINS=$(awk -v ok="${OK}" -v s="${SECONDS_RUN}" 'BEGIN {if (s > 0) printf "%.1f", ok / s; else print 0}')
+  SHED_PCT=$(awk -v shed="${SHED}" -v all="${TOTAL}" 'BEGIN {if (all == 0) print 0; else printf "%.2f", shed * 100 / all}')
+
+  printf "%8s %12s %10s %10s %8s\n" "${CONCURRENCY}" "${LOGINS}" "${P50:-n/a}" "${P99:-n/a}" "${SHED_PCT}"
+done
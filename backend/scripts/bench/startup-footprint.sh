@@ -0,0 +1,60 @@
+#!/bin/bash
+
+# Measures startup time and resident memory (RSS) of the API and the analytics worker jars.
+# Startup time is taken from Spring Boot's "Started ... in N seconds" log line; RSS is
+# sampled from /proc once the application has started and again after SETTLE_SECONDS.
+#
+# Usage (from backend/, with Postgres reachable at SPRING_DATASOURCE_URL):
+#   mvn -B package -DskipTests
+#   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/cryptodb scripts/bench/startup-footprint.sh
+#
+# Heap flags per service can be overridden with API_JAVA_OPTS and WORKER_JAVA_OPTS.
+
+API_JAVA_OPTS=${API_JAVA_OPTS:-"-Xms128m -Xmx384m"}
+WORKER_JAVA_OPTS=${WORKER_JAVA_OPTS:-"-Xmx1536m"}
+SETTLE_SECONDS=${SETTLE_SECONDS:-30}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+LOG_DIR=${LOG_DIR:-$(mktemp -d)}
+
+measure() {
+  local name=$1
+  local jar=$2
+  local opts=$3
+  local log="${LOG_DIR}/${name}.log"
+
+  if [ ! -f "${jar}" ]; then
+    echo "${name}: ${jar} not found, run mvn -B package -DskipTests first"
+    return 1
+  fi
+
+  # shellcheck disable=SC2086
+  java ${opts} -jar "${jar}" --server.port=0 >"${log}" 2>&1 &
+  local pid=$!
+  local waited=0
+  until grep -q "Started .* in " "${log}"; do
+    if ! kill -0 "${pid}" 2>/dev/null || [ "${waited}" -ge "${TIMEOUT_SECONDS}" ]; then
+      echo "${name}: did not start, see ${log}"
+      kill "${pid}" 2>/dev/null
+      return 1
+    fi
+    sleep 1
+    waited=$((waited + 1))
+  done
+
+  local startup
+  startup=$(grep -o "Started .* in [0-9.]* seconds" "${log}" | awk '{print $(NF-1)}')
+  local rss_started
+  rss_started=$(awk '/VmRSS/ {print int($2 / 1024)}' "/proc/${pid}/status")
+  sleep "${SETTLE_SECONDS}"
+  local rss_settled
+  rss_settled=$(awk '/VmRSS/ {print int($2 / 1024)}' "/proc/${pid}/status")
+
+  printf "%-18s %12s %16s %16s   %s\n" "${name}" "${startup}" "${rss_started}" "${rss_settled}" "${opts}"
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null
+}
+
+printf "%-18s %12s %16s %16s   %s\n" "service" "startup(s)" "rss-started(MB)" "rss-settled(MB)" "java opts"
+measure api api/target/crypto-platform-api-*.jar "${API_JAVA_OPTS}"
+measure analytics-worker analytics-worker/target/crypto-platform-analytics-worker-*.jar "${WORKER_JAVA_OPTS}"
+echo "Logs: ${LOG_DIR}"
@@ -36,14 +36,70 @@ export const AuthProvider = ({ children }) => {
     }
   }, []);
 
+  // Renew an expired access token once with the refresh token instead of a new login
+  useEffect(() => {
+    // Refresh tokens rotate, so concurrent 401s share one refresh instead of racing each other
+    let refreshing = null;
+    const refresh = refreshToken => {
+      if (!refreshing) {
+        refreshing = axios.post('/api/auth/refresh', { refreshToken })
+          .then(response => {
+            const { token, refreshToken: nextRefreshToken } = response.data;
+            localStorage.setItem('token', token);
+            localStorage.setItem('refreshToken', nextRefreshToken);
+            axios.defaults.headers.common['Authorization'] = `Bearer ${token}`;
+            setAuth(current => ({ ...current, token }));
+            return token;
+          })
+          .catch(refreshError => {
+            // Keep a token stored meanwhile, e.g. by a new login
+            if (localStorage.getItem('refreshToken') === refreshToken) {
+              localStorage.removeItem('refreshToken');
+            }
+            throw refreshError;
+          })
+          .finally(() => {
+            refreshing = null;
+          });
+      }
+      return refreshing;
+    };
+
+    const interceptor = axios.interceptors.response.use(
+      response => response,
+      async error => {
+        const original = error.config;
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (error.response?.status !== 401 || !refreshToken || original._retried
+            || original.url === '/api/auth/refresh') {
+          return Promise.reject(error);
+        }
+        original._retried = true;
+        try {
+          // A request sent before the last refresh finished only needs the new token
+          const current = localStorage.getItem('token');
+          const token = current && original.headers['Authorization'] !== `Bearer ${current}`
+            ? current
+            : await refresh(refreshToken);
+          original.headers['Authorization'] = `Bearer ${token}`;
+          return axios(original);
+        } catch (refreshError) {
+          return Promise.reject(error);
+        }
+      }
+    );
+    return () => axios.interceptors.response.eject(interceptor);
+  }, []);
+
   // Login
   const login = async (username, password) => {
     try {
       const response = await axios.post('/api/auth/login', { username, password });
-      const { token, username: user } = response.data;
+      const { token, refreshToken, username: user } = response.data;
       
       // Save to localStorage
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', refreshToken);
       localStorage.setItem('username', user);
       
       // Set axios default headers
@@ -85,8 +141,14 @@ export const AuthProvider = ({ children }) => {
 
   // Logout
   const logout = () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      axios.post('/api/auth/logout', { refreshToken }).catch(() => {});
+    }
+
     // Remove from localStorage
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('username');
     
     // Remove axios default headers
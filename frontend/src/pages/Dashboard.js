@@ -29,19 +29,13 @@ const Dashboard = () => {
   const [error, setError] = useState(null);
 
   useEffect(() => {
-    const symbols = ['BTCUSDT', 'ETHUSDT', 'BNBUSDT', 'ADAUSDT', 'DOGEUSDT'];
-    
     const fetchCryptoData = async () => {
       setLoading(true);
       try {
-        const promises = symbols.map(symbol => 
-          axios.get(`/api/prices/${symbol}/latest`)
-        );
-        
-        const responses = await Promise.all(promises);
-        const data = responses.map(res => res.data);
+        // One call returns every symbol's latest price, change and volume
+        const response = await axios.get('/api/market/overview');
         
-        setCryptoData(data);
+        setCryptoData(response.data.symbols);
         setError(null);
       } catch (err) {
         console.error('Error fetching crypto data:', err);